@@ -0,0 +1,109 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Human;
+
+/**
+ * Builds the random HMNs used by the benchmarks: humans with, on average,
+ * EDGES_PER_AGENT outbound edges each to uniformly random agents. Each edge has a
+ * source and sink connection of one type, with a few properties set. Graphs are
+ * built from a fixed seed, so each fork benchmarks the same graph.
+ */
+final class BenchmarkGraphs
+{
+    static final int EDGES_PER_AGENT = 10;
+    static final String CONNECTION_TYPE = "interaction";
+    static final String[] PROPERTIES = { "frequency", "intensity", "reciprocity" };
+    static final long SEED = 42;
+
+    private BenchmarkGraphs() { }
+
+    /**
+     * Build a random HMN.
+     * @param numEdges The number of edges.
+     * @return The HMN, with numEdges / EDGES_PER_AGENT agents (at least 2).
+     */
+    static HMN build(int numEdges)
+    {
+        HMN hmn = new HMN("benchmark");
+        hmn.setCurrentDateTime(new GregorianCalendar(2017, 0, 1));
+        Random random = new Random(SEED);
+
+        int numAgents = Math.max(2, numEdges / EDGES_PER_AGENT);
+        List<Agent> agents = new ArrayList<>(numAgents);
+        for (int i = 0; i < numAgents; i++) {
+            BenchmarkHuman h = new BenchmarkHuman();
+            h.setNodeID("agent-" + i);
+            h.setHMN(hmn);
+            h.setAge(18 + random.nextInt(60));
+            agents.add(h);
+        }
+        hmn.addAgents(agents);
+
+        for (int i = 0; i < numEdges; i++) {
+            Agent src = agents.get(random.nextInt(numAgents));
+            Agent sink = agents.get(random.nextInt(numAgents));
+            src.createOutboundEdge("edge-" + i, sink, CONNECTION_TYPE,
+                                   connection(random, ConnectionType.SOURCE), connection(random, ConnectionType.SINK), true);
+        }
+        return hmn;
+    }
+
+    /**
+     * Create a connection with random trust and properties.
+     * @param random The random number generator.
+     * @param type The connection type.
+     * @return A Connection object.
+     */
+    static Connection connection(Random random, ConnectionType type)
+    {
+        Connection c = new Connection(CONNECTION_TYPE, type, random.nextDouble(), random.nextDouble());
+        for (String p : PROPERTIES) {
+            c.setProperty(p, random.nextDouble());
+        }
+        return c;
+    }
+
+    /**
+     * A human that takes no action.
+     */
+    static class BenchmarkHuman extends Human
+    {
+        @Override
+        public void takeAction()
+        {
+
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the JMH command line options provided, always adding
+ * the GC profiler so that the allocation rate (gc.alloc.rate.norm, bytes per
+ * operation) is reported alongside throughput.
+ */
+public final class BenchmarkMain
+{
+    private BenchmarkMain() { }
+
+    /**
+     * Run the benchmarks.
+     * @param args JMH command line options, e.g., a benchmark regex and -p edges=10000.
+     * @throws RunnerException If the benchmarks fail.
+     * @throws CommandLineOptionException If the options are invalid.
+     * @throws IOException If listing the benchmarks fails.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException
+    {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).build()).run();
+    }
+}
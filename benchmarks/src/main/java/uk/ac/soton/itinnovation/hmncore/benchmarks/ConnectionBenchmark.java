@@ -0,0 +1,91 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.PropertySchema;
+
+/**
+ * Benchmarks of getting and setting Connection properties, by name and by slot.
+ * These do not depend on the size of the graph.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConnectionBenchmark
+{
+    private Connection connection;
+    private String name;
+    private int slot;
+    private double value;
+
+    @Setup
+    public void setup()
+    {
+        connection = BenchmarkGraphs.connection(new Random(BenchmarkGraphs.SEED), ConnectionType.SOURCE);
+        name = BenchmarkGraphs.PROPERTIES[1];
+        slot = PropertySchema.slot(name);
+    }
+
+    @Benchmark
+    public Double getPropertyByName()
+    {
+        return connection.getProperty(name);
+    }
+
+    @Benchmark
+    public void setPropertyByName()
+    {
+        connection.setProperty(name, value++);
+    }
+
+    @Benchmark
+    public double getPropertyBySlot()
+    {
+        return connection.getProperty(slot);
+    }
+
+    @Benchmark
+    public void setPropertyBySlot()
+    {
+        connection.setProperty(slot, value++);
+    }
+}
@@ -0,0 +1,86 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.itinnovation.hmncore.ConcurrentEdgeStats;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+
+/**
+ * Benchmarks of adding interactions to the stats of a single edge from several
+ * threads at once. The plain EdgeStats is included as a baseline, although it
+ * loses updates under contention; the thread count can be changed with -t.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EdgeStatsBenchmark
+{
+    private final EdgeStats plainStats = new EdgeStats();
+    private final EdgeStats lockedStats = new EdgeStats();
+    private final EdgeStats concurrentStats = new ConcurrentEdgeStats();
+    private final Edge edge = new Edge("edge", null, null);
+
+    @Benchmark
+    public void plainAddInteraction()
+    {
+        plainStats.addInteraction();
+    }
+
+    @Benchmark
+    public void synchronizedAddInteraction()
+    {
+        synchronized (lockedStats) {
+            lockedStats.addInteraction();
+        }
+    }
+
+    @Benchmark
+    public void concurrentAddInteraction()
+    {
+        concurrentStats.addInteraction();
+    }
+
+    @Benchmark
+    public void edgeRecordInteraction()
+    {
+        edge.recordInteraction(BenchmarkGraphs.CONNECTION_TYPE);
+    }
+}
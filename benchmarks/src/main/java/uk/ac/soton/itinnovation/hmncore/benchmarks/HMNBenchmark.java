@@ -0,0 +1,108 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+
+/**
+ * Benchmarks of adding, removing and looking up edges in the HMN's master list of
+ * edges, at several graph sizes. Edges are added and removed in pairs, so the size
+ * of the graph stays constant during a run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g" })
+@State(Scope.Thread)
+public class HMNBenchmark
+{
+    private static final int POOL_SIZE = 1024;
+
+    @Param({ "10000", "100000", "1000000", "10000000" })
+    public int edges;
+
+    private HMN hmn;
+    private Edge[] pool;
+    private String[] ids;
+    private int next;
+
+    @Setup
+    public void setup()
+    {
+        hmn = BenchmarkGraphs.build(edges);
+        List<Agent> agents = hmn.getAgents();
+
+        // edges not in the HMN, to add and remove
+        pool = new Edge[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool[i] = new Edge("extra-" + i, agents.get(i % agents.size()), agents.get((i * 31) % agents.size()));
+        }
+
+        // IDs of edges in the HMN, spread across the list
+        ids = new String[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            ids[i] = hmn.getEdges().get((int) ((long) i * edges / POOL_SIZE)).getEdgeID();
+        }
+    }
+
+    @Benchmark
+    public boolean addThenRemoveEdge()
+    {
+        Edge e = pool[next++ & (POOL_SIZE - 1)];
+        hmn.addEdge(e);
+        return hmn.removeEdge(e.getEdgeID());
+    }
+
+    @Benchmark
+    public boolean removeThenAddEdge()
+    {
+        Edge e = hmn.getEdge(ids[next++ & (POOL_SIZE - 1)]);
+        boolean removed = hmn.removeEdge(e.getEdgeID());
+        hmn.addEdge(e);
+        return removed;
+    }
+
+    @Benchmark
+    public Edge getEdge()
+    {
+        return hmn.getEdge(ids[next++ & (POOL_SIZE - 1)]);
+    }
+}
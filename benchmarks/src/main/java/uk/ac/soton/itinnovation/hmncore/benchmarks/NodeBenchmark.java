@@ -0,0 +1,114 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+
+/**
+ * Benchmarks of creating edges between nodes with Node.createOutboundEdge(..),
+ * which updates the edge lists (and adjacency indices) of both nodes and,
+ * optionally, the HMN's master list. Each created edge is removed again, so the
+ * size of the graph stays constant during a run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g" })
+@State(Scope.Thread)
+public class NodeBenchmark
+{
+    private static final int POOL_SIZE = 1024;
+
+    @Param({ "10000", "100000", "1000000", "10000000" })
+    public int edges;
+
+    private Agent[] sources;
+    private Agent[] sinks;
+    private String[] ids;
+    private Connection sourceConnection;
+    private Connection sinkConnection;
+    private int next;
+
+    @Setup
+    public void setup()
+    {
+        HMN hmn = BenchmarkGraphs.build(edges);
+        List<Agent> agents = hmn.getAgents();
+        Random random = new Random(BenchmarkGraphs.SEED);
+
+        sources = new Agent[POOL_SIZE];
+        sinks = new Agent[POOL_SIZE];
+        ids = new String[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            sources[i] = agents.get(random.nextInt(agents.size()));
+            sinks[i] = agents.get(random.nextInt(agents.size()));
+            ids[i] = "extra-" + i;
+        }
+        sourceConnection = BenchmarkGraphs.connection(random, ConnectionType.SOURCE);
+        sinkConnection = BenchmarkGraphs.connection(random, ConnectionType.SINK);
+    }
+
+    @Benchmark
+    public boolean createOutboundEdge()
+    {
+        int i = next++ & (POOL_SIZE - 1);
+        Edge e = sources[i].createOutboundEdge(ids[i], sinks[i], BenchmarkGraphs.CONNECTION_TYPE, sourceConnection, sinkConnection, false);
+        return sources[i].removeOutboundEdge(e, false);
+    }
+
+    @Benchmark
+    public boolean createOutboundEdgeInHMN()
+    {
+        int i = next++ & (POOL_SIZE - 1);
+        Edge e = sources[i].createOutboundEdge(ids[i], sinks[i], BenchmarkGraphs.CONNECTION_TYPE, sourceConnection, sinkConnection, true);
+        return sources[i].removeOutboundEdge(e, true);
+    }
+
+    @Benchmark
+    public Edge findOutboundEdge()
+    {
+        int i = next++ & (POOL_SIZE - 1);
+        return sources[i].findOutboundEdge(sinks[i]);
+    }
+}
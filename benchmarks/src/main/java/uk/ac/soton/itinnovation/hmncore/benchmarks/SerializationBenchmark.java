@@ -0,0 +1,107 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.benchmarks;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.io.HMNSnapshotWriter;
+
+/**
+ * Benchmarks of writing a whole HMN with Java serialisation, compared with the
+ * binary snapshot writer. The output is discarded. Java serialisation recurses
+ * through the graph, so the benchmark runs with a large thread stack; graphs of
+ * 10M edges are not included by default, as they need a very large stack and heap.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xss1g" })
+@State(Scope.Thread)
+public class SerializationBenchmark
+{
+    @Param({ "10000", "100000", "1000000" })
+    public int edges;
+
+    private HMN hmn;
+
+    @Setup
+    public void setup()
+    {
+        hmn = BenchmarkGraphs.build(edges);
+    }
+
+    @Benchmark
+    public long javaSerialization() throws IOException
+    {
+        CountingNullOutputStream out = new CountingNullOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(hmn);
+        }
+        return out.count;
+    }
+
+    @Benchmark
+    public long snapshotWriter() throws IOException
+    {
+        CountingNullOutputStream out = new CountingNullOutputStream();
+        new HMNSnapshotWriter().write(hmn, out);
+        return out.count;
+    }
+
+    /**
+     * An output stream that discards its output, counting the bytes written.
+     */
+    private static class CountingNullOutputStream extends OutputStream
+    {
+        private long count;
+
+        @Override
+        public void write(int b)
+        {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            count += len;
+        }
+    }
+}
@@ -49,4 +49,32 @@ public abstract class Agent extends Node implements Serializable
      * @throws Exception For any errors.
      */
     public abstract void takeAction() throws Exception;
+
+    /**
+     * First phase of a two-phase simulation step, in which the agent reads the state
+     * of the HMN and decides what to do, without modifying anything but its own
+     * private state. This may be invoked concurrently for different agents.
+     * The default implementation does nothing.
+     * @throws Exception For any errors.
+     * @see #commitAction()
+     */
+    public void prepareAction() throws Exception
+    {
+
+    }
+
+    /**
+     * Second phase of a two-phase simulation step, in which the agent applies the
+     * action decided in prepareAction() to the HMN. The default implementation
+     * calls takeAction(), so agents that do not implement the two phases behave
+     * as in a single-phase simulation, and are run one at a time by the TickEngine
+     * unless they are marked as safe to run concurrently (see TickEngine). Move the
+     * work of the agent into prepareAction() for it to run in parallel.
+     * @throws Exception For any errors.
+     * @see #prepareAction()
+     */
+    public void commitAction() throws Exception
+    {
+        takeAction();
+    }
 }
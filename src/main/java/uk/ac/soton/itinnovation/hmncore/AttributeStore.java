@@ -0,0 +1,236 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Base class of the columnar attribute stores for agents (HumanAttributes and
+ * MachineAttributes), which hold the attributes of a population of agents in
+ * primitive arrays (columns) indexed by a dense agent number, rather than in the
+ * fields of each agent object. Scans over a column for population-wide aggregates
+ * (e.g., the mean utilisation of all machines) then read contiguous memory,
+ * instead of visiting every agent object.
+ *
+ * Adding an agent to a store assigns it the next number, copies its attributes
+ * into the columns and attaches it to the store, after which the getters and
+ * setters of the agent read and write the columns. Removing an agent copies its
+ * attributes back into its fields, and moves the last agent of the store into
+ * its number, so numbers are dense but not stable across removals. An agent can
+ * be in at most one store.
+ *
+ * Attributes of different agents may be set from several threads at once, as
+ * with the fields of the agents, but agents must not be added or removed while
+ * the store is accessed by other threads (which may reallocate the columns).
+ *
+ * @param <T> The type of agent held in the store.
+ * @see HumanAttributes
+ * @see MachineAttributes
+ */
+public abstract class AttributeStore<T extends Agent>
+{
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final Class<T> type;
+    private Object[] members;
+    private int size;
+
+    /**
+     * Constructor initialising an empty store.
+     * @param type The class of agent held in the store.
+     * @param initialCapacity The number of agents to allocate the columns for.
+     */
+    AttributeStore(Class<T> type, int initialCapacity)
+    {
+        this.type = type;
+        this.members = new Object[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Get the number of agents in the store, which is the length of the columns
+     * that is in use.
+     * @return The number of agents.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Get the agent with the given number.
+     * @param index The number of the agent, from 0 to size()-1.
+     * @return The agent.
+     * @throws IndexOutOfBoundsException If the number is out of range.
+     */
+    public T get(int index) throws IndexOutOfBoundsException
+    {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Agent number out of range: " + index);
+        }
+        return type.cast(members[index]);
+    }
+
+    /**
+     * Add an agent to the store, copying its attributes into the columns.
+     * @param agent The agent.
+     * @return The number of the agent.
+     * @throws NullPointerException If agent is NULL.
+     * @throws IllegalArgumentException If the agent is already in a store.
+     */
+    public int add(T agent) throws NullPointerException, IllegalArgumentException
+    {
+        if (agent == null) {
+            throw new NullPointerException("Cannot add the agent to the attribute store as the object provided was NULL");
+        }
+        if (isAttached(agent)) {
+            throw new IllegalArgumentException("Cannot add the agent to the attribute store as it is already in a store: " + agent.getNodeID());
+        }
+
+        if (size == members.length) {
+            int capacity = size < (Integer.MAX_VALUE >> 1) ? size << 1 : Integer.MAX_VALUE - 8;
+            members = Arrays.copyOf(members, capacity);
+            grow(capacity);
+        }
+        int index = size++;
+        members[index] = agent;
+        copyIn(agent, index);
+        attach(agent, index);
+        return index;
+    }
+
+    /**
+     * Add the agents of the store's type, e.g., the humans in the list of agents
+     * of an HMN. Agents of other types, or already in a store, are skipped.
+     * @param agents Collection of agents.
+     * @return The number of agents added.
+     */
+    public int addAll(Collection<? extends Agent> agents)
+    {
+        int added = 0;
+        for (Agent a : agents) {
+            if (type.isInstance(a) && !isAttached(type.cast(a))) {
+                add(type.cast(a));
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Remove an agent from the store, copying its attributes back into its fields.
+     * The last agent in the store takes the number of the agent removed.
+     * @param agent The agent.
+     * @return True if the agent was in the store and removed; false otherwise.
+     */
+    public boolean remove(T agent)
+    {
+        if (agent == null || !isAttachedTo(agent, this)) {
+            return false;
+        }
+
+        int index = indexOf(agent);
+        detach(agent, index);
+
+        int last = --size;
+        if (index != last) {
+            @SuppressWarnings("unchecked")
+            T moved = (T) members[last];
+            members[index] = moved;
+            move(last, index);
+            attach(moved, index);
+        }
+        members[last] = null;
+        return true;
+    }
+
+    /**
+     * Remove all agents from the store, copying their attributes back into their fields.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            detach(type.cast(members[i]), i);
+            members[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Check if an agent is in a store.
+     * @param agent The agent.
+     * @return True if the agent is in a store (this or another); false otherwise.
+     */
+    abstract boolean isAttached(T agent);
+
+    /**
+     * Check if an agent is in the given store.
+     * @param agent The agent.
+     * @param store The store.
+     * @return True if the agent is in the store; false otherwise.
+     */
+    abstract boolean isAttachedTo(T agent, AttributeStore<T> store);
+
+    /**
+     * Get the number of an agent in the store.
+     * @param agent The agent, which must be in the store.
+     * @return The number.
+     */
+    abstract int indexOf(T agent);
+
+    /**
+     * Attach an agent to the store, so that its getters and setters use the given number.
+     * @param agent The agent.
+     * @param index The number of the agent.
+     */
+    abstract void attach(T agent, int index);
+
+    /**
+     * Copy the attributes of an agent from its number into its fields, and detach it from the store.
+     * @param agent The agent.
+     * @param index The number of the agent.
+     */
+    abstract void detach(T agent, int index);
+
+    /**
+     * Copy the attributes of an agent from its fields into the columns.
+     * @param agent The agent, which is not yet attached.
+     * @param index The number of the agent.
+     */
+    abstract void copyIn(T agent, int index);
+
+    /**
+     * Copy the attributes of one number to another in the columns.
+     * @param from The number to copy from.
+     * @param to The number to copy to.
+     */
+    abstract void move(int from, int to);
+
+    /**
+     * Reallocate the columns with a larger capacity, keeping their values.
+     * @param capacity The new capacity.
+     */
+    abstract void grow(int capacity);
+}
@@ -0,0 +1,347 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+/**
+ * An array list that holds its elements in fixed-size chunks, which is used by
+ * VersionedList so that keeping a version of a large list is cheap: copy() shares
+ * the chunks with the copy, so only the table of chunks (one reference per
+ * CHUNK_SIZE elements) is copied, and the copy then copies each shared chunk on
+ * its first modification. The list copied must not be modified afterwards.
+ *
+ * A list with fewer than CHUNK_SIZE elements has a single chunk, which grows as in
+ * an ArrayList, so small lists (e.g., the edge lists of most nodes) are compact.
+ * Inserting and removing other than at the end shift the subsequent elements, as
+ * in an ArrayList.
+ *
+ * The list is not thread-safe.
+ *
+ * @param <T> The type of element held in the list.
+ * @see VersionedList
+ */
+final class ChunkedList<T> extends AbstractList<T> implements RandomAccess, Serializable
+{
+    static final int CHUNK_SHIFT = 8;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MIN_CAPACITY = 8;
+    private static final Object[] NO_ELEMENTS = {};
+
+    private Object[][] chunks; // all but the first chunk have CHUNK_SIZE elements
+    private int numChunks; // the chunks allocated, which are not null
+    private int size;
+    private transient boolean[] sharedChunks; // the chunks shared with the list this was copied from, or null if none
+
+    /**
+     * Default constructor, initialising an empty list that allocates its first
+     * chunk when the first element is added.
+     */
+    ChunkedList()
+    {
+        chunks = new Object[][] { NO_ELEMENTS };
+        numChunks = 1;
+    }
+
+    /**
+     * Constructor initialising an empty list with the given capacity.
+     * @param capacity The number of elements the list can hold without allocating.
+     */
+    ChunkedList(int capacity)
+    {
+        this();
+        grow(capacity);
+    }
+
+    private ChunkedList(Object[][] chunks, int size)
+    {
+        this.chunks = chunks;
+        this.numChunks = chunks.length;
+        this.size = size;
+        this.sharedChunks = new boolean[chunks.length];
+        Arrays.fill(sharedChunks, true);
+    }
+
+    /**
+     * Copy the list, sharing its chunks. This takes time proportional to the number
+     * of chunks, rather than the number of elements. This list must not be modified
+     * after it has been copied.
+     * @return The copy, which may be modified.
+     */
+    ChunkedList<T> copy()
+    {
+        int used = Math.max(1, (size + CHUNK_MASK) >>> CHUNK_SHIFT);
+        return new ChunkedList<>(Arrays.copyOf(chunks, used), size);
+    }
+
+    /**
+     * Increases the capacity of the list, if necessary, so that it can hold at
+     * least the number of elements specified without allocating.
+     * @param minCapacity The desired minimum capacity.
+     */
+    void ensureCapacity(int minCapacity)
+    {
+        grow(minCapacity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index)
+    {
+        checkIndex(index, size);
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element)
+    {
+        checkIndex(index, size);
+        Object[] chunk = writable(index >>> CHUNK_SHIFT);
+        T old = (T) chunk[index & CHUNK_MASK];
+        chunk[index & CHUNK_MASK] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        grow(size + 1);
+        writable(size >>> CHUNK_SHIFT)[size & CHUNK_MASK] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element)
+    {
+        checkIndex(index, size + 1);
+        grow(size + 1);
+
+        // shift the elements up by one, from the last chunk down, carrying the last element of each chunk into the next
+        int last = size;
+        int first = index >>> CHUNK_SHIFT;
+        int lastChunk = last >>> CHUNK_SHIFT;
+        for (int c = lastChunk; c >= first; c--) {
+            Object[] chunk = writable(c);
+            int from = c == first ? index & CHUNK_MASK : 0;
+            int to = c == lastChunk ? last & CHUNK_MASK : CHUNK_MASK;
+            System.arraycopy(chunk, from, chunk, from + 1, to - from);
+            chunk[from] = c == first ? element : chunks[c - 1][CHUNK_MASK];
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index)
+    {
+        checkIndex(index, size);
+        T removed = (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+
+        // shift the elements down by one, carrying the first element of each chunk into the previous
+        int last = size - 1;
+        int first = index >>> CHUNK_SHIFT;
+        int lastChunk = last >>> CHUNK_SHIFT;
+        for (int c = first; c <= lastChunk; c++) {
+            Object[] chunk = writable(c);
+            int from = c == first ? index & CHUNK_MASK : 0;
+            int to = c == lastChunk ? last & CHUNK_MASK : CHUNK_MASK;
+            System.arraycopy(chunk, from + 1, chunk, from, to - from);
+            chunk[to] = c == lastChunk ? null : chunks[c + 1][0];
+        }
+        size = last;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear()
+    {
+        chunks = new Object[][] { NO_ELEMENTS };
+        numChunks = 1;
+        sharedChunks = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o)
+    {
+        for (int i = 0; i < size; i++) {
+            Object e = chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+            if (o == null ? e == null : o.equals(e)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o)
+    {
+        for (int i = size - 1; i >= 0; i--) {
+            Object e = chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+            if (o == null ? e == null : o.equals(e)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        Object[] a = new Object[size];
+        copyInto(a);
+        return a;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <A> A[] toArray(A[] a)
+    {
+        A[] result = a.length >= size ? a : (A[]) Arrays.copyOf(a, size, a.getClass());
+        copyInto(result);
+        if (result.length > size) {
+            result[size] = null;
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> c)
+    {
+        Object[] a = toArray();
+        Arrays.sort(a, (Comparator<Object>) c);
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            System.arraycopy(a, start, writable(start >>> CHUNK_SHIFT), 0, Math.min(CHUNK_SIZE, size - start));
+        }
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex)
+    {
+        int removed = toIndex - fromIndex;
+        if (removed <= 0) {
+            return;
+        }
+        for (int i = toIndex; i < size; i++) {
+            writable((i - removed) >>> CHUNK_SHIFT)[(i - removed) & CHUNK_MASK] = chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+        }
+        for (int i = size - removed; i < size; i++) {
+            writable(i >>> CHUNK_SHIFT)[i & CHUNK_MASK] = null;
+        }
+        size -= removed;
+        modCount++;
+    }
+
+    /**
+     * Copy the elements into an array, which must be large enough.
+     * @param a The array.
+     */
+    private void copyInto(Object[] a)
+    {
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            System.arraycopy(chunks[start >>> CHUNK_SHIFT], 0, a, start, Math.min(CHUNK_SIZE, size - start));
+        }
+    }
+
+    /**
+     * Get a chunk to modify, first copying it if it is shared with the list this
+     * was copied from.
+     * @param c The index of the chunk.
+     * @return The chunk.
+     */
+    private Object[] writable(int c)
+    {
+        Object[] chunk = chunks[c];
+        if (sharedChunks != null && sharedChunks[c]) {
+            chunk = chunk.clone();
+            chunks[c] = chunk;
+            sharedChunks[c] = false;
+        }
+        return chunk;
+    }
+
+    /**
+     * Allocate chunks so that the list can hold at least the number of elements
+     * given. The first chunk grows up to CHUNK_SIZE before the others are allocated.
+     * @param minCapacity The desired minimum capacity.
+     */
+    private void grow(int minCapacity)
+    {
+        Object[] first = chunks[0];
+        if (first.length < minCapacity && first.length < CHUNK_SIZE) {
+            int capacity = Math.max(MIN_CAPACITY, Math.max(first.length * 2, minCapacity));
+            chunks[0] = Arrays.copyOf(first, Math.min(CHUNK_SIZE, capacity));
+            if (sharedChunks != null) {
+                sharedChunks[0] = false;
+            }
+        }
+
+        if (minCapacity > CHUNK_SIZE) {
+            int needed = (minCapacity + CHUNK_MASK) >>> CHUNK_SHIFT;
+            if (needed > chunks.length) {
+                int length = Math.max(needed, chunks.length * 2);
+                chunks = Arrays.copyOf(chunks, length);
+                if (sharedChunks != null) {
+                    sharedChunks = Arrays.copyOf(sharedChunks, length);
+                }
+            }
+            while (numChunks < needed) {
+                chunks[numChunks++] = new Object[CHUNK_SIZE];
+            }
+        }
+    }
+
+    private void checkIndex(int index, int bound)
+    {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
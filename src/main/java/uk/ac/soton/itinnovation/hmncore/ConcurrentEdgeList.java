@@ -0,0 +1,242 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe EdgeList, used for the inbound and outbound edges of the nodes of
+ * a ConcurrentHMN. Each list has its own lock (the list itself), so threads adding
+ * edges to different nodes do not contend with each other. Adding and removing
+ * edges are atomic, and iterators read the edges as they were when they were
+ * created (see VersionedList), without holding the lock.
+ *
+ * Views returned by subList(..) are not thread-safe.
+ *
+ * @see ConcurrentHMN
+ * @see Node
+ */
+class ConcurrentEdgeList extends EdgeList
+{
+    /**
+     * Constructor initialising the list with the edges provided.
+     * @param outbound True if this is a list of outbound edges (keyed on the sink node); false for inbound edges (keyed on the source node).
+     * @param edges Collection of edges to add, in iteration order.
+     */
+    ConcurrentEdgeList(boolean outbound, Collection<? extends Edge> edges)
+    {
+        super(outbound, edges);
+    }
+
+    @Override
+    synchronized Edge find(Node other)
+    {
+        return super.find(other);
+    }
+
+    @Override
+    synchronized List<Edge> findAll(Node other)
+    {
+        List<Edge> found = super.findAll(other);
+        return found.size() <= 1 ? found : Collections.unmodifiableList(new ArrayList<>(found));
+    }
+
+    @Override
+    synchronized boolean addAbsent(Edge edge)
+    {
+        return super.addAbsent(edge);
+    }
+
+    @Override
+    synchronized void ensureCapacity(int minCapacity)
+    {
+        super.ensureCapacity(minCapacity);
+    }
+
+    @Override
+    synchronized List<Edge> edgesAt(Epochs epochs, long epoch)
+    {
+        return super.edgesAt(epochs, epoch);
+    }
+
+    @Override
+    public synchronized Edge get(int index)
+    {
+        return super.get(index);
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return super.size();
+    }
+
+    @Override
+    public synchronized Edge set(int index, Edge edge)
+    {
+        return super.set(index, edge);
+    }
+
+    @Override
+    public synchronized boolean add(Edge edge)
+    {
+        return super.add(edge);
+    }
+
+    @Override
+    public synchronized void add(int index, Edge edge)
+    {
+        super.add(index, edge);
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends Edge> c)
+    {
+        return super.addAll(c);
+    }
+
+    @Override
+    public synchronized boolean addAll(int index, Collection<? extends Edge> c)
+    {
+        return super.addAll(index, c);
+    }
+
+    @Override
+    public synchronized Edge remove(int index)
+    {
+        return super.remove(index);
+    }
+
+    @Override
+    public synchronized boolean remove(Object o)
+    {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean removeAll(Collection<?> c)
+    {
+        return super.removeAll(c);
+    }
+
+    @Override
+    public synchronized boolean retainAll(Collection<?> c)
+    {
+        return super.retainAll(c);
+    }
+
+    @Override
+    public synchronized boolean removeIf(Predicate<? super Edge> filter)
+    {
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public synchronized int indexOf(Object o)
+    {
+        ensureLoaded();
+        return elements.indexOf(o);
+    }
+
+    @Override
+    public synchronized int lastIndexOf(Object o)
+    {
+        ensureLoaded();
+        return elements.lastIndexOf(o);
+    }
+
+    @Override
+    public synchronized boolean contains(Object o)
+    {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        super.clear();
+    }
+
+    @Override
+    public synchronized void sort(Comparator<? super Edge> c)
+    {
+        super.sort(c);
+    }
+
+    @Override
+    public synchronized Object[] toArray()
+    {
+        ensureLoaded();
+        return elements.toArray();
+    }
+
+    @Override
+    public synchronized <A> A[] toArray(A[] a)
+    {
+        ensureLoaded();
+        return elements.toArray(a);
+    }
+
+    @Override
+    public synchronized Iterator<Edge> iterator()
+    {
+        ensureLoaded();
+        return new SharedIterator(share(), 0);
+    }
+
+    @Override
+    public synchronized ListIterator<Edge> listIterator()
+    {
+        ensureLoaded();
+        return new SharedIterator(share(), 0);
+    }
+
+    @Override
+    public synchronized ListIterator<Edge> listIterator(int index)
+    {
+        ensureLoaded();
+        return new SharedIterator(share(), index);
+    }
+
+    @Override
+    public synchronized Spliterator<Edge> spliterator()
+    {
+        ensureLoaded();
+        return Collections.unmodifiableList(share()).spliterator();
+    }
+}
@@ -0,0 +1,131 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe variant of EdgeStats, for recording interactions on an edge from
+ * several threads at once. The number of interactions is kept in a LongAdder,
+ * which spreads concurrent updates over several cells rather than contending on
+ * a single counter (or lock), so adding interactions scales with the number of
+ * threads. Reading sums the cells, which is cheap for the small number of cells
+ * used, but is not an atomic snapshot while updates are in progress.
+ *
+ * The stats for a connection type may be linked to an aggregate EdgeStats (e.g.,
+ * the aggregate stats of the edge), to which interactions are also added. This
+ * keeps the aggregate consistent with the stats of each connection type without
+ * a lock over the whole edge; the aggregate should then also be a ConcurrentEdgeStats.
+ * Setting values is not atomic with respect to concurrent updates.
+ *
+ * @see Edge#recordInteraction(String)
+ */
+public class ConcurrentEdgeStats extends EdgeStats
+{
+    private final LongAdder numInteractions = new LongAdder();
+    private volatile int interactionStrength;
+
+    /**
+     * Default constructor initialising the variables of the object (to zero).
+     */
+    public ConcurrentEdgeStats()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructor linking the stats to an aggregate, to which interactions are also added.
+     * @param aggregate The aggregate stats, or null.
+     */
+    public ConcurrentEdgeStats(EdgeStats aggregate)
+    {
+        setAggregate(aggregate);
+    }
+
+    /**
+     * Constructor copying the values of the stats provided.
+     * @param stats The stats to copy.
+     * @param aggregate The aggregate stats, or null.
+     */
+    public ConcurrentEdgeStats(EdgeStats stats, EdgeStats aggregate)
+    {
+        this(aggregate);
+        if (stats != null) {
+            interactionStrength = stats.getInteractionStrength();
+            numInteractions.add(stats.getNumInteractions());
+        }
+    }
+
+    @Override
+    public int getInteractionStrength()
+    {
+        return interactionStrength;
+    }
+
+    @Override
+    public void setInteractionStrength(int interactionStrength)
+    {
+        int delta = interactionStrength - this.interactionStrength;
+        this.interactionStrength = interactionStrength;
+        adjustAggregateStrength(delta);
+    }
+
+    @Override
+    public int getNumInteractions()
+    {
+        return (int) numInteractions.sum();
+    }
+
+    @Override
+    public void setNumInteractions(int numInteractions)
+    {
+        long old = this.numInteractions.sumThenReset();
+        this.numInteractions.add(numInteractions);
+        EdgeStats aggregate = getAggregate();
+        if (aggregate != null) {
+            aggregate.addInteractions((int) (numInteractions - old));
+        }
+    }
+
+    @Override
+    public void addInteraction()
+    {
+        numInteractions.increment();
+        EdgeStats aggregate = getAggregate();
+        if (aggregate != null) {
+            aggregate.addInteraction();
+        }
+    }
+
+    @Override
+    public void addInteractions(int i)
+    {
+        numInteractions.add(i);
+        EdgeStats aggregate = getAggregate();
+        if (aggregate != null) {
+            aggregate.addInteractions(i);
+        }
+    }
+}
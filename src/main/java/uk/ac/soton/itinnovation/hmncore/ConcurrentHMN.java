@@ -0,0 +1,265 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A variant of the HMN that can be modified from several threads at once, e.g., by
+ * agents creating edges with Node.createOutboundEdge(.., addToHMN = true) from
+ * parallel workers.
+ *
+ * The lists of agents, artefacts and edges, and the inbound and outbound edge
+ * lists of the nodes added to the HMN, are thread-safe lists, and there is no
+ * global lock. Each node's edge list has its own lock. The HMN's lists are held
+ * in segments, each with its own lock, and each thread appends to its own segment
+ * (see ConcurrentIndexedList), so threads adding and removing edges of different
+ * nodes rarely contend at all. Lookups by ID do not lock. Each add and remove on a
+ * list is atomic. Elements added by different threads may be in any order in the
+ * HMN's lists, as they are in different segments. Iterating over a list (or
+ * streaming it) reads the elements as they were when the iterator was created,
+ * without holding a lock, and never throws a ConcurrentModificationException.
+ *
+ * Operations that span several lists are not atomic as a whole. For example,
+ * creating an edge adds it to the edge lists of its source and sink nodes, and
+ * then to the HMN's list of edges, so another thread may see the edge in the
+ * edge list of a node before it is in the HMN.
+ *
+ * The edge lists of a node are made thread-safe when the node is added to the
+ * HMN, when its HMN is set to a ConcurrentHMN (see Node.setHMN(..)) or when it is
+ * constructed with a ConcurrentHMN; this should be done before the node is shared
+ * between threads. Listeners are notified on the thread making the change, so
+ * must be thread-safe. Listeners notified of agents, artefacts and edges being added
+ * or removed are notified while the lock of the segment changed is held, so the
+ * notifications for each element are in order. Such listeners may look up elements
+ * by ID, but should not iterate over or access by position the list changed, nor
+ * wait for other threads that change it.
+ *
+ * @see HMN
+ * @see Node
+ */
+public class ConcurrentHMN extends HMN
+{
+    /**
+     * Default constructor, initialising empty node and edge lists.
+     */
+    public ConcurrentHMN()
+    {
+        super();
+    }
+
+    /**
+     * Constructor setting the name of the HMN.
+     * @param name Name of the HMN.
+     */
+    public ConcurrentHMN(String name)
+    {
+        super(name);
+    }
+
+    /**
+     * Constructor to initialise the node and edge lists with the lists provided
+     * as arguments. The lists are copied, and the edge lists of the nodes (and of
+     * the nodes at the ends of the edges) are made thread-safe.
+     *
+     * @param agents List of Agents representing agents (humans or machines).
+     * @param artefacts List of Artefacts representing artefacts.
+     * @param edges List of Edges.
+     */
+    public ConcurrentHMN(List<Agent> agents, List<Artefact> artefacts, List<Edge> edges)
+    {
+        super(agents, artefacts, edges);
+        concurrentEdgeLists(agents);
+        concurrentEdgeLists(artefacts);
+        if (edges != null) {
+            for (Edge e : edges) {
+                concurrentEdgeLists(e);
+            }
+        }
+    }
+
+    @Override
+    public void setAgents(List<Agent> agents)
+    {
+        concurrentEdgeLists(agents);
+        super.setAgents(agents);
+    }
+
+    @Override
+    public void addAgents(List<Agent> agents)
+    {
+        concurrentEdgeLists(agents);
+        super.addAgents(agents);
+    }
+
+    @Override
+    public void addAgent(Agent node)
+    {
+        concurrentEdgeLists(node);
+        super.addAgent(node);
+    }
+
+    @Override
+    public void setArtefacts(List<Artefact> artefacts)
+    {
+        concurrentEdgeLists(artefacts);
+        super.setArtefacts(artefacts);
+    }
+
+    @Override
+    public void addArtefacts(List<Artefact> artefacts)
+    {
+        concurrentEdgeLists(artefacts);
+        super.addArtefacts(artefacts);
+    }
+
+    @Override
+    public void addArtefact(Artefact node)
+    {
+        concurrentEdgeLists(node);
+        super.addArtefact(node);
+    }
+
+    @Override
+    public void setEdges(List<Edge> edges)
+    {
+        if (edges != null) {
+            for (Edge e : edges) {
+                concurrentEdgeLists(e);
+            }
+        }
+        super.setEdges(edges);
+    }
+
+    @Override
+    public void addEdges(List<Edge> edges)
+    {
+        for (Edge e : edges) {
+            concurrentEdgeLists(e);
+        }
+        super.addEdges(edges);
+    }
+
+    @Override
+    public void addEdge(Edge edge)
+    {
+        concurrentEdgeLists(edge);
+        super.addEdge(edge);
+    }
+
+    @Override
+    void elementAdded(Object element)
+    {
+        // nodes and edges added directly to the lists, e.g., with getEdges().add(..)
+        if (element instanceof Node) {
+            concurrentEdgeLists((Node) element);
+        } else if (element instanceof Edge) {
+            concurrentEdgeLists((Edge) element);
+        }
+        super.elementAdded(element);
+    }
+
+    @Override
+    IndexedList<Agent> newAgentList(Collection<? extends Agent> agents)
+    {
+        return new ConcurrentNodeIndex<>(agents);
+    }
+
+    @Override
+    IndexedList<Artefact> newArtefactList(Collection<? extends Artefact> artefacts)
+    {
+        return new ConcurrentNodeIndex<>(artefacts);
+    }
+
+    @Override
+    IndexedList<Edge> newEdgeList(Collection<? extends Edge> edges)
+    {
+        return new ConcurrentEdgeIndex(edges);
+    }
+
+    private static void concurrentEdgeLists(Collection<? extends Node> nodes)
+    {
+        if (nodes != null) {
+            for (Node n : nodes) {
+                concurrentEdgeLists(n);
+            }
+        }
+    }
+
+    private static void concurrentEdgeLists(Node node)
+    {
+        if (node != null) {
+            node.concurrentEdgeLists();
+        }
+    }
+
+    /**
+     * Make the edge lists of the nodes at the ends of an edge thread-safe.
+     * @param edge The Edge object, which may be null.
+     */
+    private static void concurrentEdgeLists(Edge edge)
+    {
+        if (edge != null) {
+            concurrentEdgeLists(edge.getSourceNode());
+            concurrentEdgeLists(edge.getSinkNode());
+        }
+    }
+
+    /**
+     * A thread-safe list of nodes indexed on the node ID.
+     * @param <T> The type of node.
+     */
+    private static class ConcurrentNodeIndex<T extends Node> extends ConcurrentIndexedList<T>
+    {
+        ConcurrentNodeIndex(Collection<? extends T> nodes)
+        {
+            super(nodes);
+        }
+
+        @Override
+        protected String keyOf(Object o)
+        {
+            return o instanceof Node ? ((Node) o).getNodeID() : null;
+        }
+    }
+
+    /**
+     * A thread-safe list of edges indexed on the edge ID.
+     */
+    private static class ConcurrentEdgeIndex extends ConcurrentIndexedList<Edge>
+    {
+        ConcurrentEdgeIndex(Collection<? extends Edge> edges)
+        {
+            super(edges);
+        }
+
+        @Override
+        protected String keyOf(Object o)
+        {
+            return o instanceof Edge ? ((Edge) o).getEdgeID() : null;
+        }
+    }
+}
@@ -0,0 +1,738 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe IndexedList, used by the ConcurrentHMN for its lists of agents,
+ * artefacts and edges. The list is held in segments, each an IndexedList with its
+ * own lock, so there is no lock on the list as a whole: each thread appends to a
+ * segment chosen by the thread, and removals by ID (or by object) lock only the
+ * segment holding the element. The element with each ID, and its segment, are
+ * kept in a concurrent map, so lookups by ID, contains(..) and size() do not lock
+ * at all. Threads adding and removing different elements therefore rarely contend
+ * with each other. Each add and remove is atomic.
+ *
+ * The order of the list is that of its segments, one after the other. A list
+ * modified by a single thread keeps the order of an IndexedList, but elements
+ * added by different threads are in different segments, so an element added by
+ * one thread may come before elements added earlier by another. Removing an
+ * element moves the last element of its segment into the freed position.
+ *
+ * Iterating over the list (or streaming it) reads the elements as they were when
+ * the iterator was created, without holding any lock, and never throws a
+ * ConcurrentModificationException. Creating an iterator briefly locks the
+ * segments to share their elements (see VersionedList); the next modification of
+ * a segment copies its table of chunks, rather than all its elements.
+ *
+ * Operations by position (set(..), add(int, ..), remove(int) and indexOf(..)), and
+ * bulk operations over the whole list (clear(), sort(..) and removing ranges),
+ * lock every segment, in order, so are consistent but contend with all other
+ * threads; get(int) locks the segments one at a time, so may be inconsistent
+ * while other threads modify the list. Views returned by subList(..) are not
+ * thread-safe.
+ *
+ * @param <T> The type of element held in the list.
+ * @see ConcurrentHMN
+ */
+abstract class ConcurrentIndexedList<T> extends IndexedList<T>
+{
+    private static final int NUM_SEGMENTS = segmentCount();
+    private static final Object NULL_KEY = new Object(); // stands for the null ID in the map of entries
+
+    private final Segment<T>[] segments;
+    private final ConcurrentHashMap<Object, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor, initialising an empty list.
+     */
+    ConcurrentIndexedList()
+    {
+        segments = newSegments(NUM_SEGMENTS);
+    }
+
+    /**
+     * Constructor initialising the list with the elements provided.
+     * @param c Collection of elements to add, in iteration order.
+     */
+    ConcurrentIndexedList(Collection<? extends T> c)
+    {
+        this();
+        addAll(c);
+    }
+
+    @Override
+    void setOwner(HMN owner)
+    {
+        super.setOwner(owner);
+        for (Segment<T> s : segments) {
+            s.setOwner(owner);
+        }
+    }
+
+    @Override
+    void setEpochs(Epochs epochs)
+    {
+        super.setEpochs(epochs);
+        for (Segment<T> s : segments) {
+            s.setEpochs(epochs);
+        }
+    }
+
+    @Override
+    List<T> elementsAt(Epochs epochs, long epoch)
+    {
+        List<List<T>> parts = new ArrayList<>(segments.length);
+        for (Segment<T> s : segments) {
+            parts.add(s.elementsAt(epochs, epoch));
+        }
+        return new Parts<>(parts);
+    }
+
+    @Override
+    T getByKey(String key)
+    {
+        Entry<T> e = entries.get(mapKey(key));
+        return e == null ? null : e.element;
+    }
+
+    @Override
+    T removeByKey(String key)
+    {
+        Segment<T> s = lockSegmentOf(key);
+        if (s == null) {
+            return null;
+        }
+        try {
+            T element = entries.get(mapKey(key)).element;
+            unmap(element, s);
+            return s.removeByKey(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity)
+    {
+        Segment<T> s = localSegment();
+        s.lock.lock();
+        try {
+            s.ensureCapacity(minCapacity);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public T get(int index)
+    {
+        int i = index;
+        if (i >= 0) {
+            for (Segment<T> s : segments) {
+                s.lock.lock();
+                try {
+                    int size = s.size();
+                    if (i < size) {
+                        return s.get(i);
+                    }
+                    i -= size;
+                } finally {
+                    s.lock.unlock();
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for (Segment<T> s : segments) {
+            size += s.count;
+        }
+        return size;
+    }
+
+    @Override
+    public T set(int index, T element)
+    {
+        lockAll();
+        try {
+            int[] local = new int[] { index };
+            Segment<T> s = segmentAt(local, false);
+            boolean present = contains(element);
+            T old = s.get(local[0]);
+            unmap(old, s);
+            map(element, s);
+            s.replace(local[0], element);
+
+            // elements moved within the list (e.g., by Collections.swap(..)) are neither added nor removed
+            if (old != element) {
+                if (!contains(old)) {
+                    removed(old);
+                }
+                if (!present) {
+                    added(element);
+                }
+            }
+            return old;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        Segment<T> s = localSegment();
+        s.lock.lock();
+        try {
+            map(element, s);
+            return s.add(element);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, T element)
+    {
+        lockAll();
+        try {
+            int[] local = new int[] { index };
+            Segment<T> s = segmentAt(local, true);
+            map(element, s);
+            s.add(local[0], element);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c)
+    {
+        Segment<T> s = localSegment();
+        s.lock.lock();
+        try {
+            for (T element : c) {
+                map(element, s);
+                s.add(element);
+            }
+            return !c.isEmpty();
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c)
+    {
+        lockAll();
+        try {
+            return super.addAll(index, c);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public T remove(int index)
+    {
+        lockAll();
+        try {
+            int[] local = new int[] { index };
+            Segment<T> s = segmentAt(local, false);
+            unmap(s.get(local[0]), s);
+            return s.remove(local[0]);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        Segment<T> s = lockSegmentOf(keyOf(o));
+        if (s == null) {
+            return false;
+        }
+        try {
+            int index = s.indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            unmap(s.get(index), s);
+            s.remove(index);
+            return true;
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public int indexOf(Object o)
+    {
+        lockAll();
+        try {
+            Entry<T> e = entries.get(mapKey(keyOf(o)));
+            int index = e == null ? -1 : e.segment.indexOf(o);
+            return index < 0 ? -1 : offsetOf(e.segment) + index;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object o)
+    {
+        lockAll();
+        try {
+            for (int i = segments.length - 1; i >= 0; i--) {
+                int index = segments[i].lastIndexOf(o);
+                if (index >= 0) {
+                    return offsetOf(segments[i]) + index;
+                }
+            }
+            return -1;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        Entry<T> e = entries.get(mapKey(keyOf(o)));
+        return e != null && o != null && o.equals(e.element);
+    }
+
+    @Override
+    public void clear()
+    {
+        lockAll();
+        try {
+            entries.clear();
+            for (Segment<T> s : segments) {
+                s.clear();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex)
+    {
+        lockAll();
+        try {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+            }
+            int offset = 0;
+            for (Segment<T> s : segments) {
+                int size = s.size();
+                int from = Math.max(fromIndex - offset, 0);
+                int to = Math.min(toIndex - offset, size);
+                for (int i = from; i < to; i++) {
+                    unmap(s.get(i), s);
+                }
+                if (from < to) {
+                    s.removeRange(from, to);
+                }
+                offset += size;
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Sorts the list, keeping the number of elements in each segment, so the
+     * elements may move between segments. The owner is not notified.
+     * @param c The comparator, or null to sort by natural order.
+     */
+    @Override
+    public void sort(Comparator<? super T> c)
+    {
+        lockAll();
+        try {
+            List<T> all = new ArrayList<>();
+            for (Segment<T> s : segments) {
+                all.addAll(s);
+            }
+            all.sort(c);
+
+            int offset = 0;
+            for (Segment<T> s : segments) {
+                int size = s.size();
+                s.setElements(all.subList(offset, offset + size));
+                for (int i = 0; i < size; i++) {
+                    map(s.get(i), s);
+                }
+                offset += size;
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return shareSegments().toArray();
+    }
+
+    @Override
+    public <A> A[] toArray(A[] a)
+    {
+        return shareSegments().toArray(a);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new SharedIterator(shareSegments(), 0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator()
+    {
+        return new SharedIterator(shareSegments(), 0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index)
+    {
+        return new SharedIterator(shareSegments(), index);
+    }
+
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        return shareSegments().spliterator();
+    }
+
+    /**
+     * Get the current elements of all segments to read without holding their locks
+     * (see VersionedList.share()), as they are at one point in time.
+     * @return An unmodifiable list of the elements.
+     */
+    private List<T> shareSegments()
+    {
+        List<List<T>> parts = new ArrayList<>(segments.length);
+        lockAll();
+        try {
+            for (Segment<T> s : segments) {
+                parts.add(s.share());
+            }
+        } finally {
+            unlockAll();
+        }
+        return new Parts<>(parts);
+    }
+
+    /**
+     * Get the segment the current thread appends to.
+     * @return The segment.
+     */
+    private Segment<T> localSegment()
+    {
+        return segments[(int) Thread.currentThread().getId() & (segments.length - 1)];
+    }
+
+    /**
+     * Lock the segment holding the element with the given ID.
+     * @param key The ID.
+     * @return The segment, which is locked, or null if no element has the ID.
+     */
+    private Segment<T> lockSegmentOf(String key)
+    {
+        Object k = mapKey(key);
+        while (true) {
+            Entry<T> e = entries.get(k);
+            if (e == null) {
+                return null;
+            }
+            e.segment.lock.lock();
+            Entry<T> current = entries.get(k);
+            if (current != null && current.segment == e.segment) {
+                return e.segment;
+            }
+            // the ID has moved to another segment while waiting for the lock
+            e.segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Map the ID of an element to the element and its segment, replacing the
+     * element with that ID, if any. This must be called holding the lock of the segment.
+     * @param element The element.
+     * @param s The segment the element is being added to.
+     */
+    private void map(T element, Segment<T> s)
+    {
+        entries.put(mapKey(keyOf(element)), new Entry<>(element, s));
+    }
+
+    /**
+     * Remove the entry for the ID of an element, if it maps to the element in the
+     * segment given. This must be called holding the lock of the segment.
+     * @param element The element being removed from the segment.
+     * @param s The segment.
+     */
+    private void unmap(T element, Segment<T> s)
+    {
+        Object k = mapKey(keyOf(element));
+        Entry<T> e = entries.get(k);
+        if (e != null && e.element == element && e.segment == s) {
+            entries.remove(k, e);
+        }
+    }
+
+    /**
+     * Find the segment holding a position in the list. This must be called holding
+     * the locks of all segments.
+     * @param index The index in the list, which is replaced by the index in the segment.
+     * @param forAdd True if the position is where an element is to be inserted, which may be the end of a segment.
+     * @return The segment.
+     */
+    private Segment<T> segmentAt(int[] index, boolean forAdd)
+    {
+        int i = index[0];
+        if (i >= 0) {
+            for (Segment<T> s : segments) {
+                int size = s.size();
+                if (i < size || (forAdd && i == size)) {
+                    index[0] = i;
+                    return s;
+                }
+                i -= size;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index[0] + ", Size: " + size());
+    }
+
+    /**
+     * Get the position of the first element of a segment in the list. This must be
+     * called holding the locks of all segments.
+     * @param segment The segment.
+     * @return The number of elements in the segments before it.
+     */
+    private int offsetOf(Segment<T> segment)
+    {
+        int offset = 0;
+        for (Segment<T> s : segments) {
+            if (s == segment) {
+                break;
+            }
+            offset += s.size();
+        }
+        return offset;
+    }
+
+    private void lockAll()
+    {
+        for (Segment<T> s : segments) {
+            s.lock.lock();
+        }
+    }
+
+    private void unlockAll()
+    {
+        for (int i = segments.length - 1; i >= 0; i--) {
+            segments[i].lock.unlock();
+        }
+    }
+
+    private static Object mapKey(String key)
+    {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Segment<T>[] newSegments(int n)
+    {
+        Segment<T>[] s = (Segment<T>[]) new Segment<?>[n];
+        for (int i = 0; i < n; i++) {
+            s[i] = new Segment<>(this);
+        }
+        return s;
+    }
+
+    /**
+     * Get the number of segments of a list, a power of two of at least twice the
+     * number of processors (up to 64), so that threads rarely share a segment.
+     * @return The number of segments.
+     */
+    private static int segmentCount()
+    {
+        int n = 1;
+        while (n < 2 * Runtime.getRuntime().availableProcessors() && n < 64) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    /**
+     * A segment of the list, which is indexed on the IDs of the list, and keeps
+     * its size where it can be read without the lock.
+     * @param <T> The type of element held in the list.
+     */
+    private static final class Segment<T> extends IndexedList<T>
+    {
+        final ConcurrentIndexedList<T> list;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile int count;
+
+        Segment(ConcurrentIndexedList<T> list)
+        {
+            this.list = list;
+        }
+
+        @Override
+        protected String keyOf(Object o)
+        {
+            return list.keyOf(o);
+        }
+
+        @Override
+        public boolean add(T element)
+        {
+            super.add(element);
+            count = size();
+            return true;
+        }
+
+        @Override
+        public void add(int index, T element)
+        {
+            super.add(index, element);
+            count = size();
+        }
+
+        @Override
+        public T remove(int index)
+        {
+            T removed = super.remove(index);
+            count = size();
+            return removed;
+        }
+
+        @Override
+        public void clear()
+        {
+            super.clear();
+            count = 0;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex)
+        {
+            super.removeRange(fromIndex, toIndex);
+            count = size();
+        }
+
+        @Override
+        void setElements(Collection<? extends T> c)
+        {
+            super.setElements(c);
+            count = size();
+        }
+    }
+
+    /**
+     * The element with an ID, and the segment holding it.
+     * @param <T> The type of element held in the list.
+     */
+    private static final class Entry<T> implements Serializable
+    {
+        final T element;
+        final Segment<T> segment;
+
+        Entry(T element, Segment<T> segment)
+        {
+            this.element = element;
+            this.segment = segment;
+        }
+    }
+
+    /**
+     * An unmodifiable list of the elements of several lists, one after the other.
+     * @param <T> The type of element held in the list.
+     */
+    private static final class Parts<T> extends AbstractList<T> implements RandomAccess
+    {
+        private final List<List<T>> parts;
+        private final int[] offsets; // the index of the first element of each part, and the size of the list
+
+        Parts(List<List<T>> parts)
+        {
+            this.parts = parts;
+            this.offsets = new int[parts.size() + 1];
+            for (int i = 0; i < parts.size(); i++) {
+                offsets[i + 1] = offsets[i] + parts.get(i).size();
+            }
+        }
+
+        @Override
+        public T get(int index)
+        {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            // the last part starting at or before the index, skipping empty parts
+            int i = Arrays.binarySearch(offsets, index);
+            if (i >= 0) {
+                while (offsets[i + 1] == index) {
+                    i++;
+                }
+            } else {
+                i = -i - 2;
+            }
+            return parts.get(i).get(index - offsets[i]);
+        }
+
+        @Override
+        public int size()
+        {
+            return offsets[offsets.length - 1];
+        }
+    }
+}
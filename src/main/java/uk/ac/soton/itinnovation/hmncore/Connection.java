@@ -24,9 +24,16 @@
 /////////////////////////////////////////////////////////////////////////
 package uk.ac.soton.itinnovation.hmncore;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * A class representing a connection that an Agent (Human or Machine) has to an Edge
@@ -55,7 +62,12 @@ import java.util.Map;
  * And, conversely, if this is a SINK connection type
  *   Trust is associated with the SINK node
  *   Trustworthiness is associated with the SOURCE node
+ * 
+ * Bespoke properties are stored in an array indexed by the slot of the property
+ * name in the PropertySchema, rather than in a map. Properties can be accessed by
+ * name, or (faster) by slot via getProperty(int) and setProperty(int, double).
  * @see Edge
+ * @see PropertySchema
  * @see Agent
  * @author Vegard Engen
  */
@@ -65,11 +77,14 @@ public class Connection implements Serializable
     private ConnectionType connectionType;
     private double trust;
     private double trustworthiness;
-    private Map<String, Double> properties;
+    private transient double[] values; // indexed by property slot
+    private transient long[] present;  // bit set of the slots that have a value
+    private transient Map<String, Double> properties; // view of the slots, created on demand
+    private transient Edge edge; // the edge the connection was last added to, which is notified of changes
 
     /**
      * Default constructor, which sets an empty connection ID, the connection type as SOURCE,
-     * initialises the Map of properties and the trust parameters to zero.
+     * no properties and the trust parameters to zero.
      */
     public Connection()
     {
@@ -77,7 +92,6 @@ public class Connection implements Serializable
         this.connectionType = ConnectionType.SOURCE;
         this.trust = 0;
         this.trustworthiness = 0;
-        this.properties = new HashMap<>();
     }
     
     /**
@@ -168,6 +182,7 @@ public class Connection implements Serializable
     public void setTrust(double trust)
     {
         this.trust = trust;
+        changed();
     }
 
     /**
@@ -186,43 +201,373 @@ public class Connection implements Serializable
     public void setTrustworthiness(double trustworthiness)
     {
         this.trustworthiness = trustworthiness;
+        changed();
     }
 
     /**
      * Get the map of properties, in which the key represents the name of the property.
+     * The map is a modifiable view of the properties of the connection; putting
+     * a NULL value removes the property.
      * @return A Map of numeric (floats) properties in which the key represents the name of the property.
      */
     public Map<String, Double> getProperties()
     {
+        if (properties == null) {
+            properties = new PropertyMap();
+        }
         return properties;
     }
     
     /**
      * Get the value of a property given the key provided as an argument to this method call.
      * @param key String representing the name of a property.
-     * @return The numeric (float) value of a property given the provided name.
+     * @return The numeric (float) value of a property given the provided name, or null if the property is not set.
      */
     public Double getProperty(String key)
     {
-        return this.properties.get(key);
+        int slot = PropertySchema.find(key);
+        return slot >= 0 && hasProperty(slot) ? values[slot] : null;
+    }
+
+    /**
+     * Get the value of a property given its slot in the PropertySchema.
+     * @param slot The slot of the property.
+     * @return The value of the property, or NaN if the property is not set.
+     */
+    public double getProperty(int slot)
+    {
+        return hasProperty(slot) ? values[slot] : Double.NaN;
     }
 
     /**
-     * Set bespoke properties for the connection.
+     * Check if a property is set, given its slot in the PropertySchema.
+     * @param slot The slot of the property.
+     * @return True if the property is set; false otherwise.
+     */
+    public boolean hasProperty(int slot)
+    {
+        return present != null && slot >= 0 && (slot >>> 6) < present.length && (present[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Set bespoke properties for the connection, replacing any existing properties.
+     * The properties are copied, so later changes to the provided map are not
+     * reflected in the connection. Properties with NULL values are ignored.
      * @param properties Map of properties and their values, in which the Key is the name of each property.
      */
     public void setProperties(Map<String, Double> properties)
     {
-        this.properties = properties;
+        values = null;
+        present = null;
+        if (properties != null) {
+            for (Map.Entry<String, Double> p : properties.entrySet()) {
+                if (p.getValue() != null) {
+                    putProperty(PropertySchema.slot(p.getKey()), p.getValue());
+                }
+            }
+        }
+        propertyChanged(-1);
     }
     
     /**
      * Set a bespoke property for the connection.
      * @param key Name of the property.
-     * @param value Value of the property.
+     * @param value Value of the property, or NULL to remove the property.
      */
     public void setProperty(String key, Double value)
     {
-        this.properties.put(key, value);
+        if (value != null) {
+            setProperty(PropertySchema.slot(key), value.doubleValue());
+        } else {
+            removeProperty(PropertySchema.find(key));
+        }
+    }
+
+    /**
+     * Set a bespoke property for the connection, given its slot in the PropertySchema.
+     * @param slot The slot of the property.
+     * @param value Value of the property.
+     * @throws IndexOutOfBoundsException If the slot has not been assigned.
+     */
+    public void setProperty(int slot, double value) throws IndexOutOfBoundsException
+    {
+        putProperty(slot, value);
+        propertyChanged(slot);
+    }
+
+    /**
+     * Set the value of a property slot, without notifying the edge.
+     * @param slot The slot of the property.
+     * @param value Value of the property.
+     * @throws IndexOutOfBoundsException If the slot has not been assigned.
+     */
+    private void putProperty(int slot, double value) throws IndexOutOfBoundsException
+    {
+        if (slot < 0 || slot >= PropertySchema.size()) {
+            throw new IndexOutOfBoundsException("Property slot not assigned: " + slot);
+        }
+
+        if (values == null || slot >= values.length) {
+            // sized to this connection's own slots, doubling to amortise the copies
+            int length = values == null ? slot + 1 : Math.max(slot + 1, Math.min(2 * values.length, PropertySchema.size()));
+            double[] grown = new double[length];
+            if (values != null) {
+                System.arraycopy(values, 0, grown, 0, values.length);
+            }
+            values = grown;
+        }
+        int word = slot >>> 6;
+        if (present == null || word >= present.length) {
+            long[] grown = new long[word + 1];
+            if (present != null) {
+                System.arraycopy(present, 0, grown, 0, present.length);
+            }
+            present = grown;
+        }
+
+        values[slot] = value;
+        present[word] |= 1L << slot;
+    }
+
+    /**
+     * Remove a bespoke property from the connection, given its slot in the PropertySchema.
+     * @param slot The slot of the property.
+     * @return True if the property was set; false otherwise.
+     */
+    public boolean removeProperty(int slot)
+    {
+        if (!hasProperty(slot)) {
+            return false;
+        }
+        present[slot >>> 6] &= ~(1L << slot);
+        propertyChanged(slot);
+        return true;
+    }
+
+    /**
+     * Get the number of properties set.
+     * @return The number of properties.
+     */
+    private int propertyCount()
+    {
+        int count = 0;
+        if (present != null) {
+            for (long bits : present) {
+                count += Long.bitCount(bits);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the first slot with a value, from the slot given.
+     * @param from The slot to start from.
+     * @return The slot, or -1 if there are no more properties.
+     */
+    private int nextProperty(int from)
+    {
+        if (present == null) {
+            return -1;
+        }
+        int word = from >>> 6;
+        if (word >= present.length) {
+            return -1;
+        }
+        long bits = present[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == present.length) {
+                return -1;
+            }
+            bits = present[word];
+        }
+    }
+
+    /**
+     * Get the edge the connection was last added to.
+     * @return The Edge object, or null if the connection has not been added to an edge.
+     */
+    Edge getEdge()
+    {
+        return edge;
+    }
+
+    /**
+     * Set the edge the connection has been added to, which is notified when the
+     * trust, trustworthiness or bespoke properties of the connection are set.
+     * @param edge The Edge object.
+     */
+    void setEdge(Edge edge)
+    {
+        this.edge = edge;
+    }
+
+    /**
+     * Notify the edge, if any, that the connection has changed.
+     */
+    private void changed()
+    {
+        Edge e = edge;
+        if (e != null) {
+            e.connectionChanged(this);
+        }
+    }
+
+    /**
+     * Notify the edge, if any, that a bespoke property has been set or removed.
+     * @param slot The slot of the property, or -1 if the properties have been replaced.
+     */
+    private void propertyChanged(int slot)
+    {
+        Edge e = edge;
+        if (e != null) {
+            e.propertyChanged(this, slot);
+        }
+    }
+
+    /**
+     * Serialise the properties by name, as slots are only valid within one JVM.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        out.writeInt(propertyCount());
+        for (int slot = nextProperty(0); slot >= 0; slot = nextProperty(slot + 1)) {
+            out.writeUTF(PropertySchema.name(slot));
+            out.writeDouble(values[slot]);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            putProperty(PropertySchema.slot(in.readUTF()), in.readDouble());
+        }
+    }
+
+    /**
+     * A modifiable Map view of the properties, keyed on property name.
+     */
+    private class PropertyMap extends AbstractMap<String, Double>
+    {
+        @Override
+        public int size()
+        {
+            return propertyCount();
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return key instanceof String && hasProperty(PropertySchema.find((String) key));
+        }
+
+        @Override
+        public Double get(Object key)
+        {
+            return key instanceof String ? getProperty((String) key) : null;
+        }
+
+        @Override
+        public Double put(String key, Double value)
+        {
+            Double old = getProperty(key);
+            setProperty(key, value);
+            return old;
+        }
+
+        @Override
+        public Double remove(Object key)
+        {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            Double old = getProperty((String) key);
+            removeProperty(PropertySchema.find((String) key));
+            return old;
+        }
+
+        @Override
+        public void clear()
+        {
+            present = null;
+            values = null;
+            propertyChanged(-1);
+        }
+
+        @Override
+        public Set<Map.Entry<String, Double>> entrySet()
+        {
+            return new AbstractSet<Map.Entry<String, Double>>()
+            {
+                @Override
+                public int size()
+                {
+                    return propertyCount();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Double>> iterator()
+                {
+                    return new PropertyIterator();
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the slots with values, in slot order.
+     */
+    private class PropertyIterator implements Iterator<Map.Entry<String, Double>>
+    {
+        private int next = nextProperty(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext()
+        {
+            return next >= 0;
+        }
+
+        @Override
+        public Map.Entry<String, Double> next()
+        {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = nextProperty(next + 1);
+            final int slot = last;
+            return new AbstractMap.SimpleEntry<String, Double>(PropertySchema.name(slot), values[slot])
+            {
+                @Override
+                public Double setValue(Double value)
+                {
+                    Double old = super.setValue(value);
+                    if (value != null) {
+                        setProperty(slot, value);
+                    } else {
+                        removeProperty(slot);
+                    }
+                    return old;
+                }
+            };
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeProperty(last);
+            last = -1;
+        }
     }
 }
@@ -0,0 +1,92 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+/**
+ * A registry of connection type names (the keys of the connection and stats maps
+ * of an Edge), which assigns each name a small int ID. Edges store their
+ * connections and connection stats in arrays indexed by ID, so code that reads
+ * the connections of one type on many edges can look the ID up once and then use
+ * the int-keyed methods of Edge, avoiding hashing the name on every access.
+ *
+ * IDs are assigned in the order names are first registered, and are never reused.
+ * They are only valid within one JVM: serialised edges store connection type
+ * names, not IDs.
+ *
+ * @see Edge#getSourceConnection(int)
+ * @see Edge#getSinkConnection(int)
+ * @see Edge#getEdgeConnectionStats(int)
+ */
+public final class ConnectionTypeRegistry
+{
+    private static final NameTable IDS = new NameTable("Connection type ID");
+
+    private ConnectionTypeRegistry() { }
+
+    /**
+     * Get the ID of a connection type, registering the type if it is new.
+     * @param name Name of the connection type.
+     * @return The ID of the connection type.
+     * @throws NullPointerException If name is NULL.
+     */
+    public static int id(String name) throws NullPointerException
+    {
+        if (name == null) {
+            throw new NullPointerException("Cannot register the connection type as the name provided was NULL");
+        }
+
+        return IDS.id(name);
+    }
+
+    /**
+     * Get the ID of a connection type, without registering it.
+     * @param name Name of the connection type.
+     * @return The ID of the connection type, or -1 if the type has not been registered.
+     */
+    public static int find(String name)
+    {
+        return IDS.find(name);
+    }
+
+    /**
+     * Get the name of the connection type with an ID.
+     * @param id The ID.
+     * @return The name of the connection type.
+     * @throws IndexOutOfBoundsException If the ID has not been assigned.
+     */
+    public static String name(int id) throws IndexOutOfBoundsException
+    {
+        return IDS.name(id);
+    }
+
+    /**
+     * Get the number of registered connection types. IDs are numbered from 0 to size() - 1.
+     * @return The number of connection types.
+     */
+    public static int size()
+    {
+        return IDS.size();
+    }
+}
@@ -24,8 +24,10 @@
 /////////////////////////////////////////////////////////////////////////
 package uk.ac.soton.itinnovation.hmncore;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,7 +35,33 @@ import java.util.UUID;
  * A class representing an Edge between two Nodes in the HMN, which has a start
  * and an end Connection to the two respective Nodes.
  *
+ * The stats of each connection type are linked to the aggregate edge stats, so
+ * interactions added to them are also added to the aggregate, which can then be
+ * read in constant time. Interactions can be recorded from several threads at
+ * once with recordInteraction(..), which uses ConcurrentEdgeStats for the stats of
+ * each connection type and the aggregate edge stats.
+ *
+ * An edge added to an HMN notifies the HMN's listeners when connections are added
+ * to it, when the trust or trustworthiness of its connections is set, and when
+ * interactions are recorded.
+ *
+ * The connections and connection stats are stored in arrays indexed by the ID of
+ * the connection type in the ConnectionTypeRegistry, and the maps returned by the
+ * getters are views of these arrays. Code that reads the connections of one type
+ * on many edges can look the ID up once and use getSourceConnection(int),
+ * getSinkConnection(int) and getEdgeConnectionStats(int).
+ *
+ * Unlike the HashMaps the edge used to hold, these maps do not allow NULL keys or
+ * values: a NULL connection type throws a NullPointerException, and a NULL value
+ * removes the entry for its connection type (so containsKey(..) is then false),
+ * both when put in a map and in a map passed to a setter.
+ *
+ * To keep edges small in large networks, the arrays and the aggregate edge stats
+ * are only allocated when first needed: an edge without connections holds no
+ * arrays, and an edge whose stats are never read or recorded holds no EdgeStats.
+ *
  * @see Connection
+ * @see ConnectionTypeRegistry
  * @see Node
  * @author Vegard Engen
  */
@@ -42,20 +70,19 @@ public class Edge implements Serializable
     private String edgeID;
     private Node sourceNode;
     private Node sinkNode;
-    private Map<String, Connection> sourceConnections; // connections of different types (the String key) from source node encoding properties affecting how the source node may interact with the sink node
-    private Map<String, Connection> sinkConnections; // connection of different types (the String key) to sink node encoding properties affecting how the destination node may react to interactions from the source node
-    private Map<String, EdgeStats> edgeConnectionStats; // key = connection type
-    private EdgeStats edgeStats; // assumed to aggregate stats across all connection edge stats objects
+    private transient volatile Object[] sourceConnections; // connections of different types (keyed by connection type ID, see SlotMap) from source node encoding properties affecting how the source node may interact with the sink node; null if none
+    private transient volatile Object[] sinkConnections; // connection of different types (keyed by connection type ID, see SlotMap) to sink node encoding properties affecting how the destination node may react to interactions from the source node; null if none
+    private transient volatile Object[] edgeConnectionStats; // keyed by connection type ID (see SlotMap); null if none
+    private volatile EdgeStats edgeStats; // assumed to aggregate stats across all connection edge stats objects; created on first access
+    private transient HMN hmn; // the HMN the edge has been added to, whose listeners are notified of changes
 
     /**
-     * Default constructor, initialising the properties of the Edge class.
+     * Default constructor. The connections and stats of the edge are allocated
+     * when first added or accessed.
      */
     public Edge()
     {
-        sourceConnections = new HashMap<>();
-        sinkConnections = new HashMap<>();
-        edgeConnectionStats = new HashMap<>();
-        edgeStats = new EdgeStats();
+
     }
     
     /**
@@ -85,8 +112,8 @@ public class Edge implements Serializable
     public Edge(Node srcNode, Node sinkNode, String conType, Connection srcCon, Connection sinkCon)
     {
         this(srcNode, sinkNode);
-        this.sourceConnections.put(conType, srcCon);
-        this.sinkConnections.put(conType, sinkCon);
+        sourceMap().put(conType, attach(srcCon));
+        sinkMap().put(conType, attach(sinkCon));
     }
     
     /**
@@ -116,8 +143,8 @@ public class Edge implements Serializable
     public Edge(String eID, Node srcNode, Node sinkNode, String conType, Connection srcCon, Connection sinkCon)
     {
         this(eID, srcNode, sinkNode);
-        this.sourceConnections.put(conType, srcCon);
-        this.sinkConnections.put(conType, sinkCon);
+        sourceMap().put(conType, attach(srcCon));
+        sinkMap().put(conType, attach(sinkCon));
     }
 
     /**
@@ -180,16 +207,32 @@ public class Edge implements Serializable
      */
     public Map<String, Connection> getSourceConnections()
     {
-        return sourceConnections;
+        return sourceMap();
     }
 
     /**
-     * Set the connections for the source node.
+     * Get the connection of a type for the source node.
+     * @param typeId The ID of the connection type in the ConnectionTypeRegistry.
+     * @return The connection object, or null if the source node has no connection of the type.
+     */
+    public Connection getSourceConnection(int typeId)
+    {
+        return SlotMap.get(sourceConnections, typeId);
+    }
+
+    /**
+     * Set the connections for the source node. The connections are copied from the
+     * map provided, so later changes to that map are not reflected in the edge.
      * @param sourceConnections Map of connections, where the Key is a string representing the connection name/ID.
      */
     public void setSourceConnections(Map<String, Connection> sourceConnections)
     {
-        this.sourceConnections = sourceConnections;
+        Object[] slots = toSlots(sourceConnections);
+        synchronized (this) {
+            this.sourceConnections = slots;
+        }
+        attachAll(sourceConnections);
+        connectionChanged(null);
     }
     
     /**
@@ -198,17 +241,23 @@ public class Edge implements Serializable
      */
     public void addSourceConnections(Map<String, Connection> sourceConnections)
     {
-        this.sourceConnections.putAll(sourceConnections);
+        sourceMap().putAll(sourceConnections);
+        attachAll(sourceConnections);
+        for (Connection con : sourceConnections.values()) {
+            connectionChanged(con);
+        }
     }
     
     /**
      * Add a connection for the source node.
      * @param conType A string representing the connection name/ID.
-     * @param con The connection object.
+     * @param con The connection object, or NULL to remove the connection of the type.
+     * @throws NullPointerException If conType is NULL.
      */
     public void addSourceConnection(String conType, Connection con)
     {
-        this.sourceConnections.put(conType, con);
+        sourceMap().put(conType, attach(con));
+        connectionChanged(con);
     }
 
     /**
@@ -217,16 +266,32 @@ public class Edge implements Serializable
      */
     public Map<String, Connection> getSinkConnections()
     {
-        return sinkConnections;
+        return sinkMap();
     }
 
     /**
-     * Set the connections for the sink node.
+     * Get the connection of a type for the sink node.
+     * @param typeId The ID of the connection type in the ConnectionTypeRegistry.
+     * @return The connection object, or null if the sink node has no connection of the type.
+     */
+    public Connection getSinkConnection(int typeId)
+    {
+        return SlotMap.get(sinkConnections, typeId);
+    }
+
+    /**
+     * Set the connections for the sink node. The connections are copied from the
+     * map provided, so later changes to that map are not reflected in the edge.
      * @param sinkConnections Map of connections, where the Key is a string representing the connection name/ID.
      */
     public void setSinkConnections(Map<String, Connection> sinkConnections)
     {
-        this.sinkConnections = sinkConnections;
+        Object[] slots = toSlots(sinkConnections);
+        synchronized (this) {
+            this.sinkConnections = slots;
+        }
+        attachAll(sinkConnections);
+        connectionChanged(null);
     }
     
     /**
@@ -235,17 +300,23 @@ public class Edge implements Serializable
      */
     public void addSinkConnections(Map<String, Connection> sinkConnections)
     {
-        this.sinkConnections.putAll(sinkConnections);
+        sinkMap().putAll(sinkConnections);
+        attachAll(sinkConnections);
+        for (Connection con : sinkConnections.values()) {
+            connectionChanged(con);
+        }
     }
     
     /**
      * Add a connection for the sink node.
      * @param conType A string representing the connection name/ID.
-     * @param con The connection object.
+     * @param con The connection object, or NULL to remove the connection of the type.
+     * @throws NullPointerException If conType is NULL.
      */
     public void addSinkConnection(String conType, Connection con)
     {
-        this.sinkConnections.put(conType, con);
+        sinkMap().put(conType, attach(con));
+        connectionChanged(con);
     }
     
     /**
@@ -266,16 +337,33 @@ public class Edge implements Serializable
      */
     public Map<String, EdgeStats> getEdgeConnectionStats()
     {
-        return edgeConnectionStats;
+        return statsMap();
     }
 
     /**
-     * Sets the edge connection stats.
+     * Get the edge stats pertaining to a type of connection.
+     * @param typeId The ID of the connection type in the ConnectionTypeRegistry.
+     * @return The EdgeStats object, or null if there are no stats for the connection type.
+     */
+    public EdgeStats getEdgeConnectionStats(int typeId)
+    {
+        return SlotMap.get(edgeConnectionStats, typeId);
+    }
+
+    /**
+     * Sets the edge connection stats, linking each to the aggregate edge stats.
+     * The aggregate is not changed; call recomputeEdgeStats() to bring it in line
+     * with the stats provided. The stats are copied from the map provided, so later
+     * changes to that map are not reflected in the edge.
      * @param edgeStats Map of edge stats, where the Key is a string representing the connection name/ID.
      */
     public void setEdgeConnectionStats(Map<String, EdgeStats> edgeStats)
     {
-        this.edgeConnectionStats = edgeStats;
+        Object[] slots = toSlots(edgeStats);
+        synchronized (this) {
+            this.edgeConnectionStats = slots;
+        }
+        linkConnectionStats(slots == null ? this.edgeStats : getEdgeStats());
     }
     
     /**
@@ -284,34 +372,381 @@ public class Edge implements Serializable
      */
     public void addEdgeConnectionStats(Map<String, EdgeStats> edgeStats)
     {
-        this.edgeConnectionStats.putAll(edgeStats);
+        for (Map.Entry<String, EdgeStats> entry : edgeStats.entrySet()) {
+            addEdgeConnectionStats(entry.getKey(), entry.getValue());
+        }
     }
     
     /**
-     * Add an age stats object pertaing to a type of connection.
+     * Add an age stats object pertaing to a type of connection, linking it to the
+     * aggregate edge stats so that later interactions are also added to the aggregate.
+     * The current values of the stats are not added to the aggregate.
      * @param conType A string representing the name/ID of the connection type.
-     * @param edgeStats An EdgeStats object.
+     * @param edgeStats An EdgeStats object, or null to remove the stats for the connection type.
      */
     public void addEdgeConnectionStats(String conType, EdgeStats edgeStats)
     {
-        this.edgeConnectionStats.put(conType, edgeStats);
+        EdgeStats old;
+        EdgeStats aggregate = this.edgeStats;
+        if (edgeStats != null) {
+            aggregate = getEdgeStats();
+            edgeStats.setAggregate(aggregate);
+            old = statsMap().put(conType, edgeStats);
+        } else {
+            old = statsMap().remove(conType);
+        }
+        if (old != null && old != edgeStats && old.getAggregate() == aggregate) {
+            old.setAggregate(null);
+        }
+    }
+    
+    /**
+     * Record an interaction of a type of connection, adding it to the stats of the
+     * connection type and the aggregate edge stats. This is safe to call from
+     * several threads at once.
+     * 
+     * On the first call, the aggregate edge stats are replaced by a
+     * ConcurrentEdgeStats (with the same values), and stats are created for each
+     * new connection type as ConcurrentEdgeStats linked to the aggregate.
+     * @param conType A string representing the name/ID of the connection type.
+     */
+    public void recordInteraction(String conType)
+    {
+        recordInteractions(conType, 1);
+    }
+    
+    /**
+     * Record a number of interactions of a type of connection, adding them to the
+     * stats of the connection type and the aggregate edge stats. Stats of the
+     * connection type that are not a ConcurrentEdgeStats (e.g., added with
+     * addEdgeConnectionStats(..)) are first replaced by a ConcurrentEdgeStats with
+     * the same values, so that interactions recorded concurrently are not lost.
+     * @see #recordInteraction(String)
+     * @param conType A string representing the name/ID of the connection type.
+     * @param n The number of interactions.
+     */
+    public void recordInteractions(String conType, int n)
+    {
+        EdgeStats aggregate = concurrentEdgeStats();
+        int typeId = ConnectionTypeRegistry.id(conType);
+        EdgeStats stats = SlotMap.get(edgeConnectionStats, typeId);
+        if (!(stats instanceof ConcurrentEdgeStats) || stats.getAggregate() != aggregate) {
+            synchronized (this) {
+                stats = SlotMap.get(edgeConnectionStats, typeId);
+                if (!(stats instanceof ConcurrentEdgeStats)) {
+                    // missing, or plain stats added directly or read from a file, which would lose concurrent updates
+                    stats = new ConcurrentEdgeStats(stats, aggregate);
+                    edgeConnectionStats = SlotMap.put(edgeConnectionStats, typeId, stats);
+                } else if (stats.getAggregate() != aggregate) {
+                    stats.setAggregate(aggregate); // added to the map directly
+                }
+            }
+        }
+        stats.addInteractions(n);
+        
+        HMN h = hmn;
+        if (h != null) {
+            h.interactionRecorded(this, conType, n);
+        }
     }
     
     /**
-     * Get edge stats (assumed to be aggregated across all connections).
+     * Recompute the aggregate edge stats as the sum of the stats of each
+     * connection type, e.g., after the stats have been replaced or modified
+     * without going through this edge. This should not be called while
+     * interactions are being recorded on the edge.
+     * @see HMN#recomputeEdgeStats()
+     */
+    public void recomputeEdgeStats()
+    {
+        Object[] slots = edgeConnectionStats;
+        if (slots == null && edgeStats == null) {
+            return; // nothing to aggregate, so the stats need not be allocated
+        }
+        EdgeStats aggregate = getEdgeStats();
+        
+        int strength = 0;
+        int interactions = 0;
+        for (int i = 0; i < SlotMap.length(slots); i++) {
+            EdgeStats stats = SlotMap.valueAt(slots, i);
+            if (stats != null && stats != aggregate) {
+                strength += stats.getInteractionStrength();
+                interactions += stats.getNumInteractions();
+                stats.setAggregate(aggregate);
+            }
+        }
+        aggregate.setInteractionStrength(strength);
+        aggregate.setNumInteractions(interactions);
+    }
+    
+    /**
+     * Get edge stats, aggregated across all connections. The stats are created
+     * (with zero values) on first access, if they have not been set.
      * @return EdgeStats object.
      */
     public EdgeStats getEdgeStats()
     {
-        return edgeStats;
+        EdgeStats stats = edgeStats;
+        if (stats != null) {
+            return stats;
+        }
+        
+        synchronized (this) {
+            if (edgeStats == null) {
+                edgeStats = new EdgeStats();
+            }
+            return edgeStats;
+        }
     }
 
     /**
-     * Sets the edge stats.
+     * Check whether the edge has aggregate edge stats, without creating them.
+     * @return True if the edge stats have been set or created; false otherwise.
+     */
+    public boolean hasEdgeStats()
+    {
+        return edgeStats != null;
+    }
+
+    /**
+     * Sets the edge stats, linking the stats of each connection type to them.
      * @param edgeStats EdgeStats object.
      */
     public void setEdgeStats(EdgeStats edgeStats)
     {
         this.edgeStats = edgeStats;
+        linkConnectionStats(edgeStats);
+    }
+    
+    /**
+     * Get the HMN the edge has been added to.
+     * @return HMN object, or null if the edge has not been added to an HMN (with HMN.addEdge(..), or similar).
+     */
+    public HMN getHMN()
+    {
+        return hmn;
+    }
+    
+    /**
+     * Set the HMN the edge has been added to, whose listeners are notified of
+     * changes to the connections of the edge.
+     * @param hmn HMN object, or null if the edge has been removed from the HMN.
+     */
+    void setHMN(HMN hmn)
+    {
+        this.hmn = hmn;
+    }
+    
+    /**
+     * Notify the listeners of the HMN, if any, that a connection of the edge has
+     * been added or changed.
+     * @param con The Connection object, or null if the connections have been replaced.
+     */
+    void connectionChanged(Connection con)
+    {
+        HMN h = hmn;
+        if (h != null) {
+            h.connectionChanged(this, con);
+        }
+    }
+    
+    /**
+     * Notify the listeners of the HMN, if any, that a bespoke property of a
+     * connection of the edge has been set or removed.
+     * @param con The Connection object.
+     * @param slot The slot of the property, or -1 if the properties have been replaced.
+     */
+    void propertyChanged(Connection con, int slot)
+    {
+        HMN h = hmn;
+        if (h != null) {
+            h.propertyChanged(this, con, slot);
+        }
+    }
+    
+    /**
+     * Get the aggregate edge stats as a ConcurrentEdgeStats, replacing the edge
+     * stats with a copy if they are not already thread-safe.
+     * @return The ConcurrentEdgeStats object.
+     */
+    private EdgeStats concurrentEdgeStats()
+    {
+        EdgeStats stats = edgeStats;
+        if (stats instanceof ConcurrentEdgeStats) {
+            return stats;
+        }
+        
+        synchronized (this) {
+            if (!(edgeStats instanceof ConcurrentEdgeStats)) {
+                setEdgeStats(new ConcurrentEdgeStats(getEdgeStats(), null));
+            }
+            return edgeStats;
+        }
+    }
+    
+    /**
+     * Link the stats of each connection type to the aggregate edge stats.
+     * @param aggregate The aggregate EdgeStats object, or null to unlink the stats.
+     */
+    private void linkConnectionStats(EdgeStats aggregate)
+    {
+        Object[] slots = edgeConnectionStats;
+        for (int i = 0; i < SlotMap.length(slots); i++) {
+            EdgeStats stats = SlotMap.valueAt(slots, i);
+            if (stats != null) {
+                stats.setAggregate(aggregate);
+            }
+        }
+    }
+    
+    /**
+     * Get a map view of the source connections.
+     * @return The view.
+     */
+    private SlotMap<Connection> sourceMap()
+    {
+        return new SlotMap<Connection>()
+        {
+            @Override
+            Object[] slots()
+            {
+                return sourceConnections;
+            }
+
+            @Override
+            void setSlots(Object[] slots)
+            {
+                sourceConnections = slots;
+            }
+
+            @Override
+            Object lock()
+            {
+                return Edge.this;
+            }
+        };
+    }
+    
+    /**
+     * Get a map view of the sink connections.
+     * @return The view.
+     */
+    private SlotMap<Connection> sinkMap()
+    {
+        return new SlotMap<Connection>()
+        {
+            @Override
+            Object[] slots()
+            {
+                return sinkConnections;
+            }
+
+            @Override
+            void setSlots(Object[] slots)
+            {
+                sinkConnections = slots;
+            }
+
+            @Override
+            Object lock()
+            {
+                return Edge.this;
+            }
+        };
+    }
+    
+    /**
+     * Get a map view of the edge connection stats.
+     * @return The view.
+     */
+    private SlotMap<EdgeStats> statsMap()
+    {
+        return new SlotMap<EdgeStats>()
+        {
+            @Override
+            Object[] slots()
+            {
+                return edgeConnectionStats;
+            }
+
+            @Override
+            void setSlots(Object[] slots)
+            {
+                edgeConnectionStats = slots;
+            }
+
+            @Override
+            Object lock()
+            {
+                return Edge.this;
+            }
+        };
+    }
+    
+    /**
+     * Copy a map keyed on connection type name into an array keyed by connection type ID.
+     * @param map The map, which may be null.
+     * @return The array, or null if the map is null or empty.
+     */
+    private static Object[] toSlots(Map<String, ?> map)
+    {
+        Object[] slots = null;
+        if (map != null) {
+            for (Map.Entry<String, ?> entry : map.entrySet()) {
+                if (entry.getValue() != null) {
+                    slots = SlotMap.put(slots, ConnectionTypeRegistry.id(entry.getKey()), entry.getValue());
+                }
+            }
+        }
+        return slots;
+    }
+    
+    /**
+     * Link a connection to this edge, so that changes to it are notified.
+     * @param con The Connection object, which may be null.
+     * @return The Connection object.
+     */
+    private Connection attach(Connection con)
+    {
+        if (con != null) {
+            con.setEdge(this);
+        }
+        return con;
+    }
+    
+    private void attachAll(Map<String, Connection> connections)
+    {
+        if (connections != null) {
+            for (Connection con : connections.values()) {
+                attach(con);
+            }
+        }
+    }
+    
+    private void attachAll(Object[] connections)
+    {
+        if (connections != null) {
+            for (Object con : connections) {
+                attach((Connection) con);
+            }
+        }
+    }
+    
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        SlotMap.writeSlots(out, sourceConnections);
+        SlotMap.writeSlots(out, sinkConnections);
+        SlotMap.writeSlots(out, edgeConnectionStats);
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        sourceConnections = SlotMap.readSlots(in);
+        sinkConnections = SlotMap.readSlots(in);
+        edgeConnectionStats = SlotMap.readSlots(in);
+        attachAll(sourceConnections);
+        attachAll(sinkConnections);
     }
 }
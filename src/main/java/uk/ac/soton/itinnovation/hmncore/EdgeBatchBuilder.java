@@ -0,0 +1,582 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds the edges of an HMN in bulk, e.g., when loading or generating a large
+ * network, which is much faster than creating the edges one at a time with
+ * Node.createOutboundEdge(..).
+ *
+ * Edges are first buffered in primitive arrays, as the source and sink node, the
+ * connection type and the trust and trustworthiness of the source and sink
+ * connections of each edge. Nodes are referred to either by ID (looked up in the
+ * HMN's lists of agents and artefacts) or by their index in the builder, returned
+ * by addNode(..). When build() is called, the edges are created in parallel, the
+ * edge lists of the nodes and the HMN's list of edges are pre-sized, and the edges
+ * are added to the edge lists of their nodes in parallel (each node's lists by one
+ * thread), and then to the HMN.
+ *
+ * An edge with a connection type gets a SOURCE and a SINK Connection of that type,
+ * with the trust values given; an edge without a connection type gets no
+ * connections. Edge IDs are the ID prefix (default "edge-") followed by a number,
+ * counting the edges built by the builder from the next edge number (default 0).
+ * If any of the IDs of a build() are already used by edges in the HMN, e.g., built
+ * by another builder, the numbers of that build continue after the highest number
+ * used with the prefix in the HMN instead, so the IDs are unique in the HMN.
+ *
+ * For example:
+ * <pre>
+ * EdgeBatchBuilder builder = new EdgeBatchBuilder(hmn);
+ * builder.addEdge("agent-0", "agent-1", "interaction", 0.5, 0.6, 0.7, 0.8);
+ * ...
+ * List&lt;Edge&gt; edges = builder.build();
+ * </pre>
+ *
+ * The builder is not thread-safe, and the nodes must not be modified by other
+ * threads while build() runs.
+ *
+ * @see HMN
+ * @see ConnectionTypeRegistry
+ */
+public class EdgeBatchBuilder
+{
+    private static final int CHUNK_SIZE = 4096;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final HMN hmn;
+    private final ForkJoinPool pool;
+    private String edgeIDPrefix;
+    private long nextEdgeNumber;
+
+    // the nodes referred to by the edges, in order of their index
+    private Node[] nodes;
+    private int numNodes;
+    private final Map<Node, Integer> nodeIndices;
+    private final Map<String, Integer> idIndices;
+
+    // the buffered edges, one element per edge
+    private int[] sources;
+    private int[] sinks;
+    private int[] types;
+    private double[] sourceTrust;
+    private double[] sourceTrustworthiness;
+    private double[] sinkTrust;
+    private double[] sinkTrustworthiness;
+    private int numEdges;
+
+    /**
+     * Constructor for a builder adding edges to the HMN provided, using the common
+     * ForkJoinPool.
+     * @param hmn The HMN.
+     */
+    public EdgeBatchBuilder(HMN hmn)
+    {
+        this(hmn, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for a builder adding edges to the HMN provided, building them on
+     * the ForkJoinPool provided.
+     * @param hmn The HMN.
+     * @param pool The ForkJoinPool to build the edges on.
+     * @throws NullPointerException If hmn or pool is NULL.
+     */
+    public EdgeBatchBuilder(HMN hmn, ForkJoinPool pool) throws NullPointerException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot create the builder as the HMN provided was NULL");
+        }
+        if (pool == null) {
+            throw new NullPointerException("Cannot create the builder as the pool provided was NULL");
+        }
+
+        this.hmn = hmn;
+        this.pool = pool;
+        this.edgeIDPrefix = "edge-";
+        this.nextEdgeNumber = 0;
+        this.nodes = new Node[INITIAL_CAPACITY];
+        this.nodeIndices = new IdentityHashMap<>();
+        this.idIndices = new HashMap<>();
+        allocateEdges(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Get the prefix of the IDs of the edges built.
+     * @return The prefix.
+     */
+    public String getEdgeIDPrefix()
+    {
+        return edgeIDPrefix;
+    }
+
+    /**
+     * Set the prefix of the IDs of the edges built (default "edge-").
+     * @param edgeIDPrefix The prefix.
+     */
+    public void setEdgeIDPrefix(String edgeIDPrefix)
+    {
+        this.edgeIDPrefix = edgeIDPrefix == null ? "" : edgeIDPrefix;
+    }
+
+    /**
+     * Get the number used in the ID of the next edge built.
+     * @return The number.
+     */
+    public long getNextEdgeNumber()
+    {
+        return nextEdgeNumber;
+    }
+
+    /**
+     * Set the number used in the ID of the next edge built (default 0). Numbers
+     * whose IDs are already used in the HMN are skipped when the edges are built.
+     * @param nextEdgeNumber The number.
+     */
+    public void setNextEdgeNumber(long nextEdgeNumber)
+    {
+        this.nextEdgeNumber = nextEdgeNumber;
+    }
+
+    /**
+     * Get the number of edges buffered, which will be created by build().
+     * @return The number of edges.
+     */
+    public int size()
+    {
+        return numEdges;
+    }
+
+    /**
+     * Increases the capacity of the buffers, if necessary, so that they can hold
+     * at least the number of edges specified without reallocating.
+     * @param numEdges The desired number of edges.
+     */
+    public void ensureCapacity(int numEdges)
+    {
+        if (numEdges > sources.length) {
+            resizeEdges(numEdges);
+        }
+    }
+
+    /**
+     * Add a node for the edges to refer to by index. Adding a node more than once
+     * returns the same index.
+     * @param node The node.
+     * @return The index of the node in the builder.
+     * @throws NullPointerException If node is NULL.
+     */
+    public int addNode(Node node) throws NullPointerException
+    {
+        if (node == null) {
+            throw new NullPointerException("Cannot add the node to the builder as the object provided was NULL");
+        }
+
+        Integer index = nodeIndices.get(node);
+        if (index != null) {
+            return index;
+        }
+
+        if (numNodes == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length + (nodes.length >> 1));
+        }
+        nodes[numNodes] = node;
+        nodeIndices.put(node, numNodes);
+        return numNodes++;
+    }
+
+    /**
+     * Get the index of a node in the builder, given its ID, adding the node if it
+     * has not been added. The node is looked up in the HMN's agents, and then its
+     * artefacts.
+     * @param nodeID The ID of the node.
+     * @return The index of the node in the builder.
+     * @throws IllegalArgumentException If the HMN has no node with the ID.
+     */
+    public int nodeIndex(String nodeID) throws IllegalArgumentException
+    {
+        Integer index = idIndices.get(nodeID);
+        if (index != null) {
+            return index;
+        }
+
+        Node node = hmn.getAgent(nodeID);
+        if (node == null) {
+            node = hmn.getArtefact(nodeID);
+        }
+        if (node == null) {
+            throw new IllegalArgumentException("The HMN has no agent or artefact with the ID " + nodeID);
+        }
+
+        int i = addNode(node);
+        idIndices.put(nodeID, i);
+        return i;
+    }
+
+    /**
+     * Add an edge between two nodes, without connections.
+     * @param sourceID The ID of the source node.
+     * @param sinkID The ID of the sink node.
+     * @throws IllegalArgumentException If the HMN has no node with either ID.
+     */
+    public void addEdge(String sourceID, String sinkID) throws IllegalArgumentException
+    {
+        addEdge(nodeIndex(sourceID), nodeIndex(sinkID), -1, 0, 0, 0, 0);
+    }
+
+    /**
+     * Add an edge between two nodes, with a source and a sink connection.
+     * @param sourceID The ID of the source node.
+     * @param sinkID The ID of the sink node.
+     * @param connectionType The connection type, or null for no connections.
+     * @param sourceTrust The trust of the source connection.
+     * @param sourceTrustworthiness The trustworthiness of the source connection.
+     * @param sinkTrust The trust of the sink connection.
+     * @param sinkTrustworthiness The trustworthiness of the sink connection.
+     * @throws IllegalArgumentException If the HMN has no node with either ID.
+     */
+    public void addEdge(String sourceID, String sinkID, String connectionType,
+                        double sourceTrust, double sourceTrustworthiness,
+                        double sinkTrust, double sinkTrustworthiness) throws IllegalArgumentException
+    {
+        int type = connectionType == null ? -1 : ConnectionTypeRegistry.id(connectionType);
+        addEdge(nodeIndex(sourceID), nodeIndex(sinkID), type, sourceTrust, sourceTrustworthiness, sinkTrust, sinkTrustworthiness);
+    }
+
+    /**
+     * Add an edge between two nodes given by their index in the builder (see addNode(..)).
+     * @param source The index of the source node.
+     * @param sink The index of the sink node.
+     * @param typeId The ID of the connection type in the ConnectionTypeRegistry, or -1 for no connections.
+     * @param sourceTrust The trust of the source connection.
+     * @param sourceTrustworthiness The trustworthiness of the source connection.
+     * @param sinkTrust The trust of the sink connection.
+     * @param sinkTrustworthiness The trustworthiness of the sink connection.
+     * @throws IndexOutOfBoundsException If either node index or the connection type ID is not valid.
+     */
+    public void addEdge(int source, int sink, int typeId,
+                        double sourceTrust, double sourceTrustworthiness,
+                        double sinkTrust, double sinkTrustworthiness) throws IndexOutOfBoundsException
+    {
+        checkNode(source);
+        checkNode(sink);
+        checkType(typeId);
+        if (numEdges == sources.length) {
+            resizeEdges(sources.length + (sources.length >> 1));
+        }
+
+        int e = numEdges++;
+        sources[e] = source;
+        sinks[e] = sink;
+        types[e] = typeId;
+        this.sourceTrust[e] = sourceTrust;
+        this.sourceTrustworthiness[e] = sourceTrustworthiness;
+        this.sinkTrust[e] = sinkTrust;
+        this.sinkTrustworthiness[e] = sinkTrustworthiness;
+    }
+
+    /**
+     * Add edges of one connection type, given as arrays with an element per edge.
+     * The trust arrays may be null, in which case the values are zero.
+     * @param sources The index of the source node of each edge.
+     * @param sinks The index of the sink node of each edge.
+     * @param typeId The ID of the connection type in the ConnectionTypeRegistry, or -1 for no connections.
+     * @param sourceTrust The trust of the source connection of each edge.
+     * @param sourceTrustworthiness The trustworthiness of the source connection of each edge.
+     * @param sinkTrust The trust of the sink connection of each edge.
+     * @param sinkTrustworthiness The trustworthiness of the sink connection of each edge.
+     * @throws IllegalArgumentException If the arrays are not all the same length.
+     * @throws IndexOutOfBoundsException If a node index or the connection type ID is not valid.
+     */
+    public void addEdges(int[] sources, int[] sinks, int typeId,
+                         double[] sourceTrust, double[] sourceTrustworthiness,
+                         double[] sinkTrust, double[] sinkTrustworthiness) throws IllegalArgumentException, IndexOutOfBoundsException
+    {
+        int n = sources.length;
+        if (sinks.length != n || !hasLength(sourceTrust, n) || !hasLength(sourceTrustworthiness, n)
+                || !hasLength(sinkTrust, n) || !hasLength(sinkTrustworthiness, n)) {
+            throw new IllegalArgumentException("Cannot add the edges as the arrays provided are not all the same length");
+        }
+        checkType(typeId);
+        for (int e = 0; e < n; e++) {
+            checkNode(sources[e]);
+            checkNode(sinks[e]);
+        }
+
+        ensureCapacity(numEdges + n);
+        System.arraycopy(sources, 0, this.sources, numEdges, n);
+        System.arraycopy(sinks, 0, this.sinks, numEdges, n);
+        Arrays.fill(types, numEdges, numEdges + n, typeId);
+        copy(sourceTrust, this.sourceTrust, numEdges, n);
+        copy(sourceTrustworthiness, this.sourceTrustworthiness, numEdges, n);
+        copy(sinkTrust, this.sinkTrust, numEdges, n);
+        copy(sinkTrustworthiness, this.sinkTrustworthiness, numEdges, n);
+        numEdges += n;
+    }
+
+    /**
+     * Create the buffered edges, add them to the edge lists of their nodes and to
+     * the HMN, and clear the buffers. The nodes added to the builder are kept, so
+     * later edges can refer to them by the same indices.
+     * @return An unmodifiable list of the edges, in the order they were added.
+     */
+    public List<Edge> build()
+    {
+        final int n = numEdges;
+        final Edge[] edges = new Edge[n];
+        final String[] ids = new String[n];
+        if (!edgeIDs(ids, nextEdgeNumber)) {
+            nextEdgeNumber = Math.max(nextEdgeNumber, highestEdgeNumber() + 1);
+            edgeIDs(ids, nextEdgeNumber);
+        }
+        forEachChunk(n, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int e = from; e < to; e++) {
+                    String id = ids[e];
+                    if (types[e] < 0) {
+                        edges[e] = new Edge(id, nodes[sources[e]], nodes[sinks[e]]);
+                    } else {
+                        String type = ConnectionTypeRegistry.name(types[e]);
+                        edges[e] = new Edge(id, nodes[sources[e]], nodes[sinks[e]], type,
+                                            new Connection(type, ConnectionType.SOURCE, sourceTrust[e], sourceTrustworthiness[e]),
+                                            new Connection(type, ConnectionType.SINK, sinkTrust[e], sinkTrustworthiness[e]));
+                    }
+                }
+            }
+        });
+
+        List<Edge> list = addToNodesAndHMN(edges, sources, sinks);
+
+        nextEdgeNumber += n;
+        numEdges = 0;
+        if (sources.length > INITIAL_CAPACITY) {
+            allocateEdges(INITIAL_CAPACITY);
+        }
+        return list;
+    }
+
+    /**
+     * Set the IDs of the buffered edges, numbered from the number given.
+     * @param ids The array to set the IDs in.
+     * @param firstNumber The number of the first edge.
+     * @return False if any of the IDs is used by an edge in the HMN; true otherwise.
+     */
+    private boolean edgeIDs(final String[] ids, final long firstNumber)
+    {
+        final String prefix = edgeIDPrefix;
+        final AtomicBoolean used = new AtomicBoolean();
+        hmn.getEdge(prefix); // indexes the HMN's edges, if not already, before the lookups in parallel
+        forEachChunk(ids.length, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int e = from; e < to; e++) {
+                    ids[e] = prefix + (firstNumber + e);
+                    if (hmn.getEdge(ids[e]) != null) {
+                        used.set(true);
+                    }
+                }
+            }
+        });
+        return !used.get();
+    }
+
+    /**
+     * Find the highest number used in the IDs of the edges in the HMN, for IDs
+     * that are the ID prefix followed by a number.
+     * @return The number, or -1 if none.
+     */
+    private long highestEdgeNumber()
+    {
+        String prefix = edgeIDPrefix;
+        long highest = -1;
+        for (Edge e : hmn.getEdges()) {
+            String id = e.getEdgeID();
+            if (id != null && id.length() > prefix.length() && id.startsWith(prefix)) {
+                try {
+                    highest = Math.max(highest, Long.parseLong(id.substring(prefix.length())));
+                } catch (NumberFormatException ex) {
+                    // not numbered by a builder
+                }
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Add edges that have already been created (e.g., by an importer creating them
+     * in parallel) to the edge lists of their nodes and to the HMN, in the same way
+     * as build() adds the buffered edges. The buffered edges are not affected.
+     * @param edges The edges.
+     * @param sources The index in the builder of the source node of each edge (see addNode(..)), which must be the source node of the edge.
+     * @param sinks The index in the builder of the sink node of each edge, which must be the sink node of the edge.
+     * @return An unmodifiable list of the edges, in the order given.
+     * @throws IllegalArgumentException If the arrays are not all the same length.
+     * @throws IndexOutOfBoundsException If a node index is not valid.
+     */
+    public List<Edge> attach(Edge[] edges, int[] sources, int[] sinks) throws IllegalArgumentException, IndexOutOfBoundsException
+    {
+        if (sources.length != edges.length || sinks.length != edges.length) {
+            throw new IllegalArgumentException("Cannot attach the edges as the arrays provided are not all the same length");
+        }
+        for (int e = 0; e < edges.length; e++) {
+            checkNode(sources[e]);
+            checkNode(sinks[e]);
+        }
+        return addToNodesAndHMN(edges, sources, sinks);
+    }
+
+    /**
+     * Add edges to the edge lists of their nodes and to the HMN.
+     * @param edges The edges.
+     * @param sources The index of the source node of each edge; may be longer than edges.
+     * @param sinks The index of the sink node of each edge; may be longer than edges.
+     * @return An unmodifiable list of the edges.
+     */
+    private List<Edge> addToNodesAndHMN(Edge[] edges, int[] sources, int[] sinks)
+    {
+        attachEdges(edges, sources, true);
+        attachEdges(edges, sinks, false);
+
+        List<Edge> list = Arrays.asList(edges);
+        hmn.ensureEdgeCapacity(hmn.getEdges().size() + edges.length);
+        hmn.addEdges(list);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Add edges to the outbound (or inbound) edge lists of their nodes. The edges
+     * are grouped by node, and each node's list is pre-sized and then updated by
+     * one thread.
+     * @param edges The edges.
+     * @param ends The index of the node each edge is added to.
+     * @param outbound True to add to outbound edge lists; false for inbound edge lists.
+     */
+    private void attachEdges(Edge[] edges, int[] ends, final boolean outbound)
+    {
+        final int[] offsets = new int[numNodes + 1];
+        for (int e = 0; e < edges.length; e++) {
+            offsets[ends[e] + 1]++;
+        }
+        for (int v = 0; v < numNodes; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = Arrays.copyOf(offsets, numNodes);
+        Edge[] grouped = new Edge[edges.length];
+        for (int e = 0; e < edges.length; e++) {
+            grouped[next[ends[e]]++] = edges[e];
+        }
+
+        final List<Edge> groupedList = Arrays.asList(grouped);
+        forEachChunk(numNodes, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int v = from; v < to; v++) {
+                    int count = offsets[v + 1] - offsets[v];
+                    if (count == 0) {
+                        continue;
+                    }
+                    EdgeList list = outbound ? nodes[v].outboundList() : nodes[v].inboundList();
+                    list.ensureCapacity(list.size() + count);
+                    list.addAll(groupedList.subList(offsets[v], offsets[v + 1]));
+                }
+            }
+        });
+    }
+
+    private void checkNode(int index)
+    {
+        if (index < 0 || index >= numNodes) {
+            throw new IndexOutOfBoundsException("Node index not added to the builder: " + index);
+        }
+    }
+
+    private static void checkType(int typeId)
+    {
+        if (typeId < -1 || typeId >= ConnectionTypeRegistry.size()) {
+            throw new IndexOutOfBoundsException("Connection type ID not assigned: " + typeId);
+        }
+    }
+
+    private static boolean hasLength(double[] values, int n)
+    {
+        return values == null || values.length == n;
+    }
+
+    private static void copy(double[] values, double[] to, int offset, int n)
+    {
+        if (values != null) {
+            System.arraycopy(values, 0, to, offset, n);
+        } else {
+            Arrays.fill(to, offset, offset + n, 0);
+        }
+    }
+
+    private void allocateEdges(int capacity)
+    {
+        sources = new int[capacity];
+        sinks = new int[capacity];
+        types = new int[capacity];
+        sourceTrust = new double[capacity];
+        sourceTrustworthiness = new double[capacity];
+        sinkTrust = new double[capacity];
+        sinkTrustworthiness = new double[capacity];
+    }
+
+    private void resizeEdges(int capacity)
+    {
+        sources = Arrays.copyOf(sources, capacity);
+        sinks = Arrays.copyOf(sinks, capacity);
+        types = Arrays.copyOf(types, capacity);
+        sourceTrust = Arrays.copyOf(sourceTrust, capacity);
+        sourceTrustworthiness = Arrays.copyOf(sourceTrustworthiness, capacity);
+        sinkTrust = Arrays.copyOf(sinkTrust, capacity);
+        sinkTrustworthiness = Arrays.copyOf(sinkTrustworthiness, capacity);
+    }
+
+    /**
+     * Run a task over the items 0..n-1 in fixed-size chunks, in parallel.
+     * @param n The number of items.
+     * @param body The task to run for each chunk.
+     */
+    private void forEachChunk(int n, ParallelChunks.Body body)
+    {
+        ParallelChunks.forEach(pool, n, CHUNK_SIZE, body);
+    }
+}
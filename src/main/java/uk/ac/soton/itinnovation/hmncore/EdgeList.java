@@ -0,0 +1,337 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A list of the inbound or outbound edges of a Node, which keeps an adjacency
+ * index from the node at the other end of each edge to the edge(s) connecting
+ * them. This gives constant time (expected) lookup of the edge(s) between a pair
+ * of nodes, regardless of the degree of the node.
+ *
+ * For outbound edges the index is keyed on the sink node, and for inbound edges on
+ * the source node. The source and sink of an edge should not be changed while the
+ * edge is in the list.
+ *
+ * The edges may be loaded on first access (see Node.setEdgeLoader), in which case
+ * every method first runs the pending loader.
+ *
+ * The list does not allocate its elements (or the index) until the first edge is
+ * added, so the edge lists of isolated nodes are small.
+ *
+ * Earlier versions of the list are kept for open snapshots of the HMN (see
+ * VersionedList); the adjacency index is not versioned. Edges added by the loader
+ * are part of the first version of the list.
+ *
+ * @see Node
+ */
+class EdgeList extends VersionedList<Edge> implements RandomAccess, Serializable
+{
+    private final boolean outbound;
+    private Map<Node, Object> adjacency; // value is either a single Edge or an ArrayList of Edges (multiple edges to the same node)
+    private transient volatile Runnable pendingLoad;
+
+    /**
+     * Constructor initialising an empty list.
+     * @param outbound True if this is a list of outbound edges (keyed on the sink node); false for inbound edges (keyed on the source node).
+     */
+    EdgeList(boolean outbound)
+    {
+        super(VersionedList.<Edge>emptyElements());
+        this.outbound = outbound;
+    }
+
+    /**
+     * Constructor initialising the list with the edges provided.
+     * @param outbound True if this is a list of outbound edges (keyed on the sink node); false for inbound edges (keyed on the source node).
+     * @param edges Collection of edges to add, in iteration order.
+     */
+    EdgeList(boolean outbound, Collection<? extends Edge> edges)
+    {
+        super(edges.isEmpty() ? VersionedList.<Edge>emptyElements() : new ChunkedList<Edge>(edges.size()));
+        this.outbound = outbound;
+        addAll(edges);
+    }
+
+    /**
+     * Get the first edge to/from the given node.
+     * @param other The node at the other end of the edge (the sink for outbound edges; the source for inbound edges).
+     * @return The first edge added, or null if there is no edge to/from the node.
+     */
+    Edge find(Node other)
+    {
+        ensureLoaded();
+        if (adjacency == null) {
+            return null;
+        }
+
+        Object value = adjacency.get(other);
+        if (value instanceof Edge) {
+            return (Edge) value;
+        } else if (value != null) {
+            return asList(value).get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Get all edges to/from the given node.
+     * @param other The node at the other end of the edges (the sink for outbound edges; the source for inbound edges).
+     * @return An unmodifiable list of edges, which is empty if there are no edges to/from the node.
+     */
+    List<Edge> findAll(Node other)
+    {
+        ensureLoaded();
+        if (adjacency == null) {
+            return Collections.emptyList();
+        }
+
+        Object value = adjacency.get(other);
+        if (value instanceof Edge) {
+            return Collections.singletonList((Edge) value);
+        } else if (value != null) {
+            return Collections.unmodifiableList(asList(value));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Add an edge, unless it is already in the list. This uses the adjacency index,
+     * so only the edges to/from the same node are compared.
+     * @param edge Edge object.
+     * @return True if the edge was added; false if it was already in the list.
+     */
+    boolean addAbsent(Edge edge)
+    {
+        if (edge != null) {
+            for (Edge e : findAll(keyOf(edge))) {
+                if (e == edge) {
+                    return false;
+                }
+            }
+        }
+        return add(edge);
+    }
+
+    /**
+     * Increases the capacity of the list, if necessary, so that it can hold at
+     * least the number of edges specified without reallocating.
+     * @param minCapacity The desired minimum capacity.
+     */
+    void ensureCapacity(int minCapacity)
+    {
+        ensureLoaded();
+        writable().ensureCapacity(minCapacity);
+    }
+
+    @Override
+    public Edge get(int index)
+    {
+        ensureLoaded();
+        return elements.get(index);
+    }
+
+    @Override
+    public int size()
+    {
+        ensureLoaded();
+        return elements.size();
+    }
+
+    @Override
+    public Edge set(int index, Edge edge)
+    {
+        ensureLoaded();
+        Edge old = writable().set(index, edge);
+        unindex(old);
+        index(edge);
+        return old;
+    }
+
+    @Override
+    public void add(int index, Edge edge)
+    {
+        ensureLoaded();
+        writable().add(index, edge);
+        index(edge);
+        modCount++;
+    }
+
+    @Override
+    public Edge remove(int index)
+    {
+        ensureLoaded();
+        Edge removed = writable().remove(index);
+        unindex(removed);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear()
+    {
+        ensureLoaded();
+        writable().clear();
+        adjacency = null;
+        modCount++;
+    }
+
+    /**
+     * Get the elements as they were when a snapshot was taken, first loading the
+     * edges if they are pending.
+     * @param epochs The epochs of the HMN the snapshot was taken of.
+     * @param epoch The epoch of the snapshot.
+     * @return An unmodifiable list of the edges.
+     */
+    List<Edge> edgesAt(Epochs epochs, long epoch)
+    {
+        ensureLoaded();
+        return elementsAt(epochs, epoch);
+    }
+
+    /**
+     * Set a loader to run on the first access to the list, which should add the
+     * edges to the list. The loader must be safe to invoke more than once.
+     * @param loader The loader, or null to clear a pending loader.
+     */
+    void setPendingLoad(Runnable loader)
+    {
+        this.pendingLoad = loader;
+    }
+
+    /**
+     * Run the pending loader, if any.
+     */
+    void ensureLoaded()
+    {
+        Runnable loader = pendingLoad;
+        if (loader != null) {
+            loader.run();
+        }
+    }
+
+    /**
+     * Get the elements to modify. While the pending loader is running, the edges
+     * are added to the current elements without versioning.
+     * @return The elements.
+     */
+    private ChunkedList<Edge> writable()
+    {
+        return pendingLoad != null ? allocated() : mutable();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        ensureLoaded();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Get the node at the other end of an edge, which the index is keyed on.
+     * @param edge Edge object.
+     * @return The sink node for outbound edges; the source node for inbound edges.
+     */
+    private Node keyOf(Edge edge)
+    {
+        return outbound ? edge.getSinkNode() : edge.getSourceNode();
+    }
+
+    /**
+     * Get a value of the adjacency index that is not a single Edge as a list.
+     * @param value The value, which is an ArrayList of Edges.
+     * @return The list of edges.
+     */
+    @SuppressWarnings("unchecked") // the index only holds Edges and the ArrayLists of Edges created by index(..)
+    private static List<Edge> asList(Object value)
+    {
+        return (List<Edge>) value;
+    }
+
+    /**
+     * Add an edge to the adjacency index.
+     * @param edge Edge object.
+     */
+    private void index(Edge edge)
+    {
+        if (edge == null) {
+            return;
+        }
+
+        if (adjacency == null) {
+            adjacency = new HashMap<>();
+        }
+
+        Node key = keyOf(edge);
+        Object value = adjacency.get(key);
+        if (value == null) {
+            adjacency.put(key, edge);
+        } else if (value instanceof Edge) {
+            List<Edge> multi = new ArrayList<>(2);
+            multi.add((Edge) value);
+            multi.add(edge);
+            adjacency.put(key, multi);
+        } else {
+            asList(value).add(edge);
+        }
+    }
+
+    /**
+     * Remove an edge from the adjacency index.
+     * @param edge Edge object.
+     */
+    private void unindex(Edge edge)
+    {
+        if (edge == null || adjacency == null) {
+            return;
+        }
+
+        Node key = keyOf(edge);
+        Object value = adjacency.get(key);
+        if (value == edge) {
+            adjacency.remove(key);
+        } else if (value instanceof List) {
+            List<Edge> multi = asList(value);
+            for (int i = 0; i < multi.size(); i++) {
+                if (multi.get(i) == edge) {
+                    multi.remove(i);
+                    break;
+                }
+            }
+            if (multi.size() == 1) {
+                adjacency.put(key, multi.get(0));
+            }
+        }
+    }
+}
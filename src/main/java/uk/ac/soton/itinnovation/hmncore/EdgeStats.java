@@ -29,6 +29,10 @@ import java.io.Serializable;
 /**
  * A class encapsulating statistics for an Edge, which in the Edge class may be
  * distinguished on the bases of each type of Connection.
+ * 
+ * The Edge links the stats of each connection type to its aggregate stats, so
+ * that interactions added (and values set) are also applied to the aggregate,
+ * which is kept up to date without iterating over the connection types.
  * @see Edge
  * @see Connection
  * @author Vegard Engen
@@ -37,6 +41,7 @@ public class EdgeStats implements Serializable
 {
     private int interactionStrength;
     private int numInteractions;
+    private EdgeStats aggregate;
     
     /**
      * Default constructor initialising the variables of the object (to zero).
@@ -57,12 +62,14 @@ public class EdgeStats implements Serializable
     }
 
     /**
-     * Set the interaction strength.
+     * Set the interaction strength. The aggregate, if any, is adjusted by the difference.
      * @param interactionStrength Interaction strength value.
      */
     public void setInteractionStrength(int interactionStrength)
     {
+        int delta = interactionStrength - this.interactionStrength;
         this.interactionStrength = interactionStrength;
+        adjustAggregateStrength(delta);
     }
 
     /**
@@ -75,12 +82,16 @@ public class EdgeStats implements Serializable
     }
 
     /**
-     * Set the number of interactions.
+     * Set the number of interactions. The aggregate, if any, is adjusted by the difference.
      * @param numInteractions Value for the number of interactions.
      */
     public void setNumInteractions(int numInteractions)
     {
+        int delta = numInteractions - this.numInteractions;
         this.numInteractions = numInteractions;
+        if (aggregate != null) {
+            aggregate.addInteractions(delta);
+        }
     }
     
     /**
@@ -89,6 +100,9 @@ public class EdgeStats implements Serializable
     public void addInteraction()
     {
         this.numInteractions++;
+        if (aggregate != null) {
+            aggregate.addInteraction();
+        }
     }
     
     /**
@@ -98,5 +112,53 @@ public class EdgeStats implements Serializable
     public void addInteractions(int i)
     {
         this.numInteractions = this.numInteractions + i;
+        if (aggregate != null) {
+            aggregate.addInteractions(i);
+        }
+    }
+    
+    /**
+     * Get a copy of the current values of the stats, which is not affected by
+     * later interactions.
+     * @return A new EdgeStats object.
+     */
+    public EdgeStats snapshot()
+    {
+        EdgeStats copy = new EdgeStats();
+        copy.setInteractionStrength(getInteractionStrength());
+        copy.setNumInteractions(getNumInteractions());
+        return copy;
+    }
+    
+    /**
+     * Get the aggregate stats that changes to these stats are also applied to.
+     * @return The aggregate EdgeStats object, or null if not linked to an aggregate.
+     */
+    public EdgeStats getAggregate()
+    {
+        return aggregate;
+    }
+    
+    /**
+     * Link these stats to an aggregate. Linking does not add the current values to
+     * the aggregate; only later changes are applied.
+     * @param aggregate The aggregate EdgeStats object, or null to unlink.
+     */
+    void setAggregate(EdgeStats aggregate)
+    {
+        this.aggregate = aggregate == this ? null : aggregate;
+    }
+    
+    /**
+     * Adjust the interaction strength of the aggregate, if any.
+     * @param delta The change in interaction strength.
+     */
+    void adjustAggregateStrength(int delta)
+    {
+        if (aggregate != null && delta != 0) {
+            synchronized (aggregate) {
+                aggregate.setInteractionStrength(aggregate.getInteractionStrength() + delta);
+            }
+        }
     }
 }
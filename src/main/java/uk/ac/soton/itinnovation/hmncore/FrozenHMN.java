@@ -0,0 +1,373 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compact view of the topology of an HMN, for read-only graph
+ * algorithms that visit many nodes and edges. Nodes and edges are numbered from
+ * zero, and the adjacency of each node is held in compressed sparse row (CSR)
+ * form: the outbound edges of node v are at positions outBegin(v) to outEnd(v)-1
+ * of contiguous int arrays, which give the edge index and the node at the other
+ * end of each edge (likewise for inbound edges). Edge weights taken from the
+ * EdgeStats of each edge are held in arrays parallel to the edges.
+ *
+ * For example, to visit the outbound neighbours of node v:
+ * <pre>
+ * for (int k = frozen.outBegin(v); k &lt; frozen.outEnd(v); k++) {
+ *     int w = frozen.outNeighbour(k);
+ *     int n = frozen.getNumInteractions(frozen.outEdge(k));
+ * }
+ * </pre>
+ *
+ * The view is a snapshot built from the HMN's lists of agents, artefacts and edges
+ * by HMN.freeze(), so later changes to the HMN are not reflected. Agents are
+ * numbered first, then artefacts, then any other nodes at the ends of the HMN's
+ * edges. Edges without a source or sink node are not included. Within each node,
+ * adjacent edges are in the order of the HMN's edge list.
+ *
+ * @see HMN#freeze()
+ */
+public final class FrozenHMN
+{
+    private final Node[] nodes;
+    private final Edge[] edges;
+    private final Map<Node, Integer> nodeIndices;
+
+    private final int[] edgeSources;
+    private final int[] edgeSinks;
+    private final int[] numInteractions;
+    private final int[] interactionStrengths;
+
+    private final int[] outOffsets;
+    private final int[] outEdges;
+    private final int[] outNeighbours;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+    private final int[] inNeighbours;
+
+    /**
+     * Constructor building the view of the HMN provided.
+     * @param hmn The HMN.
+     * @throws NullPointerException If hmn is NULL.
+     */
+    FrozenHMN(HMN hmn) throws NullPointerException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot freeze the HMN as the object provided was NULL");
+        }
+
+        List<Agent> agents = hmn.getAgents();
+        List<Artefact> artefacts = hmn.getArtefacts();
+        List<Edge> hmnEdges = hmn.getEdges();
+
+        // number the nodes, adding edge end points not in the HMN's lists
+        nodeIndices = new IdentityHashMap<>(agents.size() + artefacts.size());
+        List<Node> nodeTable = new ArrayList<>(agents.size() + artefacts.size());
+        for (Agent a : agents) {
+            addNode(a, nodeTable);
+        }
+        for (Artefact a : artefacts) {
+            addNode(a, nodeTable);
+        }
+
+        int numEdges = 0;
+        for (Edge e : hmnEdges) {
+            if (e != null && e.getSourceNode() != null && e.getSinkNode() != null) {
+                numEdges++;
+            }
+        }
+
+        edges = new Edge[numEdges];
+        edgeSources = new int[numEdges];
+        edgeSinks = new int[numEdges];
+        numInteractions = new int[numEdges];
+        interactionStrengths = new int[numEdges];
+        int i = 0;
+        for (Edge e : hmnEdges) {
+            if (e == null || e.getSourceNode() == null || e.getSinkNode() == null) {
+                continue;
+            }
+            addNode(e.getSourceNode(), nodeTable);
+            addNode(e.getSinkNode(), nodeTable);
+
+            edges[i] = e;
+            edgeSources[i] = nodeIndices.get(e.getSourceNode());
+            edgeSinks[i] = nodeIndices.get(e.getSinkNode());
+            if (e.hasEdgeStats()) {
+                EdgeStats stats = e.getEdgeStats();
+                numInteractions[i] = stats.getNumInteractions();
+                interactionStrengths[i] = stats.getInteractionStrength();
+            }
+            i++;
+        }
+
+        nodes = nodeTable.toArray(new Node[nodeTable.size()]);
+        int numNodes = nodes.length;
+
+        outOffsets = new int[numNodes + 1];
+        outEdges = new int[numEdges];
+        outNeighbours = new int[numEdges];
+        buildAdjacency(edgeSources, edgeSinks, outOffsets, outEdges, outNeighbours);
+
+        inOffsets = new int[numNodes + 1];
+        inEdges = new int[numEdges];
+        inNeighbours = new int[numEdges];
+        buildAdjacency(edgeSinks, edgeSources, inOffsets, inEdges, inNeighbours);
+    }
+
+    /**
+     * Get the number of nodes.
+     * @return The number of nodes.
+     */
+    public int getNumNodes()
+    {
+        return nodes.length;
+    }
+
+    /**
+     * Get the number of edges.
+     * @return The number of edges.
+     */
+    public int getNumEdges()
+    {
+        return edges.length;
+    }
+
+    /**
+     * Get a node, given its index.
+     * @param node Index of the node.
+     * @return The Node object.
+     */
+    public Node getNode(int node)
+    {
+        return nodes[node];
+    }
+
+    /**
+     * Get the index of a node.
+     * @param n The Node object.
+     * @return The index of the node, or -1 if the node is not in the view.
+     */
+    public int indexOf(Node n)
+    {
+        Integer index = nodeIndices.get(n);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get an edge, given its index.
+     * @param edge Index of the edge.
+     * @return The Edge object.
+     */
+    public Edge getEdge(int edge)
+    {
+        return edges[edge];
+    }
+
+    /**
+     * Get the index of the source node of an edge.
+     * @param edge Index of the edge.
+     * @return Index of the source node.
+     */
+    public int getSource(int edge)
+    {
+        return edgeSources[edge];
+    }
+
+    /**
+     * Get the index of the sink node of an edge.
+     * @param edge Index of the edge.
+     * @return Index of the sink node.
+     */
+    public int getSink(int edge)
+    {
+        return edgeSinks[edge];
+    }
+
+    /**
+     * Get the number of interactions of an edge, from its EdgeStats when frozen.
+     * @param edge Index of the edge.
+     * @return The number of interactions, or 0 if the edge had no stats.
+     */
+    public int getNumInteractions(int edge)
+    {
+        return numInteractions[edge];
+    }
+
+    /**
+     * Get the interaction strength of an edge, from its EdgeStats when frozen.
+     * @param edge Index of the edge.
+     * @return The interaction strength, or 0 if the edge had no stats.
+     */
+    public int getInteractionStrength(int edge)
+    {
+        return interactionStrengths[edge];
+    }
+
+    /**
+     * Get the number of outbound edges of a node.
+     * @param node Index of the node.
+     * @return The out-degree of the node.
+     */
+    public int outDegree(int node)
+    {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    /**
+     * Get the position of the first outbound edge of a node in the adjacency arrays.
+     * @param node Index of the node.
+     * @return The first position.
+     */
+    public int outBegin(int node)
+    {
+        return outOffsets[node];
+    }
+
+    /**
+     * Get the position after the last outbound edge of a node in the adjacency arrays.
+     * @param node Index of the node.
+     * @return The position after the last outbound edge.
+     */
+    public int outEnd(int node)
+    {
+        return outOffsets[node + 1];
+    }
+
+    /**
+     * Get the outbound edge at a position in the adjacency arrays.
+     * @param position Position between outBegin(v) and outEnd(v) of a node v.
+     * @return Index of the edge.
+     */
+    public int outEdge(int position)
+    {
+        return outEdges[position];
+    }
+
+    /**
+     * Get the sink node of the outbound edge at a position in the adjacency arrays.
+     * @param position Position between outBegin(v) and outEnd(v) of a node v.
+     * @return Index of the sink node.
+     */
+    public int outNeighbour(int position)
+    {
+        return outNeighbours[position];
+    }
+
+    /**
+     * Get the number of inbound edges of a node.
+     * @param node Index of the node.
+     * @return The in-degree of the node.
+     */
+    public int inDegree(int node)
+    {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    /**
+     * Get the position of the first inbound edge of a node in the adjacency arrays.
+     * @param node Index of the node.
+     * @return The first position.
+     */
+    public int inBegin(int node)
+    {
+        return inOffsets[node];
+    }
+
+    /**
+     * Get the position after the last inbound edge of a node in the adjacency arrays.
+     * @param node Index of the node.
+     * @return The position after the last inbound edge.
+     */
+    public int inEnd(int node)
+    {
+        return inOffsets[node + 1];
+    }
+
+    /**
+     * Get the inbound edge at a position in the adjacency arrays.
+     * @param position Position between inBegin(v) and inEnd(v) of a node v.
+     * @return Index of the edge.
+     */
+    public int inEdge(int position)
+    {
+        return inEdges[position];
+    }
+
+    /**
+     * Get the source node of the inbound edge at a position in the adjacency arrays.
+     * @param position Position between inBegin(v) and inEnd(v) of a node v.
+     * @return Index of the source node.
+     */
+    public int inNeighbour(int position)
+    {
+        return inNeighbours[position];
+    }
+
+    /**
+     * Add a node to the node table, if not already added.
+     * @param n The node.
+     * @param nodeTable The node table.
+     */
+    private void addNode(Node n, List<Node> nodeTable)
+    {
+        if (n != null && !nodeIndices.containsKey(n)) {
+            nodeIndices.put(n, nodeTable.size());
+            nodeTable.add(n);
+        }
+    }
+
+    /**
+     * Build the CSR adjacency arrays for one direction with a counting sort of the
+     * edges on the node they are grouped by, which keeps the edge order per node.
+     * @param from Node each edge is grouped by (the source for outbound adjacency).
+     * @param to Node at the other end of each edge.
+     * @param offsets Array of length numNodes + 1 to fill with the offsets of each node.
+     * @param adjacentEdges Array to fill with the edge indices.
+     * @param neighbours Array to fill with the node at the other end of each edge.
+     */
+    private static void buildAdjacency(int[] from, int[] to, int[] offsets, int[] adjacentEdges, int[] neighbours)
+    {
+        for (int v : from) {
+            offsets[v + 1]++;
+        }
+        for (int v = 0; v < offsets.length - 1; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] next = new int[offsets.length - 1];
+        System.arraycopy(offsets, 0, next, 0, next.length);
+        for (int e = 0; e < from.length; e++) {
+            int position = next[from[e]]++;
+            adjacentEdges[position] = e;
+            neighbours[position] = to[e];
+        }
+    }
+}
@@ -24,15 +24,31 @@
 /////////////////////////////////////////////////////////////////////////
 package uk.ac.soton.itinnovation.hmncore;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * A class representing a Human-Machine Network (HMN), comprising Nodes and
  * Edges. Nodes can be either agents or artefacts. The latter having no agency.
  * 
+ * The lists of agents, artefacts and edges are indexed on the node and edge IDs,
+ * so that lookup and removal by ID take constant time. Removal does not preserve
+ * the order of the lists, and IDs should not be changed after adding a node or
+ * edge to the HMN.
+ * 
+ * Listeners can be added to be notified of changes to the HMN (see HMNListener).
+ * 
+ * The HMN is not thread-safe; see ConcurrentHMN for a variant whose lists (and the
+ * edge lists of its nodes) can be modified from several threads at once.
+ * 
  * @see Node
  * @see Agent
  * @see Artefact
@@ -48,15 +64,17 @@ public class HMN implements Serializable
     protected List<Artefact> artefacts;
     protected List<Edge> edges;
     private GregorianCalendar currentDateTime;
+    private transient volatile List<HMNListener> listeners;
+    private transient VersionedList.Epochs epochs = new VersionedList.Epochs(); // numbers the versions kept for views (see snapshot())
 
     /**
      * Default constructor, initialising empty node and edge lists.
      */
     public HMN()
     {
-        agents = new ArrayList<>();
-        artefacts = new ArrayList<>();
-        edges = new ArrayList<>();
+        agents = own(newAgentList(Collections.<Agent>emptyList()));
+        artefacts = own(newArtefactList(Collections.<Artefact>emptyList()));
+        edges = own(newEdgeList(Collections.<Edge>emptyList()));
     }
     
     /**
@@ -116,12 +134,7 @@ public class HMN implements Serializable
      */
     public boolean removeAgent(String id)
     {
-        for (Node n : agents) {
-            if (n.getNodeID().equals(id)) {
-                return agents.remove(n);
-            }
-        }
-        return false;
+        return agentIndex().removeByKey(id) != null;
     }
     
     /**
@@ -136,7 +149,7 @@ public class HMN implements Serializable
             throw new NullPointerException("Cannot remove the node from the HMN as the object provided was NULL");
         }
         
-        return agents.remove(n);
+        return agentIndex().remove(n);
     }
     
     /**
@@ -146,12 +159,7 @@ public class HMN implements Serializable
      */
     public boolean removeArtefact(String id)
     {
-        for (Node n : artefacts) {
-            if (n.getNodeID().equals(id)) {
-                return artefacts.remove(n);
-            }
-        }
-        return false;
+        return artefactIndex().removeByKey(id) != null;
     }
     
     /**
@@ -166,7 +174,7 @@ public class HMN implements Serializable
             throw new NullPointerException("Cannot remove the node from the HMN as the object provided was NULL");
         }
         
-        return artefacts.remove(n);
+        return artefactIndex().remove(n);
     }
     
     /**
@@ -176,12 +184,7 @@ public class HMN implements Serializable
      */
     public boolean removeEdge(String id)
     {
-        for (Edge e : edges) {
-            if (e.getEdgeID().equals(id)) {
-                return edges.remove(e);
-            }
-        }
-        return false;
+        return edgeIndex().removeByKey(id) != null;
     }
     
     /**
@@ -196,11 +199,12 @@ public class HMN implements Serializable
             throw new NullPointerException("Cannot remove the edge from the HMN as the object provided was NULL");
         }
         
-        return edges.remove(e);
+        return edgeIndex().remove(e);
     }
 
     /**
-     * Get all Agent nodes in the HMN.
+     * Get all Agent nodes in the HMN. Agents added to or removed from the list are
+     * notified to the HMN's listeners, as if added or removed with the methods of the HMN.
      * @return List of Agent objects.
      */
     public List<Agent> getAgents()
@@ -208,20 +212,42 @@ public class HMN implements Serializable
         return agents;
     }
 
+    /**
+     * Get an Agent node in the HMN, given the ID provided.
+     * @param id The ID of the agent.
+     * @return The Agent object, or null if the HMN does not contain an agent with the given ID.
+     */
+    public Agent getAgent(String id)
+    {
+        return agentIndex().getByKey(id);
+    }
+
     /**
      * Set all Agent nodes in the HMN according to the provided list.
      * This will replace the existing list without calling any clean-up methods.
      * Consider using the add-methods if this is not desirable.
+     * The agents are copied into an indexed list, so later changes to the provided
+     * list are not reflected in the HMN. The listeners are notified that each of
+     * the previous agents has been removed, and each of the new agents added.
      * @param agents List of Agents
      */
     public void setAgents(List<Agent> agents)
     {
-        // this.nodes.clear(); // Left this here in case there would be an advantage to clear the list first
-        this.agents = agents;
+        List<Agent> old = disown(this.agents);
+        this.agents = own(newAgentList(agents == null ? Collections.<Agent>emptyList() : agents));
+        if (listeners != null) {
+            for (Agent a : old) {
+                agentRemoved(a);
+            }
+            for (Agent a : this.agents) {
+                agentAdded(a);
+            }
+        }
     }
     
     /**
-     * Get all Artefact nodes in the HMN.
+     * Get all Artefact nodes in the HMN. Artefacts added to or removed from the list
+     * are notified to the HMN's listeners.
      * @return List of Artefact objects.
      */
     public List<Artefact> getArtefacts()
@@ -229,16 +255,37 @@ public class HMN implements Serializable
         return artefacts;
     }
     
+    /**
+     * Get an Artefact node in the HMN, given the ID provided.
+     * @param id The ID of the artefact.
+     * @return The Artefact object, or null if the HMN does not contain an artefact with the given ID.
+     */
+    public Artefact getArtefact(String id)
+    {
+        return artefactIndex().getByKey(id);
+    }
+    
     /**
      * Set all Artefact nodes in the HMN according to the provided list.
      * This will replace the existing list without calling any clean-up methods. 
      * Consider using the add-methods if this is not desirable.
+     * The artefacts are copied into an indexed list, so later changes to the provided
+     * list are not reflected in the HMN. The listeners are notified that each of
+     * the previous artefacts has been removed, and each of the new artefacts added.
      * @param artefacts List of Artefact nodes
      */
     public void setArtefacts(List<Artefact> artefacts)
     {
-        // this.nodes.clear(); // Left this here in case there would be an advantage to clear the list first
-        this.artefacts = artefacts;
+        List<Artefact> old = disown(this.artefacts);
+        this.artefacts = own(newArtefactList(artefacts == null ? Collections.<Artefact>emptyList() : artefacts));
+        if (listeners != null) {
+            for (Artefact a : old) {
+                artefactRemoved(a);
+            }
+            for (Artefact a : this.artefacts) {
+                artefactAdded(a);
+            }
+        }
     }
     
     /**
@@ -247,7 +294,7 @@ public class HMN implements Serializable
      */
     public void addAgents(List<Agent> agents)
     {
-        this.agents.addAll(agents);
+        agentIndex().addAll(agents);
     }
     
     /**
@@ -256,7 +303,7 @@ public class HMN implements Serializable
      */
     public void addAgent(Agent node)
     {
-        this.agents.add(node);
+        agentIndex().add(node);
     }
     
     /**
@@ -265,7 +312,7 @@ public class HMN implements Serializable
      */
     public void addArtefacts(List<Artefact> artefacts)
     {
-        this.artefacts.addAll(artefacts);
+        artefactIndex().addAll(artefacts);
     }
     
     /**
@@ -274,11 +321,13 @@ public class HMN implements Serializable
      */
     public void addArtefact(Artefact node)
     {
-        this.artefacts.add(node);
+        artefactIndex().add(node);
     }
 
     /**
-     * Get all the edges in the HMN.
+     * Get all the edges in the HMN. Edges added to or removed from the list are
+     * linked to (or unlinked from) the HMN and notified to its listeners, as if
+     * added or removed with addEdge(..) or removeEdge(..).
      * @return List of edges.
      */
     public List<Edge> getEdges()
@@ -286,15 +335,35 @@ public class HMN implements Serializable
         return edges;
     }
 
+    /**
+     * Get an edge in the HMN, given the ID provided.
+     * @param id The ID of the edge.
+     * @return The Edge object, or null if the HMN does not contain an edge with the given ID.
+     */
+    public Edge getEdge(String id)
+    {
+        return edgeIndex().getByKey(id);
+    }
+
     /**
      * Set the edges of the HMN according to the list provided.
      * This will replace the existing list without calling any clean-up methods. 
      * Consider using the addEdge(..) methods if this is not desirable.
+     * The edges are copied into an indexed list, so later changes to the provided
+     * list are not reflected in the HMN. The listeners are notified that each of
+     * the previous edges has been removed, and each of the new edges added.
      * @param edges List of Edge objects.
      */
     public void setEdges(List<Edge> edges)
     {
-        this.edges = edges;
+        List<Edge> old = disown(this.edges);
+        this.edges = own(newEdgeList(edges == null ? Collections.<Edge>emptyList() : edges));
+        for (Edge e : old) {
+            edgeRemoved(e);
+        }
+        for (Edge e : this.edges) {
+            edgeAdded(e);
+        }
     }
     
     /**
@@ -303,7 +372,7 @@ public class HMN implements Serializable
      */
     public void addEdges(List<Edge> edges)
     {
-        this.edges.addAll(edges);
+        edgeIndex().addAll(edges);
     }
     
     /**
@@ -312,7 +381,180 @@ public class HMN implements Serializable
      */
     public void addEdge(Edge edge)
     {
-        this.edges.add(edge);
+        edgeIndex().add(edge);
+    }
+    
+    /**
+     * Increases the capacity of the list of edges, if necessary, so that it can
+     * hold at least the number of edges specified without reallocating.
+     * @param minCapacity The desired minimum capacity.
+     */
+    void ensureEdgeCapacity(int minCapacity)
+    {
+        edgeIndex().ensureCapacity(minCapacity);
+    }
+    
+    /**
+     * Get the first edge from the source node to the sink node provided.
+     * Uses the adjacency index of the nodes, so does not depend on the number of
+     * edges the nodes have.
+     * @param src The node at the SOURCE end of the edge.
+     * @param sink The node at the SINK end of the edge.
+     * @return An Edge object, or null if there is no edge from the source to the sink.
+     * @throws NullPointerException If src or sink is NULL.
+     */
+    public Edge findEdge(Node src, Node sink) throws NullPointerException
+    {
+        if (src == null || sink == null) {
+            throw new NullPointerException("Cannot find the edge as the source or sink node provided was NULL");
+        }
+        
+        Edge e = src.findOutboundEdge(sink);
+        return e != null ? e : sink.findInboundEdge(src);
+    }
+    
+    /**
+     * Get all edges from the source node to the sink node provided.
+     * Uses the adjacency index of the nodes, so does not depend on the number of
+     * edges the nodes have.
+     * @param src The node at the SOURCE end of the edges.
+     * @param sink The node at the SINK end of the edges.
+     * @return An unmodifiable list of Edge objects, which is empty if there are no edges from the source to the sink.
+     * @throws NullPointerException If src or sink is NULL.
+     */
+    public List<Edge> edgesBetween(Node src, Node sink) throws NullPointerException
+    {
+        if (src == null || sink == null) {
+            throw new NullPointerException("Cannot find the edges as the source or sink node provided was NULL");
+        }
+        
+        List<Edge> found = src.getOutboundEdgesTo(sink);
+        return !found.isEmpty() ? found : sink.getInboundEdgesFrom(src);
+    }
+    
+    /**
+     * Recompute the aggregate stats of every edge in the HMN from the stats of
+     * each connection type, in parallel.
+     * @see Edge#recomputeEdgeStats()
+     */
+    public void recomputeEdgeStats()
+    {
+        final List<Edge> list = getEdges();
+        IntStream.range(0, list.size()).parallel().forEach(new IntConsumer()
+        {
+            @Override
+            public void accept(int i)
+            {
+                Edge e = list.get(i);
+                if (e != null) {
+                    e.recomputeEdgeStats();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Create an immutable, compact (CSR) view of the topology of the HMN, for
+     * read-only graph algorithms. The view is a snapshot, so later changes to the
+     * HMN are not reflected in it.
+     * @return A FrozenHMN object.
+     * @see FrozenHMN
+     */
+    public FrozenHMN freeze()
+    {
+        return new FrozenHMN(this);
+    }
+    
+    /**
+     * Take a read-only view of the agents, artefacts and edges of the HMN, and the
+     * edges of its nodes, which is not affected by later changes to the HMN. This
+     * does not copy the HMN; the lists of the HMN and its nodes keep their earlier
+     * versions while the view is open, so the view should be closed when no
+     * longer needed.
+     * @return An HMNView object.
+     * @see HMNView
+     */
+    public HMNView snapshot()
+    {
+        return new HMNView(epochs, agentIndex(), artefactIndex(), edgeIndex());
+    }
+    
+    /**
+     * Add a listener to be notified of changes to the HMN.
+     * @param listener The HMNListener object.
+     * @throws NullPointerException If listener is NULL.
+     * @see HMNListener
+     */
+    public void addListener(HMNListener listener) throws NullPointerException
+    {
+        if (listener == null) {
+            throw new NullPointerException("Cannot add the listener to the HMN as the object provided was NULL");
+        }
+        
+        synchronized (this) {
+            if (listeners == null) {
+                listeners = new CopyOnWriteArrayList<>();
+            }
+            listeners.add(listener);
+        }
+    }
+    
+    /**
+     * Remove a listener, so that it is no longer notified of changes to the HMN.
+     * @param listener The HMNListener object.
+     * @return True if the listener was removed; false if it had not been added.
+     */
+    public boolean removeListener(HMNListener listener)
+    {
+        List<HMNListener> list = listeners;
+        return list != null && list.remove(listener);
+    }
+    
+    /**
+     * Notify the listeners that a connection of an edge in the HMN has been added or changed.
+     * @param edge The Edge object.
+     * @param con The Connection object, or null if the connections of the edge have been replaced.
+     */
+    void connectionChanged(Edge edge, Connection con)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.connectionChanged(edge, con);
+            }
+        }
+    }
+    
+    /**
+     * Notify the listeners that a bespoke property of a connection of an edge in the HMN has been set or removed.
+     * @param edge The Edge object.
+     * @param con The Connection object.
+     * @param slot The slot of the property, or -1 if the properties of the connection have been replaced.
+     */
+    void propertyChanged(Edge edge, Connection con, int slot)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.propertyChanged(edge, con, slot);
+            }
+        }
+    }
+    
+    /**
+     * Notify the listeners that interactions have been recorded on an edge in the HMN.
+     * @param edge The Edge object.
+     * @param conType The connection type of the interactions.
+     * @param n The number of interactions.
+     */
+    void interactionRecorded(Edge edge, String conType, int n)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.interactionRecorded(edge, conType, n);
+            }
+        }
     }
     
     /**
@@ -342,4 +584,318 @@ public class HMN implements Serializable
     {
         this.currentDateTime.add(GregorianCalendar.SECOND, seconds);
     }
+    
+    /**
+     * Notify the listeners that an element has been added to one of the HMN's
+     * lists (see IndexedList), linking edges to the HMN.
+     * @param element The Agent, Artefact or Edge object.
+     */
+    void elementAdded(Object element)
+    {
+        versionEdgeLists(element);
+        if (element instanceof Edge) {
+            edgeAdded((Edge) element);
+        } else if (element instanceof Agent) {
+            agentAdded((Agent) element);
+        } else if (element instanceof Artefact) {
+            artefactAdded((Artefact) element);
+        }
+    }
+
+    /**
+     * Notify the listeners that an element has been removed from one of the HMN's
+     * lists (see IndexedList), unlinking edges from the HMN.
+     * @param element The Agent, Artefact or Edge object.
+     */
+    void elementRemoved(Object element)
+    {
+        if (element instanceof Edge) {
+            edgeRemoved((Edge) element);
+        } else if (element instanceof Agent) {
+            agentRemoved((Agent) element);
+        } else if (element instanceof Artefact) {
+            artefactRemoved((Artefact) element);
+        }
+    }
+
+    private void agentAdded(Agent agent)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.agentAdded(agent);
+            }
+        }
+    }
+    
+    private void agentRemoved(Agent agent)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.agentRemoved(agent);
+            }
+        }
+    }
+    
+    private void artefactAdded(Artefact artefact)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.artefactAdded(artefact);
+            }
+        }
+    }
+    
+    private void artefactRemoved(Artefact artefact)
+    {
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.artefactRemoved(artefact);
+            }
+        }
+    }
+    
+    /**
+     * Link an edge added to the HMN and notify the listeners.
+     * @param edge The Edge object.
+     */
+    private void edgeAdded(Edge edge)
+    {
+        link(edge);
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.edgeAdded(edge);
+            }
+        }
+    }
+    
+    /**
+     * Unlink an edge removed from the HMN and notify the listeners.
+     * @param edge The Edge object.
+     */
+    private void edgeRemoved(Edge edge)
+    {
+        unlink(edge);
+        List<HMNListener> list = listeners;
+        if (list != null) {
+            for (HMNListener l : list) {
+                l.edgeRemoved(edge);
+            }
+        }
+    }
+    
+    /**
+     * Set this HMN as the HMN of an edge, so that changes to its connections are notified.
+     * @param edge The Edge object, which may be null.
+     */
+    private void link(Edge edge)
+    {
+        if (edge != null) {
+            edge.setHMN(this);
+        }
+    }
+    
+    private void unlink(Edge edge)
+    {
+        if (edge != null && edge.getHMN() == this) {
+            edge.setHMN(null);
+        }
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        epochs = new VersionedList.Epochs();
+        ownList(agents);
+        ownList(artefacts);
+        ownList(edges);
+        if (edges != null) {
+            for (Edge e : edges) {
+                link(e);
+            }
+        }
+    }
+
+    /**
+     * Make the HMN the owner of one of its lists, so that it is notified of the
+     * elements added to and removed from the list.
+     * @param <T> The type of element.
+     * @param list The list.
+     * @return The list.
+     */
+    private <T> IndexedList<T> own(IndexedList<T> list)
+    {
+        list.setOwner(this);
+        list.setEpochs(epochs);
+        for (T element : list) {
+            versionEdgeLists(element);
+        }
+        return list;
+    }
+
+    /**
+     * Make the HMN the owner of a list, if it is an IndexedList.
+     * @param list The list, which may be null.
+     */
+    private void ownList(List<?> list)
+    {
+        if (list instanceof IndexedList) {
+            own((IndexedList<?>) list);
+        }
+    }
+
+    /**
+     * Get the epochs that number the versions of the HMN's lists, and those of the
+     * edge lists of its nodes, kept for open views.
+     * @return The epochs.
+     */
+    VersionedList.Epochs epochs()
+    {
+        return epochs;
+    }
+
+    /**
+     * Version the edge lists of a node added to the HMN, or of the nodes at the
+     * ends of an edge, for the views of the HMN.
+     * @param element The Agent, Artefact or Edge object.
+     */
+    private void versionEdgeLists(Object element)
+    {
+        if (element instanceof Node) {
+            ((Node) element).versionEdgeLists(epochs);
+        } else if (element instanceof Edge) {
+            Edge edge = (Edge) element;
+            if (edge.getSourceNode() != null) {
+                edge.getSourceNode().versionEdgeLists(epochs);
+            }
+            if (edge.getSinkNode() != null) {
+                edge.getSinkNode().versionEdgeLists(epochs);
+            }
+        }
+    }
+
+    /**
+     * Stop notifying the HMN of changes to a list that it no longer uses.
+     * @param <T> The type of element.
+     * @param list The list, which may be null.
+     * @return The list, or an empty list if NULL.
+     */
+    private <T> List<T> disown(List<T> list)
+    {
+        if (list instanceof IndexedList && ((IndexedList<T>) list).owner == this) {
+            ((IndexedList<T>) list).setOwner(null);
+        }
+        return list != null ? list : Collections.<T>emptyList();
+    }
+    
+    /**
+     * Create an indexed list of agents, which sub-classes may override to use a
+     * different implementation (e.g., a thread-safe list).
+     * @param agents Collection of agents to add to the list.
+     * @return The list.
+     */
+    IndexedList<Agent> newAgentList(Collection<? extends Agent> agents)
+    {
+        return new NodeIndex<>(agents);
+    }
+    
+    /**
+     * Create an indexed list of artefacts.
+     * @see #newAgentList(Collection)
+     * @param artefacts Collection of artefacts to add to the list.
+     * @return The list.
+     */
+    IndexedList<Artefact> newArtefactList(Collection<? extends Artefact> artefacts)
+    {
+        return new NodeIndex<>(artefacts);
+    }
+    
+    /**
+     * Create an indexed list of edges.
+     * @see #newAgentList(Collection)
+     * @param edges Collection of edges to add to the list.
+     * @return The list.
+     */
+    IndexedList<Edge> newEdgeList(Collection<? extends Edge> edges)
+    {
+        return new EdgeIndex(edges);
+    }
+    
+    /**
+     * Get the indexed list of agents, re-indexing the agents if the list has been
+     * replaced by a sub-class with a plain list.
+     * @return The indexed list of agents.
+     */
+    private IndexedList<Agent> agentIndex()
+    {
+        if (!(agents instanceof IndexedList)) {
+            agents = own(newAgentList(agents));
+        }
+        return (IndexedList<Agent>) agents;
+    }
+    
+    /**
+     * Get the indexed list of artefacts, re-indexing the artefacts if the list has been
+     * replaced by a sub-class with a plain list.
+     * @return The indexed list of artefacts.
+     */
+    private IndexedList<Artefact> artefactIndex()
+    {
+        if (!(artefacts instanceof IndexedList)) {
+            artefacts = own(newArtefactList(artefacts));
+        }
+        return (IndexedList<Artefact>) artefacts;
+    }
+    
+    /**
+     * Get the indexed list of edges, re-indexing the edges if the list has been
+     * replaced by a sub-class with a plain list.
+     * @return The indexed list of edges.
+     */
+    private IndexedList<Edge> edgeIndex()
+    {
+        if (!(edges instanceof IndexedList)) {
+            edges = own(newEdgeList(edges));
+        }
+        return (IndexedList<Edge>) edges;
+    }
+    
+    /**
+     * A list of nodes indexed on the node ID.
+     * @param <T> The type of node.
+     */
+    private static class NodeIndex<T extends Node> extends IndexedList<T>
+    {
+        NodeIndex(Collection<? extends T> nodes)
+        {
+            super(nodes);
+        }
+
+        @Override
+        protected String keyOf(Object o)
+        {
+            return o instanceof Node ? ((Node) o).getNodeID() : null;
+        }
+    }
+    
+    /**
+     * A list of edges indexed on the edge ID.
+     */
+    private static class EdgeIndex extends IndexedList<Edge>
+    {
+        EdgeIndex(Collection<? extends Edge> edges)
+        {
+            super(edges);
+        }
+
+        @Override
+        protected String keyOf(Object o)
+        {
+            return o instanceof Edge ? ((Edge) o).getEdgeID() : null;
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+/**
+ * An HMNListener whose methods do nothing, which can be extended to be notified
+ * of only some of the changes to an HMN.
+ * @see HMNListener
+ */
+public abstract class HMNAdapter implements HMNListener
+{
+    @Override
+    public void agentAdded(Agent agent)
+    {
+    }
+
+    @Override
+    public void agentRemoved(Agent agent)
+    {
+    }
+
+    @Override
+    public void artefactAdded(Artefact artefact)
+    {
+    }
+
+    @Override
+    public void artefactRemoved(Artefact artefact)
+    {
+    }
+
+    @Override
+    public void edgeAdded(Edge edge)
+    {
+    }
+
+    @Override
+    public void edgeRemoved(Edge edge)
+    {
+    }
+
+    @Override
+    public void connectionChanged(Edge edge, Connection connection)
+    {
+    }
+
+    @Override
+    public void propertyChanged(Edge edge, Connection connection, int slot)
+    {
+    }
+
+    @Override
+    public void interactionRecorded(Edge edge, String conType, int n)
+    {
+    }
+}
@@ -0,0 +1,117 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+/**
+ * A listener notified of changes to an HMN, e.g., to keep values derived from the
+ * HMN up to date incrementally, rather than rescanning the HMN for changes.
+ *
+ * Listeners are notified on the thread making the change, after the change has
+ * been made, so may be notified from several threads at once (e.g., if connections
+ * are changed in the prepare phase of the TickEngine).
+ *
+ * The changes notified are:
+ *   Agents, artefacts and edges added to and removed from the HMN, whether with
+ *   HMN.addAgent(..), removeEdge(..), etc., directly on the lists returned by
+ *   getAgents(), getArtefacts() and getEdges() (e.g., HMN.getEdges().add(..)), or by
+ *   replacing the lists with setAgents(..), setArtefacts(..) and setEdges(..) (which
+ *   notify the removal of each previous element, and the addition of each new one).
+ *   Connections added to an edge in the HMN, e.g., with Edge.addConnectionSet(..).
+ *   The trust and trustworthiness of a Connection of an edge in the HMN being set.
+ *   Bespoke properties of a Connection of an edge in the HMN being set or removed.
+ *   Interactions recorded on an edge in the HMN with Edge.recordInteraction(..).
+ * Changes that are not notified include: changes to the inbound and outbound edge
+ * lists of nodes (see Node.getInboundEdges()); changes made directly to EdgeStats
+ * objects, or to the maps returned by Edge.getEdgeConnectionStats(); changes of the
+ * ID of a node or edge in the HMN; elements moved within a list, e.g., by sorting
+ * it; and lists assigned directly to the fields of the HMN by subclasses.
+ *
+ * HMNAdapter can be extended to implement only some of the methods.
+ *
+ * @see HMN#addListener(HMNListener)
+ * @see HMNAdapter
+ */
+public interface HMNListener
+{
+    /**
+     * Notified when an agent has been added to the HMN.
+     * @param agent The Agent object.
+     */
+    void agentAdded(Agent agent);
+
+    /**
+     * Notified when an agent has been removed from the HMN.
+     * @param agent The Agent object.
+     */
+    void agentRemoved(Agent agent);
+
+    /**
+     * Notified when an artefact has been added to the HMN.
+     * @param artefact The Artefact object.
+     */
+    void artefactAdded(Artefact artefact);
+
+    /**
+     * Notified when an artefact has been removed from the HMN.
+     * @param artefact The Artefact object.
+     */
+    void artefactRemoved(Artefact artefact);
+
+    /**
+     * Notified when an edge has been added to the HMN.
+     * @param edge The Edge object.
+     */
+    void edgeAdded(Edge edge);
+
+    /**
+     * Notified when an edge has been removed from the HMN.
+     * @param edge The Edge object.
+     */
+    void edgeRemoved(Edge edge);
+
+    /**
+     * Notified when a connection of an edge in the HMN has been added or changed.
+     * @param edge The Edge object.
+     * @param connection The Connection object, or null if the connections of the edge have been replaced.
+     */
+    void connectionChanged(Edge edge, Connection connection);
+
+    /**
+     * Notified when a bespoke property of a connection of an edge in the HMN has been
+     * set or removed.
+     * @param edge The Edge object.
+     * @param connection The Connection object.
+     * @param slot The slot of the property in the PropertySchema, or -1 if the properties of the connection have been replaced.
+     */
+    void propertyChanged(Edge edge, Connection connection, int slot);
+
+    /**
+     * Notified when interactions have been recorded on an edge in the HMN.
+     * @param edge The Edge object.
+     * @param conType The connection type of the interactions.
+     * @param n The number of interactions.
+     */
+    void interactionRecorded(Edge edge, String conType, int n);
+}
@@ -0,0 +1,186 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A consistent, read-only view of the agents, artefacts and edges of an HMN, and
+ * the inbound and outbound edges of its nodes, as they were when the view was
+ * taken with HMN.snapshot(). Taking a view does not copy the HMN, and the view can
+ * be read (e.g., by analytics threads) while the HMN continues to be modified,
+ * without blocking or ConcurrentModificationExceptions.
+ *
+ * The lists of the HMN and its nodes keep the versions visible to open views of
+ * the HMN (see VersionedList): each list is copied once, on its first
+ * modification after a view is taken, and the copy shares the unmodified parts
+ * of the list with the version, so the cost of a view is proportional to the
+ * number of lists modified while it is open (and the number of elements changed),
+ * rather than their size. Views of one HMN do not affect another HMN. A view
+ * should be closed when no longer needed, e.g., with try-with-resources, after
+ * which it cannot be read.
+ *
+ * Only the membership of the lists is versioned. The nodes and edges themselves,
+ * e.g., the connections and stats of an edge, are shared with the HMN, and reading
+ * them sees their current values. Lists replaced with setters (e.g., HMN.setEdges(..)
+ * or Node.setInboundEdges(..)) after the view was taken are read as empty. The
+ * edge lists of a node are versioned for the HMN it was last added to, so a view
+ * of another HMN that shares the node, or of an edge whose end node is not in the
+ * HMN, reads the current edges of the node.
+ *
+ * A view is consistent if it is taken while the HMN is not being modified, e.g.,
+ * on the simulation thread between ticks, and then handed to other threads.
+ *
+ * @see HMN#snapshot()
+ */
+public final class HMNView implements AutoCloseable
+{
+    private final VersionedList.Epochs epochs;
+    private final long epoch;
+    private final IndexedList<Agent> agents;
+    private final IndexedList<Artefact> artefacts;
+    private final IndexedList<Edge> edges;
+    private volatile boolean closed;
+
+    /**
+     * Constructor opening a view of the lists provided, at the current epoch.
+     * @param epochs The epochs of the HMN.
+     * @param agents The HMN's agent list.
+     * @param artefacts The HMN's artefact list.
+     * @param edges The HMN's edge list.
+     */
+    HMNView(VersionedList.Epochs epochs, IndexedList<Agent> agents, IndexedList<Artefact> artefacts, IndexedList<Edge> edges)
+    {
+        this.epochs = epochs;
+        this.agents = agents;
+        this.artefacts = artefacts;
+        this.edges = edges;
+        this.epoch = epochs.openSnapshot();
+    }
+
+    /**
+     * Get the agents of the HMN.
+     * @return An unmodifiable list of Agents.
+     * @throws IllegalStateException If the view has been closed.
+     */
+    public List<Agent> getAgents() throws IllegalStateException
+    {
+        checkOpen();
+        return agents.elementsAt(epochs, epoch);
+    }
+
+    /**
+     * Get the artefacts of the HMN.
+     * @return An unmodifiable list of Artefacts.
+     * @throws IllegalStateException If the view has been closed.
+     */
+    public List<Artefact> getArtefacts() throws IllegalStateException
+    {
+        checkOpen();
+        return artefacts.elementsAt(epochs, epoch);
+    }
+
+    /**
+     * Get the edges of the HMN.
+     * @return An unmodifiable list of Edges.
+     * @throws IllegalStateException If the view has been closed.
+     */
+    public List<Edge> getEdges() throws IllegalStateException
+    {
+        checkOpen();
+        return edges.elementsAt(epochs, epoch);
+    }
+
+    /**
+     * Get the inbound edges of a node.
+     * @param node The node.
+     * @return An unmodifiable list of Edges, which is empty if the node was created after the view was taken.
+     * @throws NullPointerException If node is NULL.
+     * @throws IllegalStateException If the view has been closed.
+     */
+    public List<Edge> getInboundEdges(Node node) throws NullPointerException, IllegalStateException
+    {
+        if (node == null) {
+            throw new NullPointerException("Cannot get the inbound edges as the node provided was NULL");
+        }
+        checkOpen();
+        return edgesAt(node.getInboundEdges());
+    }
+
+    /**
+     * Get the outbound edges of a node.
+     * @param node The node.
+     * @return An unmodifiable list of Edges, which is empty if the node was created after the view was taken.
+     * @throws NullPointerException If node is NULL.
+     * @throws IllegalStateException If the view has been closed.
+     */
+    public List<Edge> getOutboundEdges(Node node) throws NullPointerException, IllegalStateException
+    {
+        if (node == null) {
+            throw new NullPointerException("Cannot get the outbound edges as the node provided was NULL");
+        }
+        checkOpen();
+        return edgesAt(node.getOutboundEdges());
+    }
+
+    /**
+     * Check if the view has been closed.
+     * @return True if closed; false otherwise.
+     */
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Close the view, so that the versions of the HMN's lists kept only for this
+     * view can be discarded. Closing a view more than once has no effect.
+     */
+    @Override
+    public void close()
+    {
+        if (!closed) {
+            closed = true;
+            epochs.closeSnapshot(epoch);
+        }
+    }
+
+    private List<Edge> edgesAt(List<Edge> list)
+    {
+        if (list instanceof EdgeList) {
+            return ((EdgeList) list).edgesAt(epochs, epoch);
+        }
+        // a list set by a sub-class of Node, which is not versioned
+        return list == null ? Collections.<Edge>emptyList() : Collections.unmodifiableList(list);
+    }
+
+    private void checkOpen()
+    {
+        if (closed) {
+            throw new IllegalStateException("Cannot read the view of the HMN as it has been closed");
+        }
+    }
+}
@@ -24,22 +24,33 @@
 /////////////////////////////////////////////////////////////////////////
 package uk.ac.soton.itinnovation.hmncore;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
  * An abstract class representing a Human in the HMN and their core properties.
+ *
+ * The numeric attributes may be held in a columnar HumanAttributes store instead of
+ * the fields, in which case the getters and setters read and write the store. The
+ * fields are therefore not accessible to sub-classes, which must use the getters
+ * and setters.
  * @author Vegard Engen
  */
 public abstract class Human extends Agent implements Serializable
 {
-    protected int age;
-    protected GenderType gender;
-    protected SexualOrientationType sexualOrientation;
-    protected CultureType culture; // collective vs individualistic
-    protected double selfEfficacy;
-    protected double computerSelfEfficacy;
-    protected double trust;
-    protected int reputation;
+    private GenderType gender;
+    private SexualOrientationType sexualOrientation;
+    private CultureType culture; // collective vs individualistic
+
+    // held in the HumanAttributes store instead, while the agent is in a store
+    int age;
+    double selfEfficacy;
+    double computerSelfEfficacy;
+    double trust;
+    int reputation;
+    transient HumanAttributes attributes; // the columnar store holding the attributes, if any
+    transient int attributeIndex;
 
     /**
      * Default constructor, initialises all the properties of the class.
@@ -62,7 +73,8 @@ public abstract class Human extends Agent implements Serializable
      */
     public int getAge()
     {
-        return age;
+        HumanAttributes a = attributes;
+        return a == null ? age : a.age[attributeIndex];
     }
 
     /**
@@ -71,7 +83,12 @@ public abstract class Human extends Agent implements Serializable
      */
     public void setAge(int age)
     {
-        this.age = age;
+        HumanAttributes a = attributes;
+        if (a == null) {
+            this.age = age;
+        } else {
+            a.age[attributeIndex] = age;
+        }
     }
 
     /**
@@ -116,7 +133,8 @@ public abstract class Human extends Agent implements Serializable
      */
     public int getReputation()
     {
-        return reputation;
+        HumanAttributes a = attributes;
+        return a == null ? reputation : a.reputation[attributeIndex];
     }
 
     /**
@@ -125,7 +143,12 @@ public abstract class Human extends Agent implements Serializable
      */
     public void setReputation(int reputation)
     {
-        this.reputation = reputation;
+        HumanAttributes a = attributes;
+        if (a == null) {
+            this.reputation = reputation;
+        } else {
+            a.reputation[attributeIndex] = reputation;
+        }
     }
 
     /**
@@ -134,7 +157,8 @@ public abstract class Human extends Agent implements Serializable
      */
     public double getTrust()
     {
-        return trust;
+        HumanAttributes a = attributes;
+        return a == null ? trust : a.trust[attributeIndex];
     }
 
     /**
@@ -143,7 +167,12 @@ public abstract class Human extends Agent implements Serializable
      */
     public void setTrust(double trust)
     {
-        this.trust = trust;
+        HumanAttributes a = attributes;
+        if (a == null) {
+            this.trust = trust;
+        } else {
+            a.trust[attributeIndex] = trust;
+        }
     }
 
     /**
@@ -171,7 +200,8 @@ public abstract class Human extends Agent implements Serializable
      */
     public double getSelfEfficacy()
     {
-        return selfEfficacy;
+        HumanAttributes a = attributes;
+        return a == null ? selfEfficacy : a.selfEfficacy[attributeIndex];
     }
 
     /**
@@ -181,7 +211,12 @@ public abstract class Human extends Agent implements Serializable
      */
     public void setSelfEfficacy(double selfEfficacy)
     {
-        this.selfEfficacy = selfEfficacy;
+        HumanAttributes a = attributes;
+        if (a == null) {
+            this.selfEfficacy = selfEfficacy;
+        } else {
+            a.selfEfficacy[attributeIndex] = selfEfficacy;
+        }
     }
 
     /**
@@ -191,7 +226,8 @@ public abstract class Human extends Agent implements Serializable
      */
     public double getComputerSelfEfficacy()
     {
-        return computerSelfEfficacy;
+        HumanAttributes a = attributes;
+        return a == null ? computerSelfEfficacy : a.computerSelfEfficacy[attributeIndex];
     }
 
     /**
@@ -201,6 +237,29 @@ public abstract class Human extends Agent implements Serializable
      */
     public void setComputerSelfEfficacy(double computerSelfEfficacy)
     {
-        this.computerSelfEfficacy = computerSelfEfficacy;
+        HumanAttributes a = attributes;
+        if (a == null) {
+            this.computerSelfEfficacy = computerSelfEfficacy;
+        } else {
+            a.computerSelfEfficacy[attributeIndex] = computerSelfEfficacy;
+        }
+    }
+
+    /**
+     * Copy the attributes from the columnar store, if any, into the fields before
+     * serialising, as the store is not serialised.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        if (attributes != null) {
+            age = getAge();
+            selfEfficacy = getSelfEfficacy();
+            computerSelfEfficacy = getComputerSelfEfficacy();
+            trust = getTrust();
+            reputation = getReputation();
+        }
+        out.defaultWriteObject();
     }
 }
@@ -0,0 +1,190 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Arrays;
+
+/**
+ * A columnar store of the numeric attributes of a population of Humans (age,
+ * self-efficacy, computer self-efficacy, trust and reputation), in primitive
+ * arrays indexed by the number of each human in the store. The gender, sexual
+ * orientation and culture of humans remain in their fields.
+ *
+ * The columns can be scanned directly, for the first size() entries, e.g.:
+ * <pre>
+ * double[] trust = store.getTrustColumn();
+ * double sum = 0;
+ * for (int i = 0; i &lt; store.size(); i++) {
+ *     sum += trust[i];
+ * }
+ * </pre>
+ * The arrays are reallocated as humans are added, so should be got again after
+ * adding humans.
+ *
+ * @see AttributeStore
+ * @see Human
+ */
+public final class HumanAttributes extends AttributeStore<Human>
+{
+    int[] age;
+    double[] selfEfficacy;
+    double[] computerSelfEfficacy;
+    double[] trust;
+    int[] reputation;
+
+    /**
+     * Default constructor, initialising an empty store.
+     */
+    public HumanAttributes()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor initialising an empty store with the capacity provided.
+     * @param initialCapacity The number of humans to allocate the columns for.
+     */
+    public HumanAttributes(int initialCapacity)
+    {
+        super(Human.class, initialCapacity);
+        int capacity = Math.max(1, initialCapacity);
+        age = new int[capacity];
+        selfEfficacy = new double[capacity];
+        computerSelfEfficacy = new double[capacity];
+        trust = new double[capacity];
+        reputation = new int[capacity];
+    }
+
+    /**
+     * Get the column of ages.
+     * @return The array of ages, indexed by the number of each human.
+     */
+    public int[] getAgeColumn()
+    {
+        return age;
+    }
+
+    /**
+     * Get the column of self-efficacy values.
+     * @return The array of self-efficacy values, indexed by the number of each human.
+     */
+    public double[] getSelfEfficacyColumn()
+    {
+        return selfEfficacy;
+    }
+
+    /**
+     * Get the column of computer-mediated self-efficacy values.
+     * @return The array of computer-mediated self-efficacy values, indexed by the number of each human.
+     */
+    public double[] getComputerSelfEfficacyColumn()
+    {
+        return computerSelfEfficacy;
+    }
+
+    /**
+     * Get the column of trust values.
+     * @return The array of trust values, indexed by the number of each human.
+     */
+    public double[] getTrustColumn()
+    {
+        return trust;
+    }
+
+    /**
+     * Get the column of reputation values.
+     * @return The array of reputation values, indexed by the number of each human.
+     */
+    public int[] getReputationColumn()
+    {
+        return reputation;
+    }
+
+    @Override
+    boolean isAttached(Human agent)
+    {
+        return agent.attributes != null;
+    }
+
+    @Override
+    boolean isAttachedTo(Human agent, AttributeStore<Human> store)
+    {
+        return agent.attributes == store;
+    }
+
+    @Override
+    int indexOf(Human agent)
+    {
+        return agent.attributeIndex;
+    }
+
+    @Override
+    void attach(Human agent, int index)
+    {
+        agent.attributeIndex = index;
+        agent.attributes = this;
+    }
+
+    @Override
+    void detach(Human agent, int index)
+    {
+        agent.age = age[index];
+        agent.selfEfficacy = selfEfficacy[index];
+        agent.computerSelfEfficacy = computerSelfEfficacy[index];
+        agent.trust = trust[index];
+        agent.reputation = reputation[index];
+        agent.attributes = null;
+    }
+
+    @Override
+    void copyIn(Human agent, int index)
+    {
+        age[index] = agent.age;
+        selfEfficacy[index] = agent.selfEfficacy;
+        computerSelfEfficacy[index] = agent.computerSelfEfficacy;
+        trust[index] = agent.trust;
+        reputation[index] = agent.reputation;
+    }
+
+    @Override
+    void move(int from, int to)
+    {
+        age[to] = age[from];
+        selfEfficacy[to] = selfEfficacy[from];
+        computerSelfEfficacy[to] = computerSelfEfficacy[from];
+        trust[to] = trust[from];
+        reputation[to] = reputation[from];
+    }
+
+    @Override
+    void grow(int capacity)
+    {
+        age = Arrays.copyOf(age, capacity);
+        selfEfficacy = Arrays.copyOf(selfEfficacy, capacity);
+        computerSelfEfficacy = Arrays.copyOf(computerSelfEfficacy, capacity);
+        trust = Arrays.copyOf(trust, capacity);
+        reputation = Arrays.copyOf(reputation, capacity);
+    }
+}
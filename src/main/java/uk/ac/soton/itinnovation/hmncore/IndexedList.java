@@ -0,0 +1,482 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A list that keeps an index from the ID of each element to its position, which
+ * is used by the HMN for its "master" lists of agents, artefacts and edges.
+ *
+ * Lookup by ID and removal (by ID or by object) take constant time. To achieve
+ * this, removing an element moves the last element of the list into the freed
+ * position, so the order of the list is not preserved on removal. Appending
+ * preserves order. IDs are assumed to be unique and not to change while the
+ * element is in the list; if two elements share an ID, lookup returns the most
+ * recently added one, and an element whose ID has changed is not found by
+ * indexOf(..), contains(..) or remove(Object).
+ *
+ * Removing a range of elements (via removeRange(..) or a subList(..) view)
+ * shifts the subsequent elements down, preserving their order, so views of the
+ * list behave as they would on an ArrayList.
+ *
+ * Earlier versions of the list are kept for open snapshots of the HMN (see
+ * VersionedList); the index is not versioned.
+ *
+ * The HMN the list belongs to (its owner) is notified of each element added to or
+ * removed from the list, however the list is modified, so that changes made via
+ * the List API (e.g., HMN.getEdges().add(..)) reach the HMN's listeners.
+ *
+ * @param <T> The type of element held in the list.
+ * @see HMN
+ */
+abstract class IndexedList<T> extends VersionedList<T> implements RandomAccess, Serializable
+{
+    private final Map<String, Integer> positions;
+    transient HMN owner; // notified of the elements added and removed, if set
+
+    /**
+     * Default constructor, initialising an empty list.
+     */
+    IndexedList()
+    {
+        super(new ChunkedList<T>());
+        positions = new HashMap<>();
+    }
+
+    /**
+     * Constructor initialising the list with the elements provided.
+     * @param c Collection of elements to add, in iteration order.
+     */
+    IndexedList(Collection<? extends T> c)
+    {
+        super(new ChunkedList<T>(c.size()));
+        positions = new HashMap<>(Math.max(16, (int) (c.size() / 0.75f) + 1));
+        addAll(c);
+    }
+
+    /**
+     * Get the ID (key) of an element.
+     * @param o The object to get the key for.
+     * @return The key of the object, or null if the object is not of a type held by the list.
+     */
+    protected abstract String keyOf(Object o);
+
+    /**
+     * Set the HMN the list belongs to, which is notified of each element added to
+     * or removed from the list.
+     * @param owner The HMN, or null to stop notifying it.
+     */
+    void setOwner(HMN owner)
+    {
+        this.owner = owner;
+    }
+
+    /**
+     * Replace the elements of the list, re-indexing them, without notifying the
+     * owner. This is used to move elements between lists, e.g., when sorting a
+     * list held in several parts.
+     * @param c Collection of elements, in iteration order.
+     */
+    void setElements(Collection<? extends T> c)
+    {
+        ChunkedList<T> list = mutable();
+        list.clear();
+        positions.clear();
+        for (T element : c) {
+            positions.put(keyOf(element), list.size());
+            list.add(element);
+        }
+        modCount++;
+    }
+
+    /**
+     * Get the element with the given ID.
+     * @param key The ID of the element.
+     * @return The element, or null if there is no element with that ID.
+     */
+    T getByKey(String key)
+    {
+        Integer pos = positions.get(key);
+        return pos == null ? null : elements.get(pos);
+    }
+
+    /**
+     * Removes the element with the given ID, if it exists.
+     * @param key The ID of the element.
+     * @return The removed element, or null if there is no element with that ID.
+     */
+    T removeByKey(String key)
+    {
+        Integer pos = positions.get(key);
+        return pos == null ? null : remove(pos.intValue());
+    }
+
+    /**
+     * Increases the capacity of the list, if necessary, so that it can hold at
+     * least the number of elements specified without reallocating.
+     * @param minCapacity The desired minimum capacity.
+     */
+    void ensureCapacity(int minCapacity)
+    {
+        mutable().ensureCapacity(minCapacity);
+    }
+
+    @Override
+    public T get(int index)
+    {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size()
+    {
+        return elements.size();
+    }
+
+    @Override
+    public T set(int index, T element)
+    {
+        boolean present = indexOf(element) >= 0;
+        T old = replace(index, element);
+
+        // elements moved within the list (e.g., by Collections.swap(..)) are neither added nor removed
+        if (old != element) {
+            if (indexOf(old) < 0) {
+                removed(old);
+            }
+            if (!present) {
+                added(element);
+            }
+        }
+        return old;
+    }
+
+    /**
+     * Replace the element at a position, re-indexing it, without notifying the owner.
+     * @param index The index of the element to replace.
+     * @param element The element to store at the position.
+     * @return The element previously at the position.
+     */
+    T replace(int index, T element)
+    {
+        ChunkedList<T> list = mutable();
+        T old = list.set(index, element);
+        unindex(old, index);
+        positions.put(keyOf(element), index);
+        return old;
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        ChunkedList<T> list = mutable();
+        positions.put(keyOf(element), list.size());
+        list.add(element);
+        modCount++;
+        added(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element)
+    {
+        if (index == elements.size()) {
+            add(element);
+            return;
+        }
+
+        // inserting in the middle shifts the subsequent elements, which need re-indexing
+        ChunkedList<T> list = mutable();
+        list.add(index, element);
+        for (int i = index; i < list.size(); i++) {
+            positions.put(keyOf(list.get(i)), i);
+        }
+        modCount++;
+        added(element);
+    }
+
+    @Override
+    public T remove(int index)
+    {
+        ChunkedList<T> list = mutable();
+        int last = list.size() - 1;
+        T removed = list.get(index);
+
+        // move the last element into the freed position to avoid shifting
+        T moved = list.remove(last);
+        if (index != last) {
+            list.set(index, moved);
+            String movedKey = keyOf(moved);
+            Integer movedPos = positions.get(movedKey);
+            if (movedPos != null && movedPos == last) {
+                positions.put(movedKey, index);
+            }
+        }
+
+        unindex(removed, index);
+        modCount++;
+        removed(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object o)
+    {
+        Integer pos = positions.get(keyOf(o));
+        if (pos != null && o != null && o.equals(elements.get(pos))) {
+            return pos;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public void clear()
+    {
+        ChunkedList<T> list = mutable();
+        List<T> old = owner != null ? new ArrayList<>(list) : null;
+        list.clear();
+        positions.clear();
+        modCount++;
+        if (old != null) {
+            for (T element : old) {
+                removed(element);
+            }
+        }
+    }
+
+    /**
+     * Sorts the list, re-indexing the elements. The elements in the list do not
+     * change, so the owner is not notified.
+     * @param c The comparator, or null to sort by natural order.
+     */
+    @Override
+    public void sort(Comparator<? super T> c)
+    {
+        ChunkedList<T> list = mutable();
+        list.sort(c);
+        for (int i = 0; i < list.size(); i++) {
+            positions.put(keyOf(list.get(i)), i);
+        }
+        modCount++;
+    }
+
+    /**
+     * Removes the elements from fromIndex (inclusive) to toIndex (exclusive),
+     * shifting the subsequent elements down (which are re-indexed), rather than
+     * moving the last elements into the freed positions.
+     * @param fromIndex The index of the first element to remove.
+     * @param toIndex The index after the last element to remove.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex)
+    {
+        ChunkedList<T> list = mutable();
+        List<T> old = owner != null ? new ArrayList<>(list.subList(fromIndex, toIndex)) : null;
+        for (int i = fromIndex; i < toIndex; i++) {
+            unindex(list.get(i), i);
+        }
+        list.subList(fromIndex, toIndex).clear();
+        for (int i = fromIndex; i < list.size(); i++) {
+            positions.put(keyOf(list.get(i)), i);
+        }
+        modCount++;
+        if (old != null) {
+            for (T element : old) {
+                removed(element);
+            }
+        }
+    }
+
+    /**
+     * Get a view of a range of the list. Removing elements via the view shifts the
+     * subsequent elements of the list down (see removeRange(..)), so the view keeps
+     * the elements it had, other than those removed.
+     * @param fromIndex The index of the first element of the view.
+     * @param toIndex The index after the last element of the view.
+     * @return The view.
+     */
+    @Override
+    public List<T> subList(int fromIndex, int toIndex)
+    {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+        }
+        return new SubList(fromIndex, toIndex);
+    }
+
+    /**
+     * Notify the owner, if any, that an element has been added.
+     * @param element The element, which is ignored if null.
+     */
+    void added(T element)
+    {
+        HMN h = owner;
+        if (h != null && element != null) {
+            h.elementAdded(element);
+        }
+    }
+
+    /**
+     * Notify the owner, if any, that an element has been removed.
+     * @param element The element, which is ignored if null.
+     */
+    void removed(T element)
+    {
+        HMN h = owner;
+        if (h != null && element != null) {
+            h.elementRemoved(element);
+        }
+    }
+
+    /**
+     * Removes the index entry for an element, if it points to the given position.
+     * @param element The element that has been removed or replaced.
+     * @param pos The position the element was at.
+     */
+    private void unindex(T element, int pos)
+    {
+        String key = keyOf(element);
+        Integer indexed = positions.get(key);
+        if (indexed != null && indexed == pos) {
+            positions.remove(key);
+        }
+    }
+
+    /**
+     * A view of a range of the list, which removes elements from the list in order
+     * (via removeRange(..)) rather than by moving the last element of the list.
+     */
+    private final class SubList extends AbstractList<T> implements RandomAccess
+    {
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        SubList(int fromIndex, int toIndex)
+        {
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedModCount = IndexedList.this.modCount;
+        }
+
+        @Override
+        public T get(int index)
+        {
+            checkIndex(index, size);
+            checkForComodification();
+            return IndexedList.this.get(offset + index);
+        }
+
+        @Override
+        public T set(int index, T element)
+        {
+            checkIndex(index, size);
+            checkForComodification();
+            return IndexedList.this.set(offset + index, element);
+        }
+
+        @Override
+        public int size()
+        {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public void add(int index, T element)
+        {
+            checkIndex(index, size + 1);
+            checkForComodification();
+            IndexedList.this.add(offset + index, element);
+            expectedModCount = IndexedList.this.modCount;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public T remove(int index)
+        {
+            checkIndex(index, size);
+            checkForComodification();
+            T removed = IndexedList.this.get(offset + index);
+            IndexedList.this.removeRange(offset + index, offset + index + 1);
+            expectedModCount = IndexedList.this.modCount;
+            size--;
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex)
+        {
+            checkForComodification();
+            IndexedList.this.removeRange(offset + fromIndex, offset + toIndex);
+            expectedModCount = IndexedList.this.modCount;
+            size -= toIndex - fromIndex;
+            modCount++;
+        }
+
+        private void checkIndex(int index, int bound)
+        {
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+
+        private void checkForComodification()
+        {
+            if (IndexedList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -24,20 +24,30 @@
 /////////////////////////////////////////////////////////////////////////
 package uk.ac.soton.itinnovation.hmncore;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
  * An abstract class representing a Machine in the HMN and its core properties.
+ *
+ * The attributes may be held in a columnar MachineAttributes store instead of the
+ * fields, in which case the getters and setters read and write the store. The
+ * fields are therefore not accessible to sub-classes, which must use the getters
+ * and setters.
  * @author Vegard Engen
  */
 public abstract class Machine extends Agent implements Serializable
 {
-    protected double capacity;
-    protected double availability;
-    protected double reliability;
-    protected double responsiveness;
-    protected double throughput;
-    protected double utilisation;
+    // held in the MachineAttributes store instead, while the machine is in a store
+    double capacity;
+    double availability;
+    double reliability;
+    double responsiveness;
+    double throughput;
+    double utilisation;
+    transient MachineAttributes attributes; // the columnar store holding the attributes, if any
+    transient int attributeIndex;
 
     /**
      * Default constructor, initialising all the properties of the class.
@@ -58,7 +68,8 @@ public abstract class Machine extends Agent implements Serializable
      */
     public double getCapacity()
     {
-        return capacity;
+        MachineAttributes a = attributes;
+        return a == null ? capacity : a.capacity[attributeIndex];
     }
 
     /**
@@ -67,7 +78,12 @@ public abstract class Machine extends Agent implements Serializable
      */
     public void setCapacity(double capacity)
     {
-        this.capacity = capacity;
+        MachineAttributes a = attributes;
+        if (a == null) {
+            this.capacity = capacity;
+        } else {
+            a.capacity[attributeIndex] = capacity;
+        }
     }
 
     /**
@@ -76,7 +92,8 @@ public abstract class Machine extends Agent implements Serializable
      */
     public double getAvailability()
     {
-        return availability;
+        MachineAttributes a = attributes;
+        return a == null ? availability : a.availability[attributeIndex];
     }
 
     /**
@@ -85,7 +102,12 @@ public abstract class Machine extends Agent implements Serializable
      */
     public void setAvailability(double availability)
     {
-        this.availability = availability;
+        MachineAttributes a = attributes;
+        if (a == null) {
+            this.availability = availability;
+        } else {
+            a.availability[attributeIndex] = availability;
+        }
     }
 
     /**
@@ -94,7 +116,8 @@ public abstract class Machine extends Agent implements Serializable
      */
     public double getReliability()
     {
-        return reliability;
+        MachineAttributes a = attributes;
+        return a == null ? reliability : a.reliability[attributeIndex];
     }
 
     /**
@@ -103,7 +126,12 @@ public abstract class Machine extends Agent implements Serializable
      */
     public void setReliability(double reliability)
     {
-        this.reliability = reliability;
+        MachineAttributes a = attributes;
+        if (a == null) {
+            this.reliability = reliability;
+        } else {
+            a.reliability[attributeIndex] = reliability;
+        }
     }
 
     /**
@@ -112,7 +140,8 @@ public abstract class Machine extends Agent implements Serializable
      */
     public double getResponsiveness()
     {
-        return responsiveness;
+        MachineAttributes a = attributes;
+        return a == null ? responsiveness : a.responsiveness[attributeIndex];
     }
 
     /**
@@ -121,7 +150,12 @@ public abstract class Machine extends Agent implements Serializable
      */
     public void setResponsiveness(double responsiveness)
     {
-        this.responsiveness = responsiveness;
+        MachineAttributes a = attributes;
+        if (a == null) {
+            this.responsiveness = responsiveness;
+        } else {
+            a.responsiveness[attributeIndex] = responsiveness;
+        }
     }
 
     /**
@@ -130,7 +164,8 @@ public abstract class Machine extends Agent implements Serializable
      */
     public double getThroughput()
     {
-        return throughput;
+        MachineAttributes a = attributes;
+        return a == null ? throughput : a.throughput[attributeIndex];
     }
 
     /**
@@ -139,7 +174,12 @@ public abstract class Machine extends Agent implements Serializable
      */
     public void setThroughput(double throughput)
     {
-        this.throughput = throughput;
+        MachineAttributes a = attributes;
+        if (a == null) {
+            this.throughput = throughput;
+        } else {
+            a.throughput[attributeIndex] = throughput;
+        }
     }
 
     /**
@@ -148,7 +188,8 @@ public abstract class Machine extends Agent implements Serializable
      */
     public double getUtilisation()
     {
-        return utilisation;
+        MachineAttributes a = attributes;
+        return a == null ? utilisation : a.utilisation[attributeIndex];
     }
 
     /**
@@ -157,8 +198,30 @@ public abstract class Machine extends Agent implements Serializable
      */
     public void setUtilisation(double utilisation)
     {
-        this.utilisation = utilisation;
+        MachineAttributes a = attributes;
+        if (a == null) {
+            this.utilisation = utilisation;
+        } else {
+            a.utilisation[attributeIndex] = utilisation;
+        }
     }
 
-    
+    /**
+     * Copy the attributes from the columnar store, if any, into the fields before
+     * serialising, as the store is not serialised.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException
+    {
+        if (attributes != null) {
+            capacity = getCapacity();
+            availability = getAvailability();
+            reliability = getReliability();
+            responsiveness = getResponsiveness();
+            throughput = getThroughput();
+            utilisation = getUtilisation();
+        }
+        out.defaultWriteObject();
+    }
 }
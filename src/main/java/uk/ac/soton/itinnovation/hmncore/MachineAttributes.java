@@ -0,0 +1,206 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Arrays;
+
+/**
+ * A columnar store of the attributes of a population of Machines (capacity,
+ * availability, reliability, responsiveness, throughput and utilisation), in
+ * primitive arrays indexed by the number of each machine in the store.
+ *
+ * The columns can be scanned directly, for the first size() entries, e.g., for
+ * the mean utilisation of the machines:
+ * <pre>
+ * double[] utilisation = store.getUtilisationColumn();
+ * double sum = 0;
+ * for (int i = 0; i &lt; store.size(); i++) {
+ *     sum += utilisation[i];
+ * }
+ * double mean = sum / store.size();
+ * </pre>
+ * The arrays are reallocated as machines are added, so should be got again after
+ * adding machines.
+ *
+ * @see AttributeStore
+ * @see Machine
+ */
+public final class MachineAttributes extends AttributeStore<Machine>
+{
+    double[] capacity;
+    double[] availability;
+    double[] reliability;
+    double[] responsiveness;
+    double[] throughput;
+    double[] utilisation;
+
+    /**
+     * Default constructor, initialising an empty store.
+     */
+    public MachineAttributes()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor initialising an empty store with the capacity provided.
+     * @param initialCapacity The number of machines to allocate the columns for.
+     */
+    public MachineAttributes(int initialCapacity)
+    {
+        super(Machine.class, initialCapacity);
+        int n = Math.max(1, initialCapacity);
+        capacity = new double[n];
+        availability = new double[n];
+        reliability = new double[n];
+        responsiveness = new double[n];
+        throughput = new double[n];
+        utilisation = new double[n];
+    }
+
+    /**
+     * Get the column of capacity values.
+     * @return The array of capacity values, indexed by the number of each machine.
+     */
+    public double[] getCapacityColumn()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the column of availability values.
+     * @return The array of availability values, indexed by the number of each machine.
+     */
+    public double[] getAvailabilityColumn()
+    {
+        return availability;
+    }
+
+    /**
+     * Get the column of reliability values.
+     * @return The array of reliability values, indexed by the number of each machine.
+     */
+    public double[] getReliabilityColumn()
+    {
+        return reliability;
+    }
+
+    /**
+     * Get the column of responsiveness values.
+     * @return The array of responsiveness values, indexed by the number of each machine.
+     */
+    public double[] getResponsivenessColumn()
+    {
+        return responsiveness;
+    }
+
+    /**
+     * Get the column of throughput values.
+     * @return The array of throughput values, indexed by the number of each machine.
+     */
+    public double[] getThroughputColumn()
+    {
+        return throughput;
+    }
+
+    /**
+     * Get the column of utilisation values.
+     * @return The array of utilisation values, indexed by the number of each machine.
+     */
+    public double[] getUtilisationColumn()
+    {
+        return utilisation;
+    }
+
+    @Override
+    boolean isAttached(Machine agent)
+    {
+        return agent.attributes != null;
+    }
+
+    @Override
+    boolean isAttachedTo(Machine agent, AttributeStore<Machine> store)
+    {
+        return agent.attributes == store;
+    }
+
+    @Override
+    int indexOf(Machine agent)
+    {
+        return agent.attributeIndex;
+    }
+
+    @Override
+    void attach(Machine agent, int index)
+    {
+        agent.attributeIndex = index;
+        agent.attributes = this;
+    }
+
+    @Override
+    void detach(Machine agent, int index)
+    {
+        agent.capacity = capacity[index];
+        agent.availability = availability[index];
+        agent.reliability = reliability[index];
+        agent.responsiveness = responsiveness[index];
+        agent.throughput = throughput[index];
+        agent.utilisation = utilisation[index];
+        agent.attributes = null;
+    }
+
+    @Override
+    void copyIn(Machine agent, int index)
+    {
+        capacity[index] = agent.capacity;
+        availability[index] = agent.availability;
+        reliability[index] = agent.reliability;
+        responsiveness[index] = agent.responsiveness;
+        throughput[index] = agent.throughput;
+        utilisation[index] = agent.utilisation;
+    }
+
+    @Override
+    void move(int from, int to)
+    {
+        capacity[to] = capacity[from];
+        availability[to] = availability[from];
+        reliability[to] = reliability[from];
+        responsiveness[to] = responsiveness[from];
+        throughput[to] = throughput[from];
+        utilisation[to] = utilisation[from];
+    }
+
+    @Override
+    void grow(int n)
+    {
+        capacity = Arrays.copyOf(capacity, n);
+        availability = Arrays.copyOf(availability, n);
+        reliability = Arrays.copyOf(reliability, n);
+        responsiveness = Arrays.copyOf(responsiveness, n);
+        throughput = Arrays.copyOf(throughput, n);
+        utilisation = Arrays.copyOf(utilisation, n);
+    }
+}
@@ -0,0 +1,118 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A table of interned names, which assigns each name a small int ID in the order
+ * names are first added, and never reuses IDs. This is the table behind the
+ * ConnectionTypeRegistry and the PropertySchema. Looking up a name or an ID needs
+ * no lock; adding a name is synchronised.
+ *
+ * @see ConnectionTypeRegistry
+ * @see PropertySchema
+ */
+final class NameTable
+{
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final String description;
+    private volatile String[] names = new String[16];
+    private volatile int size = 0;
+
+    /**
+     * Constructor.
+     * @param description Description of the IDs, for exception messages, e.g., "Property slot".
+     */
+    NameTable(String description)
+    {
+        this.description = description;
+    }
+
+    /**
+     * Get the ID of a name, adding the name if it is new.
+     * @param name The name, which must not be NULL.
+     * @return The ID.
+     */
+    int id(String name)
+    {
+        Integer id = ids.get(name);
+        return id != null ? id : add(name);
+    }
+
+    /**
+     * Get the ID of a name, without adding it.
+     * @param name The name.
+     * @return The ID, or -1 if the name has not been added.
+     */
+    int find(String name)
+    {
+        Integer id = name == null ? null : ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the name with an ID.
+     * @param id The ID.
+     * @return The name.
+     * @throws IndexOutOfBoundsException If the ID has not been assigned.
+     */
+    String name(int id) throws IndexOutOfBoundsException
+    {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException(description + " not assigned: " + id);
+        }
+        return names[id];
+    }
+
+    /**
+     * Get the number of names. IDs are numbered from 0 to size() - 1.
+     * @return The number of names.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    private synchronized int add(String name)
+    {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        int next = size;
+        if (next == names.length) {
+            String[] grown = new String[next * 2];
+            System.arraycopy(names, 0, grown, 0, next);
+            names = grown;
+        }
+        names[next] = name;
+        size = next + 1; // publish the name before the ID
+        ids.put(name, next);
+        return next;
+    }
+}
@@ -25,11 +25,26 @@
 package uk.ac.soton.itinnovation.hmncore;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * A class that represents a node in a HMN.
+ * 
+ * The inbound and outbound edge lists keep an index on the node at the other end
+ * of each edge, so that the edge(s) between a pair of nodes can be found without
+ * iterating over all the edges of the node.
+ *
+ * Edges created with createInboundEdge(..) or createOutboundEdge(..) are added to
+ * the edge lists of both of their nodes, and the remove methods remove the edge
+ * from both, so the lists of the two nodes are kept consistent. Adding an edge
+ * that is already in a list with addInboundEdge(..) or addOutboundEdge(..) has no
+ * effect, so code that adds the created edge to the other node itself does not
+ * add it twice.
+ *
+ * When the node is added to a ConcurrentHMN, or its HMN is set to one, its edge
+ * lists are replaced by thread-safe lists, so that edges can be created and
+ * removed from several threads at once.
  *
  * @author Vegard Engen
  */
@@ -50,8 +65,8 @@ public class Node implements Serializable
     public Node()
     {
         nodeID = "";
-        inboundEdges = new ArrayList<>();
-        outboundEdges = new ArrayList<>();
+        inboundEdges = new EdgeList(false);
+        outboundEdges = new EdgeList(true);
     }
     
     /**
@@ -60,6 +75,7 @@ public class Node implements Serializable
      */
     public Node(String nodeID)
     {
+        this();
         this.nodeID = nodeID;
     }
     
@@ -90,7 +106,14 @@ public class Node implements Serializable
      */
     public Node(HMN hmn)
     {
+        this();
         this.hmn = hmn;
+        if (hmn instanceof ConcurrentHMN) {
+            concurrentEdgeLists();
+        }
+        if (hmn != null) {
+            versionEdgeLists(hmn.epochs());
+        }
     }
     
     /**
@@ -144,6 +167,33 @@ public class Node implements Serializable
         this.nodeID = nodeID;
     }
 
+    /**
+     * Get the HMN this node belongs to.
+     * @return Human-machine network object (reference), or null if not set.
+     */
+    public HMN getHMN()
+    {
+        return hmn;
+    }
+
+    /**
+     * Set the HMN this node belongs to, which is used to synchronise with the
+     * "master" lists of the HMN when creating and removing edges. If the HMN is a
+     * ConcurrentHMN, the edge lists of the node are replaced by thread-safe lists.
+     * The edge lists are versioned for the views of the HMN (see HMN.snapshot()).
+     * @param hmn Human-machine network object (reference).
+     */
+    public void setHMN(HMN hmn)
+    {
+        this.hmn = hmn;
+        if (hmn instanceof ConcurrentHMN) {
+            concurrentEdgeLists();
+        }
+        if (hmn != null) {
+            versionEdgeLists(hmn.epochs());
+        }
+    }
+
     /**
      * Get all the inbound edges to the node.
      * @return List of Edge objects.
@@ -155,15 +205,39 @@ public class Node implements Serializable
 
     /**
      * Set all the inbound edges to the node.
+     * The edges are copied into an indexed list, so later changes to the provided
+     * list are not reflected in the node.
      * @param inboundEdges List of Edge objects.
      */
     public void setInboundEdges(List<Edge> inboundEdges)
     {
-        this.inboundEdges = inboundEdges;
+        this.inboundEdges = newEdgeList(false, inboundEdges);
+    }
+    
+    /**
+     * Get the first inbound edge from the given source node.
+     * @param srcNode The node from which the directional edge stems from.
+     * @return An Edge object, or null if there is no inbound edge from the source node.
+     */
+    public Edge findInboundEdge(Node srcNode)
+    {
+        return inboundList().find(srcNode);
     }
     
     /**
-     * Create an inbound edge.
+     * Get all inbound edges from the given source node.
+     * @param srcNode The node from which the directional edges stem from.
+     * @return An unmodifiable list of Edge objects, which is empty if there are no inbound edges from the source node.
+     */
+    public List<Edge> getInboundEdgesFrom(Node srcNode)
+    {
+        return inboundList().findAll(srcNode);
+    }
+    
+    /**
+     * Create an inbound edge with the given ID, which is added to the inbound edges
+     * of this node and to the outbound edges of the source node (so neither needs to
+     * be added by the caller).
      * @param id ID of the edge.
      * @param sinkNode The node from which the directional edge stems from.
      * @param addToHMN Flag to say if the edge should also be added to the HMN's "master" list of edges.
@@ -173,9 +247,10 @@ public class Node implements Serializable
     {
         Edge e = new Edge();
         
-        e.setEdgeID(nodeID);
+        e.setEdgeID(id);
         e.setSourceNode(sinkNode);
         e.setSinkNode(this);
+        attachEdge(e);
         
         if (addToHMN) {
             hmn.addEdge(e);
@@ -185,7 +260,9 @@ public class Node implements Serializable
     }
     
     /**
-     * Create an inbound edge.
+     * Create an inbound edge with the given ID, which is added to the inbound edges
+     * of this node and to the outbound edges of the source node (so neither needs to
+     * be added by the caller).
      * @param id ID of the edge.
      * @param srcNode The node from which the directional edge stems from.
      * @param connectionType The type of connection.
@@ -198,10 +275,11 @@ public class Node implements Serializable
     {
         Edge e = new Edge();
         
-        e.setEdgeID(nodeID);
+        e.setEdgeID(id);
         e.setSourceNode(srcNode);
         e.setSinkNode(this);
         e.addConnectionSet(connectionType, srcConnection, sinkConnection);
+        attachEdge(e);
         
         if (addToHMN) {
             hmn.addEdge(e);
@@ -211,12 +289,13 @@ public class Node implements Serializable
     }
     
     /**
-     * Add an inbound edge.
+     * Add an inbound edge, unless it is already an inbound edge of the node (e.g.,
+     * if it was created by the source node with createOutboundEdge(..)).
      * @param edge Edge object
      */
     public void addInboundEdge(Edge edge)
     {
-        this.inboundEdges.add(edge);
+        inboundList().addAbsent(edge);
     }
     
     /**
@@ -225,11 +304,14 @@ public class Node implements Serializable
      */
     public void addInboundEdges(List<Edge> inboundEdges)
     {
-        this.inboundEdges.addAll(inboundEdges);
+        inboundList().addAll(inboundEdges);
     }
     
     /**
-     * Removes an inbound edge, if it exists.
+     * Removes an inbound edge, if it exists. The edge is also removed from the
+     * outbound edges of its source node. If the edge has already been removed from
+     * this node's list (e.g., by removeOutboundEdge(..) on the source node), it is
+     * still removed from the HMN if requested.
      * @param edge Edge object to be removed.
      * @param removeFromHMN A flag to signifify if the edge should be removed from the HMN's "master" list.
      * @throws NullPointerException If the Edge object is NULL.
@@ -241,12 +323,17 @@ public class Node implements Serializable
             throw new NullPointerException("Cannot remove the inbound edge from the Node as the object provided was NULL");
         }
         
-        if (inboundEdges.remove(edge)) {
+        if (inboundList().remove(edge)) {
+            if (edge.getSourceNode() != null) {
+                edge.getSourceNode().outboundList().remove(edge);
+            }
             if (removeFromHMN) {
                 return hmn.removeEdge(edge);
             } else {
                 return true;
             }
+        } else if (removeFromHMN && hmn != null && edge.getSinkNode() == this) {
+            return hmn.removeEdge(edge);
         } else {
             return false;
         }
@@ -263,15 +350,39 @@ public class Node implements Serializable
 
     /**
      * Set all outbound edges.
+     * The edges are copied into an indexed list, so later changes to the provided
+     * list are not reflected in the node.
      * @param outboundEdges List of Edge objects.
      */
     public void setOutboundEdges(List<Edge> outboundEdges)
     {
-        this.outboundEdges = outboundEdges;
+        this.outboundEdges = newEdgeList(true, outboundEdges);
+    }
+    
+    /**
+     * Get the first outbound edge to the given sink node.
+     * @param sinkNode The node to which the directional edge goes to.
+     * @return An Edge object, or null if there is no outbound edge to the sink node.
+     */
+    public Edge findOutboundEdge(Node sinkNode)
+    {
+        return outboundList().find(sinkNode);
     }
     
     /**
-     * Create an outbound edge.
+     * Get all outbound edges to the given sink node.
+     * @param sinkNode The node to which the directional edges go to.
+     * @return An unmodifiable list of Edge objects, which is empty if there are no outbound edges to the sink node.
+     */
+    public List<Edge> getOutboundEdgesTo(Node sinkNode)
+    {
+        return outboundList().findAll(sinkNode);
+    }
+    
+    /**
+     * Create an outbound edge with the given ID, which is added to the outbound edges
+     * of this node and to the inbound edges of the sink node (so neither needs to be
+     * added by the caller).
      * @param id ID of the edge.
      * @param sinkNode The the sink (other) node, at the end of this directed edge.
      * @param addToHMN Flag to say if the edge should also be added to the HMN's "master" list of edges.
@@ -281,9 +392,10 @@ public class Node implements Serializable
     {
         Edge e = new Edge();
         
-        e.setEdgeID(nodeID);
+        e.setEdgeID(id);
         e.setSourceNode(this);
         e.setSinkNode(sinkNode);
+        attachEdge(e);
         
         if (addToHMN) {
             hmn.addEdge(e);
@@ -293,7 +405,9 @@ public class Node implements Serializable
     }
     
     /**
-     * Create an outbound edge.
+     * Create an outbound edge with the given ID, which is added to the outbound edges
+     * of this node and to the inbound edges of the sink node (so neither needs to be
+     * added by the caller).
      * @param id ID of the edge.
      * @param sinkNode The node to which the directional edge goes to.
      * @param connectionType The type of connection.
@@ -306,10 +420,11 @@ public class Node implements Serializable
     {
         Edge e = new Edge();
         
-        e.setEdgeID(nodeID);
+        e.setEdgeID(id);
         e.setSourceNode(this);
         e.setSinkNode(sinkNode);
         e.addConnectionSet(connectionType, srcConnection, sinkConnection);
+        attachEdge(e);
         
         if (addToHMN) {
             hmn.addEdge(e);
@@ -319,12 +434,13 @@ public class Node implements Serializable
     }
 
     /**
-     * Add an outbound edge.
+     * Add an outbound edge, unless it is already an outbound edge of the node (e.g.,
+     * if it was created by the sink node with createInboundEdge(..)).
      * @param edge Edge object.
      */
     public void addOutboundEdge(Edge edge)
     {
-        this.outboundEdges.add(edge);
+        outboundList().addAbsent(edge);
     }
     
     /**
@@ -333,11 +449,14 @@ public class Node implements Serializable
      */
     public void addOutboundEdges(List<Edge> outboundEdges)
     {
-        this.outboundEdges.addAll(outboundEdges);
+        outboundList().addAll(outboundEdges);
     }
     
     /**
-     * Removes an outbound edge, if it exists.
+     * Removes an outbound edge, if it exists. The edge is also removed from the
+     * inbound edges of its sink node. If the edge has already been removed from
+     * this node's list (e.g., by removeInboundEdge(..) on the sink node), it is
+     * still removed from the HMN if requested.
      * @param edge Edge object to be removed.
      * @param removeFromHMN A flag to signifify if the edge should be removed from the HMN's "master" list.
      * @throws NullPointerException If the Edge object is NULL.
@@ -349,20 +468,172 @@ public class Node implements Serializable
             throw new NullPointerException("Cannot remove the outbound edge from the Node as the object provided was NULL");
         }
         
-        if (outboundEdges.remove(edge)) {
+        if (outboundList().remove(edge)) {
+            if (edge.getSinkNode() != null) {
+                edge.getSinkNode().inboundList().remove(edge);
+            }
             if (removeFromHMN) {
                 return hmn.removeEdge(edge);
             } else {
                 return true;
             }
+        } else if (removeFromHMN && hmn != null && edge.getSourceNode() == this) {
+            return hmn.removeEdge(edge);
         } else {
             return false;
         }
     }
     
+    /**
+     * Defer loading the inbound and outbound edges of the node until either list
+     * is first accessed, e.g., when the node is materialised from a snapshot on
+     * demand. The loader is invoked once, and should add the edges via
+     * addInboundEdges(..) and addOutboundEdges(..).
+     * Note that this is not supported for sub-classes that replace the edge lists
+     * with their own List implementations.
+     * @param loader The loader.
+     */
+    public void setEdgeLoader(final EdgeLoader loader)
+    {
+        if (loader == null) {
+            throw new NullPointerException("Cannot set the edge loader as the object provided was NULL");
+        }
+        
+        final EdgeList in = inboundList();
+        final EdgeList out = outboundList();
+        Runnable load = new Runnable()
+        {
+            private boolean loaded = false;
+            
+            @Override
+            public synchronized void run()
+            {
+                if (loaded) {
+                    return; // already loaded, or being loaded by this thread
+                }
+                loaded = true;
+                loader.loadEdges(Node.this);
+                in.setPendingLoad(null);
+                out.setPendingLoad(null);
+            }
+        };
+        in.setPendingLoad(load);
+        out.setPendingLoad(load);
+    }
+    
     @Override
     public String toString()
     {
         return this.nodeID;
     }
+    
+    /**
+     * An interface for loading the edges of a node on demand.
+     * @see Node#setEdgeLoader(EdgeLoader)
+     */
+    public interface EdgeLoader
+    {
+        /**
+         * Load the inbound and outbound edges of a node, adding them to the node.
+         * @param node The node.
+         */
+        void loadEdges(Node node);
+    }
+    
+    /**
+     * Add a newly created edge to the outbound edges of its source node and the
+     * inbound edges of its sink node.
+     * @param e Edge object.
+     */
+    private void attachEdge(Edge e)
+    {
+        if (e.getSourceNode() != null) {
+            e.getSourceNode().outboundList().add(e);
+        }
+        if (e.getSinkNode() != null) {
+            e.getSinkNode().inboundList().add(e);
+        }
+    }
+    
+    /**
+     * Replace the edge lists of the node with thread-safe lists, unless they
+     * already are. This should be done before the node is shared between threads,
+     * as edges added to the old lists while they are being copied may be lost.
+     */
+    synchronized void concurrentEdgeLists()
+    {
+        if (!(inboundEdges instanceof ConcurrentEdgeList)) {
+            EdgeList old = inboundList();
+            EdgeList list = new ConcurrentEdgeList(false, old);
+            list.setEpochs(old.epochs());
+            inboundEdges = list;
+        }
+        if (!(outboundEdges instanceof ConcurrentEdgeList)) {
+            EdgeList old = outboundList();
+            EdgeList list = new ConcurrentEdgeList(true, old);
+            list.setEpochs(old.epochs());
+            outboundEdges = list;
+        }
+    }
+
+    /**
+     * Version the edge lists of the node for the views of an HMN (see HMNView),
+     * which is done when the node (or an edge to or from it) is added to the HMN.
+     * Edge lists set by a sub-class that are not EdgeLists are not versioned.
+     * @param epochs The epochs of the HMN.
+     */
+    void versionEdgeLists(VersionedList.Epochs epochs)
+    {
+        List<Edge> in = inboundEdges;
+        List<Edge> out = outboundEdges;
+        if (in instanceof EdgeList) {
+            ((EdgeList) in).setEpochs(epochs);
+        }
+        if (out instanceof EdgeList) {
+            ((EdgeList) out).setEpochs(epochs);
+        }
+    }
+    
+    /**
+     * Create an indexed list of edges, which is thread-safe if the node belongs to
+     * a ConcurrentHMN.
+     * @param outbound True for a list of outbound edges; false for inbound edges.
+     * @param edges List of Edge objects to copy, which may be null.
+     * @return The list.
+     */
+    private EdgeList newEdgeList(boolean outbound, List<Edge> edges)
+    {
+        List<Edge> c = edges == null ? Collections.<Edge>emptyList() : edges;
+        EdgeList list = hmn instanceof ConcurrentHMN ? new ConcurrentEdgeList(outbound, c) : new EdgeList(outbound, c);
+        if (hmn != null) {
+            list.setEpochs(hmn.epochs());
+        }
+        return list;
+    }
+    
+    /**
+     * Get the indexed list of inbound edges, re-indexing the edges if the list has been
+     * replaced by a sub-class with a plain list.
+     * @return The indexed list of inbound edges.
+     */
+    EdgeList inboundList()
+    {
+        if (!(inboundEdges instanceof EdgeList)) {
+            inboundEdges = newEdgeList(false, inboundEdges);
+        }
+        return (EdgeList) inboundEdges;
+    }
+    
+    /**
+     * Get the indexed list of outbound edges, re-indexing the edges if the list has been
+     * replaced by a sub-class with a plain list.
+     * @return The indexed list of outbound edges.
+     */
+    EdgeList outboundList()
+    {
+        if (!(outboundEdges instanceof EdgeList)) {
+            outboundEdges = newEdgeList(true, outboundEdges);
+        }
+        return (EdgeList) outboundEdges;
+    }
 }
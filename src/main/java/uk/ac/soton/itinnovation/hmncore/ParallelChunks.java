@@ -0,0 +1,110 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a loop over the items 0..n-1 in parallel, in fixed-size chunks, on a
+ * ForkJoinPool. The range of chunks is split in two until each task is a single
+ * chunk, so the pool can balance the work between its threads. This is the loop
+ * used by the parallel parts of the library (e.g., TrustPropagation, HMNGenerator
+ * and EdgeBatchBuilder); it is public so that it can be shared between packages,
+ * but is not intended for use outside the library.
+ */
+public final class ParallelChunks
+{
+    /**
+     * The work done for one chunk of items.
+     */
+    public interface Body
+    {
+        /**
+         * Process the items of a chunk.
+         * @param chunk The index of the chunk.
+         * @param from The first item of the chunk.
+         * @param to The item after the last item of the chunk.
+         */
+        void run(int chunk, int from, int to);
+    }
+
+    private ParallelChunks()
+    {
+
+    }
+
+    /**
+     * Run a task over the items 0..n-1 in chunks, in parallel, returning once all
+     * chunks are done. An unchecked exception thrown by the task is rethrown.
+     * @param pool The ForkJoinPool to run the chunks on.
+     * @param n The number of items.
+     * @param chunkSize The number of items in a chunk (the last chunk may be smaller).
+     * @param body The task to run for each chunk.
+     */
+    public static void forEach(ForkJoinPool pool, int n, int chunkSize, Body body)
+    {
+        int numChunks = (n + chunkSize - 1) / chunkSize;
+        if (numChunks > 0) {
+            pool.invoke(new ChunkTask(body, n, chunkSize, 0, numChunks));
+        }
+    }
+
+    /**
+     * A task running a range of chunks, splitting the range in two until it is a
+     * single chunk.
+     */
+    private static class ChunkTask extends RecursiveAction
+    {
+        private final Body body;
+        private final int n;
+        private final int chunkSize;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkTask(Body body, int n, int chunkSize, int fromChunk, int toChunk)
+        {
+            this.body = body;
+            this.n = n;
+            this.chunkSize = chunkSize;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (toChunk - fromChunk > 1) {
+                int mid = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkTask(body, n, chunkSize, fromChunk, mid),
+                          new ChunkTask(body, n, chunkSize, mid, toChunk));
+                return;
+            }
+
+            int from = fromChunk * chunkSize;
+            body.run(fromChunk, from, Math.min(n, from + chunkSize));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+/**
+ * A registry of Connection property names, which assigns each name a small int
+ * slot. Connections store their property values in an array indexed by slot, so
+ * code that reads or writes a property on many connections can look the slot up
+ * once and then use the int-keyed methods of Connection, avoiding hashing the
+ * name and boxing the value on every access.
+ *
+ * Slots are assigned in the order names are first registered, and are never
+ * reused. They are only valid within one JVM: serialised connections store
+ * property names, not slots.
+ *
+ * @see Connection#getProperty(int)
+ * @see Connection#setProperty(int, double)
+ */
+public final class PropertySchema
+{
+    private static final NameTable SLOTS = new NameTable("Property slot");
+
+    private PropertySchema() { }
+
+    /**
+     * Get the slot of a property, registering the property if it is new.
+     * @param name Name of the property.
+     * @return The slot of the property.
+     * @throws NullPointerException If name is NULL.
+     */
+    public static int slot(String name) throws NullPointerException
+    {
+        if (name == null) {
+            throw new NullPointerException("Cannot register the property as the name provided was NULL");
+        }
+
+        return SLOTS.id(name);
+    }
+
+    /**
+     * Get the slot of a property, without registering it.
+     * @param name Name of the property.
+     * @return The slot of the property, or -1 if the property has not been registered.
+     */
+    public static int find(String name)
+    {
+        return SLOTS.find(name);
+    }
+
+    /**
+     * Get the name of the property in a slot.
+     * @param slot The slot.
+     * @return The name of the property.
+     * @throws IndexOutOfBoundsException If the slot has not been assigned.
+     */
+    public static String name(int slot) throws IndexOutOfBoundsException
+    {
+        return SLOTS.name(slot);
+    }
+
+    /**
+     * Get the number of registered properties. Slots are numbered from 0 to size() - 1.
+     * @return The number of properties.
+     */
+    public static int size()
+    {
+        return SLOTS.size();
+    }
+}
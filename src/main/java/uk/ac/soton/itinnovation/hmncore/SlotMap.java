@@ -0,0 +1,481 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map keyed on connection type name, which is a view of an array of values
+ * keyed by the ID of the connection type in the ConnectionTypeRegistry. Edge
+ * holds its connections and connection stats in such arrays, rather than in a map
+ * per edge, and returns views of them. The arrays are only allocated when the
+ * first value is put.
+ *
+ * An array has one of two layouts. While the IDs used are low, relative to the
+ * number of values, the array is indexed by ID, and is as long as the highest ID
+ * used. Otherwise, e.g., for an edge with one connection type registered after
+ * many others, the first element is an int[] of the IDs used, in ascending order,
+ * followed by the value for each ID, so the arrays of an edge are sized to its own
+ * connection types rather than to the whole registry. The int[] of IDs is never
+ * modified once published; adding or removing an ID creates new arrays.
+ *
+ * Sub-classes give access to the array (which may be null), and the lock held
+ * while modifying it. Entries are iterated in the order of their IDs. NULL values
+ * are not stored, so putting a NULL value removes the entry. Reads and iteration
+ * need no lock (iteration sees the entries at the time the iterator was created,
+ * or later), so the map may be read and modified from several threads at once.
+ *
+ * The static methods operate on the arrays directly, e.g., for the int-keyed
+ * methods of Edge and for serialisation.
+ *
+ * @param <V> The type of value held in the map.
+ * @see ConnectionTypeRegistry
+ * @see Edge
+ */
+abstract class SlotMap<V> extends AbstractMap<String, V>
+{
+    /**
+     * Get the array of values.
+     * @return The array, or null if no value has been put.
+     */
+    abstract Object[] slots();
+
+    /**
+     * Set the array of values, while holding the lock.
+     * @param slots The array, or null if there are no values.
+     */
+    abstract void setSlots(Object[] slots);
+
+    /**
+     * Get the object to lock while modifying the array.
+     * @return The lock.
+     */
+    abstract Object lock();
+
+    /**
+     * Get the value for a connection type, given its ID.
+     * @param id The connection type ID.
+     * @return The value, or null if there is no value for the type.
+     */
+    V get(int id)
+    {
+        return get(slots(), id);
+    }
+
+    /**
+     * Set the value for a connection type, given its ID.
+     * @param id The connection type ID, which must have been assigned.
+     * @param value The value, or null to remove the entry.
+     * @return The previous value, or null if there was no value for the type.
+     */
+    V put(int id, V value)
+    {
+        synchronized (lock()) {
+            Object[] s = slots();
+            V old = get(s, id);
+            setSlots(put(s, id, value));
+            return old;
+        }
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        return key instanceof String ? get(ConnectionTypeRegistry.find((String) key)) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(String key, V value)
+    {
+        if (value == null) {
+            return remove(key);
+        }
+        return put(ConnectionTypeRegistry.id(key), value);
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        int id = key instanceof String ? ConnectionTypeRegistry.find((String) key) : -1;
+        return id < 0 ? null : put(id, null);
+    }
+
+    @Override
+    public void clear()
+    {
+        synchronized (lock()) {
+            setSlots(null);
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return count(slots());
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<String, V>>()
+        {
+            @Override
+            public int size()
+            {
+                return SlotMap.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator()
+            {
+                return new SlotIterator(slots());
+            }
+        };
+    }
+
+    /**
+     * Get the value for a connection type from an array of values.
+     * @param <V> The type of value.
+     * @param slots The array, which may be null.
+     * @param id The connection type ID.
+     * @return The value, or null if there is no value for the type.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> V get(Object[] slots, int id)
+    {
+        if (slots == null || id < 0) {
+            return null;
+        }
+        int[] ids = ids(slots);
+        if (ids == null) {
+            return id < slots.length ? (V) slots[id] : null;
+        }
+        int i = ids.length == 1 ? (ids[0] == id ? 0 : -1) : Arrays.binarySearch(ids, id);
+        return i >= 0 ? (V) slots[i + 1] : null;
+    }
+
+    /**
+     * Set the value for a connection type in an array of values, growing the array
+     * if needed. The caller must hold the lock of the array, and publish the array
+     * returned.
+     * @param slots The array, which may be null.
+     * @param id The connection type ID, which must have been assigned.
+     * @param value The value, or null to remove the value.
+     * @return The array with the value set, which may be a new array, or null if there are no values.
+     */
+    static Object[] put(Object[] slots, int id, Object value)
+    {
+        int[] ids = ids(slots);
+        if (ids == null) {
+            if (slots != null && id < slots.length) {
+                slots[id] = value;
+                return value == null && count(slots) == 0 ? null : slots;
+            }
+            if (value == null) {
+                return slots;
+            }
+            int n = count(slots) + 1;
+            if (fitsIndexed(id, n)) {
+                Object[] s = slots == null ? new Object[id + 1] : Arrays.copyOf(slots, id + 1);
+                s[id] = value;
+                return s;
+            }
+            // the new ID is the highest, so is added after the others
+            int[] newIds = new int[n];
+            Object[] values = new Object[n];
+            int j = 0;
+            for (int i = 0; slots != null && i < slots.length; i++) {
+                if (slots[i] != null) {
+                    newIds[j] = i;
+                    values[j++] = slots[i];
+                }
+            }
+            newIds[j] = id;
+            values[j] = value;
+            return pack(newIds, values);
+        }
+
+        int i = Arrays.binarySearch(ids, id);
+        if (i >= 0 && value != null) {
+            slots[i + 1] = value;
+            return slots;
+        }
+        if (i < 0 && value == null) {
+            return slots;
+        }
+        if (i >= 0 && ids.length == 1) {
+            return null;
+        }
+
+        // add or remove the ID, in new arrays as readers may hold the current ones
+        int n = i >= 0 ? ids.length - 1 : ids.length + 1;
+        int at = i >= 0 ? i : -(i + 1);
+        int[] newIds = new int[n];
+        Object[] values = new Object[n];
+        for (int from = 0, to = 0; from < ids.length; from++) {
+            if (to == at && i < 0) {
+                newIds[to] = id;
+                values[to++] = value;
+            }
+            if (from != i) {
+                newIds[to] = ids[from];
+                values[to++] = slots[from + 1];
+            }
+        }
+        if (at == ids.length) {
+            newIds[at] = id;
+            values[at] = value;
+        }
+        return pack(newIds, values);
+    }
+
+    /**
+     * Count the values in an array of values.
+     * @param slots The array, which may be null.
+     * @return The number of non-null values.
+     */
+    static int count(Object[] slots)
+    {
+        int[] ids = ids(slots);
+        if (ids != null) {
+            return ids.length;
+        }
+        int n = 0;
+        if (slots != null) {
+            for (Object value : slots) {
+                if (value != null) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Get the connection type ID of the value at a position in an array of values.
+     * @param slots The array.
+     * @param index The position of the value, from 0 to length(slots) - 1.
+     * @return The ID.
+     */
+    static int idAt(Object[] slots, int index)
+    {
+        int[] ids = ids(slots);
+        return ids == null ? index : ids[index];
+    }
+
+    /**
+     * Get the value at a position in an array of values.
+     * @param <V> The type of value.
+     * @param slots The array.
+     * @param index The position of the value, from 0 to length(slots) - 1.
+     * @return The value, which may be null.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> V valueAt(Object[] slots, int index)
+    {
+        return (V) slots[ids(slots) == null ? index : index + 1];
+    }
+
+    /**
+     * Get the number of positions in an array of values, some of which may not
+     * hold a value.
+     * @param slots The array, which may be null.
+     * @return The number of positions.
+     */
+    static int length(Object[] slots)
+    {
+        int[] ids = ids(slots);
+        return ids != null ? ids.length : slots == null ? 0 : slots.length;
+    }
+
+    /**
+     * Get the IDs of an array of values, if it is not indexed by ID.
+     * @param slots The array, which may be null.
+     * @return The IDs in ascending order, or null if the array is indexed by ID.
+     */
+    private static int[] ids(Object[] slots)
+    {
+        return slots != null && slots.length > 0 && slots[0] instanceof int[] ? (int[]) slots[0] : null;
+    }
+
+    /**
+     * Check if an array indexed by ID is no larger than the IDs followed by the
+     * values, given the highest ID and the number of values.
+     */
+    private static boolean fitsIndexed(int highestId, int n)
+    {
+        // n + 1 references and an int[] of n (with a header of 4 references), against highestId + 1 references
+        return highestId < 2 * n + 4;
+    }
+
+    /**
+     * Create an array of values from IDs and values, in the layout that is smaller.
+     * @param ids The IDs in ascending order, of which there is at least one.
+     * @param values The value for each ID.
+     * @return The array.
+     */
+    private static Object[] pack(int[] ids, Object[] values)
+    {
+        int n = ids.length;
+        Object[] s;
+        if (fitsIndexed(ids[n - 1], n)) {
+            s = new Object[ids[n - 1] + 1];
+            for (int i = 0; i < n; i++) {
+                s[ids[i]] = values[i];
+            }
+        } else {
+            s = new Object[n + 1];
+            s[0] = ids;
+            System.arraycopy(values, 0, s, 1, n);
+        }
+        return s;
+    }
+
+    /**
+     * Write an array of values, keyed on connection type name, as IDs are only
+     * valid within one JVM.
+     * @param out The stream to write to.
+     * @param slots The array, which may be null.
+     * @throws IOException If writing fails.
+     */
+    static void writeSlots(ObjectOutputStream out, Object[] slots) throws IOException
+    {
+        out.writeInt(count(slots));
+        for (int i = 0; i < length(slots); i++) {
+            Object value = valueAt(slots, i);
+            if (value != null) {
+                out.writeUTF(ConnectionTypeRegistry.name(idAt(slots, i)));
+                out.writeObject(value);
+            }
+        }
+    }
+
+    /**
+     * Read an array of values written by writeSlots(..).
+     * @param in The stream to read from.
+     * @return The array, or null if there are no values.
+     * @throws IOException If reading fails.
+     * @throws ClassNotFoundException If the class of a value cannot be found.
+     */
+    static Object[] readSlots(ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        Object[] slots = null;
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            int id = ConnectionTypeRegistry.id(in.readUTF());
+            slots = put(slots, id, in.readObject());
+        }
+        return slots;
+    }
+
+    /**
+     * An iterator over the entries of the map, which reads the array as it was
+     * when the iterator was created.
+     */
+    private class SlotIterator implements Iterator<Map.Entry<String, V>>
+    {
+        private final Object[] s;
+        private final int length;
+        private int next;
+        private int last = -1;
+
+        SlotIterator(Object[] slots)
+        {
+            this.s = slots;
+            this.length = length(slots);
+            this.next = advance(0);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < length;
+        }
+
+        @Override
+        public Map.Entry<String, V> next()
+        {
+            if (next >= length) {
+                throw new NoSuchElementException();
+            }
+            final int id = idAt(s, next);
+            V value = valueAt(s, next);
+            last = id;
+            next = advance(next + 1);
+            return new AbstractMap.SimpleEntry<String, V>(ConnectionTypeRegistry.name(id), value)
+            {
+                @Override
+                public V setValue(V value)
+                {
+                    if (value == null) {
+                        throw new NullPointerException("Cannot set the value of the entry as the object provided was NULL");
+                    }
+                    super.setValue(value);
+                    return put(id, value);
+                }
+            };
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            put(last, null);
+            last = -1;
+        }
+
+        private int advance(int from)
+        {
+            int i = from;
+            while (i < length && valueAt(s, i) == null) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class of the lists used by the HMN and Node (IndexedList and EdgeList),
+ * which keeps earlier versions of the elements that are visible to open HMNView
+ * snapshots, so that the snapshots can be read while the lists are modified.
+ *
+ * Versions are numbered by the epochs of the HMN the list belongs to (see
+ * setEpochs(..)), which are advanced each time a view of that HMN is taken, so
+ * views of one HMN do not affect the lists of another. The elements are copied
+ * (once) on the first modification after a view that can see them, and the
+ * previous elements kept as a version of the list for that view; they are no
+ * longer modified. While no views of the HMN are open, or if the list does not
+ * belong to an HMN, modifications are made in place. Versions no longer needed by
+ * an open view are discarded on the next copy.
+ *
+ * The elements are held in chunks (see ChunkedList), which the copy shares with
+ * the version, so copying a list of n elements takes time proportional to
+ * n / ChunkedList.CHUNK_SIZE, and each chunk is copied on its first modification
+ * after that. For example, the first edge added to an HMN of a million edges
+ * after a view is taken copies about four thousand references, rather than a
+ * million.
+ *
+ * Sub-classes read the current elements via the elements field, and must get the
+ * elements to modify via mutable().
+ *
+ * A list may be created with the shared empty elements (see emptyElements()), so
+ * that empty lists, e.g., the edge lists of isolated nodes, do not allocate their
+ * own elements until they are first modified.
+ *
+ * The thread-safe sub-classes (ConcurrentIndexedList and ConcurrentEdgeList) also
+ * use this to iterate without holding their lock: share() marks the current
+ * elements as shared, and the next modification copies them first (sharing their
+ * chunks, as above), so iteration sees the elements as they were when the
+ * iterator was created.
+ *
+ * @param <T> The type of element held in the list.
+ * @see HMNView
+ */
+abstract class VersionedList<T> extends AbstractList<T> implements RandomAccess, Serializable
+{
+    @SuppressWarnings("rawtypes")
+    private static final ChunkedList EMPTY = new ChunkedList(); // shared by empty lists, and never modified
+
+    volatile ChunkedList<T> elements;
+    private transient volatile Epochs epochs; // the epochs of the HMN whose views can see the list, or null if none
+    private transient volatile long stamp; // the epoch the current elements are visible from
+    private transient volatile Version<T> history;
+    private transient boolean shared; // the current elements are being read by an iterator of a concurrent list
+
+    /**
+     * Constructor initialising the list with the elements provided.
+     * @param elements The (new) list of elements.
+     */
+    VersionedList(ChunkedList<T> elements)
+    {
+        this.elements = elements;
+    }
+
+    /**
+     * Set the epochs the list is versioned by, i.e., those of the HMN whose views
+     * should see the earlier versions of the list. Versions kept for the views of
+     * another HMN are discarded, and those views read the current elements.
+     * @param epochs The epochs of the HMN, or null to stop versioning the list.
+     */
+    void setEpochs(Epochs epochs)
+    {
+        if (this.epochs != epochs) {
+            synchronized (this) {
+                history = null;
+                stamp = epochs == null ? 0 : epochs.now();
+                this.epochs = epochs; // set after the stamp, which elementsAt(..) reads after the epochs
+            }
+        }
+    }
+
+    /**
+     * Get the epochs the list is versioned by.
+     * @return The epochs, or null if the list is not versioned.
+     */
+    final Epochs epochs()
+    {
+        return epochs;
+    }
+
+    /**
+     * Get the elements for modification, keeping the current elements as a version
+     * if they are visible to an open snapshot.
+     * @return The elements.
+     */
+    final ChunkedList<T> mutable()
+    {
+        Epochs e = epochs;
+        if (e != null) {
+            long now = e.now();
+            if (stamp != now) {
+                advance(e, now);
+            }
+        }
+        if (shared) {
+            elements = elements.copy();
+            shared = false;
+        }
+        return allocated();
+    }
+
+    /**
+     * Get the current elements for modification without versioning, allocating
+     * them if the list has the shared empty elements.
+     * @return The elements.
+     */
+    final ChunkedList<T> allocated()
+    {
+        if (elements == EMPTY) {
+            elements = new ChunkedList<>();
+        }
+        return elements;
+    }
+
+    /**
+     * Get the shared empty elements, to create an empty list that allocates its
+     * elements on the first modification.
+     * @param <T> The type of element.
+     * @return The shared empty elements, which must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ChunkedList<T> emptyElements()
+    {
+        return (ChunkedList<T>) EMPTY;
+    }
+
+    /**
+     * Get the current elements to read without holding the lock of the list, marking
+     * them as shared so that the next modification copies them first. This should
+     * be called while holding the lock of the list.
+     * @return The elements, which must not be modified.
+     */
+    final ChunkedList<T> share()
+    {
+        shared = true;
+        return elements;
+    }
+
+    /**
+     * Get the elements as they were when a snapshot was taken.
+     * @param epochs The epochs of the HMN the snapshot was taken of.
+     * @param epoch The epoch of the snapshot.
+     * @return An unmodifiable list of the elements, which is empty if the list was created after the snapshot,
+     *         or the current elements if the list is not versioned by the epochs given.
+     */
+    List<T> elementsAt(Epochs epochs, long epoch)
+    {
+        ChunkedList<T> current = elements; // read before the stamp, which is set before the elements
+        if (this.epochs != epochs || stamp <= epoch) {
+            return Collections.unmodifiableList(current);
+        }
+        for (Version<T> v = history; v != null; v = v.older) {
+            if (v.from <= epoch && epoch < v.to) {
+                return Collections.unmodifiableList(v.elements);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Advance the list to the current epoch, keeping the current elements if an
+     * open snapshot can see them, and discarding versions that are no longer needed.
+     * @param epochs The epochs the list is versioned by.
+     * @param now The current epoch.
+     */
+    private void advance(Epochs epochs, long now)
+    {
+        Version<T> kept = null;
+        for (Version<T> v = history; v != null; v = v.older) {
+            if (epochs.isOpen(v.from, v.to)) {
+                kept = new Version<>(v.elements, v.from, v.to, kept);
+            }
+        }
+
+        if (epochs.isOpen(stamp, Long.MAX_VALUE)) {
+            history = new Version<>(elements, stamp, now, kept);
+            stamp = now;
+            elements = elements.copy();
+            shared = false;
+        } else {
+            history = kept;
+            stamp = now;
+        }
+    }
+
+    /**
+     * An iterator over shared elements (see share()), which are not changed while it
+     * is in use. Removing or setting elements via the iterator removes or sets them
+     * in the list itself.
+     */
+    final class SharedIterator implements ListIterator<T>
+    {
+        private final List<T> shared;
+        private int cursor;
+        private int last = -1;
+
+        /**
+         * Constructor for an iterator over shared elements.
+         * @param shared The elements, returned by share() (or the parts of the list, combined).
+         * @param index The index of the first element to return.
+         */
+        SharedIterator(List<T> shared, int index)
+        {
+            if (index < 0 || index > shared.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            this.shared = shared;
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return cursor < shared.size();
+        }
+
+        @Override
+        public T next()
+        {
+            if (cursor >= shared.size()) {
+                throw new NoSuchElementException();
+            }
+            last = cursor++;
+            return shared.get(last);
+        }
+
+        @Override
+        public boolean hasPrevious()
+        {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous()
+        {
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            last = --cursor;
+            return shared.get(last);
+        }
+
+        @Override
+        public int nextIndex()
+        {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex()
+        {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            VersionedList.this.remove(shared.get(last));
+            last = -1;
+        }
+
+        /**
+         * Set the element at the position of the last element returned, in the list
+         * itself. This is only meaningful if the list has not been modified since
+         * the iterator was created, e.g., when sorting the list while holding its lock.
+         * @param e The element.
+         */
+        @Override
+        public void set(T e)
+        {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            VersionedList.this.set(last, e);
+        }
+
+        @Override
+        public void add(T e)
+        {
+            throw new UnsupportedOperationException("Cannot add elements via the iterator of a concurrent list");
+        }
+    }
+
+    /**
+     * The epochs of an HMN, which number the versions of its lists and those of
+     * its nodes, and the epochs of its open views.
+     */
+    static final class Epochs
+    {
+        private final AtomicLong clock = new AtomicLong();
+        private final ConcurrentSkipListSet<Long> open = new ConcurrentSkipListSet<>();
+
+        /**
+         * Get the current epoch.
+         * @return The epoch.
+         */
+        long now()
+        {
+            return clock.get();
+        }
+
+        /**
+         * Open a snapshot at the current epoch, advancing the epoch so that later
+         * modifications do not change the elements visible to the snapshot.
+         * @return The epoch of the snapshot.
+         */
+        synchronized long openSnapshot()
+        {
+            long epoch = clock.get();
+            open.add(epoch);
+            clock.incrementAndGet();
+            return epoch;
+        }
+
+        /**
+         * Close a snapshot, so that the versions only it can see are discarded.
+         * @param epoch The epoch of the snapshot.
+         */
+        void closeSnapshot(long epoch)
+        {
+            open.remove(epoch);
+        }
+
+        /**
+         * Check if there is an open snapshot in the range of epochs given.
+         * @param from The first epoch (inclusive).
+         * @param to The last epoch (exclusive).
+         * @return True if a snapshot in the range is open; false otherwise.
+         */
+        boolean isOpen(long from, long to)
+        {
+            Long epoch = open.ceiling(from);
+            return epoch != null && epoch < to;
+        }
+    }
+
+    /**
+     * An earlier version of the elements, visible to snapshots in a range of epochs.
+     * The versions of a list are chained, and cover disjoint ranges of epochs.
+     */
+    private static final class Version<T>
+    {
+        final ChunkedList<T> elements;
+        final long from;
+        final long to;
+        final Version<T> older;
+
+        Version(ChunkedList<T> elements, long from, long to, Version<T> older)
+        {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.older = older;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMNListener;
+
+/**
+ * A bounded buffer of the changes to an HMN, which lets a consumer (e.g., a
+ * dashboard or persistence layer) process the changes in batches, such as once
+ * per tick, rather than rescanning the HMN to find what has changed.
+ *
+ * The buffer is an HMNListener, so is attached to an HMN with HMN.addListener(..).
+ * Events are held in a ring of pre-allocated primitive and reference arrays, so
+ * recording an event does not allocate. Events may be recorded from several
+ * threads at once (e.g., in the prepare phase of the TickEngine): each event
+ * claims a slot in the ring with a compare-and-set, and is published to the
+ * consumer once written.
+ *
+ * drain(..) delivers the events recorded since the last drain to a handler, as a
+ * batch. If the buffer is full, further events are dropped (rather than blocking
+ * the simulation), and the number dropped is given to the handler at the end of
+ * the batch. The buffer can be restricted to the types of event of interest, to
+ * avoid filling it with, e.g., interactions.
+ *
+ * For example, to process the changes once per tick:
+ * <pre>
+ * HMNEventBuffer buffer = new HMNEventBuffer(1 &lt;&lt; 16, HMNEventType.EDGE_ADDED, HMNEventType.EDGE_REMOVED);
+ * hmn.addListener(buffer);
+ * while (running) {
+ *     engine.step();
+ *     buffer.drain(handler);
+ * }
+ * </pre>
+ *
+ * @see HMNEventHandler
+ * @see HMNEventType
+ */
+public class HMNEventBuffer implements HMNListener
+{
+    private static final HMNEventType[] TYPES = HMNEventType.values();
+
+    private final int capacity;
+    private final int mask;
+    private final boolean[] enabled; // indexed by event type ordinal
+    private final byte[] types; // event type ordinals
+    private final Object[] subjects;
+    private final Object[] details;
+    private final int[] counts;
+    private final AtomicLongArray published; // sequence number of the event last published in each slot
+    private final AtomicLong head; // sequence number of the next event to record
+    private volatile long tail; // sequence number of the next event to deliver
+    private final LongAdder dropped;
+    private long droppedDelivered;
+
+    /**
+     * Constructor for a buffer recording all types of event.
+     * @param capacity The maximum number of events held, which is rounded up to a power of two.
+     * @throws IllegalArgumentException If the capacity is less than 1 or greater than 2^30.
+     */
+    public HMNEventBuffer(int capacity) throws IllegalArgumentException
+    {
+        this(capacity, TYPES);
+    }
+
+    /**
+     * Constructor for a buffer recording the types of event given.
+     * @param capacity The maximum number of events held, which is rounded up to a power of two.
+     * @param eventTypes The types of event to record; other events are ignored.
+     * @throws IllegalArgumentException If the capacity is less than 1 or greater than 2^30.
+     */
+    public HMNEventBuffer(int capacity, HMNEventType... eventTypes) throws IllegalArgumentException
+    {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("The capacity of the event buffer must be from 1 to 2^30: " + capacity);
+        }
+
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.enabled = new boolean[TYPES.length];
+        for (HMNEventType type : eventTypes) {
+            enabled[type.ordinal()] = true;
+        }
+
+        types = new byte[this.capacity];
+        subjects = new Object[this.capacity];
+        details = new Object[this.capacity];
+        counts = new int[this.capacity];
+        published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, -1);
+        }
+        head = new AtomicLong();
+        tail = 0;
+        dropped = new LongAdder();
+        droppedDelivered = 0;
+    }
+
+    /**
+     * Get the maximum number of events held.
+     * @return The capacity.
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the number of events recorded and not yet drained.
+     * @return The number of events.
+     */
+    public int size()
+    {
+        return (int) (head.get() - tail);
+    }
+
+    /**
+     * Check if an event type is recorded.
+     * @param type The event type.
+     * @return True if events of the type are recorded; false if they are ignored.
+     */
+    public boolean isRecorded(HMNEventType type)
+    {
+        return enabled[type.ordinal()];
+    }
+
+    /**
+     * Get the total number of events dropped as the buffer was full.
+     * @return The number of events dropped.
+     */
+    public long getNumDropped()
+    {
+        return dropped.sum();
+    }
+
+    /**
+     * Deliver the events recorded since the last drain to the handler, in the order
+     * they were recorded, followed by the end of the batch. Events recorded while
+     * draining may be delivered in the next batch. Only one thread drains at a time.
+     * @param handler The event handler.
+     * @return The number of events delivered.
+     * @throws NullPointerException If handler is NULL.
+     */
+    public synchronized int drain(HMNEventHandler handler) throws NullPointerException
+    {
+        if (handler == null) {
+            throw new NullPointerException("Cannot drain the event buffer as the handler provided was NULL");
+        }
+
+        long end = head.get();
+        long seq = tail;
+        int numEvents = 0;
+        while (seq < end) {
+            int i = (int) seq & mask;
+            while (published.get(i) != seq) {
+                // claimed, but still being written
+                Thread.yield();
+            }
+
+            HMNEventType type = TYPES[types[i]];
+            Object subject = subjects[i];
+            Object detail = details[i];
+            int count = counts[i];
+            subjects[i] = null;
+            details[i] = null;
+            tail = ++seq;
+
+            handler.handleEvent(type, subject, detail, count);
+            numEvents++;
+        }
+
+        long numDropped = dropped.sum();
+        handler.endBatch(numEvents, numDropped - droppedDelivered);
+        droppedDelivered = numDropped;
+        return numEvents;
+    }
+
+    @Override
+    public void agentAdded(Agent agent)
+    {
+        record(HMNEventType.AGENT_ADDED, agent, null, 1);
+    }
+
+    @Override
+    public void agentRemoved(Agent agent)
+    {
+        record(HMNEventType.AGENT_REMOVED, agent, null, 1);
+    }
+
+    @Override
+    public void artefactAdded(Artefact artefact)
+    {
+        record(HMNEventType.ARTEFACT_ADDED, artefact, null, 1);
+    }
+
+    @Override
+    public void artefactRemoved(Artefact artefact)
+    {
+        record(HMNEventType.ARTEFACT_REMOVED, artefact, null, 1);
+    }
+
+    @Override
+    public void edgeAdded(Edge edge)
+    {
+        record(HMNEventType.EDGE_ADDED, edge, null, 1);
+    }
+
+    @Override
+    public void edgeRemoved(Edge edge)
+    {
+        record(HMNEventType.EDGE_REMOVED, edge, null, 1);
+    }
+
+    @Override
+    public void connectionChanged(Edge edge, Connection connection)
+    {
+        record(HMNEventType.CONNECTION_CHANGED, edge, connection, 1);
+    }
+
+    @Override
+    public void propertyChanged(Edge edge, Connection connection, int slot)
+    {
+        record(HMNEventType.PROPERTY_CHANGED, edge, connection, slot);
+    }
+
+    @Override
+    public void interactionRecorded(Edge edge, String conType, int n)
+    {
+        record(HMNEventType.INTERACTION_RECORDED, edge, conType, n);
+    }
+
+    /**
+     * Record an event, if its type is recorded, or count it as dropped if the buffer is full.
+     * @param type The event type.
+     * @param subject The subject of the event.
+     * @param detail The detail of the event.
+     * @param count The count of the event.
+     */
+    private void record(HMNEventType type, Object subject, Object detail, int count)
+    {
+        if (!enabled[type.ordinal()]) {
+            return;
+        }
+
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail >= capacity) {
+                dropped.increment();
+                return;
+            }
+        } while (!head.compareAndSet(seq, seq + 1));
+
+        int i = (int) seq & mask;
+        types[i] = (byte) type.ordinal();
+        subjects[i] = subject;
+        details[i] = detail;
+        counts[i] = count;
+        published.lazySet(i, seq); // publishes the writes above to the consumer
+    }
+}
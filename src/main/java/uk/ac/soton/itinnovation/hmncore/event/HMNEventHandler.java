@@ -0,0 +1,50 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.event;
+
+/**
+ * A handler for the batches of events drained from an HMNEventBuffer.
+ * @see HMNEventBuffer#drain(HMNEventHandler)
+ */
+public interface HMNEventHandler
+{
+    /**
+     * Handle an event, in the order the events were recorded.
+     * @param type The type of event.
+     * @param subject The node or edge changed (see HMNEventType).
+     * @param detail The connection or connection type of the event, or null (see HMNEventType).
+     * @param count The number of interactions for INTERACTION_RECORDED events; otherwise 1.
+     */
+    void handleEvent(HMNEventType type, Object subject, Object detail, int count);
+
+    /**
+     * Notified at the end of each batch of events.
+     * @param numEvents The number of events in the batch.
+     * @param numDropped The number of events dropped since the previous batch, as the
+     *                   buffer was full. If not zero, the handler has missed changes,
+     *                   and may need to rescan the HMN.
+     */
+    void endBatch(int numEvents, long numDropped);
+}
@@ -0,0 +1,53 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.event;
+
+/**
+ * An enumeration of the types of change to an HMN recorded by an HMNEventBuffer,
+ * with the subject and detail of the event given for each type.
+ * @see HMNEventBuffer
+ * @see HMNEventHandler
+ */
+public enum HMNEventType
+{
+    /** An agent was added; the subject is the Agent. */
+    AGENT_ADDED,
+    /** An agent was removed; the subject is the Agent. */
+    AGENT_REMOVED,
+    /** An artefact was added; the subject is the Artefact. */
+    ARTEFACT_ADDED,
+    /** An artefact was removed; the subject is the Artefact. */
+    ARTEFACT_REMOVED,
+    /** An edge was added; the subject is the Edge. */
+    EDGE_ADDED,
+    /** An edge was removed; the subject is the Edge. */
+    EDGE_REMOVED,
+    /** A connection of an edge was added or changed; the subject is the Edge and the detail the Connection (or null if the connections were replaced). */
+    CONNECTION_CHANGED,
+    /** A bespoke property of a connection was set or removed; the subject is the Edge, the detail the Connection and the count the slot of the property (or -1 if the properties were replaced). */
+    PROPERTY_CHANGED,
+    /** Interactions were recorded on an edge; the subject is the Edge, the detail the connection type and the count the number of interactions. */
+    INTERACTION_RECORDED
+}
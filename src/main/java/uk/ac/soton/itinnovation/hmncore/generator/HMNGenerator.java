@@ -0,0 +1,523 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.ConnectionTypeRegistry;
+import uk.ac.soton.itinnovation.hmncore.EdgeBatchBuilder;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.ParallelChunks;
+
+/**
+ * Generates synthetic HMNs from standard network models, for testing and
+ * benchmarking at scale:
+ *   Barabási–Albert: scale-free networks of agents, grown by preferential attachment.
+ *   Watts–Strogatz: small-world networks of agents, from a rewired ring lattice.
+ *   Bipartite: agents interacting with artefacts, each artefact having a creator.
+ *
+ * Every edge has a source and a sink Connection of one connection type, with trust
+ * and trustworthiness drawn from configurable distributions. Agents are humans
+ * or machines (see setMachineFraction), created by a NodeFactory.
+ *
+ * Nodes, edges and connections are created in parallel, on a ForkJoinPool (the
+ * edges with an EdgeBatchBuilder). The work is divided into fixed-size chunks,
+ * each with its own random number generator derived from the seed, so the same
+ * seed gives the same network regardless of the number of threads. (The Barabási–Albert wiring is inherently
+ * sequential, but only generates the node indices of the edges.)
+ *
+ * Node IDs are "agent-i" and "artefact-i", and edge IDs "edge-i", numbered from zero.
+ */
+public class HMNGenerator
+{
+    private static final int CHUNK_SIZE = 4096;
+    private static final String DEFAULT_CONNECTION_TYPE = "interaction";
+
+    // streams of random numbers, so that each part of the generation is independent
+    private static final long NODE_STREAM = 1;
+    private static final long EDGE_STREAM = 2;
+    private static final long CONNECTION_STREAM = 3;
+
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private NodeFactory nodeFactory;
+    private double machineFraction;
+    private String connectionType;
+    private TrustDistribution trustDistribution;
+    private TrustDistribution trustworthinessDistribution;
+
+    /**
+     * Constructor using the common ForkJoinPool.
+     * @param seed The seed of the random number generators.
+     */
+    public HMNGenerator(long seed)
+    {
+        this(seed, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Constructor creating a ForkJoinPool with the given parallelism, which is
+     * shut down by calling shutdown().
+     * @param seed The seed of the random number generators.
+     * @param parallelism The number of worker threads.
+     */
+    public HMNGenerator(long seed, int parallelism)
+    {
+        this(seed, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Constructor using the ForkJoinPool provided, which is not shut down by this generator.
+     * @param seed The seed of the random number generators.
+     * @param pool The ForkJoinPool to generate the network on.
+     */
+    public HMNGenerator(long seed, ForkJoinPool pool)
+    {
+        this(seed, pool, false);
+    }
+
+    private HMNGenerator(long seed, ForkJoinPool pool, boolean ownPool)
+    {
+        if (pool == null) {
+            throw new NullPointerException("Cannot create the generator as the pool provided was NULL");
+        }
+
+        this.seed = seed;
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.nodeFactory = new SyntheticNodeFactory();
+        this.machineFraction = 0;
+        this.connectionType = DEFAULT_CONNECTION_TYPE;
+        this.trustDistribution = TrustDistribution.uniform(0, 1);
+        this.trustworthinessDistribution = TrustDistribution.uniform(0, 1);
+    }
+
+    /**
+     * Get the seed of the random number generators.
+     * @return The seed.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Get the factory used to create nodes.
+     * @return NodeFactory object.
+     */
+    public NodeFactory getNodeFactory()
+    {
+        return nodeFactory;
+    }
+
+    /**
+     * Set the factory used to create nodes. The default creates instances of
+     * SyntheticNodeFactory.SyntheticHuman, SyntheticMachine and Artefact.
+     * @param nodeFactory NodeFactory object.
+     */
+    public void setNodeFactory(NodeFactory nodeFactory)
+    {
+        if (nodeFactory == null) {
+            throw new NullPointerException("Cannot set the node factory as the object provided was NULL");
+        }
+        this.nodeFactory = nodeFactory;
+    }
+
+    /**
+     * Get the expected fraction of agents that are machines.
+     * @return The fraction, between 0 and 1.
+     */
+    public double getMachineFraction()
+    {
+        return machineFraction;
+    }
+
+    /**
+     * Set the expected fraction of agents that are machines; the rest are humans.
+     * @param machineFraction The fraction, between 0 (all humans, the default) and 1 (all machines).
+     */
+    public void setMachineFraction(double machineFraction)
+    {
+        this.machineFraction = Math.min(1, Math.max(0, machineFraction));
+    }
+
+    /**
+     * Get the connection type of generated edges.
+     * @return The name of the connection type.
+     */
+    public String getConnectionType()
+    {
+        return connectionType;
+    }
+
+    /**
+     * Set the connection type of generated edges (default "interaction").
+     * @param connectionType The name of the connection type, or null for edges without connections.
+     */
+    public void setConnectionType(String connectionType)
+    {
+        this.connectionType = connectionType;
+    }
+
+    /**
+     * Get the distribution of the trust of generated connections.
+     * @return TrustDistribution object.
+     */
+    public TrustDistribution getTrustDistribution()
+    {
+        return trustDistribution;
+    }
+
+    /**
+     * Set the distribution of the trust of generated connections (default uniform over [0, 1)).
+     * @param trustDistribution TrustDistribution object.
+     */
+    public void setTrustDistribution(TrustDistribution trustDistribution)
+    {
+        if (trustDistribution == null) {
+            throw new NullPointerException("Cannot set the trust distribution as the object provided was NULL");
+        }
+        this.trustDistribution = trustDistribution;
+    }
+
+    /**
+     * Get the distribution of the trustworthiness of generated connections.
+     * @return TrustDistribution object.
+     */
+    public TrustDistribution getTrustworthinessDistribution()
+    {
+        return trustworthinessDistribution;
+    }
+
+    /**
+     * Set the distribution of the trustworthiness of generated connections (default uniform over [0, 1)).
+     * @param trustworthinessDistribution TrustDistribution object.
+     */
+    public void setTrustworthinessDistribution(TrustDistribution trustworthinessDistribution)
+    {
+        if (trustworthinessDistribution == null) {
+            throw new NullPointerException("Cannot set the trustworthiness distribution as the object provided was NULL");
+        }
+        this.trustworthinessDistribution = trustworthinessDistribution;
+    }
+
+    /**
+     * Generate a scale-free network with the Barabási–Albert model. Starting from
+     * edgesPerAgent agents, each further agent gets edgesPerAgent outbound edges
+     * to distinct existing agents, chosen with probability proportional to their
+     * degree (for the first added agent, all of the initial agents are chosen).
+     * @param numAgents The number of agents.
+     * @param edgesPerAgent The number of edges of each added agent.
+     * @return A new HMN with edgesPerAgent * (numAgents - edgesPerAgent) edges.
+     * @throws IllegalArgumentException If edgesPerAgent is less than 1 or not less than numAgents.
+     */
+    public HMN barabasiAlbert(int numAgents, int edgesPerAgent) throws IllegalArgumentException
+    {
+        if (edgesPerAgent < 1 || edgesPerAgent >= numAgents) {
+            throw new IllegalArgumentException("The number of edges per agent must be at least 1 and less than the number of agents");
+        }
+
+        HMN hmn = new HMN("Barabási–Albert");
+        Agent[] agents = createAgents(hmn, numAgents);
+
+        int m = edgesPerAgent;
+        int numEdges = m * (numAgents - m);
+        int[] sources = new int[numEdges];
+        int[] sinks = new int[numEdges];
+        int[] ends = new int[2 * numEdges]; // each agent appears once per edge it has, for sampling by degree
+        int numEnds = 0;
+        Random random = random(EDGE_STREAM, 0);
+
+        int e = 0;
+        for (int v = m; v < numAgents; v++) {
+            int first = e;
+            for (int j = 0; j < m; j++) {
+                int target;
+                if (v == m) {
+                    target = j;
+                } else {
+                    do {
+                        target = ends[random.nextInt(numEnds)];
+                    } while (contains(sinks, first, e, target));
+                }
+                sources[e] = v;
+                sinks[e] = target;
+                e++;
+            }
+            for (int i = first; i < e; i++) {
+                ends[numEnds++] = sinks[i];
+                ends[numEnds++] = v;
+            }
+        }
+
+        createEdges(hmn, agents, sources, sinks);
+        return hmn;
+    }
+
+    /**
+     * Generate a small-world network with the Watts–Strogatz model. The agents are
+     * placed on a ring, and each agent gets an outbound edge to each of its
+     * neighbours nearest agents (half on each side). The sink of each edge is then
+     * rewired with the given probability to a uniformly random agent, avoiding
+     * self-loops and duplicate edges. The new sink may be the current one (so the
+     * edge is not moved), which is the only choice if the agent already has edges
+     * to all the others.
+     * @param numAgents The number of agents.
+     * @param neighbours The number of nearest neighbours (an even number).
+     * @param rewiring The probability of rewiring each edge, between 0 and 1.
+     * @return A new HMN with numAgents * neighbours edges.
+     * @throws IllegalArgumentException If neighbours is odd, less than 2 or not less than numAgents, or rewiring is not between 0 and 1.
+     */
+    public HMN wattsStrogatz(final int numAgents, final int neighbours, final double rewiring) throws IllegalArgumentException
+    {
+        if (neighbours < 2 || neighbours % 2 != 0 || neighbours >= numAgents) {
+            throw new IllegalArgumentException("The number of neighbours must be an even number of at least 2, and less than the number of agents");
+        }
+        if (rewiring < 0 || rewiring > 1) {
+            throw new IllegalArgumentException("The rewiring probability must be between 0 and 1");
+        }
+
+        HMN hmn = new HMN("Watts–Strogatz");
+        Agent[] agents = createAgents(hmn, numAgents);
+
+        final int[] sources = new int[numAgents * neighbours];
+        final int[] sinks = new int[sources.length];
+        forEachChunk(numAgents, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                Random random = random(EDGE_STREAM, chunk);
+                for (int v = from; v < to; v++) {
+                    int first = v * neighbours;
+                    for (int j = 0; j < neighbours; j++) {
+                        int offset = j / 2 + 1;
+                        sources[first + j] = v;
+                        sinks[first + j] = (j % 2 == 0) ? (v + offset) % numAgents : (v - offset + numAgents) % numAgents;
+                    }
+                    for (int e = first; e < first + neighbours; e++) {
+                        if (random.nextDouble() < rewiring) {
+                            int target;
+                            do {
+                                target = random.nextInt(numAgents);
+                            } while (target == v || (target != sinks[e] && contains(sinks, first, first + neighbours, target)));
+                            sinks[e] = target;
+                        }
+                    }
+                }
+            }
+        });
+
+        createEdges(hmn, agents, sources, sinks);
+        return hmn;
+    }
+
+    /**
+     * Generate a bipartite network of agents and artefacts. Each artefact is
+     * assigned a uniformly random creator, and has inbound edges from its creator
+     * and from agentsPerArtefact - 1 other distinct, uniformly random agents.
+     * @param numAgents The number of agents.
+     * @param numArtefacts The number of artefacts.
+     * @param agentsPerArtefact The number of agents with an edge to each artefact.
+     * @return A new HMN with numArtefacts * agentsPerArtefact edges.
+     * @throws IllegalArgumentException If agentsPerArtefact is less than 1 or more than numAgents.
+     */
+    public HMN bipartite(final int numAgents, int numArtefacts, final int agentsPerArtefact) throws IllegalArgumentException
+    {
+        if (agentsPerArtefact < 1 || agentsPerArtefact > numAgents) {
+            throw new IllegalArgumentException("The number of agents per artefact must be at least 1 and no more than the number of agents");
+        }
+
+        final HMN hmn = new HMN("Bipartite");
+        final Agent[] agents = createAgents(hmn, numAgents);
+        final Node[] nodes = Arrays.copyOf(agents, numAgents + numArtefacts, Node[].class);
+        final Artefact[] artefacts = new Artefact[numArtefacts];
+
+        final int[] sources = new int[numArtefacts * agentsPerArtefact];
+        final int[] sinks = new int[sources.length];
+        forEachChunk(numArtefacts, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                Random random = random(EDGE_STREAM, chunk);
+                for (int a = from; a < to; a++) {
+                    Artefact artefact = nodeFactory.createArtefact("artefact-" + a);
+                    artefact.setHMN(hmn);
+                    artefacts[a] = artefact;
+                    nodes[numAgents + a] = artefact;
+
+                    int first = a * agentsPerArtefact;
+                    for (int e = first; e < first + agentsPerArtefact; e++) {
+                        int agent;
+                        do {
+                            agent = random.nextInt(numAgents);
+                        } while (contains(sources, first, e, agent));
+                        sources[e] = agent;
+                        sinks[e] = numAgents + a;
+                    }
+                    artefact.setCreator(agents[sources[first]]);
+                }
+            }
+        });
+        hmn.addArtefacts(Arrays.asList(artefacts));
+
+        createEdges(hmn, nodes, sources, sinks);
+        return hmn;
+    }
+
+    /**
+     * Shut down the ForkJoinPool, if it was created by this generator.
+     */
+    public void shutdown()
+    {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Create the agents of a network and add them to the HMN.
+     * @param hmn The HMN.
+     * @param numAgents The number of agents.
+     * @return The agents, in order of their IDs.
+     */
+    private Agent[] createAgents(final HMN hmn, int numAgents)
+    {
+        final Agent[] agents = new Agent[numAgents];
+        forEachChunk(numAgents, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                Random random = random(NODE_STREAM, chunk);
+                for (int i = from; i < to; i++) {
+                    String id = "agent-" + i;
+                    Agent a = random.nextDouble() < machineFraction ? nodeFactory.createMachine(id) : nodeFactory.createHuman(id);
+                    a.setHMN(hmn);
+                    agents[i] = a;
+                }
+            }
+        });
+        hmn.addAgents(Arrays.asList(agents));
+        return agents;
+    }
+
+    /**
+     * Create the edges of a network, with their connections, and add them to the
+     * edge lists of their nodes and to the HMN, using an EdgeBatchBuilder.
+     * @param hmn The HMN.
+     * @param nodes The nodes of the network.
+     * @param sources The index of the source node of each edge.
+     * @param sinks The index of the sink node of each edge.
+     */
+    private void createEdges(HMN hmn, Node[] nodes, int[] sources, int[] sinks)
+    {
+        final int numEdges = sources.length;
+        final double[] sourceTrust = new double[numEdges];
+        final double[] sourceTrustworthiness = new double[numEdges];
+        final double[] sinkTrust = new double[numEdges];
+        final double[] sinkTrustworthiness = new double[numEdges];
+        forEachChunk(numEdges, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                Random random = random(CONNECTION_STREAM, chunk);
+                for (int e = from; e < to; e++) {
+                    sourceTrust[e] = trustDistribution.sample(random);
+                    sourceTrustworthiness[e] = trustworthinessDistribution.sample(random);
+                    sinkTrust[e] = trustDistribution.sample(random);
+                    sinkTrustworthiness[e] = trustworthinessDistribution.sample(random);
+                }
+            }
+        });
+
+        EdgeBatchBuilder builder = new EdgeBatchBuilder(hmn, pool);
+        for (Node n : nodes) {
+            builder.addNode(n); // distinct nodes, so the index in the builder is the index in the array
+        }
+        int typeId = connectionType == null ? -1 : ConnectionTypeRegistry.id(connectionType);
+        builder.addEdges(sources, sinks, typeId, sourceTrust, sourceTrustworthiness, sinkTrust, sinkTrustworthiness);
+        builder.build();
+    }
+
+    /**
+     * Run a task over the items 0..n-1 in fixed-size chunks, in parallel.
+     * @param n The number of items.
+     * @param body The task to run for each chunk.
+     */
+    private void forEachChunk(int n, ParallelChunks.Body body)
+    {
+        ParallelChunks.forEach(pool, n, CHUNK_SIZE, body);
+    }
+
+    /**
+     * Get the random number generator for a chunk of a stream, derived from the seed.
+     * @param stream The stream.
+     * @param chunk The chunk.
+     * @return A Random object.
+     */
+    private Random random(long stream, int chunk)
+    {
+        return new Random(mix(mix(seed ^ mix(stream)) + chunk));
+    }
+
+    /**
+     * Scramble the bits of a value (the SplitMix64 finaliser), so that nearby seeds
+     * give unrelated random number sequences.
+     * @param z The value.
+     * @return The scrambled value.
+     */
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Check if a range of an array contains a value.
+     * @param values The array.
+     * @param from The start of the range.
+     * @param to The end of the range (exclusive).
+     * @param value The value.
+     * @return True if the value is in the range; false otherwise.
+     */
+    private static boolean contains(int[] values, int from, int to, int value)
+    {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
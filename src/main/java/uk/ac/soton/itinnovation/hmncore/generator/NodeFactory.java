@@ -0,0 +1,60 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.generator;
+
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Human;
+import uk.ac.soton.itinnovation.hmncore.Machine;
+
+/**
+ * Creates the nodes of generated HMNs, so that generators can produce instances
+ * of application-specific sub-classes of Human, Machine and Artefact.
+ * Implementations must be thread-safe, as nodes are created in parallel.
+ *
+ * @see HMNGenerator#setNodeFactory(NodeFactory)
+ */
+public interface NodeFactory
+{
+    /**
+     * Create a human agent.
+     * @param id The ID of the node.
+     * @return A Human object, with the ID set.
+     */
+    Human createHuman(String id);
+
+    /**
+     * Create a machine agent.
+     * @param id The ID of the node.
+     * @return A Machine object, with the ID set.
+     */
+    Machine createMachine(String id);
+
+    /**
+     * Create an artefact.
+     * @param id The ID of the node.
+     * @return An Artefact object, with the ID set.
+     */
+    Artefact createArtefact(String id);
+}
@@ -0,0 +1,90 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.generator;
+
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Human;
+import uk.ac.soton.itinnovation.hmncore.Machine;
+
+/**
+ * The default NodeFactory of the HMNGenerator, creating humans and machines that
+ * take no action, and plain artefacts.
+ */
+public class SyntheticNodeFactory implements NodeFactory
+{
+    /**
+     * Default constructor.
+     */
+    public SyntheticNodeFactory()
+    {
+
+    }
+
+    @Override
+    public Human createHuman(String id)
+    {
+        SyntheticHuman h = new SyntheticHuman();
+        h.setNodeID(id);
+        return h;
+    }
+
+    @Override
+    public Machine createMachine(String id)
+    {
+        SyntheticMachine m = new SyntheticMachine();
+        m.setNodeID(id);
+        return m;
+    }
+
+    @Override
+    public Artefact createArtefact(String id)
+    {
+        return new Artefact(id);
+    }
+
+    /**
+     * A human created by the generator, which takes no action.
+     */
+    public static class SyntheticHuman extends Human
+    {
+        @Override
+        public void takeAction()
+        {
+
+        }
+    }
+
+    /**
+     * A machine created by the generator, which takes no action.
+     */
+    public static class SyntheticMachine extends Machine
+    {
+        @Override
+        public void takeAction()
+        {
+
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.generator;
+
+import java.util.Random;
+
+/**
+ * A distribution of trust (or trustworthiness) values for the connections of
+ * generated edges. Implementations must be thread-safe, as edges are generated in
+ * parallel; each thread passes its own random number generator.
+ *
+ * @see HMNGenerator#setTrustDistribution(TrustDistribution)
+ */
+public interface TrustDistribution
+{
+    /**
+     * Draw a value from the distribution.
+     * @param random The random number generator to use.
+     * @return The value.
+     */
+    double sample(Random random);
+
+    /**
+     * Get a distribution that always gives the same value.
+     * @param value The value.
+     * @return A TrustDistribution object.
+     */
+    static TrustDistribution constant(final double value)
+    {
+        return new TrustDistribution()
+        {
+            @Override
+            public double sample(Random random)
+            {
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Get a uniform distribution over [min, max).
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @return A TrustDistribution object.
+     */
+    static TrustDistribution uniform(final double min, final double max)
+    {
+        return new TrustDistribution()
+        {
+            @Override
+            public double sample(Random random)
+            {
+                return min + (max - min) * random.nextDouble();
+            }
+        };
+    }
+
+    /**
+     * Get a normal distribution, truncated to [0, 1] by clamping.
+     * @param mean The mean.
+     * @param standardDeviation The standard deviation.
+     * @return A TrustDistribution object.
+     */
+    static TrustDistribution normal(final double mean, final double standardDeviation)
+    {
+        return new TrustDistribution()
+        {
+            @Override
+            public double sample(Random random)
+            {
+                return Math.min(1, Math.max(0, mean + standardDeviation * random.nextGaussian()));
+            }
+        };
+    }
+}
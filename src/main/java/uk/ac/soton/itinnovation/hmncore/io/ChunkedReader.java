@@ -0,0 +1,173 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reader decoding UTF-8 text from a channel in fixed-size chunks, so that the
+ * memory used does not depend on the size of the input. A leading byte order mark
+ * is skipped. Used by the readers of the text exchange formats.
+ *
+ * @see HMNTextReader
+ */
+class ChunkedReader extends Reader
+{
+    private final ReadableByteChannel channel;
+    private final ByteBuffer bytes = ByteBuffer.allocate(HMNSnapshotWriter.BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(HMNSnapshotWriter.BUFFER_SIZE);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPORT)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private boolean eof;
+    private boolean done;
+    private boolean started;
+
+    /**
+     * Constructor.
+     * @param channel The channel to read from.
+     */
+    ChunkedReader(ReadableByteChannel channel)
+    {
+        this.channel = channel;
+        ((Buffer) chars).flip(); // empty until the first chunk is decoded
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    @Override
+    public int read(char[] buf, int off, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        int n = Math.min(len, chars.remaining());
+        chars.get(buf, off, n);
+        return n;
+    }
+
+    /**
+     * Get the next character without consuming it.
+     * @return The next character, or -1 at the end of the input.
+     * @throws IOException If reading fails.
+     */
+    int peek() throws IOException
+    {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get(chars.position());
+    }
+
+    /**
+     * Read a line of text, terminated by a line feed, a carriage return or both.
+     * @param line The builder to append the line to (without the line terminator).
+     * @return False if the end of the input was reached before any characters were read; true otherwise.
+     * @throws IOException If reading fails.
+     */
+    boolean readLine(StringBuilder line) throws IOException
+    {
+        boolean read = false;
+        while (chars.hasRemaining() || fill()) {
+            read = true;
+            int start = chars.position();
+            int end = chars.limit();
+            for (int i = start; i < end; i++) {
+                char c = chars.get(i);
+                if (c == '\n' || c == '\r') {
+                    line.append(chars.array(), chars.arrayOffset() + start, i - start);
+                    ((Buffer) chars).position(i + 1);
+                    if (c == '\r' && (chars.hasRemaining() || fill()) && chars.get(chars.position()) == '\n') {
+                        chars.get();
+                    }
+                    return true;
+                }
+            }
+            line.append(chars.array(), chars.arrayOffset() + start, end - start);
+            ((Buffer) chars).position(end);
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    /**
+     * Decode the next chunk of characters.
+     * @return False if there are no more characters; true otherwise.
+     * @throws IOException If reading fails or the input is not valid UTF-8.
+     */
+    private boolean fill() throws IOException
+    {
+        ((Buffer) chars).clear();
+        while (chars.position() == 0 && !done) {
+            if (!eof && channel.read(bytes) < 0) {
+                eof = true;
+            }
+            ((Buffer) bytes).flip();
+            CoderResult result = decoder.decode(bytes, chars, eof);
+            bytes.compact();
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (eof && result.isUnderflow()) {
+                decoder.flush(chars);
+                done = true;
+            }
+        }
+        ((Buffer) chars).flip();
+
+        if (!started && chars.hasRemaining()) {
+            started = true;
+            if (chars.get(chars.position()) == '\uFEFF') {
+                chars.get();
+                return chars.hasRemaining() || fill();
+            }
+        }
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,169 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A writer encoding text as UTF-8 and writing it to a channel in fixed-size chunks,
+ * so that the memory used does not depend on the size of the output. Used by the
+ * writers of the text exchange formats.
+ *
+ * @see HMNTextWriter
+ */
+class ChunkedWriter extends Writer
+{
+    private final WritableByteChannel channel;
+    private final CharBuffer chars = CharBuffer.allocate(HMNSnapshotWriter.BUFFER_SIZE / 4);
+    private final ByteBuffer bytes = ByteBuffer.allocate(HMNSnapshotWriter.BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private boolean finished;
+
+    /**
+     * Constructor.
+     * @param channel The channel to write to.
+     */
+    ChunkedWriter(WritableByteChannel channel)
+    {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int c) throws IOException
+    {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] buf, int off, int len) throws IOException
+    {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int n = Math.min(len, chars.remaining());
+            chars.put(buf, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void write(String s, int off, int len) throws IOException
+    {
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int n = Math.min(len, chars.remaining());
+            chars.put(s, off, off + n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Write the characters buffered so far to the channel. An incomplete surrogate
+     * pair at the end of the buffer is kept until the rest of it is written.
+     * @throws IOException If writing fails.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        encode(false);
+        drain();
+    }
+
+    /**
+     * Write all buffered characters to the channel, without closing it. Nothing
+     * may be written after this.
+     * @throws IOException If writing fails.
+     */
+    void finish() throws IOException
+    {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        encode(true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try {
+            finish();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Encode the buffered characters, writing the bytes to the channel whenever the
+     * byte buffer is full.
+     * @param endOfInput True if no more characters will be written.
+     * @throws IOException If writing fails.
+     */
+    private void encode(boolean endOfInput) throws IOException
+    {
+        ((Buffer) chars).flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        chars.compact();
+    }
+
+    private void drain() throws IOException
+    {
+        ((Buffer) bytes).flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        ((Buffer) bytes).clear();
+    }
+}
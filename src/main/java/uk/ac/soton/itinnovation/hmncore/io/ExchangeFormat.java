@@ -0,0 +1,794 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.ConnectionTypeRegistry;
+import uk.ac.soton.itinnovation.hmncore.CultureType;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+import uk.ac.soton.itinnovation.hmncore.GenderType;
+import uk.ac.soton.itinnovation.hmncore.Human;
+import uk.ac.soton.itinnovation.hmncore.Machine;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.SexualOrientationType;
+
+/**
+ * The mapping of nodes and edges to the named fields of the text exchange formats
+ * (GraphML, CSV and JSON Lines), shared by their readers and writers.
+ *
+ * Nodes have the fields of NodeField: the kind of node (human, machine, agent or
+ * artefact), its class, and the attributes of Human, Machine and Artefact.
+ *
+ * Edges have the fields id, source, sink, numInteractions and interactionStrength
+ * (the aggregate edge stats), and for each connection type T:
+ *   T.numInteractions, T.interactionStrength:    the stats of the connection type
+ *   T.source.id, T.source.trust, T.source.trustworthiness, T.source.property.K:
+ *                                                the source connection and its properties
+ *   T.sink.id, T.sink.trust, T.sink.trustworthiness, T.sink.property.K:
+ *                                                the sink connection and its properties
+ *
+ * Values are written as text: numbers with Integer/Double.toString, enums by name,
+ * dates as ISO-8601 instants and the HMN's date/time as an ISO-8601 zoned date/time.
+ * An empty or missing value means the field is not set: a connection is only created
+ * if one of its fields has a value, and the edge stats likewise.
+ */
+final class ExchangeFormat
+{
+    static final String KIND_HUMAN = "human";
+    static final String KIND_MACHINE = "machine";
+    static final String KIND_AGENT = "agent";
+    static final String KIND_ARTEFACT = "artefact";
+
+    static final String HMN_NAME = "name";
+    static final String HMN_DATE_TIME = "currentDateTime";
+
+    static final String TYPE_STRING = "string";
+    static final String TYPE_INT = "int";
+    static final String TYPE_DOUBLE = "double";
+
+    private static final String SOURCE = ".source.";
+    private static final String SINK = ".sink.";
+    private static final String PROPERTY = "property.";
+
+    private ExchangeFormat() { }
+
+    /**
+     * Get the kind of a node.
+     * @param n The node.
+     * @return One of the KIND_ constants, or null if the node is not an agent or artefact.
+     */
+    static String kind(Node n)
+    {
+        if (n instanceof Human) {
+            return KIND_HUMAN;
+        } else if (n instanceof Machine) {
+            return KIND_MACHINE;
+        } else if (n instanceof Agent) {
+            return KIND_AGENT;
+        } else if (n instanceof Artefact) {
+            return KIND_ARTEFACT;
+        }
+        return null;
+    }
+
+    /**
+     * Get the ID of a node to write, which must be set.
+     * @param n The node.
+     * @return The node ID.
+     * @throws IOException If the node has no ID.
+     */
+    static String nodeID(Node n) throws IOException
+    {
+        if (n == null || n.getNodeID() == null) {
+            throw new IOException("Cannot write a node without an ID");
+        }
+        return n.getNodeID();
+    }
+
+    /**
+     * Format the date/time of an HMN.
+     * @param dateTime The date/time, which may be NULL.
+     * @return An ISO-8601 zoned date/time, or null.
+     */
+    static String formatDateTime(GregorianCalendar dateTime)
+    {
+        return dateTime == null ? null : dateTime.toZonedDateTime().format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+    }
+
+    /**
+     * Parse the date/time of an HMN.
+     * @param s An ISO-8601 zoned date/time.
+     * @return A GregorianCalendar in the time zone given.
+     * @throws IllegalArgumentException If the value is not a valid date/time.
+     */
+    static GregorianCalendar parseDateTime(String s) throws IllegalArgumentException
+    {
+        try {
+            return GregorianCalendar.from(ZonedDateTime.parse(s, DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid date/time: " + s, ex);
+        }
+    }
+
+    /**
+     * Check whether a value read from the input is set.
+     * @param s The value.
+     * @return False if the value is NULL or empty; true otherwise.
+     */
+    static boolean isSet(String s)
+    {
+        return s != null && !s.isEmpty();
+    }
+
+    /**
+     * Get the order in which to set the edge fields read, which leaves out the ID,
+     * source and sink (and fields that are not recognised), and sets the aggregate
+     * edge stats last.
+     * @param fields The fields read, which may contain NULL for unrecognised fields.
+     * @return The indices of the fields to set, in the order to set them.
+     */
+    static int[] setOrder(EdgeField[] fields)
+    {
+        int[] order = new int[fields.length];
+        int n = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < fields.length; i++) {
+                EdgeField f = fields[i];
+                if (f != null && !f.isIdentity() && f.isAggregate() == (pass == 1)) {
+                    order[n++] = i;
+                }
+            }
+        }
+        return Arrays.copyOf(order, n);
+    }
+
+    /**
+     * Get the edge fields for the edges provided: the fixed fields followed by the
+     * fields of each connection type used by the edges (in the order of the names
+     * of the types and property keys). This iterates over the edges once, keeping
+     * only the connection types and property keys found.
+     * @param edges The edges.
+     * @return List of edge fields.
+     */
+    static List<EdgeField> edgeFields(Iterable<Edge> edges)
+    {
+        Map<String, PropertyKeys> types = new TreeMap<>();
+        Set<String> statsTypes = new TreeSet<>();
+
+        for (Edge e : edges) {
+            collect(types, e.getSourceConnections(), true);
+            collect(types, e.getSinkConnections(), false);
+            for (Map.Entry<String, EdgeStats> entry : e.getEdgeConnectionStats().entrySet()) {
+                if (entry.getValue() != null) {
+                    statsTypes.add(entry.getKey());
+                }
+            }
+        }
+        for (String type : statsTypes) {
+            if (!types.containsKey(type)) {
+                types.put(type, new PropertyKeys());
+            }
+        }
+
+        List<EdgeField> fields = new ArrayList<>();
+        fields.add(EdgeField.parse(EdgeField.ID));
+        fields.add(EdgeField.parse(EdgeField.SOURCE));
+        fields.add(EdgeField.parse(EdgeField.SINK));
+        fields.add(EdgeField.parse(EdgeField.NUM_INTERACTIONS));
+        fields.add(EdgeField.parse(EdgeField.INTERACTION_STRENGTH));
+
+        for (Map.Entry<String, PropertyKeys> entry : types.entrySet()) {
+            String type = entry.getKey();
+            if (statsTypes.contains(type)) {
+                fields.add(EdgeField.parse(type + "." + EdgeField.NUM_INTERACTIONS));
+                fields.add(EdgeField.parse(type + "." + EdgeField.INTERACTION_STRENGTH));
+            }
+            addConnectionFields(fields, type + SOURCE, entry.getValue().source);
+            addConnectionFields(fields, type + SINK, entry.getValue().sink);
+        }
+        return fields;
+    }
+
+    private static void collect(Map<String, PropertyKeys> types, Map<String, Connection> connections, boolean source)
+    {
+        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+            Connection c = entry.getValue();
+            if (c == null) {
+                continue;
+            }
+            PropertyKeys keys = types.get(entry.getKey());
+            if (keys == null) {
+                keys = new PropertyKeys();
+                types.put(entry.getKey(), keys);
+            }
+            Set<String> side = source ? keys.source : keys.sink;
+            if (side == null) {
+                side = new TreeSet<>();
+                if (source) {
+                    keys.source = side;
+                } else {
+                    keys.sink = side;
+                }
+            }
+            Map<String, Double> properties = c.getProperties();
+            if (properties != null) {
+                side.addAll(properties.keySet());
+            }
+        }
+    }
+
+    /**
+     * The property keys of the source and sink connections of a connection type.
+     */
+    private static final class PropertyKeys
+    {
+        Set<String> source; // null if there are no source connections of the type
+        Set<String> sink; // null if there are no sink connections of the type
+    }
+
+    private static void addConnectionFields(List<EdgeField> fields, String prefix, Set<String> properties)
+    {
+        if (properties == null) {
+            return; // no connections of the type on this side
+        }
+        fields.add(EdgeField.parse(prefix + EdgeField.CONNECTION_ID));
+        fields.add(EdgeField.parse(prefix + EdgeField.TRUST));
+        fields.add(EdgeField.parse(prefix + EdgeField.TRUSTWORTHINESS));
+        for (String key : properties) {
+            fields.add(EdgeField.parse(prefix + PROPERTY + key));
+        }
+    }
+
+    /**
+     * The fields of a node. Fields that do not apply to a node (e.g., the age of a
+     * machine) have no value, and are ignored when read.
+     */
+    enum NodeField
+    {
+        ID("id", TYPE_STRING),
+        KIND("kind", TYPE_STRING),
+        CLASS("class", TYPE_STRING),
+        AGE("age", TYPE_INT),
+        GENDER("gender", TYPE_STRING),
+        SEXUAL_ORIENTATION("sexualOrientation", TYPE_STRING),
+        CULTURE("culture", TYPE_STRING),
+        SELF_EFFICACY("selfEfficacy", TYPE_DOUBLE),
+        COMPUTER_SELF_EFFICACY("computerSelfEfficacy", TYPE_DOUBLE),
+        TRUST("trust", TYPE_DOUBLE),
+        REPUTATION("reputation", TYPE_INT),
+        CAPACITY("capacity", TYPE_DOUBLE),
+        AVAILABILITY("availability", TYPE_DOUBLE),
+        RELIABILITY("reliability", TYPE_DOUBLE),
+        RESPONSIVENESS("responsiveness", TYPE_DOUBLE),
+        THROUGHPUT("throughput", TYPE_DOUBLE),
+        UTILISATION("utilisation", TYPE_DOUBLE),
+        CREATOR("creator", TYPE_STRING),
+        CREATION_DATE("creationDate", TYPE_STRING);
+
+        private static final NodeField[] FIELDS = values();
+
+        final String key;
+        final String type;
+
+        NodeField(String key, String type)
+        {
+            this.key = key;
+            this.type = type;
+        }
+
+        /**
+         * Get the value of the field.
+         * @param n The node.
+         * @return The value, or null if the field does not apply to the node or is not set.
+         */
+        String get(Node n)
+        {
+            switch (this) {
+                case ID:
+                    return n.getNodeID();
+                case KIND:
+                    return kind(n);
+                case CLASS:
+                    return n.getClass().getName();
+                case CREATOR: {
+                    Agent creator = n instanceof Artefact ? ((Artefact) n).getCreator() : null;
+                    return creator == null ? null : creator.getNodeID();
+                }
+                case CREATION_DATE: {
+                    Date created = n instanceof Artefact ? ((Artefact) n).getCreationDate() : null;
+                    return created == null ? null : created.toInstant().toString();
+                }
+                default:
+                    break;
+            }
+
+            if (n instanceof Human) {
+                Human h = (Human) n;
+                switch (this) {
+                    case AGE:
+                        return Integer.toString(h.getAge());
+                    case GENDER:
+                        return h.getGender() == null ? null : h.getGender().name();
+                    case SEXUAL_ORIENTATION:
+                        return h.getSexualOrientation() == null ? null : h.getSexualOrientation().name();
+                    case CULTURE:
+                        return h.getCulture() == null ? null : h.getCulture().name();
+                    case SELF_EFFICACY:
+                        return Double.toString(h.getSelfEfficacy());
+                    case COMPUTER_SELF_EFFICACY:
+                        return Double.toString(h.getComputerSelfEfficacy());
+                    case TRUST:
+                        return Double.toString(h.getTrust());
+                    case REPUTATION:
+                        return Integer.toString(h.getReputation());
+                    default:
+                        return null;
+                }
+            } else if (n instanceof Machine) {
+                Machine m = (Machine) n;
+                switch (this) {
+                    case CAPACITY:
+                        return Double.toString(m.getCapacity());
+                    case AVAILABILITY:
+                        return Double.toString(m.getAvailability());
+                    case RELIABILITY:
+                        return Double.toString(m.getReliability());
+                    case RESPONSIVENESS:
+                        return Double.toString(m.getResponsiveness());
+                    case THROUGHPUT:
+                        return Double.toString(m.getThroughput());
+                    case UTILISATION:
+                        return Double.toString(m.getUtilisation());
+                    default:
+                        return null;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Set the value of the field, if it applies to the node. The kind, class and
+         * creator are not set here, as they are needed to create the node or resolved
+         * once all nodes are known (see ImportTarget).
+         * @param n The node.
+         * @param value The value, which is not empty.
+         * @throws IllegalArgumentException If the value is not valid for the field.
+         */
+        void set(Node n, String value) throws IllegalArgumentException
+        {
+            switch (this) {
+                case ID:
+                    n.setNodeID(value);
+                    return;
+                case CREATION_DATE:
+                    if (n instanceof Artefact) {
+                        try {
+                            ((Artefact) n).setCreationDate(Date.from(Instant.parse(value)));
+                        } catch (RuntimeException ex) {
+                            throw new IllegalArgumentException("Invalid date: " + value, ex);
+                        }
+                    }
+                    return;
+                default:
+                    break;
+            }
+
+            if (n instanceof Human) {
+                Human h = (Human) n;
+                switch (this) {
+                    case AGE:
+                        h.setAge(Integer.parseInt(value));
+                        break;
+                    case GENDER:
+                        h.setGender(GenderType.valueOf(value));
+                        break;
+                    case SEXUAL_ORIENTATION:
+                        h.setSexualOrientation(SexualOrientationType.valueOf(value));
+                        break;
+                    case CULTURE:
+                        h.setCulture(CultureType.valueOf(value));
+                        break;
+                    case SELF_EFFICACY:
+                        h.setSelfEfficacy(Double.parseDouble(value));
+                        break;
+                    case COMPUTER_SELF_EFFICACY:
+                        h.setComputerSelfEfficacy(Double.parseDouble(value));
+                        break;
+                    case TRUST:
+                        h.setTrust(Double.parseDouble(value));
+                        break;
+                    case REPUTATION:
+                        h.setReputation(Integer.parseInt(value));
+                        break;
+                    default:
+                        break;
+                }
+            } else if (n instanceof Machine) {
+                Machine m = (Machine) n;
+                switch (this) {
+                    case CAPACITY:
+                        m.setCapacity(Double.parseDouble(value));
+                        break;
+                    case AVAILABILITY:
+                        m.setAvailability(Double.parseDouble(value));
+                        break;
+                    case RELIABILITY:
+                        m.setReliability(Double.parseDouble(value));
+                        break;
+                    case RESPONSIVENESS:
+                        m.setResponsiveness(Double.parseDouble(value));
+                        break;
+                    case THROUGHPUT:
+                        m.setThroughput(Double.parseDouble(value));
+                        break;
+                    case UTILISATION:
+                        m.setUtilisation(Double.parseDouble(value));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Get the field with the given name.
+         * @param key The name of the field.
+         * @return The field, or null if there is no field with the name.
+         */
+        static NodeField forKey(String key)
+        {
+            for (NodeField f : FIELDS) {
+                if (f.key.equals(key)) {
+                    return f;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A field of an edge: one of the fixed fields, or a field of a connection type
+     * (see ExchangeFormat for the names of the fields).
+     */
+    static final class EdgeField
+    {
+        static final String ID = "id";
+        static final String SOURCE = "source";
+        static final String SINK = "sink";
+        static final String TARGET = "target"; // alternative to sink, as used by other tools
+        static final String NUM_INTERACTIONS = "numInteractions";
+        static final String INTERACTION_STRENGTH = "interactionStrength";
+        static final String CONNECTION_ID = "id";
+        static final String TRUST = "trust";
+        static final String TRUSTWORTHINESS = "trustworthiness";
+
+        private static final int F_ID = 0;
+        private static final int F_SOURCE = 1;
+        private static final int F_SINK = 2;
+        private static final int F_NUM_INTERACTIONS = 3;
+        private static final int F_INTERACTION_STRENGTH = 4;
+        private static final int F_CONNECTION_ID = 5;
+        private static final int F_TRUST = 6;
+        private static final int F_TRUSTWORTHINESS = 7;
+        private static final int F_PROPERTY = 8;
+
+        final String key;
+        final String connectionType; // null for the fixed fields
+        private final int typeId;
+        private final ConnectionType side; // SOURCE or SINK for connection fields; null otherwise
+        private final int field;
+        private final String property;
+
+        private EdgeField(String key, String connectionType, ConnectionType side, int field, String property)
+        {
+            this.key = key;
+            this.connectionType = connectionType;
+            this.typeId = connectionType == null ? -1 : ConnectionTypeRegistry.id(connectionType);
+            this.side = side;
+            this.field = field;
+            this.property = property;
+        }
+
+        /**
+         * Get the field with the given name.
+         * @param key The name of the field.
+         * @return The field, or null if the name is not that of an edge field.
+         */
+        static EdgeField parse(String key)
+        {
+            switch (key) {
+                case ID:
+                    return new EdgeField(key, null, null, F_ID, null);
+                case SOURCE:
+                    return new EdgeField(key, null, null, F_SOURCE, null);
+                case SINK:
+                case TARGET:
+                    return new EdgeField(key, null, null, F_SINK, null);
+                case NUM_INTERACTIONS:
+                    return new EdgeField(key, null, null, F_NUM_INTERACTIONS, null);
+                case INTERACTION_STRENGTH:
+                    return new EdgeField(key, null, null, F_INTERACTION_STRENGTH, null);
+                default:
+                    break;
+            }
+
+            int source = key.indexOf(ExchangeFormat.SOURCE);
+            int sink = key.indexOf(ExchangeFormat.SINK);
+            if (source > 0 && (sink < 0 || source < sink)) {
+                return parseConnectionField(key, key.substring(0, source), ConnectionType.SOURCE, key.substring(source + ExchangeFormat.SOURCE.length()));
+            } else if (sink > 0) {
+                return parseConnectionField(key, key.substring(0, sink), ConnectionType.SINK, key.substring(sink + ExchangeFormat.SINK.length()));
+            }
+
+            int dot = key.lastIndexOf('.');
+            if (dot > 0) {
+                String name = key.substring(dot + 1);
+                if (name.equals(NUM_INTERACTIONS)) {
+                    return new EdgeField(key, key.substring(0, dot), null, F_NUM_INTERACTIONS, null);
+                } else if (name.equals(INTERACTION_STRENGTH)) {
+                    return new EdgeField(key, key.substring(0, dot), null, F_INTERACTION_STRENGTH, null);
+                }
+            }
+            return null;
+        }
+
+        private static EdgeField parseConnectionField(String key, String type, ConnectionType side, String name)
+        {
+            switch (name) {
+                case CONNECTION_ID:
+                    return new EdgeField(key, type, side, F_CONNECTION_ID, null);
+                case TRUST:
+                    return new EdgeField(key, type, side, F_TRUST, null);
+                case TRUSTWORTHINESS:
+                    return new EdgeField(key, type, side, F_TRUSTWORTHINESS, null);
+                default:
+                    if (name.startsWith(PROPERTY) && name.length() > PROPERTY.length()) {
+                        return new EdgeField(key, type, side, F_PROPERTY, name.substring(PROPERTY.length()));
+                    }
+                    return null;
+            }
+        }
+
+        /**
+         * Get the type of the values of the field.
+         * @return One of the TYPE_ constants.
+         */
+        String valueType()
+        {
+            switch (field) {
+                case F_NUM_INTERACTIONS:
+                case F_INTERACTION_STRENGTH:
+                    return TYPE_INT;
+                case F_TRUST:
+                case F_TRUSTWORTHINESS:
+                case F_PROPERTY:
+                    return TYPE_DOUBLE;
+                default:
+                    return TYPE_STRING;
+            }
+        }
+
+        /**
+         * Check whether this is the ID, source or sink of the edge, which are set
+         * when the edge is created rather than with set(..).
+         * @return True for the ID, source and sink fields.
+         */
+        boolean isIdentity()
+        {
+            return field <= F_SINK;
+        }
+
+        boolean isID()
+        {
+            return field == F_ID;
+        }
+
+        boolean isSource()
+        {
+            return field == F_SOURCE;
+        }
+
+        boolean isSink()
+        {
+            return field == F_SINK;
+        }
+
+        /**
+         * Check whether this is a field of the aggregate edge stats, which must be
+         * set after the stats of the connection types (setting those is also
+         * applied to the aggregate).
+         * @return True for the aggregate numInteractions and interactionStrength fields.
+         */
+        boolean isAggregate()
+        {
+            return connectionType == null && (field == F_NUM_INTERACTIONS || field == F_INTERACTION_STRENGTH);
+        }
+
+        /**
+         * Get the value of the field. The aggregate edge stats are not created if
+         * the edge does not have them.
+         * @param e The edge.
+         * @return The value, or null if not set.
+         */
+        String get(Edge e)
+        {
+            switch (field) {
+                case F_ID:
+                    return e.getEdgeID();
+                case F_SOURCE:
+                    return e.getSourceNode() == null ? null : e.getSourceNode().getNodeID();
+                case F_SINK:
+                    return e.getSinkNode() == null ? null : e.getSinkNode().getNodeID();
+                case F_NUM_INTERACTIONS: {
+                    EdgeStats stats = stats(e);
+                    return stats == null ? null : Integer.toString(stats.getNumInteractions());
+                }
+                case F_INTERACTION_STRENGTH: {
+                    EdgeStats stats = stats(e);
+                    return stats == null ? null : Integer.toString(stats.getInteractionStrength());
+                }
+                default:
+                    break;
+            }
+
+            Connection c = side == ConnectionType.SOURCE ? e.getSourceConnection(typeId) : e.getSinkConnection(typeId);
+            if (c == null) {
+                return null;
+            }
+            switch (field) {
+                case F_CONNECTION_ID:
+                    return c.getConnectionID();
+                case F_TRUST:
+                    return Double.toString(c.getTrust());
+                case F_TRUSTWORTHINESS:
+                    return Double.toString(c.getTrustworthiness());
+                default:
+                    Double value = c.getProperty(property);
+                    return value == null ? null : value.toString();
+            }
+        }
+
+        /**
+         * Check whether the values of the field are numbers, which can be set with
+         * set(Edge, double).
+         * @return True for the stats, trust, trustworthiness and property fields.
+         */
+        boolean isNumeric()
+        {
+            return !valueType().equals(TYPE_STRING);
+        }
+
+        /**
+         * Parse a value of a numeric field.
+         * @param value The value, which is not empty.
+         * @return The number.
+         * @throws IllegalArgumentException If the value is not a valid number for the field.
+         */
+        double parseValue(String value) throws IllegalArgumentException
+        {
+            return valueType().equals(TYPE_INT) ? Integer.parseInt(value) : Double.parseDouble(value);
+        }
+
+        /**
+         * Set the value of the field, creating the connection or stats it belongs to
+         * if the edge does not have them. New connections have an empty ID, and the
+         * connection type SOURCE or SINK according to their side of the edge.
+         * @param e The edge.
+         * @param value The value, which is not empty.
+         * @throws IllegalArgumentException If the value is not valid for the field.
+         */
+        void set(Edge e, String value) throws IllegalArgumentException
+        {
+            if (isIdentity()) {
+                return; // set when the edge is created
+            } else if (isNumeric()) {
+                set(e, parseValue(value));
+            } else {
+                connectionToSet(e).setConnectionID(value.equals(connectionType) ? connectionType : value); // share the common case of the type as the ID
+            }
+        }
+
+        /**
+         * Set the value of a numeric field, creating the connection or stats it
+         * belongs to if the edge does not have them.
+         * @param e The edge.
+         * @param value The value, as returned by parseValue(..).
+         */
+        void set(Edge e, double value)
+        {
+            switch (field) {
+                case F_NUM_INTERACTIONS:
+                    statsToSet(e).setNumInteractions((int) value);
+                    break;
+                case F_INTERACTION_STRENGTH:
+                    statsToSet(e).setInteractionStrength((int) value);
+                    break;
+                case F_TRUST:
+                    connectionToSet(e).setTrust(value);
+                    break;
+                case F_TRUSTWORTHINESS:
+                    connectionToSet(e).setTrustworthiness(value);
+                    break;
+                case F_PROPERTY:
+                    connectionToSet(e).setProperty(property, value);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private Connection connectionToSet(Edge e)
+        {
+            Connection c = side == ConnectionType.SOURCE ? e.getSourceConnection(typeId) : e.getSinkConnection(typeId);
+            if (c == null) {
+                c = new Connection("", side);
+                if (side == ConnectionType.SOURCE) {
+                    e.addSourceConnection(connectionType, c);
+                } else {
+                    e.addSinkConnection(connectionType, c);
+                }
+            }
+            return c;
+        }
+
+        private EdgeStats stats(Edge e)
+        {
+            if (connectionType == null) {
+                return e.hasEdgeStats() ? e.getEdgeStats() : null;
+            }
+            return e.getEdgeConnectionStats(typeId);
+        }
+
+        private EdgeStats statsToSet(Edge e)
+        {
+            if (connectionType == null) {
+                return e.getEdgeStats();
+            }
+            EdgeStats stats = e.getEdgeConnectionStats(typeId);
+            if (stats == null) {
+                stats = new EdgeStats();
+                e.addEdgeConnectionStats(connectionType, stats);
+            }
+            return stats;
+        }
+    }
+}
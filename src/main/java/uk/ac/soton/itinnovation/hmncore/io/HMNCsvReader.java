@@ -0,0 +1,281 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Reads a network written by the HMNCsvWriter, or by other tools, from CSV files
+ * (RFC 4180) with a header row: an edge list, read by read(..), and optionally a
+ * node list, read by readNodes(..) before the edges. Columns are identified by their
+ * name in the header (see ExchangeFormat), and columns with other names are ignored.
+ * The edge list needs a source and a sink (or target) column; the node list needs
+ * an id column.
+ *
+ * To read an edge list without a node list, set createMissingNodes. Large edge
+ * lists can be read on multiple threads with the HMNParallelCsvReader.
+ *
+ * @see HMNCsvWriter
+ * @see HMNParallelCsvReader
+ */
+public class HMNCsvReader extends HMNTextReader
+{
+    /**
+     * Default constructor, using the context class loader of the current thread to
+     * load node classes.
+     */
+    public HMNCsvReader()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructor setting the class loader used to load node classes.
+     * @param classLoader The class loader.
+     */
+    public HMNCsvReader(ClassLoader classLoader)
+    {
+        super(classLoader);
+    }
+
+    /**
+     * Read a node list and an edge list into a new HMN.
+     * @param nodesFile Path of the node list.
+     * @param edgesFile Path of the edge list.
+     * @return A new HMN object.
+     * @throws IOException If reading fails or either file is not valid.
+     */
+    public HMN read(Path nodesFile, Path edgesFile) throws IOException
+    {
+        HMN hmn = new HMN();
+        readNodes(nodesFile, hmn);
+        return read(edgesFile, hmn);
+    }
+
+    /**
+     * Read a node list from a file into the HMN provided.
+     * @param file Path of the file to read.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the file is not valid.
+     */
+    public HMN readNodes(Path file, HMN hmn) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readNodes(channel, hmn);
+        }
+    }
+
+    /**
+     * Read a node list from a stream into the HMN provided. The stream is not closed.
+     * @param in The stream to read from.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the input is not valid.
+     */
+    public HMN readNodes(InputStream in, HMN hmn) throws IOException
+    {
+        return readNodes(Channels.newChannel(in), hmn);
+    }
+
+    /**
+     * Read a node list from a channel into the HMN provided. The channel is not closed.
+     * @param channel The channel to read from.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the input is not valid.
+     */
+    public HMN readNodes(ReadableByteChannel channel, HMN hmn) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot read the nodes as the HMN provided was NULL");
+        }
+
+        ChunkedReader in = new ChunkedReader(channel);
+        ImportTarget target = newTarget(hmn);
+        List<String> record = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+        if (!readRecord(in, record, buf)) {
+            return hmn;
+        }
+
+        ExchangeFormat.NodeField[] fields = new ExchangeFormat.NodeField[record.size()];
+        int idColumn = -1;
+        int kindColumn = -1;
+        int classColumn = -1;
+        int creatorColumn = -1;
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = ExchangeFormat.NodeField.forKey(record.get(i).trim());
+            if (fields[i] == ExchangeFormat.NodeField.ID) {
+                idColumn = i;
+            } else if (fields[i] == ExchangeFormat.NodeField.KIND) {
+                kindColumn = i;
+            } else if (fields[i] == ExchangeFormat.NodeField.CLASS) {
+                classColumn = i;
+            } else if (fields[i] == ExchangeFormat.NodeField.CREATOR) {
+                creatorColumn = i;
+            }
+        }
+        if (idColumn < 0) {
+            throw new IOException("The CSV node list has no id column");
+        }
+
+        long row = 1;
+        while (readRecord(in, record, buf)) {
+            row++;
+            try {
+                Node n = target.newNode(value(record, idColumn), value(record, kindColumn), value(record, classColumn));
+                for (int i = 0; i < fields.length; i++) {
+                    String value = value(record, i);
+                    if (fields[i] != null && i != idColumn && ExchangeFormat.isSet(value)) {
+                        fields[i].set(n, value);
+                    }
+                }
+                target.addNode(n, value(record, creatorColumn));
+            } catch (IOException | IllegalArgumentException ex) {
+                throw new IOException("Invalid node in row " + row + ": " + ex.getMessage(), ex);
+            }
+        }
+        return hmn;
+    }
+
+    @Override
+    void parse(ChunkedReader in, ImportTarget target) throws IOException
+    {
+        List<String> record = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+        if (!readRecord(in, record, buf)) {
+            return;
+        }
+
+        ExchangeFormat.EdgeField[] fields = new ExchangeFormat.EdgeField[record.size()];
+        int idColumn = -1;
+        int sourceColumn = -1;
+        int sinkColumn = -1;
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = ExchangeFormat.EdgeField.parse(record.get(i).trim());
+            if (fields[i] == null) {
+                continue;
+            }
+            if (fields[i].isID()) {
+                idColumn = i;
+            } else if (fields[i].isSource()) {
+                sourceColumn = i;
+            } else if (fields[i].isSink()) {
+                sinkColumn = i;
+            }
+        }
+        if (sourceColumn < 0 || sinkColumn < 0) {
+            throw new IOException("The CSV edge list has no source and sink (or target) columns");
+        }
+        int[] order = ExchangeFormat.setOrder(fields);
+
+        long row = 1;
+        while (readRecord(in, record, buf)) {
+            row++;
+            try {
+                Edge e = target.newEdge(value(record, idColumn), value(record, sourceColumn), value(record, sinkColumn));
+                for (int i : order) {
+                    String value = value(record, i);
+                    if (ExchangeFormat.isSet(value)) {
+                        fields[i].set(e, value);
+                    }
+                }
+                target.addEdge(e);
+            } catch (IOException | IllegalArgumentException ex) {
+                throw new IOException("Invalid edge in row " + row + ": " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    static String value(List<String> record, int column)
+    {
+        return column >= 0 && column < record.size() ? record.get(column) : null;
+    }
+
+    /**
+     * Read the next non-empty record. Quoted fields may contain commas, quotes
+     * (written as two quotes) and line breaks.
+     * @param in The input.
+     * @param record The list to set the fields of the record in.
+     * @param buf Builder to use for the fields.
+     * @return False at the end of the input; true otherwise.
+     * @throws IOException If reading fails or a quoted field is not terminated.
+     */
+    static boolean readRecord(ChunkedReader in, List<String> record, StringBuilder buf) throws IOException
+    {
+        do {
+            record.clear();
+            buf.setLength(0);
+            if (in.peek() < 0) {
+                return false;
+            }
+
+            boolean quoted = false;
+            boolean end = false;
+            while (!end) {
+                int c = in.read();
+                if (quoted) {
+                    if (c < 0) {
+                        throw new IOException("Unterminated quoted field in CSV");
+                    } else if (c == '"') {
+                        if (in.peek() == '"') {
+                            buf.append((char) in.read());
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        buf.append((char) c);
+                    }
+                } else if (c == '"' && buf.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(buf.toString());
+                    buf.setLength(0);
+                } else if (c < 0 || c == '\n' || c == '\r') {
+                    if (c == '\r' && in.peek() == '\n') {
+                        in.read();
+                    }
+                    record.add(buf.toString());
+                    end = true;
+                } else {
+                    buf.append((char) c);
+                }
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+        return true;
+    }
+}
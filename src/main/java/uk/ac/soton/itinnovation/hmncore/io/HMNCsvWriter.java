@@ -0,0 +1,176 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Writes the network of an HMN as CSV (RFC 4180): an edge list with one row per
+ * edge, written by write(..), and optionally a node list with one row per agent and
+ * artefact, written by writeNodes(..). Both have a header row with the names of the
+ * fields (see ExchangeFormat). The edge list has a column for each field of each
+ * connection type used by the edges, which are found by iterating over the edges
+ * before writing them.
+ *
+ * @see HMNCsvReader
+ */
+public class HMNCsvWriter extends HMNTextWriter
+{
+    /**
+     * Default constructor.
+     */
+    public HMNCsvWriter()
+    {
+
+    }
+
+    /**
+     * Write the agents and artefacts of an HMN to a file, replacing the file if it exists.
+     * @param hmn The HMN.
+     * @param file Path of the file to write.
+     * @throws IOException If writing fails.
+     */
+    public void writeNodes(HMN hmn, Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeNodes(hmn, channel);
+        }
+    }
+
+    /**
+     * Write the agents and artefacts of an HMN to an output stream. The stream is flushed but not closed.
+     * @param hmn The HMN.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    public void writeNodes(HMN hmn, OutputStream out) throws IOException
+    {
+        writeNodes(hmn, Channels.newChannel(out));
+        out.flush();
+    }
+
+    /**
+     * Write the agents and artefacts of an HMN to a channel. The channel is not closed.
+     * @param hmn The HMN.
+     * @param channel The channel to write to.
+     * @throws IOException If writing fails.
+     */
+    public void writeNodes(HMN hmn, WritableByteChannel channel) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot write the nodes as the HMN provided was NULL");
+        }
+
+        ChunkedWriter out = new ChunkedWriter(channel);
+        ExchangeFormat.NodeField[] fields = ExchangeFormat.NodeField.values();
+        for (int i = 0; i < fields.length; i++) {
+            writeValue(out, fields[i].key, i);
+        }
+        out.write("\r\n");
+
+        for (Agent a : hmn.getAgents()) {
+            writeNode(out, a, fields);
+        }
+        for (Artefact a : hmn.getArtefacts()) {
+            writeNode(out, a, fields);
+        }
+        out.finish();
+    }
+
+    @Override
+    void format(HMN hmn, ChunkedWriter out) throws IOException
+    {
+        List<ExchangeFormat.EdgeField> fields = ExchangeFormat.edgeFields(hmn.getEdges());
+        for (int i = 0; i < fields.size(); i++) {
+            writeValue(out, fields.get(i).key, i);
+        }
+        out.write("\r\n");
+
+        for (Edge e : hmn.getEdges()) {
+            for (int i = 0; i < fields.size(); i++) {
+                writeValue(out, fields.get(i).get(e), i);
+            }
+            out.write("\r\n");
+        }
+    }
+
+    private static void writeNode(ChunkedWriter out, Node n, ExchangeFormat.NodeField[] fields) throws IOException
+    {
+        ExchangeFormat.nodeID(n);
+        for (int i = 0; i < fields.length; i++) {
+            writeValue(out, fields[i].get(n), i);
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Write a value, quoting it if it contains a comma, quote or line break.
+     * @param out The output to write to.
+     * @param value The value, which is written as an empty field if NULL.
+     * @param column The index of the column, to write the separator before the value.
+     * @throws IOException If writing fails.
+     */
+    static void writeValue(ChunkedWriter out, String value, int column) throws IOException
+    {
+        if (column > 0) {
+            out.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
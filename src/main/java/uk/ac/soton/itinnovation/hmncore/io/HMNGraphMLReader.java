@@ -0,0 +1,283 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Reads a network written by the HMNGraphMLWriter, or by other tools, from GraphML.
+ * The document is parsed as a stream (StAX), and each node and edge is added to the
+ * HMN at the end of its element. Data is mapped to the fields of nodes and edges
+ * (see ExchangeFormat) by the attribute name of its key; data for other keys is
+ * ignored, as are hyperedges and ports. Nested graphs are not supported.
+ *
+ * Edges are directed from their source to their target, whatever the edge default
+ * of the graph.
+ *
+ * @see HMNGraphMLWriter
+ */
+public class HMNGraphMLReader extends HMNTextReader
+{
+    private static final int IN_GRAPH = 0;
+    private static final int IN_NODE = 1;
+    private static final int IN_EDGE = 2;
+
+    /**
+     * Default constructor, using the context class loader of the current thread to
+     * load node classes.
+     */
+    public HMNGraphMLReader()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructor setting the class loader used to load node classes.
+     * @param classLoader The class loader.
+     */
+    public HMNGraphMLReader(ClassLoader classLoader)
+    {
+        super(classLoader);
+    }
+
+    @Override
+    void parse(ChunkedReader in, ImportTarget target) throws IOException
+    {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        XMLStreamReader xml = null;
+        try {
+            xml = factory.createXMLStreamReader(in);
+            new Parser(xml, target).parse();
+        } catch (XMLStreamException ex) {
+            throw new IOException("Invalid GraphML: " + ex.getMessage(), ex);
+        } catch (IOException | IllegalArgumentException ex) {
+            int line = xml == null ? -1 : xml.getLocation().getLineNumber();
+            throw new IOException("Invalid GraphML at line " + line + ": " + ex.getMessage(), ex);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException ex) {
+                    // the input is closed by the caller
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of parsing a document: the keys declared so far, and the values of
+     * the node or edge being read.
+     */
+    private static class Parser
+    {
+        private final XMLStreamReader xml;
+        private final ImportTarget target;
+        private final Map<String, ExchangeFormat.NodeField> nodeKeys = new HashMap<>();
+        private final Map<String, Integer> edgeKeys = new HashMap<>(); // key ID -> index in edgeFields
+        private final Map<String, String> graphKeys = new HashMap<>();
+        private final List<ExchangeFormat.EdgeField> edgeFields = new ArrayList<>();
+        private final String[] nodeValues = new String[ExchangeFormat.NodeField.values().length];
+        private String[] edgeValues;
+        private int[] order;
+        private int graphDepth;
+        private int element = IN_GRAPH;
+        private String id;
+        private String source;
+        private String sink;
+
+        Parser(XMLStreamReader xml, ImportTarget target)
+        {
+            this.xml = xml;
+            this.target = target;
+        }
+
+        void parse() throws XMLStreamException, IOException
+        {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    startElement(xml.getLocalName());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    endElement(xml.getLocalName());
+                }
+            }
+        }
+
+        private void startElement(String name) throws XMLStreamException, IOException
+        {
+            switch (name) {
+                case "key":
+                    declareKey(xml.getAttributeValue(null, "id"), xml.getAttributeValue(null, "for"), xml.getAttributeValue(null, "attr.name"));
+                    skipElement();
+                    break;
+                case "graph":
+                    if (++graphDepth > 1) {
+                        throw new IOException("Nested graphs are not supported");
+                    }
+                    element = IN_GRAPH;
+                    break;
+                case "node":
+                    Arrays.fill(nodeValues, null);
+                    nodeValues[ExchangeFormat.NodeField.ID.ordinal()] = xml.getAttributeValue(null, "id");
+                    element = IN_NODE;
+                    break;
+                case "edge":
+                    if (edgeValues == null || edgeValues.length != edgeFields.size()) {
+                        edgeValues = new String[edgeFields.size()];
+                        order = ExchangeFormat.setOrder(edgeFields.toArray(new ExchangeFormat.EdgeField[edgeFields.size()]));
+                    }
+                    Arrays.fill(edgeValues, null);
+                    id = xml.getAttributeValue(null, "id");
+                    source = xml.getAttributeValue(null, "source");
+                    sink = xml.getAttributeValue(null, "target");
+                    element = IN_EDGE;
+                    break;
+                case "data":
+                    data(xml.getAttributeValue(null, "key"));
+                    break;
+                case "hyperedge":
+                case "port":
+                case "desc":
+                    skipElement();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void endElement(String name) throws IOException
+        {
+            switch (name) {
+                case "graph":
+                    graphDepth--;
+                    break;
+                case "node": {
+                    Node n = target.newNode(nodeValues[ExchangeFormat.NodeField.ID.ordinal()],
+                                            nodeValues[ExchangeFormat.NodeField.KIND.ordinal()],
+                                            nodeValues[ExchangeFormat.NodeField.CLASS.ordinal()]);
+                    for (ExchangeFormat.NodeField f : ExchangeFormat.NodeField.values()) {
+                        String value = nodeValues[f.ordinal()];
+                        if (f != ExchangeFormat.NodeField.ID && ExchangeFormat.isSet(value)) {
+                            f.set(n, value);
+                        }
+                    }
+                    target.addNode(n, nodeValues[ExchangeFormat.NodeField.CREATOR.ordinal()]);
+                    element = IN_GRAPH;
+                    break;
+                }
+                case "edge": {
+                    Edge e = target.newEdge(id, source, sink);
+                    for (int i : order) {
+                        if (ExchangeFormat.isSet(edgeValues[i])) {
+                            edgeFields.get(i).set(e, edgeValues[i]);
+                        }
+                    }
+                    target.addEdge(e);
+                    element = IN_GRAPH;
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+
+        private void declareKey(String key, String domain, String name)
+        {
+            if (key == null || name == null) {
+                return;
+            }
+            boolean all = domain == null || domain.equals("all");
+            if (all || domain.equals("node")) {
+                ExchangeFormat.NodeField f = ExchangeFormat.NodeField.forKey(name);
+                if (f != null && f != ExchangeFormat.NodeField.ID) {
+                    nodeKeys.put(key, f);
+                }
+            }
+            if (all || domain.equals("edge")) {
+                ExchangeFormat.EdgeField f = ExchangeFormat.EdgeField.parse(name);
+                if (f != null && !f.isIdentity()) {
+                    edgeKeys.put(key, edgeFields.size());
+                    edgeFields.add(f);
+                }
+            }
+            if (all || domain.equals("graph")) {
+                if (name.equals(ExchangeFormat.HMN_NAME) || name.equals(ExchangeFormat.HMN_DATE_TIME)) {
+                    graphKeys.put(key, name);
+                }
+            }
+        }
+
+        private void data(String key) throws XMLStreamException
+        {
+            if (element == IN_NODE && nodeKeys.containsKey(key)) {
+                nodeValues[nodeKeys.get(key).ordinal()] = xml.getElementText().trim();
+            } else if (element == IN_EDGE && edgeKeys.containsKey(key)) {
+                edgeValues[edgeKeys.get(key)] = xml.getElementText().trim();
+            } else if (element == IN_GRAPH && graphKeys.containsKey(key)) {
+                String value = xml.getElementText();
+                HMN hmn = target.getHMN();
+                if (graphKeys.get(key).equals(ExchangeFormat.HMN_NAME)) {
+                    hmn.setName(value);
+                } else if (ExchangeFormat.isSet(value.trim())) {
+                    hmn.setCurrentDateTime(ExchangeFormat.parseDateTime(value.trim()));
+                }
+            } else {
+                skipElement();
+            }
+        }
+
+        /**
+         * Skip the rest of the current element, including any child elements.
+         * @throws XMLStreamException If parsing fails.
+         */
+        private void skipElement() throws XMLStreamException
+        {
+            int depth = 1;
+            while (depth > 0) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Writes the network of an HMN as GraphML, with a directed graph containing a node
+ * element per agent and artefact and an edge element per edge. The fields of nodes
+ * and edges (see ExchangeFormat) are declared as GraphML keys, with the field name
+ * as the attribute name, and written as data elements. The keys for the connection
+ * types used by the edges are found by iterating over the edges before writing them.
+ *
+ * Tabs and line breaks in attribute values (e.g., node and edge IDs, and connection
+ * types in key names), and carriage returns in data, are written as character
+ * references, as XML parsers would otherwise normalise them to spaces or line feeds.
+ *
+ * @see HMNGraphMLReader
+ */
+public class HMNGraphMLWriter extends HMNTextWriter
+{
+    static final String NAMESPACE = "http://graphml.graphdrawing.org/xmlns";
+    static final String SCHEMA_LOCATION = NAMESPACE + " http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd";
+    static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    /**
+     * Default constructor.
+     */
+    public HMNGraphMLWriter()
+    {
+
+    }
+
+    @Override
+    void format(HMN hmn, ChunkedWriter out) throws IOException
+    {
+        ExchangeFormat.NodeField[] nodeFields = ExchangeFormat.NodeField.values();
+        List<ExchangeFormat.EdgeField> edgeFields = ExchangeFormat.edgeFields(hmn.getEdges());
+
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(new WhitespaceEscapingWriter(out));
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.setDefaultNamespace(NAMESPACE);
+            xml.writeStartElement(NAMESPACE, "graphml");
+            xml.writeDefaultNamespace(NAMESPACE);
+            xml.writeNamespace("xsi", XSI_NAMESPACE);
+            xml.writeAttribute(XSI_NAMESPACE, "schemaLocation", SCHEMA_LOCATION);
+
+            writeKey(xml, "g0", "graph", ExchangeFormat.HMN_NAME, ExchangeFormat.TYPE_STRING);
+            writeKey(xml, "g1", "graph", ExchangeFormat.HMN_DATE_TIME, ExchangeFormat.TYPE_STRING);
+            for (int i = 0; i < nodeFields.length; i++) {
+                if (nodeFields[i] != ExchangeFormat.NodeField.ID) {
+                    writeKey(xml, "n" + i, "node", nodeFields[i].key, nodeFields[i].type);
+                }
+            }
+            for (int i = 0; i < edgeFields.size(); i++) {
+                ExchangeFormat.EdgeField f = edgeFields.get(i);
+                if (!f.isIdentity()) {
+                    writeKey(xml, "e" + i, "edge", f.key, f.valueType());
+                }
+            }
+
+            xml.writeCharacters("\n  ");
+            xml.writeStartElement(NAMESPACE, "graph");
+            xml.writeAttribute("id", "G");
+            xml.writeAttribute("edgedefault", "directed");
+            writeData(xml, "g0", hmn.getName(), "\n    ");
+            writeData(xml, "g1", ExchangeFormat.formatDateTime(hmn.getCurrentDateTime()), "\n    ");
+
+            for (Agent a : hmn.getAgents()) {
+                writeNode(xml, a, nodeFields);
+            }
+            for (Artefact a : hmn.getArtefacts()) {
+                writeNode(xml, a, nodeFields);
+            }
+
+            for (Edge e : hmn.getEdges()) {
+                xml.writeCharacters("\n    ");
+                xml.writeStartElement(NAMESPACE, "edge");
+                if (e.getEdgeID() != null) {
+                    xml.writeAttribute("id", e.getEdgeID());
+                }
+                xml.writeAttribute("source", ExchangeFormat.nodeID(e.getSourceNode()));
+                xml.writeAttribute("target", ExchangeFormat.nodeID(e.getSinkNode()));
+                for (int i = 0; i < edgeFields.size(); i++) {
+                    ExchangeFormat.EdgeField f = edgeFields.get(i);
+                    if (!f.isIdentity()) {
+                        writeData(xml, "e" + i, f.get(e), "\n      ");
+                    }
+                }
+                xml.writeCharacters("\n    ");
+                xml.writeEndElement();
+            }
+
+            xml.writeCharacters("\n  ");
+            xml.writeEndElement(); // graph
+            xml.writeCharacters("\n");
+            xml.writeEndElement(); // graphml
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException ex) {
+            throw new IOException("Failed to write GraphML", ex);
+        }
+    }
+
+    private static void writeKey(XMLStreamWriter xml, String id, String target, String name, String type) throws XMLStreamException
+    {
+        xml.writeCharacters("\n  ");
+        xml.writeEmptyElement(NAMESPACE, "key");
+        xml.writeAttribute("id", id);
+        xml.writeAttribute("for", target);
+        xml.writeAttribute("attr.name", name);
+        xml.writeAttribute("attr.type", type);
+    }
+
+    private static void writeNode(XMLStreamWriter xml, Node n, ExchangeFormat.NodeField[] fields) throws XMLStreamException, IOException
+    {
+        xml.writeCharacters("\n    ");
+        xml.writeStartElement(NAMESPACE, "node");
+        xml.writeAttribute("id", ExchangeFormat.nodeID(n));
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != ExchangeFormat.NodeField.ID) {
+                writeData(xml, "n" + i, fields[i].get(n), "\n      ");
+            }
+        }
+        xml.writeCharacters("\n    ");
+        xml.writeEndElement();
+    }
+
+    private static void writeData(XMLStreamWriter xml, String key, String value, String indent) throws XMLStreamException
+    {
+        if (value == null) {
+            return;
+        }
+        xml.writeCharacters(indent);
+        xml.writeStartElement(NAMESPACE, "data");
+        xml.writeAttribute("key", key);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    /**
+     * Writes the whitespace characters that XML parsers normalise as character
+     * references: tabs, line feeds and carriage returns within attribute values, and
+     * carriage returns elsewhere. The XMLStreamWriter escapes '&lt;' and '"' in
+     * attribute values and '&lt;' in text, so a '&lt;' starts a tag, and a '"' within a
+     * tag starts or ends an attribute value.
+     */
+    private static class WhitespaceEscapingWriter extends FilterWriter
+    {
+        private boolean inTag;
+        private boolean inValue;
+
+        WhitespaceEscapingWriter(Writer out)
+        {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException
+        {
+            String ref = escape((char) c);
+            if (ref != null) {
+                out.write(ref);
+            } else {
+                out.write(c);
+            }
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) throws IOException
+        {
+            int start = off;
+            for (int i = off; i < off + len; i++) {
+                String ref = escape(buf[i]);
+                if (ref != null) {
+                    out.write(buf, start, i - start);
+                    out.write(ref);
+                    start = i + 1;
+                }
+            }
+            out.write(buf, start, off + len - start);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException
+        {
+            int start = off;
+            for (int i = off; i < off + len; i++) {
+                String ref = escape(str.charAt(i));
+                if (ref != null) {
+                    out.write(str, start, i - start);
+                    out.write(ref);
+                    start = i + 1;
+                }
+            }
+            out.write(str, start, off + len - start);
+        }
+
+        /**
+         * Track the position in the markup, and get the character reference to write
+         * for a character, if it must be escaped.
+         * @param c The character written.
+         * @return The character reference, or null to write the character itself.
+         */
+        private String escape(char c)
+        {
+            if (inValue) {
+                switch (c) {
+                    case '"':
+                        inValue = false;
+                        return null;
+                    case '\t':
+                        return "&#9;";
+                    case '\n':
+                        return "&#10;";
+                    case '\r':
+                        return "&#13;";
+                    default:
+                        return null;
+                }
+            }
+            if (inTag) {
+                if (c == '"') {
+                    inValue = true;
+                } else if (c == '>') {
+                    inTag = false;
+                }
+                return null;
+            }
+            if (c == '<') {
+                inTag = true;
+            }
+            return c == '\r' ? "&#13;" : null;
+        }
+    }
+}
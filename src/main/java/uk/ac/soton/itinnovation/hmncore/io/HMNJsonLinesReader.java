@@ -0,0 +1,456 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Reads a network written by the HMNJsonLinesWriter, or by other tools, from JSON
+ * Lines: one JSON object per line, each of which is parsed and added to the HMN
+ * before the next line is read. The kind of each record is given by its "record"
+ * member; records without one are read as edges if they have a source and a sink
+ * (or target), and as nodes otherwise. Members that are not fields of nodes or
+ * edges (see ExchangeFormat and HMNJsonLinesWriter) are ignored, as are blank lines.
+ *
+ * @see HMNJsonLinesWriter
+ */
+public class HMNJsonLinesReader extends HMNTextReader
+{
+    /**
+     * Default constructor, using the context class loader of the current thread to
+     * load node classes.
+     */
+    public HMNJsonLinesReader()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructor setting the class loader used to load node classes.
+     * @param classLoader The class loader.
+     */
+    public HMNJsonLinesReader(ClassLoader classLoader)
+    {
+        super(classLoader);
+    }
+
+    @Override
+    void parse(ChunkedReader in, ImportTarget target) throws IOException
+    {
+        StringBuilder line = new StringBuilder();
+        JsonParser parser = new JsonParser();
+        EdgeReader edges = new EdgeReader(target);
+
+        long lineNumber = 0;
+        while (in.readLine(line)) {
+            lineNumber++;
+            try {
+                if (isBlank(line)) {
+                    continue;
+                }
+
+                Map<String, Object> record = parser.parseObject(line);
+                String kind = text(record.get(HMNJsonLinesWriter.RECORD));
+                if (kind == null) {
+                    boolean isEdge = record.containsKey(ExchangeFormat.EdgeField.SOURCE)
+                                     && (record.containsKey(ExchangeFormat.EdgeField.SINK) || record.containsKey(ExchangeFormat.EdgeField.TARGET));
+                    kind = isEdge ? HMNJsonLinesWriter.RECORD_EDGE : HMNJsonLinesWriter.RECORD_NODE;
+                }
+
+                switch (kind) {
+                    case HMNJsonLinesWriter.RECORD_HMN:
+                        readHMN(record, target.getHMN());
+                        break;
+                    case HMNJsonLinesWriter.RECORD_NODE:
+                        readNode(record, target);
+                        break;
+                    case HMNJsonLinesWriter.RECORD_EDGE:
+                        edges.read(record);
+                        break;
+                    default:
+                        throw new IOException("Unknown kind of record: " + kind);
+                }
+            } catch (IOException | IllegalArgumentException ex) {
+                throw new IOException("Invalid record at line " + lineNumber + ": " + ex.getMessage(), ex);
+            } finally {
+                line.setLength(0);
+            }
+        }
+    }
+
+    private static boolean isBlank(CharSequence line)
+    {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readHMN(Map<String, Object> record, HMN hmn)
+    {
+        if (record.containsKey(ExchangeFormat.HMN_NAME)) {
+            hmn.setName(text(record.get(ExchangeFormat.HMN_NAME)));
+        }
+        String dateTime = text(record.get(ExchangeFormat.HMN_DATE_TIME));
+        if (ExchangeFormat.isSet(dateTime)) {
+            hmn.setCurrentDateTime(ExchangeFormat.parseDateTime(dateTime));
+        }
+    }
+
+    private static void readNode(Map<String, Object> record, ImportTarget target) throws IOException
+    {
+        Node n = target.newNode(text(record.get(ExchangeFormat.NodeField.ID.key)),
+                                text(record.get(ExchangeFormat.NodeField.KIND.key)),
+                                text(record.get(ExchangeFormat.NodeField.CLASS.key)));
+        for (ExchangeFormat.NodeField f : ExchangeFormat.NodeField.values()) {
+            String value = text(record.get(f.key));
+            if (f != ExchangeFormat.NodeField.ID && ExchangeFormat.isSet(value)) {
+                f.set(n, value);
+            }
+        }
+        target.addNode(n, text(record.get(ExchangeFormat.NodeField.CREATOR.key)));
+    }
+
+    /**
+     * Get the text of a scalar value.
+     * @param value The value parsed.
+     * @return The text, or null for a missing or null value.
+     * @throws IllegalArgumentException If the value is an object or array.
+     */
+    private static String text(Object value) throws IllegalArgumentException
+    {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw new IllegalArgumentException("Expected a string or number, but found " + (value instanceof Map ? "an object" : "an array"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Object value) throws IllegalArgumentException
+    {
+        if (value == null || value instanceof Map) {
+            return (Map<String, Object>) value;
+        }
+        throw new IllegalArgumentException("Expected an object");
+    }
+
+    /**
+     * Reads edge records, mapping the nested members of the connection types to the
+     * edge fields with the same names (e.g., T.source.trust), which are cached.
+     */
+    private static class EdgeReader
+    {
+        private final ImportTarget target;
+        private final Map<String, ExchangeFormat.EdgeField> fields = new HashMap<>();
+        private final List<ExchangeFormat.EdgeField> recordFields = new ArrayList<>();
+        private final List<String> recordValues = new ArrayList<>();
+
+        EdgeReader(ImportTarget target)
+        {
+            this.target = target;
+        }
+
+        void read(Map<String, Object> record) throws IOException
+        {
+            String sink = text(record.get(ExchangeFormat.EdgeField.SINK));
+            if (sink == null) {
+                sink = text(record.get(ExchangeFormat.EdgeField.TARGET));
+            }
+            Edge e = target.newEdge(text(record.get(ExchangeFormat.EdgeField.ID)), text(record.get(ExchangeFormat.EdgeField.SOURCE)), sink);
+
+            recordFields.clear();
+            recordValues.clear();
+            add(ExchangeFormat.EdgeField.NUM_INTERACTIONS, record.get(ExchangeFormat.EdgeField.NUM_INTERACTIONS));
+            add(ExchangeFormat.EdgeField.INTERACTION_STRENGTH, record.get(ExchangeFormat.EdgeField.INTERACTION_STRENGTH));
+
+            Map<String, Object> connections = object(record.get(HMNJsonLinesWriter.CONNECTIONS));
+            if (connections != null) {
+                for (Map.Entry<String, Object> type : connections.entrySet()) {
+                    Map<String, Object> members = object(type.getValue());
+                    if (members == null) {
+                        continue;
+                    }
+                    for (Map.Entry<String, Object> m : members.entrySet()) {
+                        if (m.getKey().equals(ExchangeFormat.EdgeField.SOURCE) || m.getKey().equals(ExchangeFormat.EdgeField.SINK)) {
+                            addConnection(type.getKey() + "." + m.getKey() + ".", object(m.getValue()));
+                        } else {
+                            add(type.getKey() + "." + m.getKey(), m.getValue());
+                        }
+                    }
+                }
+            }
+
+            // the aggregate stats are set last, as setting the stats of the connection types also changes them
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < recordFields.size(); i++) {
+                    ExchangeFormat.EdgeField f = recordFields.get(i);
+                    if (f.isAggregate() == (pass == 1)) {
+                        f.set(e, recordValues.get(i));
+                    }
+                }
+            }
+            target.addEdge(e);
+        }
+
+        private void addConnection(String prefix, Map<String, Object> connection)
+        {
+            if (connection == null) {
+                return;
+            }
+            for (Map.Entry<String, Object> m : connection.entrySet()) {
+                if (m.getKey().equals(HMNJsonLinesWriter.PROPERTIES)) {
+                    Map<String, Object> properties = object(m.getValue());
+                    if (properties != null) {
+                        for (Map.Entry<String, Object> p : properties.entrySet()) {
+                            add(prefix + "property." + p.getKey(), p.getValue());
+                        }
+                    }
+                } else {
+                    add(prefix + m.getKey(), m.getValue());
+                }
+            }
+        }
+
+        private void add(String key, Object value)
+        {
+            String text = text(value);
+            if (!ExchangeFormat.isSet(text)) {
+                return;
+            }
+
+            ExchangeFormat.EdgeField f = fields.get(key);
+            if (f == null && !fields.containsKey(key)) {
+                f = ExchangeFormat.EdgeField.parse(key);
+                fields.put(key, f);
+            }
+            if (f != null && !f.isIdentity()) {
+                recordFields.add(f);
+                recordValues.add(text);
+            }
+        }
+    }
+
+    /**
+     * A parser for a line of JSON. Objects are parsed to maps (in the order of their
+     * members) and arrays to lists; strings and numbers are both parsed to strings
+     * (numbers as written), and true and false to the strings "true" and "false".
+     */
+    private static class JsonParser
+    {
+        private CharSequence s;
+        private int pos;
+
+        Map<String, Object> parseObject(CharSequence text) throws IOException
+        {
+            s = text;
+            pos = 0;
+            skipWhitespace();
+            if (pos >= s.length() || s.charAt(pos) != '{') {
+                throw error("Expected a JSON object");
+            }
+            Object value = value();
+            skipWhitespace();
+            if (pos < s.length()) {
+                throw error("Unexpected characters after the JSON object");
+            }
+            return object(value);
+        }
+
+        private Object value() throws IOException
+        {
+            skipWhitespace();
+            if (pos >= s.length()) {
+                throw error("Unexpected end of line");
+            }
+
+            char c = s.charAt(pos);
+            switch (c) {
+                case '{': {
+                    pos++;
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    skipWhitespace();
+                    if (peek() == '}') {
+                        pos++;
+                        return map;
+                    }
+                    while (true) {
+                        skipWhitespace();
+                        if (peek() != '"') {
+                            throw error("Expected a member name");
+                        }
+                        String name = string();
+                        skipWhitespace();
+                        expect(':');
+                        map.put(name, value());
+                        skipWhitespace();
+                        if (peek() == ',') {
+                            pos++;
+                        } else {
+                            expect('}');
+                            return map;
+                        }
+                    }
+                }
+                case '[': {
+                    pos++;
+                    List<Object> list = new ArrayList<>();
+                    skipWhitespace();
+                    if (peek() == ']') {
+                        pos++;
+                        return list;
+                    }
+                    while (true) {
+                        list.add(value());
+                        skipWhitespace();
+                        if (peek() == ',') {
+                            pos++;
+                        } else {
+                            expect(']');
+                            return list;
+                        }
+                    }
+                }
+                case '"':
+                    return string();
+                case 't':
+                    literal("true");
+                    return "true";
+                case 'f':
+                    literal("false");
+                    return "false";
+                case 'n':
+                    literal("null");
+                    return null;
+                default: {
+                    int start = pos;
+                    while (pos < s.length() && "+-0123456789.eE".indexOf(s.charAt(pos)) >= 0) {
+                        pos++;
+                    }
+                    if (pos == start) {
+                        throw error("Unexpected character '" + c + "'");
+                    }
+                    return s.subSequence(start, pos).toString();
+                }
+            }
+        }
+
+        private String string() throws IOException
+        {
+            pos++; // opening quote
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= s.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = s.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                } else if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+
+                if (pos >= s.length()) {
+                    throw error("Unterminated string");
+                }
+                char escaped = s.charAt(pos++);
+                switch (escaped) {
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > s.length()) {
+                            throw error("Invalid unicode escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(s.subSequence(pos, pos + 4).toString(), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Invalid unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped); // quote, backslash and slash
+                        break;
+                }
+            }
+        }
+
+        private void literal(String literal) throws IOException
+        {
+            if (pos + literal.length() > s.length() || !s.subSequence(pos, pos + literal.length()).toString().equals(literal)) {
+                throw error("Unexpected character '" + s.charAt(pos) + "'");
+            }
+            pos += literal.length();
+        }
+
+        private void expect(char c) throws IOException
+        {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private int peek()
+        {
+            return pos < s.length() ? s.charAt(pos) : -1;
+        }
+
+        private void skipWhitespace()
+        {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IOException error(String message)
+        {
+            return new IOException(message + " at column " + (pos + 1));
+        }
+    }
+}
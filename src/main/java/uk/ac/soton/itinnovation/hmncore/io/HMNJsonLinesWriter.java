@@ -0,0 +1,267 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.util.Map;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionTypeRegistry;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Writes the network of an HMN as JSON Lines: one JSON object per line, with a
+ * "record" member giving the kind of record. The first line is the HMN record
+ * (its name and date/time), followed by a node record per agent and artefact, and
+ * an edge record per edge. Node records have a member per field (see ExchangeFormat);
+ * edge records have the id, source, sink and aggregate edge stats, and a
+ * "connections" object with a member per connection type, e.g.:
+ *
+ *   {"record":"edge","id":"e1","source":"a1","sink":"a2","numInteractions":3,"interactionStrength":0,
+ *    "connections":{"social":{"numInteractions":3,"interactionStrength":0,
+ *                             "source":{"id":"social","trust":0.5,"trustworthiness":0.7,"properties":{"k":1.0}},
+ *                             "sink":{"id":"social","trust":0.4,"trustworthiness":0.6}}}}
+ *
+ * Numbers that are not finite are written as strings.
+ *
+ * @see HMNJsonLinesReader
+ */
+public class HMNJsonLinesWriter extends HMNTextWriter
+{
+    static final String RECORD = "record";
+    static final String RECORD_HMN = "hmn";
+    static final String RECORD_NODE = "node";
+    static final String RECORD_EDGE = "edge";
+    static final String CONNECTIONS = "connections";
+    static final String PROPERTIES = "properties";
+
+    /**
+     * Default constructor.
+     */
+    public HMNJsonLinesWriter()
+    {
+
+    }
+
+    @Override
+    void format(HMN hmn, ChunkedWriter out) throws IOException
+    {
+        StringBuilder line = new StringBuilder();
+
+        line.append('{');
+        member(line, RECORD, RECORD_HMN);
+        if (hmn.getName() != null) {
+            member(line, ExchangeFormat.HMN_NAME, hmn.getName());
+        }
+        if (hmn.getCurrentDateTime() != null) {
+            member(line, ExchangeFormat.HMN_DATE_TIME, ExchangeFormat.formatDateTime(hmn.getCurrentDateTime()));
+        }
+        writeLine(out, line);
+
+        ExchangeFormat.NodeField[] fields = ExchangeFormat.NodeField.values();
+        for (Agent a : hmn.getAgents()) {
+            writeNode(out, line, a, fields);
+        }
+        for (Artefact a : hmn.getArtefacts()) {
+            writeNode(out, line, a, fields);
+        }
+
+        for (Edge e : hmn.getEdges()) {
+            line.append('{');
+            member(line, RECORD, RECORD_EDGE);
+            if (e.getEdgeID() != null) {
+                member(line, ExchangeFormat.EdgeField.ID, e.getEdgeID());
+            }
+            member(line, ExchangeFormat.EdgeField.SOURCE, ExchangeFormat.nodeID(e.getSourceNode()));
+            member(line, ExchangeFormat.EdgeField.SINK, ExchangeFormat.nodeID(e.getSinkNode()));
+            if (e.hasEdgeStats()) {
+                stats(line, e.getEdgeStats());
+            }
+
+            boolean first = true;
+            for (int typeId = 0; typeId < ConnectionTypeRegistry.size(); typeId++) {
+                Connection source = e.getSourceConnection(typeId);
+                Connection sink = e.getSinkConnection(typeId);
+                EdgeStats stats = e.getEdgeConnectionStats(typeId);
+                if (source == null && sink == null && stats == null) {
+                    continue;
+                }
+
+                if (first) {
+                    name(line, CONNECTIONS).append('{');
+                    first = false;
+                }
+                name(line, ConnectionTypeRegistry.name(typeId)).append('{');
+                if (stats != null) {
+                    stats(line, stats);
+                }
+                if (source != null) {
+                    connection(name(line, ExchangeFormat.EdgeField.SOURCE), source);
+                }
+                if (sink != null) {
+                    connection(name(line, ExchangeFormat.EdgeField.SINK), sink);
+                }
+                endObject(line);
+            }
+            if (!first) {
+                endObject(line);
+            }
+            writeLine(out, line);
+        }
+    }
+
+    private static void writeNode(ChunkedWriter out, StringBuilder line, Node n, ExchangeFormat.NodeField[] fields) throws IOException
+    {
+        ExchangeFormat.nodeID(n);
+        line.append('{');
+        member(line, RECORD, RECORD_NODE);
+        for (ExchangeFormat.NodeField f : fields) {
+            String value = f.get(n);
+            if (value == null) {
+                continue;
+            }
+            if (f.type.equals(ExchangeFormat.TYPE_STRING)) {
+                member(line, f.key, value);
+            } else {
+                number(name(line, f.key), value);
+            }
+        }
+        writeLine(out, line);
+    }
+
+    private static void stats(StringBuilder line, EdgeStats stats)
+    {
+        name(line, ExchangeFormat.EdgeField.NUM_INTERACTIONS).append(stats.getNumInteractions());
+        name(line, ExchangeFormat.EdgeField.INTERACTION_STRENGTH).append(stats.getInteractionStrength());
+    }
+
+    private static void connection(StringBuilder line, Connection c)
+    {
+        line.append('{');
+        if (c.getConnectionID() != null) {
+            member(line, ExchangeFormat.EdgeField.CONNECTION_ID, c.getConnectionID());
+        }
+        number(name(line, ExchangeFormat.EdgeField.TRUST), Double.toString(c.getTrust()));
+        number(name(line, ExchangeFormat.EdgeField.TRUSTWORTHINESS), Double.toString(c.getTrustworthiness()));
+
+        Map<String, Double> properties = c.getProperties();
+        if (properties != null && !properties.isEmpty()) {
+            name(line, PROPERTIES).append('{');
+            for (Map.Entry<String, Double> p : properties.entrySet()) {
+                if (p.getValue() != null) {
+                    number(name(line, p.getKey()), p.getValue().toString());
+                }
+            }
+            endObject(line);
+        }
+        endObject(line);
+    }
+
+    private static void writeLine(ChunkedWriter out, StringBuilder line) throws IOException
+    {
+        endObject(line);
+        line.append('\n');
+        out.append(line);
+        line.setLength(0);
+    }
+
+    private static void endObject(StringBuilder line)
+    {
+        line.append('}');
+    }
+
+    private static void member(StringBuilder line, String name, String value)
+    {
+        string(name(line, name), value);
+    }
+
+    /**
+     * Append the name of a member, preceded by a separator unless it is the first
+     * member of the object.
+     * @param line The line being written.
+     * @param name The name of the member.
+     * @return The line.
+     */
+    private static StringBuilder name(StringBuilder line, String name)
+    {
+        if (line.charAt(line.length() - 1) != '{') {
+            line.append(',');
+        }
+        return string(line, name).append(':');
+    }
+
+    private static void number(StringBuilder line, String value)
+    {
+        char last = value.charAt(value.length() - 1);
+        if (last == 'N' || last == 'y') {
+            string(line, value); // NaN, Infinity or -Infinity
+        } else {
+            line.append(value);
+        }
+    }
+
+    /**
+     * Append a JSON string.
+     * @param line The line being written.
+     * @param s The string.
+     * @return The line.
+     */
+    static StringBuilder string(StringBuilder line, String s)
+    {
+        line.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                    break;
+            }
+        }
+        return line.append('"');
+    }
+}
@@ -0,0 +1,675 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeBatchBuilder;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.ParallelChunks;
+
+/**
+ * Reads a CSV edge list from a file on multiple threads, for importing large
+ * networks. The reader accepts the same input as the HMNCsvReader, and reads the
+ * file in three passes:
+ * <ol>
+ * <li>The file is split into byte ranges at line breaks outside quoted fields,
+ * which are parsed in parallel into primitive buffers: the source and sink of each edge as the index
+ * of its node ID (shared between the ranges via a concurrent map), and the values
+ * of the other columns as numbers or strings.</li>
+ * <li>The node IDs are resolved to the nodes of the HMN, creating missing nodes if
+ * setCreateMissingNodes is set.</li>
+ * <li>The edges are created and their fields set in parallel, and then added to the
+ * edge lists of their nodes and to the HMN by an EdgeBatchBuilder.</li>
+ * </ol>
+ *
+ * Quoted fields may contain line breaks: whether a line break is within a quoted
+ * field is found by counting the quotes before it (in parallel, for each range),
+ * so quotes must only appear in quoted fields (as in RFC 4180, and the files
+ * written by the HMNCsvWriter), where they are doubled. Files whose lines do not
+ * end with LF or CRLF, and edge lists read from streams, are read sequentially.
+ * Node lists (see readNodes(..)) are also read sequentially.
+ *
+ * Unlike the sequential reader, nothing is added to the HMN if an edge is not
+ * valid, but the memory used is proportional to the number of edges read.
+ *
+ * @see HMNCsvReader
+ * @see EdgeBatchBuilder
+ */
+public class HMNParallelCsvReader extends HMNCsvReader
+{
+    private static final long MIN_RANGE_SIZE = 1 << 20;
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int SCAN_SIZE = 1 << 13;
+    private static final int CHUNK_SIZE = 4096;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Default constructor, using the context class loader of the current thread to
+     * load node classes and the common ForkJoinPool to read edge lists.
+     */
+    public HMNParallelCsvReader()
+    {
+        this(null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor setting the ForkJoinPool to read edge lists on.
+     * @param pool The ForkJoinPool.
+     * @throws NullPointerException If pool is NULL.
+     */
+    public HMNParallelCsvReader(ForkJoinPool pool) throws NullPointerException
+    {
+        this(null, pool);
+    }
+
+    /**
+     * Constructor setting the class loader used to load node classes and the
+     * ForkJoinPool to read edge lists on.
+     * @param classLoader The class loader; the context class loader of the current thread is used if NULL.
+     * @param pool The ForkJoinPool.
+     * @throws NullPointerException If pool is NULL.
+     */
+    public HMNParallelCsvReader(ClassLoader classLoader, ForkJoinPool pool) throws NullPointerException
+    {
+        super(classLoader);
+        if (pool == null) {
+            throw new NullPointerException("Cannot create the reader as the pool provided was NULL");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Read an edge list from a file into the HMN provided, on multiple threads.
+     * @param file Path of the file to read.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the file is not valid, in which case no edges are added.
+     */
+    @Override
+    public HMN read(Path file, HMN hmn) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot read the network as the HMN provided was NULL");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Header header = new Header();
+            long dataStart = readHeader(channel, size, header);
+            if (dataStart < 0) {
+                channel.position(0);
+                return read((ReadableByteChannel) channel, hmn);
+            }
+            if (header.fields == null) {
+                return hmn; // empty file
+            }
+
+            RangeBuffer[] buffers = parseRanges(channel, split(channel, dataStart, size), header);
+            Node[] nodes = resolveNodes(hmn, header.nodeIndex.ids());
+            addEdges(hmn, buffers, nodes, header);
+            return hmn;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Read the header, which is the first non-empty record of the file.
+     * @param channel The file.
+     * @param size The size of the file.
+     * @param header The header to set the columns of.
+     * @return The offset of the line after the header, or -1 if the header line
+     *         does not end with LF (so the file cannot be split at line breaks).
+     * @throws IOException If reading fails or the header is not valid.
+     */
+    private static long readHeader(FileChannel channel, long size, Header header) throws IOException
+    {
+        List<String> record = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+        long start = 0;
+        while (start < size) {
+            long end = recordEnd(channel, start, size, false);
+            ChunkedReader in = new ChunkedReader(new RangeChannel(channel, start, end));
+            if (readRecord(in, record, buf)) {
+                if (in.peek() >= 0) {
+                    return -1;
+                }
+                header.setColumns(record);
+                return end;
+            }
+            start = end;
+        }
+        return size;
+    }
+
+    /**
+     * Split the data of the file into ranges of whole records, according to the
+     * parallelism of the pool. The quotes between the nominal split points are
+     * counted in parallel, so that the line breaks after each point can be
+     * checked to be outside quoted fields.
+     * @param channel The file.
+     * @param dataStart The offset of the first line after the header.
+     * @param size The size of the file.
+     * @return The offsets of the ranges, with range i from element i to element i + 1.
+     * @throws IOException If reading fails.
+     */
+    private long[] split(final FileChannel channel, long dataStart, long size) throws IOException
+    {
+        long dataSize = size - dataStart;
+        int numRanges = (int) Math.max(1, Math.min((long) pool.getParallelism() * RANGES_PER_THREAD, dataSize / MIN_RANGE_SIZE));
+        final long[] points = new long[numRanges];
+        points[0] = dataStart;
+        for (int i = 1; i < numRanges; i++) {
+            points[i] = dataStart + dataSize * i / numRanges - 1;
+        }
+
+        final long[] quotes = new long[numRanges - 1]; // the number of quotes from each point to the next
+        ParallelChunks.forEach(pool, quotes.length, 1, new ParallelChunks.Body() {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int i = from; i < to; i++) {
+                    try {
+                        quotes[i] = countQuotes(channel, points[i], points[i + 1]);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            }
+        });
+
+        long[] bounds = new long[numRanges + 1];
+        bounds[0] = dataStart;
+        boolean quoted = false;
+        for (int i = 1; i < numRanges; i++) {
+            quoted ^= (quotes[i - 1] & 1) != 0;
+            bounds[i] = Math.max(bounds[i - 1], recordEnd(channel, points[i], size, quoted));
+        }
+        bounds[numRanges] = size;
+        return bounds;
+    }
+
+    /**
+     * Count the quote characters in a range of the file. In UTF-8, the byte of a
+     * quote does not occur within the encoding of any other character.
+     * @param channel The file.
+     * @param start The offset of the range.
+     * @param end The offset after the range.
+     * @return The number of quotes.
+     * @throws IOException If reading fails.
+     */
+    private static long countQuotes(FileChannel channel, long start, long end) throws IOException
+    {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_SIZE);
+        long count = 0;
+        long position = start;
+        while (position < end) {
+            ((Buffer) buf).clear();
+            ((Buffer) buf).limit((int) Math.min(SCAN_SIZE, end - position));
+            int n = channel.read(buf, position);
+            if (n < 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '"') {
+                    count++;
+                }
+            }
+            position += n;
+        }
+        return count;
+    }
+
+    /**
+     * Find the end of the record containing an offset, i.e., the first line break
+     * outside a quoted field. A quote within a quoted field is written as two
+     * quotes, so a field is quoted wherever the number of quotes before is odd.
+     * @param channel The file.
+     * @param from The offset.
+     * @param size The size of the file.
+     * @param quoted True if the offset is within a quoted field.
+     * @return The offset after the first LF at or after from outside a quoted field, or size if there is none.
+     * @throws IOException If reading fails.
+     */
+    private static long recordEnd(FileChannel channel, long from, long size, boolean quoted) throws IOException
+    {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_SIZE);
+        boolean inQuotes = quoted;
+        long position = from;
+        while (position < size) {
+            ((Buffer) buf).clear();
+            int n = channel.read(buf, position);
+            if (n < 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = buf.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * Parse the ranges of the file in parallel.
+     * @param channel The file.
+     * @param bounds The offsets of the ranges.
+     * @param header The columns of the file.
+     * @return The buffered edges of each range.
+     */
+    private RangeBuffer[] parseRanges(final FileChannel channel, final long[] bounds, final Header header)
+    {
+        final RangeBuffer[] buffers = new RangeBuffer[bounds.length - 1];
+        ParallelChunks.forEach(pool, buffers.length, 1, new ParallelChunks.Body() {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int i = from; i < to; i++) {
+                    try {
+                        buffers[i] = parseRange(channel, bounds[i], bounds[i + 1], header);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            }
+        });
+        return buffers;
+    }
+
+    /**
+     * Parse a range of the file into a buffer.
+     * @param channel The file.
+     * @param start The offset of the first line of the range.
+     * @param end The offset after the last line of the range.
+     * @param header The columns of the file.
+     * @return The buffered edges.
+     * @throws IOException If reading fails or an edge is not valid.
+     */
+    private static RangeBuffer parseRange(FileChannel channel, long start, long end, Header header) throws IOException
+    {
+        RangeBuffer buffer = new RangeBuffer(header);
+        ChunkedReader in = new ChunkedReader(new RangeChannel(channel, start, end));
+        Map<String, Integer> cache = new HashMap<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+        long row = 0;
+        while (readRecord(in, record, buf)) {
+            row++;
+            try {
+                buffer.add(record, header, cache);
+            } catch (IOException | IllegalArgumentException ex) {
+                throw new IOException("Invalid edge in row " + row + " from byte offset " + start + ": " + ex.getMessage(), ex);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Get the node of the HMN for each node ID, looking the IDs up in parallel and
+     * then creating missing nodes (if missing nodes are created).
+     * @param hmn The HMN.
+     * @param ids The node IDs, by index.
+     * @return The nodes, by index.
+     * @throws IOException If a node is missing and missing nodes are not created.
+     */
+    private Node[] resolveNodes(final HMN hmn, final String[] ids) throws IOException
+    {
+        final Node[] nodes = new Node[ids.length];
+        ParallelChunks.forEach(pool, ids.length, CHUNK_SIZE, new ParallelChunks.Body() {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int i = from; i < to; i++) {
+                    Node n = hmn.getAgent(ids[i]);
+                    nodes[i] = n != null ? n : hmn.getArtefact(ids[i]);
+                }
+            }
+        });
+
+        List<Agent> created = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] == null) {
+                if (!isCreateMissingNodes()) {
+                    throw new IOException("Unknown node: " + ids[i]);
+                }
+                Agent a = getNodeFactory().createHuman(ids[i]);
+                a.setHMN(hmn);
+                created.add(a);
+                nodes[i] = a;
+            }
+        }
+        if (!created.isEmpty()) {
+            hmn.addAgents(created);
+        }
+        return nodes;
+    }
+
+    /**
+     * Create the buffered edges in parallel, and add them to their nodes and the HMN.
+     * @param hmn The HMN.
+     * @param buffers The buffered edges of each range, which are released as the edges are created.
+     * @param nodes The nodes, by index.
+     * @param header The columns of the file.
+     */
+    private void addEdges(HMN hmn, RangeBuffer[] buffers, final Node[] nodes, final Header header)
+    {
+        int numEdges = 0;
+        for (RangeBuffer buffer : buffers) {
+            numEdges += buffer.size;
+        }
+
+        final Edge[] edges = new Edge[numEdges];
+        int[] sources = new int[numEdges];
+        int[] sinks = new int[numEdges];
+        int offset = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            final RangeBuffer buffer = buffers[i];
+            final int first = offset;
+            ParallelChunks.forEach(pool, buffer.size, CHUNK_SIZE, new ParallelChunks.Body() {
+                @Override
+                public void run(int chunk, int from, int to)
+                {
+                    for (int k = from; k < to; k++) {
+                        edges[first + k] = buffer.newEdge(k, nodes, header);
+                    }
+                }
+            });
+            System.arraycopy(buffer.sources, 0, sources, offset, buffer.size);
+            System.arraycopy(buffer.sinks, 0, sinks, offset, buffer.size);
+            offset += buffer.size;
+            buffers[i] = null;
+        }
+
+        EdgeBatchBuilder builder = new EdgeBatchBuilder(hmn, pool);
+        for (Node n : nodes) {
+            builder.addNode(n);
+        }
+        builder.attach(edges, sources, sinks);
+    }
+
+    /**
+     * The columns of the edge list, and the index of the node IDs read.
+     */
+    private static final class Header
+    {
+        ExchangeFormat.EdgeField[] fields;
+        int[] order;
+        int idColumn = -1;
+        int sourceColumn = -1;
+        int sinkColumn = -1;
+        final NodeIndex nodeIndex = new NodeIndex();
+
+        void setColumns(List<String> record) throws IOException
+        {
+            fields = new ExchangeFormat.EdgeField[record.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = ExchangeFormat.EdgeField.parse(record.get(i).trim());
+                if (fields[i] == null) {
+                    continue;
+                }
+                if (fields[i].isID()) {
+                    idColumn = i;
+                } else if (fields[i].isSource()) {
+                    sourceColumn = i;
+                } else if (fields[i].isSink()) {
+                    sinkColumn = i;
+                }
+            }
+            if (sourceColumn < 0 || sinkColumn < 0) {
+                throw new IOException("The CSV edge list has no source and sink (or target) columns");
+            }
+            order = ExchangeFormat.setOrder(fields);
+        }
+    }
+
+    /**
+     * Assigns an index to each node ID, shared by the threads parsing the ranges.
+     */
+    private static final class NodeIndex
+    {
+        private final ConcurrentMap<String, Integer> indices = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Function<String, Integer> nextIndex = new Function<String, Integer>() {
+            @Override
+            public Integer apply(String id)
+            {
+                return size.getAndIncrement();
+            }
+        };
+
+        /**
+         * Get the index of a node ID, assigning the next index if the ID is new.
+         * @param id The node ID.
+         * @param cache The indices already looked up by the calling thread.
+         * @return The index.
+         * @throws IOException If the ID is missing.
+         */
+        int index(String id, Map<String, Integer> cache) throws IOException
+        {
+            if (!ExchangeFormat.isSet(id)) {
+                throw new IOException("Node ID missing");
+            }
+
+            Integer index = cache.get(id);
+            if (index == null) {
+                index = indices.computeIfAbsent(id, nextIndex);
+                cache.put(id, index);
+            }
+            return index;
+        }
+
+        /**
+         * Get the node IDs by index, once all ranges have been parsed.
+         * @return Array of node IDs.
+         */
+        String[] ids()
+        {
+            String[] ids = new String[size.get()];
+            for (Map.Entry<String, Integer> entry : indices.entrySet()) {
+                ids[entry.getValue()] = entry.getKey();
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * The edges parsed from a range of the file, one element per edge. The values
+     * of the columns are kept in the order they are set in (see ExchangeFormat.setOrder),
+     * numeric columns as numbers with a bit set for each value present, and other
+     * columns as strings (NULL if not present).
+     */
+    private static final class RangeBuffer
+    {
+        int size;
+        int[] sources;
+        int[] sinks;
+        String[] ids;
+        final double[][] numbers;
+        final long[][] present;
+        final String[][] strings;
+
+        RangeBuffer(Header header)
+        {
+            sources = new int[INITIAL_CAPACITY];
+            sinks = new int[INITIAL_CAPACITY];
+            ids = header.idColumn >= 0 ? new String[INITIAL_CAPACITY] : null;
+            numbers = new double[header.order.length][];
+            present = new long[header.order.length][];
+            strings = new String[header.order.length][];
+            for (int j = 0; j < header.order.length; j++) {
+                if (header.fields[header.order[j]].isNumeric()) {
+                    numbers[j] = new double[INITIAL_CAPACITY];
+                    present[j] = new long[(INITIAL_CAPACITY + 63) >>> 6];
+                } else {
+                    strings[j] = new String[INITIAL_CAPACITY];
+                }
+            }
+        }
+
+        void add(List<String> record, Header header, Map<String, Integer> cache) throws IOException
+        {
+            int source = header.nodeIndex.index(value(record, header.sourceColumn), cache);
+            int sink = header.nodeIndex.index(value(record, header.sinkColumn), cache);
+            if (size == sources.length) {
+                grow();
+            }
+
+            sources[size] = source;
+            sinks[size] = sink;
+            if (ids != null) {
+                ids[size] = value(record, header.idColumn);
+            }
+            for (int j = 0; j < header.order.length; j++) {
+                String value = value(record, header.order[j]);
+                if (!ExchangeFormat.isSet(value)) {
+                    continue;
+                }
+                if (numbers[j] != null) {
+                    numbers[j][size] = header.fields[header.order[j]].parseValue(value);
+                    present[j][size >>> 6] |= 1L << size;
+                } else {
+                    strings[j][size] = value;
+                }
+            }
+            size++;
+        }
+
+        Edge newEdge(int k, Node[] nodes, Header header)
+        {
+            Node source = nodes[sources[k]];
+            Node sink = nodes[sinks[k]];
+            Edge e = ids != null && ExchangeFormat.isSet(ids[k]) ? new Edge(ids[k], source, sink) : new Edge(source, sink);
+            for (int j = 0; j < header.order.length; j++) {
+                ExchangeFormat.EdgeField field = header.fields[header.order[j]];
+                if (numbers[j] != null) {
+                    if ((present[j][k >>> 6] & (1L << k)) != 0) {
+                        field.set(e, numbers[j][k]);
+                    }
+                } else if (strings[j][k] != null) {
+                    field.set(e, strings[j][k]);
+                }
+            }
+            return e;
+        }
+
+        private void grow()
+        {
+            int capacity = sources.length + (sources.length >> 1);
+            sources = Arrays.copyOf(sources, capacity);
+            sinks = Arrays.copyOf(sinks, capacity);
+            if (ids != null) {
+                ids = Arrays.copyOf(ids, capacity);
+            }
+            for (int j = 0; j < numbers.length; j++) {
+                if (numbers[j] != null) {
+                    numbers[j] = Arrays.copyOf(numbers[j], capacity);
+                    present[j] = Arrays.copyOf(present[j], (capacity + 63) >>> 6);
+                } else {
+                    strings[j] = Arrays.copyOf(strings[j], capacity);
+                }
+            }
+        }
+    }
+
+    /**
+     * A channel reading a range of a file with positional reads, so that several
+     * ranges can be read at the same time. Closing the channel does not close the file.
+     */
+    private static final class RangeChannel implements ReadableByteChannel
+    {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeChannel(FileChannel channel, long start, long end)
+        {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException
+        {
+            long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            int n;
+            if (dst.remaining() > remaining) {
+                ByteBuffer slice = dst.duplicate();
+                ((Buffer) slice).limit(dst.position() + (int) remaining);
+                n = channel.read(slice, position);
+                ((Buffer) dst).position(slice.position());
+            } else {
+                n = channel.read(dst, position);
+            }
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close()
+        {
+
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Reads an HMN from a binary snapshot written by the HMNSnapshotWriter.
+ *
+ * Nodes are instantiated using the no-argument constructor of their class (which
+ * may be private), loaded via the class loader given to the reader.
+ *
+ * A snapshot can either be read in full, or memory-mapped with map(..), in which
+ * case nodes and edges are only read from the file when first accessed.
+ *
+ * @see HMNSnapshotWriter
+ */
+public class HMNSnapshotReader
+{
+    private final ClassLoader classLoader;
+
+    /**
+     * Default constructor, using the context class loader of the current thread to
+     * load node classes.
+     */
+    public HMNSnapshotReader()
+    {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Constructor setting the class loader used to load node classes.
+     * @param classLoader The class loader.
+     */
+    public HMNSnapshotReader(ClassLoader classLoader)
+    {
+        this.classLoader = classLoader != null ? classLoader : HMNSnapshotReader.class.getClassLoader();
+    }
+
+    /**
+     * Read an HMN from a snapshot file.
+     * @param file Path of the file to read.
+     * @return A new HMN object.
+     * @throws IOException If reading fails or the file is not a valid snapshot.
+     */
+    public HMN read(Path file) throws IOException
+    {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, new HMN());
+        }
+    }
+
+    /**
+     * Memory-map a snapshot file, returning an HMN whose agents, artefacts and edges
+     * are only read from the file when first accessed. Getting a node or edge by ID
+     * reads only that object; the edges of a node are read when its edge lists are
+     * first accessed. Getting or modifying the HMN's lists reads all objects of that
+     * type. This requires a snapshot with an index (version 2 or later); snapshots
+     * with an ID index (version 4 or later) are looked up by ID without a scan.
+     * The file must not be modified while the HMN is in use.
+     * @param file Path of the file to map.
+     * @return A MappedHMN object.
+     * @throws IOException If the file cannot be mapped or is not a valid snapshot.
+     */
+    public MappedHMN map(Path file) throws IOException
+    {
+        return new MappedHMN(MappedFile.map(file), classLoader);
+    }
+
+    /**
+     * Read an HMN from a snapshot stream. The stream is not closed.
+     * @param in The stream to read from.
+     * @return A new HMN object.
+     * @throws IOException If reading fails or the stream is not a valid snapshot.
+     */
+    public HMN read(InputStream in) throws IOException
+    {
+        return read(in, new HMN());
+    }
+
+    /**
+     * Read a snapshot into the HMN provided (e.g., a sub-class of HMN), adding the
+     * agents, artefacts and edges to it and setting its name and date/time.
+     * The stream is not closed.
+     * @param in The stream to read from.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the stream is not a valid snapshot.
+     */
+    public HMN read(InputStream in, HMN hmn) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot read the snapshot as the HMN provided was NULL");
+        }
+
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, HMNSnapshotWriter.BUFFER_SIZE));
+
+        // header
+        if (data.readInt() != SnapshotFormat.MAGIC) {
+            throw new IOException("Not an HMN snapshot");
+        }
+        short version = data.readShort();
+        if (version < SnapshotFormat.MIN_VERSION || version > SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported HMN snapshot version: " + version);
+        }
+        SnapshotFormat.readGeneration(data, version);
+        hmn.setName(SnapshotFormat.readString(data));
+        long time = data.readLong();
+        String timeZone = SnapshotFormat.readString(data);
+        if (time != SnapshotFormat.NULL_TIME) {
+            GregorianCalendar dateTime = new GregorianCalendar(timeZone == null ? TimeZone.getDefault() : TimeZone.getTimeZone(timeZone));
+            dateTime.setTimeInMillis(time);
+            hmn.setCurrentDateTime(dateTime);
+        }
+
+        // strings
+        int numStrings = data.readInt();
+        List<String> strings = new ArrayList<>(numStrings);
+        for (int i = 0; i < numStrings; i++) {
+            strings.add(data.readUTF());
+        }
+
+        // nodes
+        int numNodes = data.readInt();
+        int numAgents = data.readInt();
+        int numArtefacts = data.readInt();
+        final Node[] nodes = new Node[numNodes];
+        int[] creatorRefs = new int[numNodes];
+        int[] creatorRef = new int[1];
+        SnapshotFormat.Instantiator instantiator = new SnapshotFormat.Instantiator(classLoader);
+        for (int i = 0; i < numNodes; i++) {
+            nodes[i] = SnapshotFormat.readNode(data, strings, instantiator, creatorRef);
+            nodes[i].setHMN(hmn);
+            creatorRefs[i] = creatorRef[0];
+        }
+
+        SnapshotFormat.NodeTable nodeTable = new SnapshotFormat.NodeTable()
+        {
+            @Override
+            public Node node(int ref) throws IOException
+            {
+                if (ref == SnapshotFormat.NULL_REF) {
+                    return null;
+                }
+                if (ref < 0 || ref >= nodes.length) {
+                    throw new IOException("Invalid node reference in snapshot: " + ref);
+                }
+                return nodes[ref];
+            }
+        };
+
+        for (int i = 0; i < numNodes; i++) {
+            if (creatorRefs[i] != SnapshotFormat.NULL_REF) {
+                Node creator = nodeTable.node(creatorRefs[i]);
+                if (!(creator instanceof Agent)) {
+                    throw new IOException("Creator of artefact " + nodes[i].getNodeID() + " in the snapshot is not an Agent");
+                }
+                ((Artefact) nodes[i]).setCreator((Agent) creator);
+            }
+        }
+
+        // edges
+        int numEdges = data.readInt();
+        int numHMNEdges = data.readInt();
+        Edge[] edges = new Edge[numEdges];
+        List<Edge> hmnEdges = new ArrayList<>(numHMNEdges);
+        boolean[] inHMN = new boolean[1];
+        for (int i = 0; i < numEdges; i++) {
+            edges[i] = SnapshotFormat.readEdge(data, strings, nodeTable, inHMN);
+            if (inHMN[0]) {
+                hmnEdges.add(edges[i]);
+            }
+        }
+
+        // adjacency
+        for (Node n : nodes) {
+            n.addInboundEdges(readEdgeRefs(data, edges));
+            n.addOutboundEdges(readEdgeRefs(data, edges));
+        }
+
+        List<Agent> agents = new ArrayList<>(numAgents);
+        for (int i = 0; i < numAgents; i++) {
+            agents.add(castNode(nodes[i], Agent.class));
+        }
+        List<Artefact> artefacts = new ArrayList<>(numArtefacts);
+        for (int i = numAgents; i < numAgents + numArtefacts; i++) {
+            artefacts.add(castNode(nodes[i], Artefact.class));
+        }
+
+        hmn.addAgents(agents);
+        hmn.addArtefacts(artefacts);
+        hmn.addEdges(hmnEdges);
+        return hmn;
+    }
+
+    private static List<Edge> readEdgeRefs(DataInputStream in, Edge[] edges) throws IOException
+    {
+        int n = in.readInt();
+        List<Edge> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int ref = in.readInt();
+            if (ref == SnapshotFormat.NULL_REF) {
+                list.add(null);
+                continue;
+            }
+            if (ref < 0 || ref >= edges.length) {
+                throw new IOException("Invalid edge reference in snapshot: " + ref);
+            }
+            list.add(edges[ref]);
+        }
+        return list;
+    }
+
+    private static <T extends Node> T castNode(Node n, Class<T> type) throws IOException
+    {
+        if (!type.isInstance(n)) {
+            throw new IOException("Node " + n.getNodeID() + " in the snapshot is not an " + type.getSimpleName());
+        }
+        return type.cast(n);
+    }
+}
@@ -0,0 +1,356 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * Writes an HMN to a compact binary snapshot, which can be read back with the
+ * HMNSnapshotReader. This is an alternative to Java serialisation for checkpointing
+ * large networks: nodes and edges are written as flat tables that refer to each
+ * other by index (so writing does not recurse through the graph), connection types
+ * and property keys are written once in a string table, and the primitive fields
+ * of connections and edge stats are written directly.
+ *
+ * Nodes are re-created by the reader using the no-argument constructor of their
+ * class. The properties of Node, Human, Machine and Artefact are written; sub-classes
+ * can write further properties by implementing SnapshotSerializable.
+ *
+ * Nodes and edges that are not in the HMN's lists, but are reachable via the edge
+ * lists of nodes (or as artefact creators), are also written.
+ *
+ * The snapshot ends with an index of the file offsets of all records and hash tables
+ * of the IDs of the agents, artefacts and edges, which allow the snapshot to be
+ * memory-mapped and read lazily (see HMNSnapshotReader.map).
+ *
+ * @see HMNSnapshotReader
+ * @see SnapshotSerializable
+ */
+public class HMNSnapshotWriter
+{
+    static final int BUFFER_SIZE = 1 << 16;
+
+    long generation; // the checkpoint generation written in the header
+
+    /**
+     * Default constructor.
+     */
+    public HMNSnapshotWriter()
+    {
+
+    }
+
+    /**
+     * Write a snapshot of the HMN to a file, replacing the file if it exists.
+     * @param hmn The HMN.
+     * @param file Path of the file to write.
+     * @throws IOException If writing fails.
+     */
+    public void write(HMN hmn, Path file) throws IOException
+    {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(hmn, out);
+        }
+    }
+
+    /**
+     * Write a snapshot of the HMN to an output stream. The stream is flushed but not closed.
+     * @param hmn The HMN.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    public void write(HMN hmn, OutputStream out) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot write the snapshot as the HMN provided was NULL");
+        }
+
+        Tables tables = new Tables(hmn);
+        CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        DataOutputStream data = new DataOutputStream(counter);
+        writeTo(data, counter, hmn, tables);
+        data.flush();
+    }
+
+    /**
+     * Write the snapshot sections in order.
+     * @param out The output to write to.
+     * @param counter The stream counting the bytes written via out, to record offsets.
+     * @param hmn The HMN.
+     * @param tables The node, edge and string tables for the HMN.
+     * @throws IOException If writing fails.
+     */
+    void writeTo(DataOutputStream out, CountingOutputStream counter, HMN hmn, Tables tables) throws IOException
+    {
+        long[] nodeOffsets = new long[tables.nodes.size() + 1];
+        long[] edgeOffsets = new long[tables.edges.size() + 1];
+        long[] adjacencyOffsets = new long[tables.nodes.size() + 1];
+
+        // header
+        out.writeInt(SnapshotFormat.MAGIC);
+        out.writeShort(SnapshotFormat.VERSION);
+        out.writeLong(generation);
+        SnapshotFormat.writeString(out, hmn.getName());
+        GregorianCalendar dateTime = hmn.getCurrentDateTime();
+        out.writeLong(dateTime == null ? SnapshotFormat.NULL_TIME : dateTime.getTimeInMillis());
+        SnapshotFormat.writeString(out, dateTime == null ? null : dateTime.getTimeZone().getID());
+
+        // strings
+        out.writeInt(tables.strings.size());
+        for (String s : tables.strings.keySet()) {
+            out.writeUTF(s);
+        }
+
+        // nodes
+        out.writeInt(tables.nodes.size());
+        out.writeInt(tables.numAgents);
+        out.writeInt(tables.numArtefacts);
+        for (int i = 0; i < tables.nodes.size(); i++) {
+            Node n = tables.nodes.get(i);
+            nodeOffsets[i] = counter.getCount();
+            int creatorRef = SnapshotFormat.NULL_REF;
+            if (n instanceof Artefact) {
+                creatorRef = tables.nodeRef(((Artefact) n).getCreator());
+            }
+            SnapshotFormat.writeNode(out, n, tables.strings.get(n.getClass().getName()), creatorRef);
+        }
+        nodeOffsets[tables.nodes.size()] = counter.getCount();
+
+        // edges
+        out.writeInt(tables.edges.size());
+        out.writeInt(tables.numHMNEdges);
+        for (int i = 0; i < tables.edges.size(); i++) {
+            Edge e = tables.edges.get(i);
+            edgeOffsets[i] = counter.getCount();
+            SnapshotFormat.writeEdge(out, e, tables.nodeRef(e.getSourceNode()), tables.nodeRef(e.getSinkNode()),
+                                     i < tables.numHMNEdges, tables.strings);
+        }
+        edgeOffsets[tables.edges.size()] = counter.getCount();
+
+        // adjacency
+        for (int i = 0; i < tables.nodes.size(); i++) {
+            Node n = tables.nodes.get(i);
+            adjacencyOffsets[i] = counter.getCount();
+            writeEdgeRefs(out, n.getInboundEdges(), tables);
+            writeEdgeRefs(out, n.getOutboundEdges(), tables);
+        }
+        adjacencyOffsets[tables.nodes.size()] = counter.getCount();
+
+        // index, aligned so that the offsets can be read directly from a mapped file
+        while (counter.getCount() % 8 != 0) {
+            out.writeByte(0);
+        }
+        long indexOffset = counter.getCount();
+        out.writeInt(tables.nodes.size());
+        out.writeInt(tables.numAgents);
+        out.writeInt(tables.numArtefacts);
+        out.writeInt(tables.edges.size());
+        out.writeInt(tables.numHMNEdges);
+        out.writeInt(0); // padding to INDEX_HEADER_SIZE
+        writeOffsets(out, nodeOffsets);
+        writeOffsets(out, edgeOffsets);
+        writeOffsets(out, adjacencyOffsets);
+
+        // ID index
+        List<String> ids = new ArrayList<>(tables.nodes.size());
+        for (Node n : tables.nodes) {
+            ids.add(n.getNodeID());
+        }
+        writeIDTable(out, ids, 0, tables.numAgents);
+        writeIDTable(out, ids, tables.numAgents, tables.numAgents + tables.numArtefacts);
+        ids = new ArrayList<>(tables.numHMNEdges);
+        for (int i = 0; i < tables.numHMNEdges; i++) {
+            ids.add(tables.edges.get(i).getEdgeID());
+        }
+        writeIDTable(out, ids, 0, tables.numHMNEdges);
+
+        // trailer
+        out.writeLong(indexOffset);
+        out.writeInt(SnapshotFormat.INDEX_MAGIC);
+    }
+
+    private static void writeOffsets(DataOutputStream out, long[] offsets) throws IOException
+    {
+        for (long offset : offsets) {
+            out.writeLong(offset);
+        }
+    }
+
+    /**
+     * Write the hash table of the IDs of a range of records (see SnapshotFormat.idHash(..)).
+     * If several records have the same ID, the table refers to the last, as the HMN's
+     * lists do when looking up by ID.
+     * @param out The output to write to.
+     * @param ids The IDs of the records, by index.
+     * @param from Index of the first record.
+     * @param to Index after the last record.
+     * @throws IOException If writing fails.
+     */
+    private static void writeIDTable(DataOutputStream out, List<String> ids, int from, int to) throws IOException
+    {
+        int capacity = SnapshotFormat.idTableCapacity(to - from);
+        int[] hashes = new int[capacity];
+        int[] refs = new int[capacity];
+        Arrays.fill(refs, SnapshotFormat.NULL_REF);
+        for (int ref = from; ref < to; ref++) {
+            String id = ids.get(ref);
+            int hash = SnapshotFormat.idHash(id);
+            int slot = hash & (capacity - 1);
+            while (refs[slot] != SnapshotFormat.NULL_REF
+                    && !(hashes[slot] == hash && Objects.equals(ids.get(refs[slot]), id))) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            hashes[slot] = hash;
+            refs[slot] = ref;
+        }
+
+        out.writeInt(capacity);
+        out.writeInt(0); // padding to ID_TABLE_HEADER_SIZE
+        for (int i = 0; i < capacity; i++) {
+            out.writeInt(hashes[i]);
+            out.writeInt(refs[i]);
+        }
+    }
+
+    private static void writeEdgeRefs(DataOutputStream out, List<Edge> edges, Tables tables) throws IOException
+    {
+        out.writeInt(edges == null ? 0 : edges.size());
+        if (edges != null) {
+            for (Edge e : edges) {
+                out.writeInt(tables.edgeRef(e));
+            }
+        }
+    }
+
+    /**
+     * The node, edge and string tables of a snapshot, gathered from the HMN before
+     * writing. Agents come first in the node table, followed by artefacts and then
+     * nodes only reachable via edges; edges in the HMN's edge list come first in the
+     * edge table, followed by edges only reachable via nodes.
+     */
+    static class Tables
+    {
+        final List<Node> nodes = new ArrayList<>();
+        final List<Edge> edges = new ArrayList<>();
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final int numAgents;
+        final int numArtefacts;
+        final int numHMNEdges;
+        private final Map<Node, Integer> nodeRefs = new IdentityHashMap<>();
+        private final Map<Edge, Integer> edgeRefs = new IdentityHashMap<>();
+
+        Tables(HMN hmn)
+        {
+            for (Agent a : hmn.getAgents()) {
+                addNode(a);
+            }
+            numAgents = nodes.size();
+
+            for (Artefact a : hmn.getArtefacts()) {
+                addNode(a);
+            }
+            numArtefacts = nodes.size() - numAgents;
+
+            for (Edge e : hmn.getEdges()) {
+                addEdge(e);
+            }
+            numHMNEdges = edges.size();
+
+            // nodes may be added while iterating, as edges are discovered
+            for (int i = 0; i < nodes.size(); i++) {
+                Node n = nodes.get(i);
+                if (n instanceof Artefact) {
+                    addNode(((Artefact) n).getCreator());
+                }
+                addEdges(n.getInboundEdges());
+                addEdges(n.getOutboundEdges());
+            }
+
+            for (Node n : nodes) {
+                SnapshotFormat.intern(strings, n.getClass().getName());
+            }
+            for (Edge e : edges) {
+                SnapshotFormat.collectStrings(e, strings);
+            }
+        }
+
+        int nodeRef(Node n)
+        {
+            Integer ref = n == null ? null : nodeRefs.get(n);
+            return ref == null ? SnapshotFormat.NULL_REF : ref;
+        }
+
+        int edgeRef(Edge e)
+        {
+            Integer ref = e == null ? null : edgeRefs.get(e);
+            return ref == null ? SnapshotFormat.NULL_REF : ref;
+        }
+
+        private void addNode(Node n)
+        {
+            if (n != null && !nodeRefs.containsKey(n)) {
+                nodeRefs.put(n, nodes.size());
+                nodes.add(n);
+            }
+        }
+
+        private void addEdges(List<Edge> list)
+        {
+            if (list != null) {
+                for (Edge e : list) {
+                    addEdge(e);
+                }
+            }
+        }
+
+        private void addEdge(Edge e)
+        {
+            if (e != null && !edgeRefs.containsKey(e)) {
+                edgeRefs.put(e, edges.size());
+                edges.add(e);
+                addNode(e.getSourceNode());
+                addNode(e.getSinkNode());
+            }
+        }
+    }
+}
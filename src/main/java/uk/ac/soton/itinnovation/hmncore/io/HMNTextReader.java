@@ -0,0 +1,190 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.generator.NodeFactory;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+/**
+ * Base class of the readers of the text exchange formats (GraphML, CSV and JSON
+ * Lines), which read a network into an HMN in a single streaming pass. The input is
+ * decoded in fixed-size chunks, and each node and edge is added to the HMN as soon
+ * as it has been read, so the memory used beyond the HMN itself does not depend on
+ * the size of the input.
+ *
+ * Nodes must be read before the edges that refer to them, unless missing nodes are
+ * created (see setCreateMissingNodes), in which case a Human is created by the node
+ * factory for each unknown node ID. Nodes whose class is given in the input are
+ * instances of that class (which needs a no-argument constructor); other nodes are
+ * created by the node factory according to their kind.
+ *
+ * See ExchangeFormat for the fields read.
+ *
+ * @see HMNTextWriter
+ */
+public abstract class HMNTextReader
+{
+    private final ClassLoader classLoader;
+    private NodeFactory nodeFactory;
+    private boolean createMissingNodes;
+
+    /**
+     * Constructor setting the class loader used to load node classes.
+     * @param classLoader The class loader; the context class loader of the current thread is used if NULL.
+     */
+    HMNTextReader(ClassLoader classLoader)
+    {
+        if (classLoader == null) {
+            classLoader = Thread.currentThread().getContextClassLoader();
+        }
+        this.classLoader = classLoader != null ? classLoader : HMNTextReader.class.getClassLoader();
+        this.nodeFactory = new SyntheticNodeFactory();
+        this.createMissingNodes = false;
+    }
+
+    /**
+     * Get the factory creating nodes whose class is not given in the input.
+     * @return The NodeFactory.
+     */
+    public NodeFactory getNodeFactory()
+    {
+        return nodeFactory;
+    }
+
+    /**
+     * Set the factory creating nodes whose class is not given in the input. The
+     * default is a SyntheticNodeFactory.
+     * @param nodeFactory The NodeFactory.
+     * @throws NullPointerException If the factory is NULL.
+     */
+    public void setNodeFactory(NodeFactory nodeFactory) throws NullPointerException
+    {
+        if (nodeFactory == null) {
+            throw new NullPointerException("Cannot set the node factory as the object provided was NULL");
+        }
+        this.nodeFactory = nodeFactory;
+    }
+
+    /**
+     * Check whether nodes that edges refer to, but which are not in the HMN, are created.
+     * @return True if missing nodes are created as humans; false if they are an error.
+     */
+    public boolean isCreateMissingNodes()
+    {
+        return createMissingNodes;
+    }
+
+    /**
+     * Set whether nodes that edges refer to, but which are not in the HMN, are
+     * created (as humans, by the node factory), e.g., to read a list of edges without
+     * node attributes. The default is false.
+     * @param createMissingNodes True to create missing nodes; false to fail on edges to missing nodes.
+     */
+    public void setCreateMissingNodes(boolean createMissingNodes)
+    {
+        this.createMissingNodes = createMissingNodes;
+    }
+
+    /**
+     * Read a network from a file into a new HMN.
+     * @param file Path of the file to read.
+     * @return A new HMN object.
+     * @throws IOException If reading fails or the file is not valid.
+     */
+    public HMN read(Path file) throws IOException
+    {
+        return read(file, new HMN());
+    }
+
+    /**
+     * Read a network from a file into the HMN provided, adding the nodes and edges
+     * to those already in the HMN.
+     * @param file Path of the file to read.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the file is not valid.
+     */
+    public HMN read(Path file, HMN hmn) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, hmn);
+        }
+    }
+
+    /**
+     * Read a network from a stream into the HMN provided. The stream is not closed.
+     * @param in The stream to read from.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the input is not valid.
+     */
+    public HMN read(InputStream in, HMN hmn) throws IOException
+    {
+        return read(Channels.newChannel(in), hmn);
+    }
+
+    /**
+     * Read a network from a channel into the HMN provided. The channel is not closed.
+     * @param channel The channel to read from.
+     * @param hmn The HMN to read into.
+     * @return The HMN provided.
+     * @throws IOException If reading fails or the input is not valid.
+     */
+    public HMN read(ReadableByteChannel channel, HMN hmn) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot read the network as the HMN provided was NULL");
+        }
+
+        parse(new ChunkedReader(channel), newTarget(hmn));
+        return hmn;
+    }
+
+    /**
+     * Create the target to read into.
+     * @param hmn The HMN.
+     * @return ImportTarget object.
+     */
+    ImportTarget newTarget(HMN hmn)
+    {
+        return new ImportTarget(hmn, nodeFactory, classLoader, createMissingNodes);
+    }
+
+    /**
+     * Read the input, adding the nodes and edges read to the target.
+     * @param in The input.
+     * @param target The target to read into.
+     * @throws IOException If reading fails or the input is not valid.
+     */
+    abstract void parse(ChunkedReader in, ImportTarget target) throws IOException;
+}
@@ -0,0 +1,109 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+
+/**
+ * Base class of the writers of the text exchange formats (GraphML, CSV and JSON
+ * Lines), which write the agents, artefacts and edges of an HMN in a single
+ * streaming pass (with a further pass over the edges for formats that declare their
+ * fields up front). Text is encoded in fixed-size chunks, so the memory used does
+ * not depend on the size of the network.
+ *
+ * Only the HMN's lists of agents, artefacts and edges are written; edges to nodes
+ * that are not in the HMN can be read back with HMNTextReader.setCreateMissingNodes.
+ *
+ * See ExchangeFormat for the fields written.
+ *
+ * @see HMNTextReader
+ */
+public abstract class HMNTextWriter
+{
+    /**
+     * Default constructor.
+     */
+    HMNTextWriter()
+    {
+
+    }
+
+    /**
+     * Write the network of an HMN to a file, replacing the file if it exists.
+     * @param hmn The HMN.
+     * @param file Path of the file to write.
+     * @throws IOException If writing fails.
+     */
+    public void write(HMN hmn, Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(hmn, channel);
+        }
+    }
+
+    /**
+     * Write the network of an HMN to an output stream. The stream is flushed but not closed.
+     * @param hmn The HMN.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    public void write(HMN hmn, OutputStream out) throws IOException
+    {
+        write(hmn, Channels.newChannel(out));
+        out.flush();
+    }
+
+    /**
+     * Write the network of an HMN to a channel. The channel is not closed.
+     * @param hmn The HMN.
+     * @param channel The channel to write to.
+     * @throws IOException If writing fails.
+     */
+    public void write(HMN hmn, WritableByteChannel channel) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot write the network as the HMN provided was NULL");
+        }
+
+        ChunkedWriter out = new ChunkedWriter(channel);
+        format(hmn, out);
+        out.finish();
+    }
+
+    /**
+     * Write the network.
+     * @param hmn The HMN.
+     * @param out The output to write to.
+     * @throws IOException If writing fails.
+     */
+    abstract void format(HMN hmn, ChunkedWriter out) throws IOException;
+}
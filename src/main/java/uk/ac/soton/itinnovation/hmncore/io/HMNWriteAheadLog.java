@@ -0,0 +1,1245 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.HMNListener;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.PropertySchema;
+
+/**
+ * An append-only write-ahead log of changes to an HMN, which together with a
+ * snapshot written by the HMNSnapshotWriter allows the HMN to be recovered without
+ * writing a full snapshot after every change. The I/O of checkpointing is then
+ * proportional to the number of changes, rather than the size of the HMN.
+ *
+ * The log is an HMNListener, so is added to the HMN with HMN.addListener(..), and
+ * records the changes notified to listeners (see HMNListener) as compact binary
+ * records: agents, artefacts and edges added and removed, connections added or
+ * replaced, trust, trustworthiness and bespoke properties of connections set, and
+ * interactions recorded with Edge.recordInteraction(..). Changes that are not
+ * notified, e.g., values set directly on EdgeStats objects, are not logged.
+ *
+ * Records are encoded into an in-memory buffer as they are notified (from any
+ * thread), and written to the file in groups, either by commit() (e.g., at the end
+ * of each tick) or when the buffer exceeds the group size. Each group is written
+ * with a single (gathering) write to the FileChannel, followed by a force, if
+ * enabled, so the cost of syncing the file is shared by all records in the group.
+ * Each group is prefixed by its length and a CRC32 checksum; a group that was only
+ * partly written when the process failed is ignored by replay(..), and truncated
+ * when the log is next opened. If a write fails, the file is truncated back to the
+ * end of the previous group, so later groups are not appended after a partial one.
+ *
+ * To recover an HMN, read the last snapshot and replay the log into it, e.g., with
+ * recover(..). checkpoint(..) writes a new snapshot and then truncates the log.
+ * The snapshot and the log header are stamped with a checkpoint generation, which
+ * checkpoint(..) increments, so recover(..) can tell if the process failed after a
+ * new snapshot was written but before the log was truncated, and does not replay
+ * the stale log. To continue logging an HMN recovered from a checkpoint, open the
+ * log with HMNWriteAheadLog(Path, Path), which checks the log against the snapshot
+ * and discards a stale log, so that new records are not appended to a log that
+ * recover(..) would ignore.
+ * Edges and nodes are identified by their IDs in the log, so these should be unique
+ * and not changed while in the HMN. As in the snapshot, the end nodes of edges (and
+ * creators of artefacts) that are not in the HMN's lists are logged with the edge
+ * (or artefact), so that replay can re-create them.
+ *
+ * @see HMNSnapshotWriter
+ * @see HMNSnapshotReader
+ */
+public class HMNWriteAheadLog implements HMNListener, Closeable
+{
+    /**
+     * The default size of a group of records, in bytes, at which the group is
+     * committed without waiting for commit() to be called.
+     */
+    public static final int DEFAULT_GROUP_SIZE = 1 << 20;
+
+    static final int MAGIC = 0x484D4E57; // "HMNW"
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 14;
+    static final int VERSION_1_HEADER_SIZE = 6;
+    static final int GROUP_HEADER_SIZE = 8;
+
+    private static final byte STRING = 0;
+    private static final byte AGENT_ADDED = 1;
+    private static final byte AGENT_REMOVED = 2;
+    private static final byte ARTEFACT_ADDED = 3;
+    private static final byte ARTEFACT_REMOVED = 4;
+    private static final byte EDGE_ADDED = 5;
+    private static final byte EDGE_REMOVED = 6;
+    private static final byte CONNECTIONS_REPLACED = 7;
+    private static final byte CONNECTION_CHANGED = 8;
+    private static final byte PROPERTY_CHANGED = 9;
+    private static final byte PROPERTIES_REPLACED = 10;
+    private static final byte INTERACTIONS = 11;
+    private static final byte NODE_DETACHED = 12;
+
+    private static final byte SOURCE = 0;
+    private static final byte SINK = 1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Object commitLock = new Object();
+    private final ByteBuffer groupHeader = ByteBuffer.allocate(GROUP_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private long generation; // the checkpoint generation of the log, guarded by commitLock
+    private int groupSize = DEFAULT_GROUP_SIZE;
+    private volatile boolean force = true;
+    private volatile boolean closed;
+
+    // the group being encoded, guarded by this; strings are defined once per group
+    private RecordBuffer pending = new RecordBuffer();
+    private RecordBuffer spare = new RecordBuffer(); // guarded by commitLock
+    private final Map<String, Integer> stringRefs = new LinkedHashMap<>();
+    private int numDefined;
+
+    /**
+     * Open a log file for appending, creating it if it does not exist. If the file
+     * ends with a group that was only partly written, it is truncated to the end of
+     * the last complete group. The log is not checked against a snapshot, so a log
+     * that is used with checkpoint(..) should be opened with
+     * HMNWriteAheadLog(Path, Path) instead.
+     * @param file Path of the log file.
+     * @throws IOException If the file cannot be opened or is not an HMN log.
+     */
+    public HMNWriteAheadLog(Path file) throws IOException
+    {
+        this(file, null);
+    }
+
+    /**
+     * Open the log file of a checkpoint for appending, creating it if it does not
+     * exist. A new log is stamped with the checkpoint generation of the snapshot.
+     * If the log has an earlier generation than the snapshot, i.e., the process
+     * failed during checkpoint(..) after the snapshot was written but before the log
+     * was truncated, its records are already in the snapshot, so they are discarded
+     * and the log is stamped with the snapshot's generation; otherwise, new records
+     * would be appended to a log that recover(..) ignores. If the file ends with a
+     * group that was only partly written, it is truncated to the end of the last
+     * complete group.
+     * @param file Path of the log file.
+     * @param snapshot Path of the snapshot file written by checkpoint(..), which
+     *                 may not exist yet, or NULL not to check the log against a snapshot.
+     * @throws IOException If the file cannot be opened or is not an HMN log, or the
+     *                     log follows a later snapshot than the one provided.
+     */
+    public HMNWriteAheadLog(Path file, Path snapshot) throws IOException
+    {
+        if (file == null) {
+            throw new NullPointerException("Cannot open the write-ahead log as the path provided was NULL");
+        }
+
+        this.file = file;
+        long snapshotGeneration = snapshot != null && Files.exists(snapshot) ? readGeneration(snapshot) : 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                writeHeader(channel, snapshotGeneration);
+                generation = snapshotGeneration;
+            } else {
+                GroupReader reader = new GroupReader(channel);
+                if (reader.version != VERSION) {
+                    throw new IOException("Cannot append to HMN write-ahead log version " + reader.version);
+                }
+                generation = reader.generation;
+                if (snapshot != null && generation > snapshotGeneration) {
+                    throw new IOException("The write-ahead log " + file + " (generation " + generation
+                                          + ") follows a later snapshot than " + snapshot + " (generation " + snapshotGeneration + ")");
+                } else if (snapshot != null && generation < snapshotGeneration) {
+                    // as in checkpoint(..), the truncation must reach the disk before the new generation does
+                    channel.truncate(HEADER_SIZE);
+                    channel.force(true);
+                    writeHeader(channel, snapshotGeneration);
+                    generation = snapshotGeneration;
+                } else {
+                    while (reader.next() != null) {
+                        // skip to the end of the last complete group
+                    }
+                    if (reader.position < channel.size()) {
+                        channel.truncate(reader.position);
+                    }
+                }
+            }
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the path of the log file.
+     * @return The path.
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Get the checkpoint generation of the log, i.e., of the snapshot that the log
+     * applies to.
+     * @return The generation; 0 before the first checkpoint.
+     */
+    public long getGeneration()
+    {
+        synchronized (commitLock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Get the size at which a group of records is committed without waiting for commit().
+     * @return The group size in bytes.
+     */
+    public int getGroupSize()
+    {
+        return groupSize;
+    }
+
+    /**
+     * Set the size at which a group of records is committed without waiting for
+     * commit(). Larger groups make fewer writes (and forces), but more changes may
+     * be lost if the process fails before they are committed.
+     * @param groupSize The group size in bytes.
+     * @throws IllegalArgumentException If the size is not positive.
+     */
+    public void setGroupSize(int groupSize) throws IllegalArgumentException
+    {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("The group size must be positive: " + groupSize);
+        }
+        this.groupSize = groupSize;
+    }
+
+    /**
+     * Check if the file is forced to the storage device after each group is written.
+     * @return True if forced (the default); false otherwise.
+     */
+    public boolean isForce()
+    {
+        return force;
+    }
+
+    /**
+     * Set whether the file is forced to the storage device after each group is
+     * written. If not, committed groups may be lost if the operating system fails,
+     * but not if only the process fails.
+     * @param force True to force the file after each group; false otherwise.
+     */
+    public void setForce(boolean force)
+    {
+        this.force = force;
+    }
+
+    /**
+     * Get the number of bytes of records waiting to be committed.
+     * @return The number of bytes.
+     */
+    public synchronized int getPendingSize()
+    {
+        return pending.size();
+    }
+
+    /**
+     * Write the records recorded so far to the file, as one group. Records may
+     * continue to be recorded (by other threads) while the group is written.
+     * @throws IOException If writing fails, in which case the records are lost, and the
+     *                     file is truncated to the end of the previous group (or closed,
+     *                     if that fails too).
+     */
+    public void commit() throws IOException
+    {
+        synchronized (commitLock) {
+            RecordBuffer group;
+            synchronized (this) {
+                checkOpen();
+                if (pending.size() == 0) {
+                    return;
+                }
+                group = pending;
+                pending = spare;
+                stringRefs.clear();
+                numDefined = 0;
+            }
+
+            long start = channel.position();
+            try {
+                crc.reset();
+                crc.update(group.array(), 0, group.size());
+                ((Buffer) groupHeader).clear();
+                groupHeader.putInt(group.size());
+                groupHeader.putInt((int) crc.getValue());
+                ((Buffer) groupHeader).flip();
+                ByteBuffer[] buffers = new ByteBuffer[] { groupHeader, ByteBuffer.wrap(group.array(), 0, group.size()) };
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                if (force) {
+                    channel.force(false);
+                }
+            } catch (IOException | RuntimeException ex) {
+                discardFrom(start, ex);
+                throw ex;
+            } finally {
+                group.reset();
+                spare = group;
+            }
+        }
+    }
+
+    /**
+     * Truncate the file to the end of the last complete group after a write has
+     * failed, so that no more groups are appended after a partial group (which
+     * would hide them from replay(..)). If that fails too, the log is closed.
+     * @param position The end of the last complete group.
+     * @param cause The exception thrown by the write, to add suppressed exceptions to.
+     */
+    private void discardFrom(long position, Exception cause)
+    {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException | RuntimeException ex) {
+            cause.addSuppressed(ex);
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException closeEx) {
+                cause.addSuppressed(closeEx);
+            }
+        }
+    }
+
+    /**
+     * Write a snapshot of the HMN and truncate the log, so that the HMN can be
+     * recovered from the new snapshot alone. The snapshot is written to a temporary
+     * file and then moved to the path given, so the previous snapshot is kept if
+     * writing fails. The HMN must not be modified during the checkpoint.
+     *
+     * The new snapshot is stamped with the next checkpoint generation, and the log
+     * header is stamped with it only after the log has been truncated. If the process
+     * fails after the snapshot has been moved, but before the log header is written,
+     * the log has an earlier generation than the snapshot, so recover(..) ignores it
+     * rather than replaying changes already in the snapshot.
+     * @param hmn The HMN.
+     * @param snapshot Path of the snapshot file.
+     * @throws IOException If writing the snapshot or truncating the log fails.
+     */
+    public void checkpoint(HMN hmn, Path snapshot) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot checkpoint the HMN as the object provided was NULL");
+        }
+
+        synchronized (commitLock) {
+            commit();
+
+            long next = generation + 1;
+            Path dir = snapshot.toAbsolutePath().getParent();
+            Path tmp = Files.createTempFile(dir, snapshot.getFileName().toString(), ".tmp");
+            try {
+                HMNSnapshotWriter writer = new HMNSnapshotWriter();
+                writer.generation = next;
+                writer.write(hmn, tmp);
+                try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    ch.force(true);
+                }
+                Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+
+            // the truncation must reach the disk before the new generation does
+            channel.truncate(HEADER_SIZE);
+            channel.force(true);
+            writeHeader(channel, next);
+            channel.position(HEADER_SIZE);
+            generation = next;
+        }
+    }
+
+    /**
+     * Commit any pending records and close the log file. The log should be removed
+     * from the HMN's listeners before it is closed.
+     * @throws IOException If committing or closing fails.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (commitLock) {
+            if (closed) {
+                return;
+            }
+            try {
+                commit();
+            } finally {
+                closed = true;
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Read an HMN from a snapshot and replay a log into it. If the snapshot does not
+     * exist, the log is replayed into a new HMN; if the log does not exist, the HMN
+     * is read from the snapshot alone. The log is not replayed if its checkpoint
+     * generation is earlier than the snapshot's, i.e., if the process failed during
+     * a checkpoint, after the snapshot was written but before the log was truncated.
+     * @param snapshot Path of the snapshot file.
+     * @param log Path of the log file.
+     * @return The recovered HMN.
+     * @throws IOException If reading the snapshot or log fails, or the log follows a
+     *                     later snapshot than the one provided.
+     */
+    public static HMN recover(Path snapshot, Path log) throws IOException
+    {
+        long snapshotGeneration = 0;
+        HMN hmn = new HMN();
+        if (Files.exists(snapshot)) {
+            snapshotGeneration = readGeneration(snapshot);
+            hmn = new HMNSnapshotReader().read(snapshot);
+        }
+        if (!Files.exists(log)) {
+            return hmn;
+        }
+
+        try (FileChannel ch = FileChannel.open(log, StandardOpenOption.READ)) {
+            GroupReader reader = new GroupReader(ch);
+            if (reader.generation > snapshotGeneration) {
+                throw new IOException("The write-ahead log (generation " + reader.generation
+                                      + ") follows a later snapshot than " + snapshot + " (generation " + snapshotGeneration + ")");
+            }
+            if (reader.generation == snapshotGeneration) {
+                replay(reader, hmn, Thread.currentThread().getContextClassLoader());
+            }
+        }
+        return hmn;
+    }
+
+    /**
+     * Apply the changes recorded in a log to an HMN, which should be in the state it
+     * was in when the log was started (e.g., read from the snapshot written by the
+     * last checkpoint). Node classes are loaded via the context class loader of the
+     * current thread. Replay stops at the first group that was only partly written.
+     * @param log Path of the log file.
+     * @param hmn The HMN.
+     * @return The number of records applied.
+     * @throws IOException If reading the log fails, or a record refers to a node or edge not in the HMN.
+     */
+    public static int replay(Path log, HMN hmn) throws IOException
+    {
+        return replay(log, hmn, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Apply the changes recorded in a log to an HMN.
+     * @see #replay(Path, HMN)
+     * @param log Path of the log file.
+     * @param hmn The HMN.
+     * @param classLoader The class loader used to load node classes.
+     * @return The number of records applied.
+     * @throws IOException If reading the log fails, or a record refers to a node or edge not in the HMN.
+     */
+    public static int replay(Path log, HMN hmn, ClassLoader classLoader) throws IOException
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot replay the log as the HMN provided was NULL");
+        }
+
+        try (FileChannel ch = FileChannel.open(log, StandardOpenOption.READ)) {
+            return replay(new GroupReader(ch), hmn, classLoader);
+        }
+    }
+
+    private static int replay(GroupReader reader, HMN hmn, ClassLoader classLoader) throws IOException
+    {
+        SnapshotFormat.Instantiator instantiator = new SnapshotFormat.Instantiator(
+                classLoader != null ? classLoader : HMNWriteAheadLog.class.getClassLoader());
+        DetachedNodes detached = new DetachedNodes();
+        int numRecords = 0;
+        byte[] group;
+        while ((group = reader.next()) != null) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(group));
+            List<String> strings = new ArrayList<>();
+            while (in.available() > 0) {
+                if (applyRecord(in, hmn, strings, instantiator, detached)) {
+                    numRecords++;
+                }
+            }
+        }
+        return numRecords;
+    }
+
+    /**
+     * Read the checkpoint generation from the header of a snapshot.
+     * @param snapshot Path of the snapshot file.
+     * @return The generation.
+     * @throws IOException If reading fails or the file is not a snapshot.
+     */
+    private static long readGeneration(Path snapshot) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(snapshot))) {
+            if (in.readInt() != SnapshotFormat.MAGIC) {
+                throw new IOException("Not an HMN snapshot");
+            }
+            return SnapshotFormat.readGeneration(in, in.readShort());
+        }
+    }
+
+    @Override
+    public void agentAdded(Agent agent)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            int classRef = define(agent.getClass().getName());
+            buf = pending;
+            try {
+                buf.data.writeByte(AGENT_ADDED);
+                SnapshotFormat.writeNode(buf.data, agent, classRef, SnapshotFormat.NULL_REF);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    @Override
+    public void agentRemoved(Agent agent)
+    {
+        writeIdRecord(AGENT_REMOVED, agent.getNodeID());
+    }
+
+    @Override
+    public void artefactAdded(Artefact artefact)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            int classRef = define(artefact.getClass().getName());
+            buf = pending;
+            try {
+                defineDetached(artefact.getCreator(), artefact.getHMN());
+                buf.data.writeByte(ARTEFACT_ADDED);
+                SnapshotFormat.writeNode(buf.data, artefact, classRef, SnapshotFormat.NULL_REF);
+                SnapshotFormat.writeString(buf.data, artefact.getCreator() == null ? null : artefact.getCreator().getNodeID());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    @Override
+    public void artefactRemoved(Artefact artefact)
+    {
+        writeIdRecord(ARTEFACT_REMOVED, artefact.getNodeID());
+    }
+
+    @Override
+    public void edgeAdded(Edge edge)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            buf = pending;
+            try {
+                defineDetached(edge.getSourceNode(), edge.getHMN());
+                defineDetached(edge.getSinkNode(), edge.getHMN());
+                SnapshotFormat.collectStrings(edge, stringRefs);
+                defineNew();
+                buf.data.writeByte(EDGE_ADDED);
+                SnapshotFormat.writeString(buf.data, nodeID(edge.getSourceNode()));
+                SnapshotFormat.writeString(buf.data, nodeID(edge.getSinkNode()));
+                SnapshotFormat.writeEdge(buf.data, edge, SnapshotFormat.NULL_REF, SnapshotFormat.NULL_REF, true, stringRefs);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    @Override
+    public void edgeRemoved(Edge edge)
+    {
+        writeIdRecord(EDGE_REMOVED, edge.getEdgeID());
+    }
+
+    @Override
+    public void connectionChanged(Edge edge, Connection connection)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            buf = pending;
+            try {
+                if (connection == null) {
+                    collectConnectionStrings(edge.getSourceConnections());
+                    collectConnectionStrings(edge.getSinkConnections());
+                    defineNew();
+                    buf.data.writeByte(CONNECTIONS_REPLACED);
+                    SnapshotFormat.writeString(buf.data, edge.getEdgeID());
+                    writeConnections(buf.data, edge.getSourceConnections());
+                    writeConnections(buf.data, edge.getSinkConnections());
+                } else {
+                    Map.Entry<String, Connection> entry = find(edge.getSourceConnections(), connection);
+                    byte side = SOURCE;
+                    if (entry == null) {
+                        entry = find(edge.getSinkConnections(), connection);
+                        side = SINK;
+                    }
+                    if (entry == null) {
+                        return; // no longer in the edge
+                    }
+                    int typeRef = define(entry.getKey());
+                    collectPropertyStrings(connection);
+                    defineNew();
+                    buf.data.writeByte(CONNECTION_CHANGED);
+                    SnapshotFormat.writeString(buf.data, edge.getEdgeID());
+                    buf.data.writeByte(side);
+                    buf.data.writeInt(typeRef);
+                    SnapshotFormat.writeConnection(buf.data, connection, stringRefs);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    @Override
+    public void propertyChanged(Edge edge, Connection connection, int slot)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            Map.Entry<String, Connection> entry = find(edge.getSourceConnections(), connection);
+            byte side = SOURCE;
+            if (entry == null) {
+                entry = find(edge.getSinkConnections(), connection);
+                side = SINK;
+            }
+            if (entry == null) {
+                return; // no longer in the edge
+            }
+
+            buf = pending;
+            try {
+                int typeRef = define(entry.getKey());
+                if (slot >= 0) {
+                    int keyRef = define(PropertySchema.name(slot));
+                    buf.data.writeByte(PROPERTY_CHANGED);
+                    SnapshotFormat.writeString(buf.data, edge.getEdgeID());
+                    buf.data.writeByte(side);
+                    buf.data.writeInt(typeRef);
+                    buf.data.writeInt(keyRef);
+                    buf.data.writeBoolean(connection.hasProperty(slot));
+                    buf.data.writeDouble(connection.getProperty(slot));
+                } else {
+                    collectPropertyStrings(connection);
+                    defineNew();
+                    buf.data.writeByte(PROPERTIES_REPLACED);
+                    SnapshotFormat.writeString(buf.data, edge.getEdgeID());
+                    buf.data.writeByte(side);
+                    buf.data.writeInt(typeRef);
+                    Map<String, Double> properties = connection.getProperties();
+                    buf.data.writeInt(properties.size());
+                    for (Map.Entry<String, Double> p : properties.entrySet()) {
+                        buf.data.writeInt(stringRefs.get(p.getKey()));
+                        buf.data.writeDouble(p.getValue());
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    @Override
+    public void interactionRecorded(Edge edge, String conType, int n)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            int typeRef = define(conType);
+            buf = pending;
+            try {
+                buf.data.writeByte(INTERACTIONS);
+                SnapshotFormat.writeString(buf.data, edge.getEdgeID());
+                buf.data.writeInt(typeRef);
+                buf.data.writeInt(n);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    private void writeIdRecord(byte type, String id)
+    {
+        RecordBuffer buf;
+        synchronized (this) {
+            checkOpen();
+            buf = pending;
+            try {
+                buf.data.writeByte(type);
+                SnapshotFormat.writeString(buf.data, id);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        commitIfFull(buf);
+    }
+
+    /**
+     * Commit the pending group if it has reached the group size, and is still the
+     * pending group (i.e., has not been committed by another thread).
+     * @param buf The buffer the record was written to.
+     */
+    private void commitIfFull(RecordBuffer buf)
+    {
+        if (buf.size() < groupSize) {
+            return;
+        }
+        try {
+            synchronized (commitLock) {
+                if (buf.size() >= groupSize) {
+                    commit();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void checkOpen()
+    {
+        if (closed) {
+            throw new IllegalStateException("Cannot record the change as the write-ahead log has been closed");
+        }
+    }
+
+    /**
+     * Get the reference to a string in the current group, writing a record defining
+     * the string if it is not already defined. Must be called before writing the
+     * record that refers to the string.
+     * @param s The string.
+     * @return The reference, or NULL_REF if the string is NULL.
+     */
+    private int define(String s)
+    {
+        int ref = SnapshotFormat.intern(stringRefs, s);
+        defineNew();
+        return ref;
+    }
+
+    /**
+     * Write records defining the strings added to the string table since the last
+     * strings were defined.
+     */
+    private void defineNew()
+    {
+        if (numDefined == stringRefs.size()) {
+            return;
+        }
+        try {
+            Iterator<String> it = stringRefs.keySet().iterator();
+            for (int i = 0; i < numDefined; i++) {
+                it.next();
+            }
+            while (it.hasNext()) {
+                pending.data.writeByte(STRING);
+                pending.data.writeUTF(it.next());
+                numDefined++;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Write a record defining a node that is not in the HMN's lists, such as the end
+     * of an edge added with HMN.addEdge(..), so that replay can re-create it. Must be
+     * called before writing the record that refers to the node.
+     * @param n The node, which may be null.
+     * @param hmn The HMN, or null if not known, in which case nothing is written.
+     * @throws IOException If writing fails.
+     */
+    private void defineDetached(Node n, HMN hmn) throws IOException
+    {
+        if (n == null || n.getNodeID() == null || hmn == null || inHMN(hmn, n)) {
+            return;
+        }
+        Agent creator = n instanceof Artefact ? ((Artefact) n).getCreator() : null;
+        defineDetached(creator, hmn);
+        int classRef = define(n.getClass().getName());
+        pending.data.writeByte(NODE_DETACHED);
+        SnapshotFormat.writeNode(pending.data, n, classRef, SnapshotFormat.NULL_REF);
+        SnapshotFormat.writeString(pending.data, nodeID(creator));
+    }
+
+    private static boolean inHMN(HMN hmn, Node n)
+    {
+        String id = n.getNodeID();
+        return id != null && (hmn.getAgent(id) == n || hmn.getArtefact(id) == n);
+    }
+
+    private void collectConnectionStrings(Map<String, Connection> connections)
+    {
+        if (connections != null) {
+            for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+                SnapshotFormat.intern(stringRefs, entry.getKey());
+                collectPropertyStrings(entry.getValue());
+            }
+        }
+    }
+
+    private void collectPropertyStrings(Connection c)
+    {
+        if (c != null) {
+            for (String key : c.getProperties().keySet()) {
+                SnapshotFormat.intern(stringRefs, key);
+            }
+        }
+    }
+
+    private void writeConnections(DataOutputStream out, Map<String, Connection> connections) throws IOException
+    {
+        out.writeInt(connections == null ? 0 : connections.size());
+        if (connections != null) {
+            for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+                out.writeInt(stringRefs.get(entry.getKey()));
+                SnapshotFormat.writeConnection(out, entry.getValue(), stringRefs);
+            }
+        }
+    }
+
+    private static Map.Entry<String, Connection> find(Map<String, Connection> connections, Connection c)
+    {
+        if (connections != null) {
+            for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+                if (entry.getValue() == c) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String nodeID(Node n)
+    {
+        return n == null ? null : n.getNodeID();
+    }
+
+    private static void writeHeader(FileChannel ch, long generation) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putLong(generation);
+        ((Buffer) header).flip();
+        while (header.hasRemaining()) {
+            ch.write(header, HEADER_SIZE - header.remaining());
+        }
+        ch.force(true);
+    }
+
+    /**
+     * Read and apply one record.
+     * @return True if the record changed the HMN; false if it defined a string or node.
+     */
+    private static boolean applyRecord(DataInputStream in, HMN hmn, List<String> strings, SnapshotFormat.Instantiator instantiator,
+                                       DetachedNodes detached) throws IOException
+    {
+        byte type = in.readByte();
+        switch (type) {
+            case STRING:
+                strings.add(in.readUTF());
+                return false;
+            case AGENT_ADDED: {
+                Node n = SnapshotFormat.readNode(in, strings, instantiator, new int[1]);
+                if (!(n instanceof Agent)) {
+                    throw new IOException("Node " + n.getNodeID() + " added in the log is not an Agent");
+                }
+                n.setHMN(hmn);
+                hmn.addAgent((Agent) n);
+                return true;
+            }
+            case ARTEFACT_ADDED: {
+                Node n = SnapshotFormat.readNode(in, strings, instantiator, new int[1]);
+                String creator = SnapshotFormat.readString(in);
+                if (!(n instanceof Artefact)) {
+                    throw new IOException("Node " + n.getNodeID() + " added in the log is not an Artefact");
+                }
+                if (creator != null) {
+                    ((Artefact) n).setCreator(cast(findNode(hmn, creator, detached), Agent.class));
+                }
+                n.setHMN(hmn);
+                hmn.addArtefact((Artefact) n);
+                return true;
+            }
+            case AGENT_REMOVED:
+                hmn.removeAgent(SnapshotFormat.readString(in));
+                return true;
+            case ARTEFACT_REMOVED:
+                hmn.removeArtefact(SnapshotFormat.readString(in));
+                return true;
+            case EDGE_ADDED: {
+                final Node src = node(hmn, SnapshotFormat.readString(in), detached);
+                final Node sink = node(hmn, SnapshotFormat.readString(in), detached);
+                Edge e = SnapshotFormat.readEdge(in, strings, new SnapshotFormat.NodeTable()
+                {
+                    @Override
+                    public Node node(int ref)
+                    {
+                        return null;
+                    }
+                }, new boolean[1]);
+                e.setSourceNode(src);
+                e.setSinkNode(sink);
+                if (src != null) {
+                    src.addOutboundEdge(e);
+                }
+                if (sink != null) {
+                    sink.addInboundEdge(e);
+                }
+                hmn.addEdge(e);
+                return true;
+            }
+            case EDGE_REMOVED: {
+                Edge e = edge(hmn, SnapshotFormat.readString(in));
+                if (e.getSourceNode() != null) {
+                    e.getSourceNode().removeOutboundEdge(e, false);
+                }
+                if (e.getSinkNode() != null) {
+                    e.getSinkNode().removeInboundEdge(e, false);
+                }
+                hmn.removeEdge(e);
+                return true;
+            }
+            case CONNECTIONS_REPLACED: {
+                Edge e = edge(hmn, SnapshotFormat.readString(in));
+                e.setSourceConnections(readConnections(in, strings));
+                e.setSinkConnections(readConnections(in, strings));
+                return true;
+            }
+            case CONNECTION_CHANGED: {
+                Edge e = edge(hmn, SnapshotFormat.readString(in));
+                byte side = in.readByte();
+                String conType = SnapshotFormat.readStringRef(in, strings);
+                Connection c = SnapshotFormat.readConnection(in, strings);
+                if (side == SOURCE) {
+                    e.addSourceConnection(conType, c);
+                } else {
+                    e.addSinkConnection(conType, c);
+                }
+                return true;
+            }
+            case PROPERTY_CHANGED: {
+                Connection c = connection(in, hmn, strings);
+                String key = SnapshotFormat.readStringRef(in, strings);
+                boolean present = in.readBoolean();
+                double value = in.readDouble();
+                c.setProperty(key, present ? value : null);
+                return true;
+            }
+            case PROPERTIES_REPLACED: {
+                Connection c = connection(in, hmn, strings);
+                int n = in.readInt();
+                Map<String, Double> properties = new HashMap<>();
+                for (int i = 0; i < n; i++) {
+                    properties.put(SnapshotFormat.readStringRef(in, strings), in.readDouble());
+                }
+                c.setProperties(properties);
+                return true;
+            }
+            case NODE_DETACHED: {
+                Node n = SnapshotFormat.readNode(in, strings, instantiator, new int[1]);
+                String creator = SnapshotFormat.readString(in);
+                if (creator != null && n instanceof Artefact) {
+                    ((Artefact) n).setCreator(cast(findNode(hmn, creator, detached), Agent.class));
+                }
+                detached.add(hmn, n);
+                return false;
+            }
+            case INTERACTIONS: {
+                Edge e = edge(hmn, SnapshotFormat.readString(in));
+                String conType = SnapshotFormat.readStringRef(in, strings);
+                e.recordInteractions(conType, in.readInt());
+                return true;
+            }
+            default:
+                throw new IOException("Invalid record type in the write-ahead log: " + type);
+        }
+    }
+
+    private static Map<String, Connection> readConnections(DataInputStream in, List<String> strings) throws IOException
+    {
+        int n = in.readInt();
+        Map<String, Connection> connections = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            String conType = SnapshotFormat.readStringRef(in, strings);
+            connections.put(conType, SnapshotFormat.readConnection(in, strings));
+        }
+        return connections;
+    }
+
+    private static Connection connection(DataInputStream in, HMN hmn, List<String> strings) throws IOException
+    {
+        Edge e = edge(hmn, SnapshotFormat.readString(in));
+        byte side = in.readByte();
+        String conType = SnapshotFormat.readStringRef(in, strings);
+        Connection c = side == SOURCE ? e.getSourceConnections().get(conType) : e.getSinkConnections().get(conType);
+        if (c == null) {
+            throw new IOException("Connection " + conType + " of edge " + e.getEdgeID() + " in the log is not in the HMN");
+        }
+        return c;
+    }
+
+    private static Node node(HMN hmn, String id, DetachedNodes detached) throws IOException
+    {
+        if (id == null) {
+            return null;
+        }
+        Node n = findNode(hmn, id, detached);
+        if (n == null) {
+            throw new IOException("Node " + id + " in the log is not in the HMN");
+        }
+        return n;
+    }
+
+    /**
+     * Find a node in the HMN's lists or, failing that, among the nodes that are only
+     * reachable via edges or as creators.
+     * @return The node, or null if not found.
+     */
+    private static Node findNode(HMN hmn, String id, DetachedNodes detached)
+    {
+        Node n = hmn.getAgent(id);
+        if (n == null) {
+            n = hmn.getArtefact(id);
+        }
+        if (n == null) {
+            n = detached.get(hmn, id);
+        }
+        return n;
+    }
+
+    private static <T> T cast(Node n, Class<T> type) throws IOException
+    {
+        if (n != null && !type.isInstance(n)) {
+            throw new IOException("Node " + n.getNodeID() + " in the log is not an instance of " + type.getName());
+        }
+        return type.cast(n);
+    }
+
+    private static Edge edge(HMN hmn, String id) throws IOException
+    {
+        Edge e = hmn.getEdge(id);
+        if (e == null) {
+            throw new IOException("Edge " + id + " in the log is not in the HMN");
+        }
+        return e;
+    }
+
+    /**
+     * The nodes that are not in the HMN's lists, but are ends of its edges or
+     * creators of its artefacts, by ID. These are found in the HMN when first
+     * needed (i.e., those read from the snapshot), and added to by the log.
+     */
+    private static class DetachedNodes
+    {
+        private Map<String, Node> nodes;
+
+        Node get(HMN hmn, String id)
+        {
+            return nodes(hmn).get(id);
+        }
+
+        /**
+         * Add a node defined in the log, unless it is in the HMN's lists, or a node
+         * with the same ID has already been added (which edges may refer to).
+         */
+        void add(HMN hmn, Node n)
+        {
+            String id = n.getNodeID();
+            if (hmn.getAgent(id) == null && hmn.getArtefact(id) == null && !nodes(hmn).containsKey(id)) {
+                nodes.put(id, n);
+            }
+        }
+
+        private Map<String, Node> nodes(HMN hmn)
+        {
+            if (nodes == null) {
+                nodes = new HashMap<>();
+                for (Edge e : hmn.getEdges()) {
+                    addIfDetached(hmn, e.getSourceNode());
+                    addIfDetached(hmn, e.getSinkNode());
+                }
+                for (Artefact a : hmn.getArtefacts()) {
+                    addIfDetached(hmn, a.getCreator());
+                }
+            }
+            return nodes;
+        }
+
+        private void addIfDetached(HMN hmn, Node n)
+        {
+            if (n != null && n.getNodeID() != null && !nodes.containsKey(n.getNodeID()) && !inHMN(hmn, n)) {
+                nodes.put(n.getNodeID(), n);
+            }
+        }
+    }
+
+    /**
+     * A growable byte buffer with a DataOutputStream for encoding records into it,
+     * which gives access to the underlying array to write it to the channel.
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream
+    {
+        final DataOutputStream data = new DataOutputStream(this);
+
+        RecordBuffer()
+        {
+            super(8192);
+        }
+
+        byte[] array()
+        {
+            return buf;
+        }
+    }
+
+    /**
+     * Reads the groups of a log file in order, stopping at the end of the file or
+     * at the first group that is incomplete or fails its checksum.
+     */
+    private static class GroupReader
+    {
+        private final FileChannel channel;
+        private final long size;
+        private final ByteBuffer header = ByteBuffer.allocate(GROUP_HEADER_SIZE);
+        private final CRC32 crc = new CRC32();
+        final short version;
+        final long generation;
+        long position; // the end of the last complete group read
+
+        GroupReader(FileChannel channel) throws IOException
+        {
+            this.channel = channel;
+            this.size = channel.size();
+
+            ByteBuffer fileHeader = ByteBuffer.allocate(VERSION_1_HEADER_SIZE);
+            if (!readFully(fileHeader, 0) || fileHeader.getInt() != MAGIC) {
+                throw new IOException("Not an HMN write-ahead log");
+            }
+            version = fileHeader.getShort();
+            if (version == 1) {
+                generation = 0;
+                position = VERSION_1_HEADER_SIZE;
+            } else if (version == VERSION) {
+                ByteBuffer stamp = ByteBuffer.allocate(HEADER_SIZE - VERSION_1_HEADER_SIZE);
+                if (!readFully(stamp, VERSION_1_HEADER_SIZE)) {
+                    throw new IOException("Truncated HMN write-ahead log header");
+                }
+                generation = stamp.getLong();
+                position = HEADER_SIZE;
+            } else {
+                throw new IOException("Unsupported HMN write-ahead log version: " + version);
+            }
+        }
+
+        /**
+         * Read the next group.
+         * @return The records of the group, or null if there are no more complete groups.
+         */
+        byte[] next() throws IOException
+        {
+            ((Buffer) header).clear();
+            if (!readFully(header, position)) {
+                return null;
+            }
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || position + GROUP_HEADER_SIZE + length > size) {
+                return null;
+            }
+
+            ByteBuffer group = ByteBuffer.allocate(length);
+            if (!readFully(group, position + GROUP_HEADER_SIZE)) {
+                return null;
+            }
+            crc.reset();
+            crc.update(group.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                return null;
+            }
+            position += GROUP_HEADER_SIZE + length;
+            return group.array();
+        }
+
+        private boolean readFully(ByteBuffer buf, long from) throws IOException
+        {
+            long pos = from;
+            while (buf.hasRemaining()) {
+                int n = channel.read(buf, pos);
+                if (n < 0) {
+                    return false;
+                }
+                pos += n;
+            }
+            ((Buffer) buf).flip();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Human;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.generator.NodeFactory;
+
+/**
+ * The HMN a text exchange format is read into, which creates the nodes and edges
+ * read and adds them to the HMN straight away, so that nothing but the HMN itself
+ * is kept in memory. Nodes are looked up by ID in the HMN.
+ *
+ * @see HMNTextReader
+ */
+final class ImportTarget
+{
+    private final HMN hmn;
+    private final NodeFactory nodeFactory;
+    private final SnapshotFormat.Instantiator instantiator;
+    private final boolean createMissingNodes;
+
+    /**
+     * Constructor.
+     * @param hmn The HMN to add the nodes and edges to.
+     * @param nodeFactory Creates nodes whose class is not given.
+     * @param classLoader Loads the classes of nodes whose class is given.
+     * @param createMissingNodes True to create a human for each node an edge refers to that is not in the HMN.
+     */
+    ImportTarget(HMN hmn, NodeFactory nodeFactory, ClassLoader classLoader, boolean createMissingNodes)
+    {
+        this.hmn = hmn;
+        this.nodeFactory = nodeFactory;
+        this.instantiator = new SnapshotFormat.Instantiator(classLoader);
+        this.createMissingNodes = createMissingNodes;
+    }
+
+    /**
+     * Get the HMN.
+     * @return HMN object.
+     */
+    HMN getHMN()
+    {
+        return hmn;
+    }
+
+    /**
+     * Get a node of the HMN, creating a human if the node is missing and missing
+     * nodes are created.
+     * @param id The node ID.
+     * @return The agent or artefact with the ID.
+     * @throws IOException If there is no node with the ID (and missing nodes are not created).
+     */
+    Node node(String id) throws IOException
+    {
+        if (!ExchangeFormat.isSet(id)) {
+            throw new IOException("Node ID missing");
+        }
+
+        Node n = find(id);
+        if (n == null) {
+            if (!createMissingNodes) {
+                throw new IOException("Unknown node: " + id);
+            }
+            Human h = nodeFactory.createHuman(id);
+            h.setHMN(hmn);
+            hmn.addAgent(h);
+            n = h;
+        }
+        return n;
+    }
+
+    /**
+     * Create a node, which should be added with addNode(..) once its fields are set.
+     * The node is an instance of the class given, if any, and is otherwise created
+     * by the node factory according to its kind (a human if the kind is not given).
+     * @param id The node ID.
+     * @param kind The kind of node, which may be NULL or empty.
+     * @param className The name of the class of the node, which may be NULL or empty.
+     * @return The node, with the ID set.
+     * @throws IOException If the ID is missing or already used, or the node cannot be created.
+     */
+    Node newNode(String id, String kind, String className) throws IOException
+    {
+        if (!ExchangeFormat.isSet(id)) {
+            throw new IOException("Node ID missing");
+        }
+        if (find(id) != null) {
+            throw new IOException("Duplicate node ID: " + id);
+        }
+
+        Node n;
+        if (ExchangeFormat.isSet(className)) {
+            n = instantiator.newNode(className);
+            String actual = ExchangeFormat.kind(n);
+            if (actual == null) {
+                throw new IOException("Node class " + className + " is not an Agent or Artefact");
+            }
+            if (ExchangeFormat.isSet(kind) && !kind.equals(actual)
+                    && !(kind.equals(ExchangeFormat.KIND_AGENT) && n instanceof Agent)) {
+                throw new IOException("Node class " + className + " is not of the kind " + kind);
+            }
+            n.setNodeID(id);
+            return n;
+        }
+
+        switch (ExchangeFormat.isSet(kind) ? kind : ExchangeFormat.KIND_HUMAN) {
+            case ExchangeFormat.KIND_HUMAN:
+                return nodeFactory.createHuman(id);
+            case ExchangeFormat.KIND_MACHINE:
+                return nodeFactory.createMachine(id);
+            case ExchangeFormat.KIND_ARTEFACT:
+                return nodeFactory.createArtefact(id);
+            case ExchangeFormat.KIND_AGENT:
+                throw new IOException("The class of agent " + id + " is required");
+            default:
+                throw new IOException("Unknown kind of node: " + kind);
+        }
+    }
+
+    /**
+     * Add a node created with newNode(..) to the HMN.
+     * @param n The node.
+     * @param creatorID The ID of the creator of an artefact, which may be NULL or empty.
+     * @throws IOException If the creator is not an agent of the HMN.
+     */
+    void addNode(Node n, String creatorID) throws IOException
+    {
+        if (n instanceof Artefact && ExchangeFormat.isSet(creatorID)) {
+            Node creator = node(creatorID);
+            if (!(creator instanceof Agent)) {
+                throw new IOException("Creator of artefact " + n.getNodeID() + " is not an Agent");
+            }
+            ((Artefact) n).setCreator((Agent) creator);
+        }
+
+        n.setHMN(hmn);
+        if (n instanceof Agent) {
+            hmn.addAgent((Agent) n);
+        } else {
+            hmn.addArtefact((Artefact) n);
+        }
+    }
+
+    /**
+     * Create an edge between two nodes of the HMN, which should be added with
+     * addEdge(..) once its fields are set.
+     * @param id The edge ID; a random ID is set if NULL or empty.
+     * @param sourceID The ID of the source node.
+     * @param sinkID The ID of the sink node.
+     * @return The edge.
+     * @throws IOException If either node is missing (and missing nodes are not created).
+     */
+    Edge newEdge(String id, String sourceID, String sinkID) throws IOException
+    {
+        Node source = node(sourceID);
+        Node sink = node(sinkID);
+        return ExchangeFormat.isSet(id) ? new Edge(id, source, sink) : new Edge(source, sink);
+    }
+
+    /**
+     * Add an edge to its nodes and the HMN.
+     * @param e The edge.
+     */
+    void addEdge(Edge e)
+    {
+        e.getSourceNode().addOutboundEdge(e);
+        e.getSinkNode().addInboundEdge(e);
+        hmn.addEdge(e);
+    }
+
+    private Node find(String id)
+    {
+        Node n = hmn.getAgent(id);
+        return n != null ? n : hmn.getArtefact(id);
+    }
+}
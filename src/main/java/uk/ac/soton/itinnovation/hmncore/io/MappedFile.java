@@ -0,0 +1,208 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only memory-mapped file. Files larger than 2GB are mapped in chunks,
+ * as a single buffer is limited to 2GB. The file channel is closed once the file
+ * is mapped; the mapping is released when the object is garbage collected.
+ *
+ * Reads use absolute positions or a separate stream, so the object can be shared
+ * between threads.
+ */
+final class MappedFile
+{
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private MappedFile(MappedByteBuffer[] chunks, long size)
+    {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Map a file read-only.
+     * @param file Path of the file.
+     * @return A MappedFile object.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    static MappedFile map(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+            }
+            return new MappedFile(chunks, size);
+        }
+    }
+
+    /**
+     * Get the size of the file.
+     * @return The size in bytes.
+     */
+    long size()
+    {
+        return size;
+    }
+
+    /**
+     * Read a (big-endian) int at the given position.
+     * @param position Position in the file.
+     * @return The value.
+     * @throws IOException If the position is outside the file.
+     */
+    int getInt(long position) throws IOException
+    {
+        checkRange(position, 4);
+        int offset = (int) (position & (CHUNK_SIZE - 1));
+        ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+        if (offset + 4 <= chunk.limit()) {
+            return chunk.getInt(offset);
+        }
+        return (int) readBytes(position, 4);
+    }
+
+    /**
+     * Read a (big-endian) long at the given position.
+     * @param position Position in the file.
+     * @return The value.
+     * @throws IOException If the position is outside the file.
+     */
+    long getLong(long position) throws IOException
+    {
+        checkRange(position, 8);
+        int offset = (int) (position & (CHUNK_SIZE - 1));
+        ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+        if (offset + 8 <= chunk.limit()) {
+            return chunk.getLong(offset);
+        }
+        return readBytes(position, 8);
+    }
+
+    /**
+     * Get a stream to read the file from the given position.
+     * @param position Position in the file.
+     * @return An input stream, which does not need to be closed.
+     * @throws IOException If the position is outside the file.
+     */
+    InputStream stream(long position) throws IOException
+    {
+        checkRange(position, 0);
+        return new ChunkInputStream(position);
+    }
+
+    private long readBytes(long position, int n)
+    {
+        long value = 0;
+        for (int i = 0; i < n; i++) {
+            long p = position + i;
+            value = (value << 8) | (chunks[(int) (p >>> CHUNK_SHIFT)].get((int) (p & (CHUNK_SIZE - 1))) & 0xFF);
+        }
+        return value;
+    }
+
+    private void checkRange(long position, int length) throws IOException
+    {
+        if (position < 0 || position + length > size) {
+            throw new IOException("Position " + position + " is outside the mapped file (size " + size + ")");
+        }
+    }
+
+    /**
+     * A stream reading the chunks in sequence, from a position in the file.
+     */
+    private class ChunkInputStream extends InputStream
+    {
+        private int chunk;
+        private ByteBuffer buffer;
+
+        ChunkInputStream(long position)
+        {
+            chunk = (int) (position >>> CHUNK_SHIFT);
+            if (chunk < chunks.length) {
+                buffer = chunks[chunk].duplicate();
+                ((Buffer) buffer).position((int) (position & (CHUNK_SIZE - 1)));
+            }
+        }
+
+        @Override
+        public int read()
+        {
+            if (!nextChunk()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+        {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer == null ? 0 : buffer.remaining();
+        }
+
+        /**
+         * Move to the next chunk if the current chunk has been read.
+         * @return False if the end of the file has been reached.
+         */
+        private boolean nextChunk()
+        {
+            while (buffer != null && !buffer.hasRemaining()) {
+                chunk++;
+                buffer = chunk < chunks.length ? chunks[chunk].duplicate() : null;
+            }
+            return buffer != null;
+        }
+    }
+}
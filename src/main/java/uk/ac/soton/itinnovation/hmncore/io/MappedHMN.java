@@ -0,0 +1,738 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.HMNListener;
+import uk.ac.soton.itinnovation.hmncore.HMNView;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * An HMN backed by a memory-mapped snapshot file, which reads nodes and edges from
+ * the file when they are first accessed, rather than reading the whole network up
+ * front. Created by HMNSnapshotReader.map(..).
+ *
+ * Getting an agent, artefact or edge by ID reads only that object (and the nodes it
+ * refers to), finding it via the hash table of IDs in the file. For snapshots written
+ * before the ID index was added (version 4), the first lookup by ID scans the IDs in
+ * the file to build an index instead.
+ * The inbound and outbound edges of a node are read when either of its edge lists
+ * is first accessed. Getting or modifying the list of agents, artefacts or edges
+ * reads all objects of that type, after which the list behaves as in an HMN.
+ *
+ * Objects are read at most once, so the same Node and Edge objects are returned
+ * however they are reached. Changes are not written back to the file. When
+ * serialised, a MappedHMN is fully read and replaced by a plain HMN.
+ *
+ * @see HMNSnapshotReader#map(java.nio.file.Path)
+ */
+public class MappedHMN extends HMN
+{
+    private final transient MappedFile file;
+    private final transient List<String> strings;
+    private final transient SnapshotFormat.Instantiator instantiator;
+    private final transient SnapshotFormat.NodeTable nodeTable;
+    private final transient Node[] nodes;
+    private final transient Edge[] edges;
+    private final transient int numAgents;
+    private final transient int numArtefacts;
+    private final transient int numHMNEdges;
+    private final transient long nodeOffsets;
+    private final transient long edgeOffsets;
+    private final transient long adjacencyOffsets;
+    private final transient long agentIDTable;
+    private final transient long artefactIDTable;
+    private final transient long edgeIDTable;
+
+    private transient Map<String, Integer> agentIDs;
+    private transient Map<String, Integer> artefactIDs;
+    private transient Map<String, Integer> edgeIDs;
+    private transient boolean agentsLoaded;
+    private transient boolean artefactsLoaded;
+    private transient boolean edgesLoaded;
+
+    /**
+     * Constructor reading the header, string table and index of a mapped snapshot.
+     * @param file The mapped snapshot file.
+     * @param classLoader The class loader used to load node classes.
+     * @throws IOException If the file is not a valid snapshot with an index.
+     */
+    MappedHMN(MappedFile file, ClassLoader classLoader) throws IOException
+    {
+        super();
+        this.file = file;
+        this.instantiator = new SnapshotFormat.Instantiator(classLoader);
+
+        // header
+        DataInputStream data = new DataInputStream(file.stream(0));
+        if (data.readInt() != SnapshotFormat.MAGIC) {
+            throw new IOException("Not an HMN snapshot");
+        }
+        short version = data.readShort();
+        if (version < 2 || version > SnapshotFormat.VERSION) {
+            throw new IOException("Cannot map HMN snapshot version " + version + " (an index is required)");
+        }
+        SnapshotFormat.readGeneration(data, version);
+        setName(SnapshotFormat.readString(data));
+        long time = data.readLong();
+        String timeZone = SnapshotFormat.readString(data);
+        if (time != SnapshotFormat.NULL_TIME) {
+            GregorianCalendar dateTime = new GregorianCalendar(timeZone == null ? TimeZone.getDefault() : TimeZone.getTimeZone(timeZone));
+            dateTime.setTimeInMillis(time);
+            setCurrentDateTime(dateTime);
+        }
+
+        // strings
+        int numStrings = data.readInt();
+        strings = new ArrayList<>(numStrings);
+        for (int i = 0; i < numStrings; i++) {
+            strings.add(data.readUTF());
+        }
+
+        // index
+        if (file.size() < SnapshotFormat.TRAILER_SIZE || file.getInt(file.size() - 4) != SnapshotFormat.INDEX_MAGIC) {
+            throw new IOException("HMN snapshot index not found");
+        }
+        long indexOffset = file.getLong(file.size() - SnapshotFormat.TRAILER_SIZE);
+        int numNodes = file.getInt(indexOffset);
+        numAgents = file.getInt(indexOffset + 4);
+        numArtefacts = file.getInt(indexOffset + 8);
+        int numEdges = file.getInt(indexOffset + 12);
+        numHMNEdges = file.getInt(indexOffset + 16);
+        if (numNodes < 0 || numEdges < 0 || numAgents < 0 || numArtefacts < 0 || numHMNEdges < 0
+                || numAgents + numArtefacts > numNodes || numHMNEdges > numEdges) {
+            throw new IOException("Invalid HMN snapshot index");
+        }
+        nodeOffsets = indexOffset + SnapshotFormat.INDEX_HEADER_SIZE;
+        edgeOffsets = nodeOffsets + 8L * (numNodes + 1);
+        adjacencyOffsets = edgeOffsets + 8L * (numEdges + 1);
+        long end = adjacencyOffsets + 8L * (numNodes + 1);
+        if (version >= 4) {
+            agentIDTable = end;
+            artefactIDTable = checkIDTable(agentIDTable, numAgents);
+            edgeIDTable = checkIDTable(artefactIDTable, numArtefacts);
+            end = checkIDTable(edgeIDTable, numHMNEdges);
+        } else {
+            agentIDTable = -1;
+            artefactIDTable = -1;
+            edgeIDTable = -1;
+        }
+        if (end + SnapshotFormat.TRAILER_SIZE != file.size()) {
+            throw new IOException("Invalid HMN snapshot index");
+        }
+
+        nodes = new Node[numNodes];
+        edges = new Edge[numEdges];
+        nodeTable = new SnapshotFormat.NodeTable()
+        {
+            @Override
+            public Node node(int ref) throws IOException
+            {
+                return ref == SnapshotFormat.NULL_REF ? null : readNode(ref);
+            }
+        };
+    }
+
+    @Override
+    public boolean removeAgent(String id)
+    {
+        loadAgents();
+        return super.removeAgent(id);
+    }
+
+    @Override
+    public boolean removeAgent(Node n) throws NullPointerException
+    {
+        loadAgents();
+        return super.removeAgent(n);
+    }
+
+    @Override
+    public boolean removeArtefact(String id)
+    {
+        loadArtefacts();
+        return super.removeArtefact(id);
+    }
+
+    @Override
+    public boolean removeArtefact(Node n) throws NullPointerException
+    {
+        loadArtefacts();
+        return super.removeArtefact(n);
+    }
+
+    @Override
+    public boolean removeEdge(String id)
+    {
+        loadEdges();
+        return super.removeEdge(id);
+    }
+
+    @Override
+    public boolean removeEdge(Edge e) throws NullPointerException
+    {
+        loadEdges();
+        return super.removeEdge(e);
+    }
+
+    @Override
+    public List<Agent> getAgents()
+    {
+        loadAgents();
+        return super.getAgents();
+    }
+
+    @Override
+    public Agent getAgent(String id)
+    {
+        synchronized (this) {
+            if (!agentsLoaded) {
+                int ref = agentRef(id);
+                return ref != SnapshotFormat.NULL_REF ? (Agent) node(ref) : null;
+            }
+        }
+        return super.getAgent(id);
+    }
+
+    @Override
+    public void setAgents(List<Agent> agents)
+    {
+        synchronized (this) {
+            agentsLoaded = true;
+        }
+        super.setAgents(agents);
+    }
+
+    @Override
+    public void addAgents(List<Agent> agents)
+    {
+        loadAgents();
+        super.addAgents(agents);
+    }
+
+    @Override
+    public void addAgent(Agent node)
+    {
+        loadAgents();
+        super.addAgent(node);
+    }
+
+    @Override
+    public List<Artefact> getArtefacts()
+    {
+        loadArtefacts();
+        return super.getArtefacts();
+    }
+
+    @Override
+    public Artefact getArtefact(String id)
+    {
+        synchronized (this) {
+            if (!artefactsLoaded) {
+                int ref = artefactRef(id);
+                return ref != SnapshotFormat.NULL_REF ? (Artefact) node(ref) : null;
+            }
+        }
+        return super.getArtefact(id);
+    }
+
+    @Override
+    public void setArtefacts(List<Artefact> artefacts)
+    {
+        synchronized (this) {
+            artefactsLoaded = true;
+        }
+        super.setArtefacts(artefacts);
+    }
+
+    @Override
+    public void addArtefacts(List<Artefact> artefacts)
+    {
+        loadArtefacts();
+        super.addArtefacts(artefacts);
+    }
+
+    @Override
+    public void addArtefact(Artefact node)
+    {
+        loadArtefacts();
+        super.addArtefact(node);
+    }
+
+    @Override
+    public List<Edge> getEdges()
+    {
+        loadEdges();
+        return super.getEdges();
+    }
+
+    @Override
+    public Edge getEdge(String id)
+    {
+        synchronized (this) {
+            if (!edgesLoaded) {
+                int ref = edgeRef(id);
+                return ref != SnapshotFormat.NULL_REF ? edge(ref) : null;
+            }
+        }
+        return super.getEdge(id);
+    }
+
+    @Override
+    public void setEdges(List<Edge> edges)
+    {
+        synchronized (this) {
+            edgesLoaded = true;
+        }
+        super.setEdges(edges);
+    }
+
+    @Override
+    public void addEdges(List<Edge> edges)
+    {
+        loadEdges();
+        super.addEdges(edges);
+    }
+
+    @Override
+    public void addEdge(Edge edge)
+    {
+        loadEdges();
+        super.addEdge(edge);
+    }
+
+    /**
+     * Add a listener to be notified of changes to the HMN. The agents, artefacts and
+     * edges are read from the file first, so that the listener is not notified of
+     * them being loaded.
+     * @param listener The HMNListener object.
+     * @throws NullPointerException If listener is NULL.
+     */
+    @Override
+    public void addListener(HMNListener listener) throws NullPointerException
+    {
+        loadAgents();
+        loadArtefacts();
+        loadEdges();
+        super.addListener(listener);
+    }
+
+    /**
+     * Take a read-only view of the HMN. All agents, artefacts and edges are read
+     * from the file first.
+     * @return An HMNView object.
+     */
+    @Override
+    public HMNView snapshot()
+    {
+        loadAgents();
+        loadArtefacts();
+        loadEdges();
+        return super.snapshot();
+    }
+
+    /**
+     * Replace this object with a plain HMN when serialised, reading all agents,
+     * artefacts and edges from the file.
+     * @return An HMN object.
+     * @throws ObjectStreamException Not thrown.
+     */
+    protected Object writeReplace() throws ObjectStreamException
+    {
+        HMN hmn = new HMN(getName());
+        hmn.setCurrentDateTime(getCurrentDateTime());
+        hmn.setAgents(getAgents());
+        hmn.setArtefacts(getArtefacts());
+        hmn.setEdges(getEdges());
+        return hmn;
+    }
+
+    private synchronized void loadAgents()
+    {
+        if (agentsLoaded) {
+            return;
+        }
+        agentsLoaded = true;
+        List<Agent> list = new ArrayList<>(numAgents);
+        for (int i = 0; i < numAgents; i++) {
+            list.add(castNode(node(i), Agent.class));
+        }
+        super.addAgents(list);
+    }
+
+    private synchronized void loadArtefacts()
+    {
+        if (artefactsLoaded) {
+            return;
+        }
+        artefactsLoaded = true;
+        List<Artefact> list = new ArrayList<>(numArtefacts);
+        for (int i = numAgents; i < numAgents + numArtefacts; i++) {
+            list.add(castNode(node(i), Artefact.class));
+        }
+        super.addArtefacts(list);
+    }
+
+    private synchronized void loadEdges()
+    {
+        if (edgesLoaded) {
+            return;
+        }
+        edgesLoaded = true;
+        List<Edge> list = new ArrayList<>(numHMNEdges);
+        for (int i = 0; i < numHMNEdges; i++) {
+            list.add(edge(i));
+        }
+        super.addEdges(list);
+    }
+
+    /**
+     * Get a node from the file, reading it if not already read.
+     * @param ref Index of the node in the node table.
+     * @return The node.
+     * @throws UncheckedIOException If the node cannot be read.
+     */
+    private Node node(int ref)
+    {
+        try {
+            return readNode(ref);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get an edge from the file, reading it if not already read.
+     * @param ref Index of the edge in the edge table.
+     * @return The edge.
+     * @throws UncheckedIOException If the edge cannot be read.
+     */
+    private Edge edge(int ref)
+    {
+        try {
+            return readEdge(ref);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private synchronized Node readNode(int ref) throws IOException
+    {
+        if (ref < 0 || ref >= nodes.length) {
+            throw new IOException("Invalid node reference in snapshot: " + ref);
+        }
+        if (nodes[ref] != null) {
+            return nodes[ref];
+        }
+
+        int[] creatorRef = new int[1];
+        Node n = SnapshotFormat.readNode(record(nodeOffsets, ref), strings, instantiator, creatorRef);
+        n.setHMN(this);
+        nodes[ref] = n; // before resolving the creator, which may refer back to the node
+
+        if (creatorRef[0] != SnapshotFormat.NULL_REF) {
+            Node creator = readNode(creatorRef[0]);
+            if (!(creator instanceof Agent)) {
+                throw new IOException("Creator of artefact " + n.getNodeID() + " in the snapshot is not an Agent");
+            }
+            ((Artefact) n).setCreator((Agent) creator);
+        }
+
+        n.setEdgeLoader(new AdjacencyLoader(ref));
+        return n;
+    }
+
+    private synchronized Edge readEdge(int ref) throws IOException
+    {
+        if (ref < 0 || ref >= edges.length) {
+            throw new IOException("Invalid edge reference in snapshot: " + ref);
+        }
+        if (edges[ref] == null) {
+            edges[ref] = SnapshotFormat.readEdge(record(edgeOffsets, ref), strings, nodeTable, new boolean[1]);
+        }
+        return edges[ref];
+    }
+
+    private List<Edge> readEdgeRefs(DataInputStream in) throws IOException
+    {
+        int n = in.readInt();
+        List<Edge> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int ref = in.readInt();
+            list.add(ref == SnapshotFormat.NULL_REF ? null : readEdge(ref));
+        }
+        return list;
+    }
+
+    /**
+     * Get a stream positioned at a record, given its index in a table of offsets.
+     * @param offsets Position of the offset table in the file.
+     * @param ref Index of the record.
+     * @return A stream to read the record from.
+     * @throws IOException If the offset is invalid.
+     */
+    private DataInputStream record(long offsets, int ref) throws IOException
+    {
+        return new DataInputStream(file.stream(file.getLong(offsets + 8L * ref)));
+    }
+
+    /**
+     * Check the capacity of an ID table in the file.
+     * @param table Position of the ID table in the file.
+     * @param count The number of records in the table.
+     * @return The position after the table.
+     * @throws IOException If the table is invalid.
+     */
+    private long checkIDTable(long table, int count) throws IOException
+    {
+        if (table + SnapshotFormat.ID_TABLE_HEADER_SIZE > file.size()) {
+            throw new IOException("Invalid HMN snapshot ID index");
+        }
+        int capacity = file.getInt(table);
+        if (capacity <= count || Integer.bitCount(capacity) != 1) {
+            throw new IOException("Invalid HMN snapshot ID index");
+        }
+        return table + SnapshotFormat.ID_TABLE_HEADER_SIZE + (long) SnapshotFormat.ID_SLOT_SIZE * capacity;
+    }
+
+    /**
+     * Find the agent with an ID in the file.
+     * @param id The ID.
+     * @return Index of the agent in the node table, or NULL_REF if not found.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    private int agentRef(String id)
+    {
+        if (agentIDTable < 0) {
+            Integer ref = agentIDs().get(id);
+            return ref != null ? ref : SnapshotFormat.NULL_REF;
+        }
+        return findID(agentIDTable, id, nodeOffsets, 0, numAgents);
+    }
+
+    /**
+     * Find the artefact with an ID in the file.
+     * @param id The ID.
+     * @return Index of the artefact in the node table, or NULL_REF if not found.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    private int artefactRef(String id)
+    {
+        if (artefactIDTable < 0) {
+            Integer ref = artefactIDs().get(id);
+            return ref != null ? ref : SnapshotFormat.NULL_REF;
+        }
+        return findID(artefactIDTable, id, nodeOffsets, numAgents, numAgents + numArtefacts);
+    }
+
+    /**
+     * Find the edge in the HMN's edge list with an ID in the file.
+     * @param id The ID.
+     * @return Index of the edge in the edge table, or NULL_REF if not found.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    private int edgeRef(String id)
+    {
+        if (edgeIDTable < 0) {
+            Integer ref = edgeIDs().get(id);
+            return ref != null ? ref : SnapshotFormat.NULL_REF;
+        }
+        return findID(edgeIDTable, id, edgeOffsets, 0, numHMNEdges);
+    }
+
+    /**
+     * Look up an ID in an ID table of the file (see SnapshotFormat.idHash(..)),
+     * reading the ID of only those records whose ID has the same hash.
+     * @param table Position of the ID table in the file.
+     * @param id The ID.
+     * @param offsets Position of the offset table of the records.
+     * @param from Index of the first record in the table.
+     * @param to Index after the last record in the table.
+     * @return Index of the record, or NULL_REF if not found.
+     * @throws UncheckedIOException If the file cannot be read or the table is invalid.
+     */
+    private int findID(long table, String id, long offsets, int from, int to)
+    {
+        try {
+            int capacity = file.getInt(table);
+            int hash = SnapshotFormat.idHash(id);
+            int slot = hash & (capacity - 1);
+            for (int i = 0; i < capacity; i++) {
+                long position = table + SnapshotFormat.ID_TABLE_HEADER_SIZE + (long) SnapshotFormat.ID_SLOT_SIZE * slot;
+                int ref = file.getInt(position + 4);
+                if (ref == SnapshotFormat.NULL_REF) {
+                    return SnapshotFormat.NULL_REF;
+                }
+                if (ref < from || ref >= to) {
+                    throw new IOException("Invalid HMN snapshot ID index");
+                }
+                if (file.getInt(position) == hash && Objects.equals(id, readID(offsets, ref))) {
+                    return ref;
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return SnapshotFormat.NULL_REF;
+    }
+
+    /**
+     * Read only the ID of a node or edge record.
+     * @param offsets Position of the offset table of the records.
+     * @param ref Index of the record.
+     * @return The ID, which may be NULL.
+     * @throws IOException If reading fails.
+     */
+    private String readID(long offsets, int ref) throws IOException
+    {
+        DataInputStream in = record(offsets, ref);
+        if (offsets == nodeOffsets) {
+            in.readInt(); // class name
+        }
+        return SnapshotFormat.readString(in);
+    }
+
+    /**
+     * Get the index of agent IDs of a snapshot without an ID index, building it on
+     * first use by reading only the ID of each agent record. Agents and artefacts are
+     * indexed separately, as in the HMN, so an artefact may have the same ID as an agent.
+     * @return Map of agent IDs to their index in the node table.
+     */
+    private Map<String, Integer> agentIDs()
+    {
+        if (agentIDs == null) {
+            agentIDs = readNodeIDs(0, numAgents);
+        }
+        return agentIDs;
+    }
+
+    /**
+     * Get the index of artefact IDs of a snapshot without an ID index, building it
+     * on first use by reading only the ID of each artefact record.
+     * @return Map of artefact IDs to their index in the node table.
+     */
+    private Map<String, Integer> artefactIDs()
+    {
+        if (artefactIDs == null) {
+            artefactIDs = readNodeIDs(numAgents, numAgents + numArtefacts);
+        }
+        return artefactIDs;
+    }
+
+    /**
+     * Read the IDs of a range of the node table.
+     * @param from Index of the first node record.
+     * @param to Index after the last node record.
+     * @return Map of node IDs to their index in the node table.
+     */
+    private Map<String, Integer> readNodeIDs(int from, int to)
+    {
+        Map<String, Integer> ids = new HashMap<>();
+        try {
+            for (int i = from; i < to; i++) {
+                ids.put(readID(nodeOffsets, i), i);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return ids;
+    }
+
+    /**
+     * Get the index of the IDs of the edges in the HMN's edge list of a snapshot
+     * without an ID index, building it on first use by reading only the ID of each
+     * edge record.
+     * @return Map of edge IDs to their index in the edge table.
+     */
+    private Map<String, Integer> edgeIDs()
+    {
+        if (edgeIDs == null) {
+            Map<String, Integer> ids = new HashMap<>();
+            try {
+                for (int i = 0; i < numHMNEdges; i++) {
+                    ids.put(readID(edgeOffsets, i), i);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            edgeIDs = ids;
+        }
+        return edgeIDs;
+    }
+
+    private static <T extends Node> T castNode(Node n, Class<T> type)
+    {
+        if (!type.isInstance(n)) {
+            throw new UncheckedIOException(new IOException("Node " + n.getNodeID() + " in the snapshot is not an " + type.getSimpleName()));
+        }
+        return type.cast(n);
+    }
+
+    /**
+     * Reads the inbound and outbound edges of a node from its adjacency record.
+     */
+    private class AdjacencyLoader implements Node.EdgeLoader
+    {
+        private final int ref;
+
+        AdjacencyLoader(int ref)
+        {
+            this.ref = ref;
+        }
+
+        @Override
+        public void loadEdges(Node node)
+        {
+            List<Edge> inbound;
+            List<Edge> outbound;
+            try {
+                synchronized (MappedHMN.this) {
+                    DataInputStream in = record(adjacencyOffsets, ref);
+                    inbound = readEdgeRefs(in);
+                    outbound = readEdgeRefs(in);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            node.addInboundEdges(inbound);
+            node.addOutboundEdges(outbound);
+        }
+    }
+}
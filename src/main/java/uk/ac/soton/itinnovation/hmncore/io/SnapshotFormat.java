@@ -0,0 +1,595 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.CultureType;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+import uk.ac.soton.itinnovation.hmncore.GenderType;
+import uk.ac.soton.itinnovation.hmncore.Human;
+import uk.ac.soton.itinnovation.hmncore.Machine;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.SexualOrientationType;
+
+/**
+ * Constants and record encoding shared by the binary HMN snapshot writer and readers.
+ *
+ * A snapshot is laid out as:
+ *   header:     magic, version, (version 3) checkpoint generation (see HMNWriteAheadLog),
+ *               HMN name, current date/time (millis and time zone ID)
+ *   strings:    count, then each string; referred to by index from the records
+ *               (node class names, connection types and property keys)
+ *   nodes:      count, number of agents, number of artefacts, then one record per
+ *               node (agents first, then artefacts, then nodes only reachable via edges)
+ *   edges:      count, number of edges in the HMN's edge list, then one record per edge
+ *   adjacency:  for each node, its inbound and then outbound edges as edge indices
+ *   index:      (version 2) aligned to 8 bytes; the table sizes followed by the file
+ *               offsets of each node record, edge record and node adjacency record,
+ *               each with a final entry for the end of the section
+ *   ID index:   (version 4) after the index, a hash table of IDs for each of the
+ *               agents, artefacts and edges in the HMN's edge list, to look up
+ *               records by ID (see idHash(..))
+ *   trailer:    (version 2) offset of the index and the index magic number
+ *
+ * Nodes and edges refer to each other by their index in the tables rather than by
+ * nesting, so reading and writing does not recurse through the graph.
+ */
+final class SnapshotFormat
+{
+    static final int MAGIC = 0x484D4E53; // "HMNS"
+    static final short VERSION = 4;
+    static final short MIN_VERSION = 1;
+    static final int INDEX_MAGIC = 0x484D4E49; // "HMNI"
+    static final int INDEX_HEADER_SIZE = 24;
+    static final int TRAILER_SIZE = 12;
+    static final int ID_TABLE_HEADER_SIZE = 8;
+    static final int ID_SLOT_SIZE = 8;
+
+    static final int NULL_REF = -1;
+    static final long NULL_TIME = Long.MIN_VALUE;
+
+    static final byte EDGE_IN_HMN = 0x01;
+    static final byte EDGE_HAS_STATS = 0x02;
+
+    private static final byte KIND_NODE = 0;
+    private static final byte KIND_HUMAN = 1;
+    private static final byte KIND_MACHINE = 2;
+    private static final byte KIND_ARTEFACT = 3;
+
+    private static final GenderType[] GENDERS = GenderType.values();
+    private static final SexualOrientationType[] ORIENTATIONS = SexualOrientationType.values();
+    private static final CultureType[] CULTURES = CultureType.values();
+    private static final ConnectionType[] CONNECTION_TYPES = ConnectionType.values();
+
+    private SnapshotFormat() { }
+
+    /**
+     * Write a string that may be NULL.
+     * @param out The output to write to.
+     * @param s The string.
+     * @throws IOException If writing fails.
+     */
+    static void writeString(DataOutput out, String s) throws IOException
+    {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    /**
+     * Read a string written by writeString(..).
+     * @param in The input to read from.
+     * @return The string, which may be NULL.
+     * @throws IOException If reading fails.
+     */
+    static String readString(DataInput in) throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Read the checkpoint generation from the header of a snapshot, after the magic
+     * number and version.
+     * @param in The input to read from.
+     * @param version The version of the snapshot.
+     * @return The generation, which is 0 before version 3.
+     * @throws IOException If reading fails.
+     */
+    static long readGeneration(DataInput in, short version) throws IOException
+    {
+        return version >= 3 ? in.readLong() : 0;
+    }
+
+    /**
+     * Get the hash of an ID in the ID index. Each ID table is a capacity (a power of
+     * two greater than the number of IDs) followed by that many slots, each holding
+     * the hash of an ID and the index of its record, or NULL_REF if the slot is empty.
+     * An ID is in the first slot from (hash &amp; (capacity - 1)) onwards, wrapping
+     * around, that holds its record, and before the next empty slot.
+     * @param id The ID, which may be NULL.
+     * @return The hash.
+     */
+    static int idHash(String id)
+    {
+        int h = id == null ? 0 : id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Get the capacity of the ID table for a number of IDs.
+     * @param count The number of IDs.
+     * @return A power of two at least twice the number of IDs, and at least 1.
+     */
+    static int idTableCapacity(int count)
+    {
+        int capacity = 1;
+        while (capacity < 2L * count && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Read a reference to a string in the string table.
+     * @param in The input to read from.
+     * @param strings The string table.
+     * @return The string, which may be NULL.
+     * @throws IOException If reading fails or the reference is invalid.
+     */
+    static String readStringRef(DataInput in, List<String> strings) throws IOException
+    {
+        int ref = in.readInt();
+        if (ref == NULL_REF) {
+            return null;
+        }
+        if (ref < 0 || ref >= strings.size()) {
+            throw new IOException("Invalid string reference in snapshot: " + ref);
+        }
+        return strings.get(ref);
+    }
+
+    /**
+     * Write a node record.
+     * @param out The output to write to.
+     * @param n The node.
+     * @param classRef Reference to the class name of the node in the string table.
+     * @param creatorRef Index of the creator of the node in the node table, if it is an Artefact.
+     * @throws IOException If writing fails.
+     */
+    static void writeNode(DataOutput out, Node n, int classRef, int creatorRef) throws IOException
+    {
+        out.writeInt(classRef);
+        writeString(out, n.getNodeID());
+
+        if (n instanceof Human) {
+            Human h = (Human) n;
+            out.writeByte(KIND_HUMAN);
+            out.writeInt(h.getAge());
+            out.writeByte(h.getGender() == null ? -1 : h.getGender().ordinal());
+            out.writeByte(h.getSexualOrientation() == null ? -1 : h.getSexualOrientation().ordinal());
+            out.writeByte(h.getCulture() == null ? -1 : h.getCulture().ordinal());
+            out.writeDouble(h.getSelfEfficacy());
+            out.writeDouble(h.getComputerSelfEfficacy());
+            out.writeDouble(h.getTrust());
+            out.writeInt(h.getReputation());
+        } else if (n instanceof Machine) {
+            Machine m = (Machine) n;
+            out.writeByte(KIND_MACHINE);
+            out.writeDouble(m.getCapacity());
+            out.writeDouble(m.getAvailability());
+            out.writeDouble(m.getReliability());
+            out.writeDouble(m.getResponsiveness());
+            out.writeDouble(m.getThroughput());
+            out.writeDouble(m.getUtilisation());
+        } else if (n instanceof Artefact) {
+            Artefact a = (Artefact) n;
+            out.writeByte(KIND_ARTEFACT);
+            out.writeInt(creatorRef);
+            out.writeLong(a.getCreationDate() == null ? NULL_TIME : a.getCreationDate().getTime());
+        } else {
+            out.writeByte(KIND_NODE);
+        }
+
+        out.writeBoolean(n instanceof SnapshotSerializable);
+        if (n instanceof SnapshotSerializable) {
+            ((SnapshotSerializable) n).writeSnapshot(out);
+        }
+    }
+
+    /**
+     * Read a node record, creating an instance of the node's class.
+     * @param in The input to read from.
+     * @param strings The string table.
+     * @param instantiator Creates instances of node classes.
+     * @param creatorRef Array of length 1 to return the index of the creator (if an Artefact) in; set to NULL_REF otherwise.
+     * @return The node.
+     * @throws IOException If reading fails or the node cannot be instantiated.
+     */
+    static Node readNode(DataInput in, List<String> strings, Instantiator instantiator, int[] creatorRef) throws IOException
+    {
+        Node n = instantiator.newNode(readStringRef(in, strings));
+        n.setNodeID(readString(in));
+        creatorRef[0] = NULL_REF;
+
+        byte kind = in.readByte();
+        switch (kind) {
+            case KIND_HUMAN: {
+                Human h = cast(n, Human.class);
+                h.setAge(in.readInt());
+                h.setGender(enumValue(GENDERS, in.readByte()));
+                h.setSexualOrientation(enumValue(ORIENTATIONS, in.readByte()));
+                h.setCulture(enumValue(CULTURES, in.readByte()));
+                h.setSelfEfficacy(in.readDouble());
+                h.setComputerSelfEfficacy(in.readDouble());
+                h.setTrust(in.readDouble());
+                h.setReputation(in.readInt());
+                break;
+            }
+            case KIND_MACHINE: {
+                Machine m = cast(n, Machine.class);
+                m.setCapacity(in.readDouble());
+                m.setAvailability(in.readDouble());
+                m.setReliability(in.readDouble());
+                m.setResponsiveness(in.readDouble());
+                m.setThroughput(in.readDouble());
+                m.setUtilisation(in.readDouble());
+                break;
+            }
+            case KIND_ARTEFACT: {
+                Artefact a = cast(n, Artefact.class);
+                creatorRef[0] = in.readInt();
+                long created = in.readLong();
+                a.setCreationDate(created == NULL_TIME ? null : new Date(created));
+                break;
+            }
+            case KIND_NODE:
+                break;
+            default:
+                throw new IOException("Invalid node kind in snapshot: " + kind);
+        }
+
+        if (in.readBoolean()) {
+            cast(n, SnapshotSerializable.class).readSnapshot(in);
+        }
+
+        return n;
+    }
+
+    /**
+     * Write an edge record.
+     * @param out The output to write to.
+     * @param e The edge.
+     * @param srcRef Index of the source node in the node table.
+     * @param sinkRef Index of the sink node in the node table.
+     * @param inHMN True if the edge is in the HMN's list of edges.
+     * @param stringRefs Map of strings to their index in the string table.
+     * @throws IOException If writing fails.
+     */
+    static void writeEdge(DataOutput out, Edge e, int srcRef, int sinkRef, boolean inHMN, Map<String, Integer> stringRefs) throws IOException
+    {
+        writeString(out, e.getEdgeID());
+        out.writeInt(srcRef);
+        out.writeInt(sinkRef);
+
+        // edges without stats are written without them, rather than creating them
+        EdgeStats edgeStats = e.hasEdgeStats() ? e.getEdgeStats() : null;
+        byte flags = 0;
+        if (inHMN) {
+            flags |= EDGE_IN_HMN;
+        }
+        if (edgeStats != null) {
+            flags |= EDGE_HAS_STATS;
+        }
+        out.writeByte(flags);
+        if (edgeStats != null) {
+            writeStats(out, edgeStats);
+        }
+
+        writeConnections(out, e.getSourceConnections(), stringRefs);
+        writeConnections(out, e.getSinkConnections(), stringRefs);
+
+        Map<String, EdgeStats> stats = e.getEdgeConnectionStats();
+        out.writeInt(stats == null ? 0 : stats.size());
+        if (stats != null) {
+            for (Map.Entry<String, EdgeStats> entry : stats.entrySet()) {
+                out.writeInt(ref(stringRefs, entry.getKey()));
+                out.writeBoolean(entry.getValue() != null);
+                if (entry.getValue() != null) {
+                    writeStats(out, entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Read an edge record. The source and sink nodes are resolved from the node table.
+     * @param in The input to read from.
+     * @param strings The string table.
+     * @param nodes The node table.
+     * @param inHMN Array of length 1 to return whether the edge is in the HMN's list of edges.
+     * @return The edge.
+     * @throws IOException If reading fails.
+     */
+    static Edge readEdge(DataInput in, List<String> strings, NodeTable nodes, boolean[] inHMN) throws IOException
+    {
+        String id = readString(in);
+        Node src = nodes.node(in.readInt());
+        Node sink = nodes.node(in.readInt());
+        Edge e = new Edge(id, src, sink);
+
+        byte flags = in.readByte();
+        inHMN[0] = (flags & EDGE_IN_HMN) != 0;
+        if ((flags & EDGE_HAS_STATS) != 0) {
+            e.setEdgeStats(readStats(in));
+        } else {
+            e.setEdgeStats(null);
+        }
+
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String type = readStringRef(in, strings);
+            e.addSourceConnection(type, readConnection(in, strings));
+        }
+
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String type = readStringRef(in, strings);
+            e.addSinkConnection(type, readConnection(in, strings));
+        }
+
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String type = readStringRef(in, strings);
+            e.addEdgeConnectionStats(type, in.readBoolean() ? readStats(in) : null);
+        }
+
+        return e;
+    }
+
+    /**
+     * Add the strings an edge refers to (connection types and property keys) to the string table.
+     * @param e The edge.
+     * @param stringRefs Map of strings to their index in the string table.
+     */
+    static void collectStrings(Edge e, Map<String, Integer> stringRefs)
+    {
+        collectConnectionStrings(e.getSourceConnections(), stringRefs);
+        collectConnectionStrings(e.getSinkConnections(), stringRefs);
+        if (e.getEdgeConnectionStats() != null) {
+            for (String type : e.getEdgeConnectionStats().keySet()) {
+                intern(stringRefs, type);
+            }
+        }
+    }
+
+    /**
+     * Add a string to the string table, if not already present.
+     * @param stringRefs Map of strings to their index in the string table.
+     * @param s The string, which is ignored if NULL.
+     * @return The index of the string, or NULL_REF if the string is NULL.
+     */
+    static int intern(Map<String, Integer> stringRefs, String s)
+    {
+        if (s == null) {
+            return NULL_REF;
+        }
+        Integer ref = stringRefs.get(s);
+        if (ref == null) {
+            ref = stringRefs.size();
+            stringRefs.put(s, ref);
+        }
+        return ref;
+    }
+
+    private static void collectConnectionStrings(Map<String, Connection> connections, Map<String, Integer> stringRefs)
+    {
+        if (connections == null) {
+            return;
+        }
+        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+            intern(stringRefs, entry.getKey());
+            Connection c = entry.getValue();
+            if (c != null && c.getProperties() != null) {
+                for (String key : c.getProperties().keySet()) {
+                    intern(stringRefs, key);
+                }
+            }
+        }
+    }
+
+    private static void writeConnections(DataOutput out, Map<String, Connection> connections, Map<String, Integer> stringRefs) throws IOException
+    {
+        out.writeInt(connections == null ? 0 : connections.size());
+        if (connections != null) {
+            for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+                out.writeInt(ref(stringRefs, entry.getKey()));
+                writeConnection(out, entry.getValue(), stringRefs);
+            }
+        }
+    }
+
+    /**
+     * Write a connection, which may be NULL.
+     * @param out The output to write to.
+     * @param c The connection.
+     * @param stringRefs Map of strings to their index in the string table, which must contain the property keys.
+     * @throws IOException If writing fails.
+     */
+    static void writeConnection(DataOutput out, Connection c, Map<String, Integer> stringRefs) throws IOException
+    {
+        out.writeBoolean(c != null);
+        if (c == null) {
+            return;
+        }
+
+        writeString(out, c.getConnectionID());
+        out.writeByte(c.getConnectionType() == null ? -1 : c.getConnectionType().ordinal());
+        out.writeDouble(c.getTrust());
+        out.writeDouble(c.getTrustworthiness());
+
+        Map<String, Double> properties = c.getProperties();
+        out.writeInt(properties == null ? 0 : properties.size());
+        if (properties != null) {
+            for (Map.Entry<String, Double> p : properties.entrySet()) {
+                out.writeInt(ref(stringRefs, p.getKey()));
+                out.writeBoolean(p.getValue() != null);
+                out.writeDouble(p.getValue() == null ? 0 : p.getValue());
+            }
+        }
+    }
+
+    /**
+     * Read a connection written by writeConnection(..).
+     * @param in The input to read from.
+     * @param strings The string table.
+     * @return The connection, or null.
+     * @throws IOException If reading fails.
+     */
+    static Connection readConnection(DataInput in, List<String> strings) throws IOException
+    {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        String id = readString(in);
+        ConnectionType type = enumValue(CONNECTION_TYPES, in.readByte());
+        Connection c = new Connection(id, type, in.readDouble(), in.readDouble());
+
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String key = readStringRef(in, strings);
+            boolean hasValue = in.readBoolean();
+            double value = in.readDouble();
+            c.setProperty(key, hasValue ? value : null);
+        }
+        return c;
+    }
+
+    private static void writeStats(DataOutput out, EdgeStats stats) throws IOException
+    {
+        out.writeInt(stats.getInteractionStrength());
+        out.writeInt(stats.getNumInteractions());
+    }
+
+    private static EdgeStats readStats(DataInput in) throws IOException
+    {
+        EdgeStats stats = new EdgeStats();
+        stats.setInteractionStrength(in.readInt());
+        stats.setNumInteractions(in.readInt());
+        return stats;
+    }
+
+    private static int ref(Map<String, Integer> stringRefs, String s) throws IOException
+    {
+        if (s == null) {
+            return NULL_REF;
+        }
+        Integer ref = stringRefs.get(s);
+        if (ref == null) {
+            throw new IOException("String not found in the snapshot string table: " + s);
+        }
+        return ref;
+    }
+
+    private static <E extends Enum<E>> E enumValue(E[] values, byte ordinal) throws IOException
+    {
+        if (ordinal == -1) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Invalid enum value in snapshot: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static <T> T cast(Node n, Class<T> type) throws IOException
+    {
+        if (!type.isInstance(n)) {
+            throw new IOException("Node class " + n.getClass().getName() + " in the snapshot is not a " + type.getSimpleName());
+        }
+        return type.cast(n);
+    }
+
+    /**
+     * Resolves node indices in edge records to Node objects.
+     */
+    interface NodeTable
+    {
+        /**
+         * Get a node from the node table.
+         * @param ref Index of the node, or NULL_REF.
+         * @return The node, or NULL for NULL_REF.
+         * @throws IOException If the index is invalid.
+         */
+        Node node(int ref) throws IOException;
+    }
+
+    /**
+     * Creates node instances from their class names, using the class's no-argument
+     * constructor, which may be private. Constructors are cached per class.
+     */
+    static class Instantiator
+    {
+        private final ClassLoader classLoader;
+        private final Map<String, Constructor<? extends Node>> constructors = new HashMap<>();
+
+        Instantiator(ClassLoader classLoader)
+        {
+            this.classLoader = classLoader;
+        }
+
+        Node newNode(String className) throws IOException
+        {
+            if (className == null) {
+                throw new IOException("Node class name missing in snapshot");
+            }
+
+            try {
+                Constructor<? extends Node> constructor = constructors.get(className);
+                if (constructor == null) {
+                    Class<? extends Node> cls = Class.forName(className, false, classLoader).asSubclass(Node.class);
+                    constructor = cls.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    constructors.put(className, constructor);
+                }
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException | ClassCastException | SecurityException ex) {
+                throw new IOException("Cannot instantiate node class " + className + " (a no-argument constructor is required)", ex);
+            }
+        }
+    }
+}
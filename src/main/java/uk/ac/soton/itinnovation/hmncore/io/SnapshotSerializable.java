@@ -0,0 +1,56 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * An interface that Node sub-classes may implement to include their own fields in
+ * a binary HMN snapshot. The core properties of the node (ID, and the properties
+ * of Human, Machine and Artefact) are always written by the snapshot writer;
+ * this is only needed for properties added by the sub-class.
+ *
+ * @see HMNSnapshotWriter
+ * @see HMNSnapshotReader
+ */
+public interface SnapshotSerializable
+{
+    /**
+     * Write the properties of the sub-class to the snapshot.
+     * @param out The output to write to.
+     * @throws IOException If writing fails.
+     */
+    void writeSnapshot(DataOutput out) throws IOException;
+
+    /**
+     * Read the properties of the sub-class from the snapshot, in the same order as
+     * they were written by writeSnapshot(..).
+     * @param in The input to read from.
+     * @throws IOException If reading fails.
+     */
+    void readSnapshot(DataInput in) throws IOException;
+}
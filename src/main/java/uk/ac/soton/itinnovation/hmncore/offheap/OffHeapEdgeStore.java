@@ -0,0 +1,663 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * A store of edges held outside the Java heap, in direct ByteBuffers, for networks
+ * whose edges would otherwise dominate the heap (each Edge object carries two maps
+ * of Connection objects and a map of EdgeStats). Each edge is a fixed-size record
+ * holding the indices of its source and sink nodes, its aggregate stats, and, for
+ * each connection type, the trust and trustworthiness of the source and sink
+ * connections and the stats of the type. An edge takes 24 + 40 * maxTypes bytes,
+ * e.g., 104 bytes with two connection types, and the heap only holds the buffers.
+ *
+ * Edges are identified by a dense index, and connection types by a store-local
+ * type ID (see typeId(..)). Nodes remain on the heap, and are numbered by the
+ * store as edges are added. The primitive accessors (e.g., getTrust(..) and
+ * addInteractions(..)) read and write the records directly; getEdge(..) creates
+ * a flyweight Edge view of a record on demand, whose connections and stats read
+ * and write through to the store.
+ *
+ * Only trust, trustworthiness and stats are stored: edge IDs, connection IDs and
+ * bespoke connection properties are not. Views of the same edge are distinct
+ * objects, and the ID of a view is its index. Removing an edge moves the last
+ * edge into its index, so indices are dense but not stable across removals.
+ *
+ * Recording interactions and setting connections may be done from several threads
+ * at once (updates to the same edge are serialised by striped locks), but edges
+ * must not be added or removed while the store is accessed by other threads.
+ * The direct memory available is limited by -XX:MaxDirectMemorySize.
+ *
+ * @see Edge
+ */
+public class OffHeapEdgeStore
+{
+    /**
+     * The maximum number of connection types a store can hold.
+     */
+    public static final int MAX_TYPES = 21; // 3 flag bits per type in a long
+
+    private static final int SOURCE_OFFSET = 0;
+    private static final int SINK_OFFSET = 4;
+    private static final int NUM_INTERACTIONS_OFFSET = 8;
+    private static final int STRENGTH_OFFSET = 12;
+    private static final int FLAGS_OFFSET = 16;
+    private static final int TYPES_OFFSET = 24;
+
+    // offsets within the slot of a connection type
+    private static final int SOURCE_TRUST = 0;
+    private static final int SOURCE_TRUSTWORTHINESS = 8;
+    private static final int SINK_TRUST = 16;
+    private static final int SINK_TRUSTWORTHINESS = 24;
+    private static final int TYPE_NUM_INTERACTIONS = 32;
+    private static final int TYPE_STRENGTH = 36;
+    private static final int TYPE_SIZE = 40;
+
+    private static final int HAS_SOURCE = 1;
+    private static final int HAS_SINK = 2;
+    private static final int HAS_STATS = 4;
+
+    private static final int MAX_CHUNK_RECORDS = 1 << 16;
+    private static final int NUM_LOCKS = 64;
+
+    private final int maxTypes;
+    private final int recordSize;
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int size;
+
+    private final List<String> typeNames = new ArrayList<>();
+    private final Map<String, Integer> typeIds = new HashMap<>();
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Node, Integer> nodeIndices = new IdentityHashMap<>();
+    private final Object[] locks = new Object[NUM_LOCKS];
+
+    /**
+     * Constructor initialising an empty store.
+     * @param maxTypes The maximum number of connection types, from 1 to MAX_TYPES, which determines the size of each edge record.
+     * @throws IllegalArgumentException If maxTypes is out of range.
+     */
+    public OffHeapEdgeStore(int maxTypes) throws IllegalArgumentException
+    {
+        if (maxTypes < 1 || maxTypes > MAX_TYPES) {
+            throw new IllegalArgumentException("The maximum number of connection types must be from 1 to " + MAX_TYPES + ": " + maxTypes);
+        }
+
+        this.maxTypes = maxTypes;
+        this.recordSize = TYPES_OFFSET + TYPE_SIZE * maxTypes;
+        int records = Math.min(MAX_CHUNK_RECORDS, Integer.highestOneBit(Integer.MAX_VALUE / recordSize));
+        this.chunkShift = Integer.numberOfTrailingZeros(records);
+        this.chunkMask = records - 1;
+        for (int i = 0; i < NUM_LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get the number of edges in the store.
+     * @return The number of edges.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Get the size of each edge record.
+     * @return The size in bytes.
+     */
+    public int getRecordSize()
+    {
+        return recordSize;
+    }
+
+    /**
+     * Get the amount of direct memory allocated for the edge records.
+     * @return The number of bytes.
+     */
+    public long getAllocatedBytes()
+    {
+        return (long) chunks.length * (chunkMask + 1) * recordSize;
+    }
+
+    /**
+     * Get the ID of a connection type, assigning the next ID if the type is new.
+     * @param conType The name of the connection type.
+     * @return The type ID.
+     * @throws NullPointerException If conType is NULL.
+     * @throws IllegalStateException If the store already holds its maximum number of types.
+     */
+    public synchronized int typeId(String conType) throws NullPointerException, IllegalStateException
+    {
+        if (conType == null) {
+            throw new NullPointerException("Cannot get the connection type ID as the name provided was NULL");
+        }
+        Integer id = typeIds.get(conType);
+        if (id == null) {
+            if (typeNames.size() == maxTypes) {
+                throw new IllegalStateException("Cannot add the connection type as the store already holds " + maxTypes + " types: " + conType);
+            }
+            id = typeNames.size();
+            typeNames.add(conType);
+            typeIds.put(conType, id);
+        }
+        return id;
+    }
+
+    /**
+     * Get the ID of a connection type, if it has been assigned.
+     * @param conType The name of the connection type.
+     * @return The type ID, or -1 if the type is not in the store.
+     */
+    public synchronized int findType(String conType)
+    {
+        Integer id = typeIds.get(conType);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the name of a connection type.
+     * @param typeId The type ID.
+     * @return The name of the connection type.
+     * @throws IndexOutOfBoundsException If the type ID has not been assigned.
+     */
+    public synchronized String typeName(int typeId) throws IndexOutOfBoundsException
+    {
+        return typeNames.get(typeId);
+    }
+
+    /**
+     * Get the number of connection types assigned.
+     * @return The number of types.
+     */
+    public synchronized int getNumTypes()
+    {
+        return typeNames.size();
+    }
+
+    /**
+     * Get the index of a node in the store, numbering the node if it is new.
+     * @param node The node, which may be NULL.
+     * @return The index of the node, or -1 if the node is NULL.
+     */
+    public int nodeIndex(Node node)
+    {
+        if (node == null) {
+            return -1;
+        }
+        Integer index = nodeIndices.get(node);
+        if (index == null) {
+            index = nodes.size();
+            nodes.add(node);
+            nodeIndices.put(node, index);
+        }
+        return index;
+    }
+
+    /**
+     * Get a node given its index in the store.
+     * @param index The index of the node.
+     * @return The node, or null if the index is -1.
+     */
+    public Node getNode(int index)
+    {
+        return index < 0 ? null : nodes.get(index);
+    }
+
+    /**
+     * Add an edge between two nodes, with no connections and zero stats.
+     * @param source The source node.
+     * @param sink The sink node.
+     * @return The index of the edge.
+     */
+    public int addEdge(Node source, Node sink)
+    {
+        if (size == (long) chunks.length << chunkShift) {
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunks.length - 1] = ByteBuffer.allocateDirect((chunkMask + 1) * recordSize).order(ByteOrder.nativeOrder());
+        }
+
+        int e = size++;
+        ByteBuffer b = chunk(e);
+        int base = offset(e);
+        for (int i = 0; i < recordSize; i += 8) {
+            b.putLong(base + i, 0L);
+        }
+        b.putInt(base + SOURCE_OFFSET, nodeIndex(source));
+        b.putInt(base + SINK_OFFSET, nodeIndex(sink));
+        return e;
+    }
+
+    /**
+     * Add a copy of an edge, with the trust and trustworthiness of its connections
+     * and its stats. The ID of the edge and the IDs and properties of its
+     * connections are not stored.
+     * @param edge The edge.
+     * @return The index of the edge in the store.
+     * @throws NullPointerException If edge is NULL.
+     * @throws IllegalStateException If the edge has more connection types than the store can hold.
+     */
+    public int addEdge(Edge edge) throws NullPointerException, IllegalStateException
+    {
+        if (edge == null) {
+            throw new NullPointerException("Cannot add the edge to the store as the object provided was NULL");
+        }
+
+        int e = addEdge(edge.getSourceNode(), edge.getSinkNode());
+        copyConnections(e, edge.getSourceConnections(), ConnectionType.SOURCE);
+        copyConnections(e, edge.getSinkConnections(), ConnectionType.SINK);
+
+        Map<String, EdgeStats> typeStats = edge.getEdgeConnectionStats();
+        if (typeStats != null) {
+            for (Map.Entry<String, EdgeStats> entry : typeStats.entrySet()) {
+                if (entry.getValue() != null) {
+                    int t = typeId(entry.getKey());
+                    setTypeStats(e, t, entry.getValue().getNumInteractions(), entry.getValue().getInteractionStrength());
+                }
+            }
+        }
+        if (edge.hasEdgeStats()) {
+            EdgeStats stats = edge.getEdgeStats();
+            ByteBuffer b = chunk(e);
+            b.putInt(offset(e) + NUM_INTERACTIONS_OFFSET, stats.getNumInteractions());
+            b.putInt(offset(e) + STRENGTH_OFFSET, stats.getInteractionStrength());
+        }
+        return e;
+    }
+
+    /**
+     * Remove an edge, moving the last edge in the store into its index.
+     * @param e The index of the edge.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public void removeEdge(int e) throws IndexOutOfBoundsException
+    {
+        check(e);
+        int last = --size;
+        if (e != last) {
+            ByteBuffer from = chunk(last);
+            ByteBuffer to = chunk(e);
+            int fromBase = offset(last);
+            int toBase = offset(e);
+            for (int i = 0; i < recordSize; i += 8) {
+                to.putLong(toBase + i, from.getLong(fromBase + i));
+            }
+        }
+    }
+
+    /**
+     * Remove all edges. The memory allocated is kept for new edges.
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Get the index of the source node of an edge.
+     * @param e The index of the edge.
+     * @return The index of the node, or -1 if the edge has no source node.
+     */
+    public int getSource(int e)
+    {
+        check(e);
+        return chunk(e).getInt(offset(e) + SOURCE_OFFSET);
+    }
+
+    /**
+     * Get the index of the sink node of an edge.
+     * @param e The index of the edge.
+     * @return The index of the node, or -1 if the edge has no sink node.
+     */
+    public int getSink(int e)
+    {
+        check(e);
+        return chunk(e).getInt(offset(e) + SINK_OFFSET);
+    }
+
+    /**
+     * Check if an edge has a connection of a type.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @return True if the edge has the connection; false otherwise.
+     */
+    public boolean hasConnection(int e, int typeId, ConnectionType side)
+    {
+        return (flags(e, typeId) & sideFlag(side)) != 0;
+    }
+
+    /**
+     * Set a connection of an edge, adding it if it does not exist.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @param trust The trust of the connection.
+     * @param trustworthiness The trustworthiness of the connection.
+     */
+    public void setConnection(int e, int typeId, ConnectionType side, double trust, double trustworthiness)
+    {
+        int pos = slot(e, typeId) + (side == ConnectionType.SINK ? SINK_TRUST : SOURCE_TRUST);
+        ByteBuffer b = chunk(e);
+        synchronized (lock(e)) {
+            b.putDouble(pos, trust);
+            b.putDouble(pos + 8, trustworthiness);
+            setFlags(e, typeId, sideFlag(side));
+        }
+    }
+
+    /**
+     * Remove a connection of an edge.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @return True if the edge had the connection; false otherwise.
+     */
+    public boolean removeConnection(int e, int typeId, ConnectionType side)
+    {
+        synchronized (lock(e)) {
+            if (!hasConnection(e, typeId, side)) {
+                return false;
+            }
+            ByteBuffer b = chunk(e);
+            int base = offset(e);
+            int pos = slot(e, typeId) + (side == ConnectionType.SINK ? SINK_TRUST : SOURCE_TRUST);
+            b.putDouble(pos, 0);
+            b.putDouble(pos + 8, 0);
+            b.putLong(base + FLAGS_OFFSET, b.getLong(base + FLAGS_OFFSET) & ~((long) sideFlag(side) << (3 * typeId)));
+            return true;
+        }
+    }
+
+    /**
+     * Get the trust of a connection of an edge.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @return The trust, or 0 if the edge does not have the connection.
+     */
+    public double getTrust(int e, int typeId, ConnectionType side)
+    {
+        return chunk(e).getDouble(slot(e, typeId) + (side == ConnectionType.SINK ? SINK_TRUST : SOURCE_TRUST));
+    }
+
+    /**
+     * Set the trust of a connection of an edge, adding the connection if it does not exist.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @param trust The trust.
+     */
+    public void setTrust(int e, int typeId, ConnectionType side, double trust)
+    {
+        ByteBuffer b = chunk(e);
+        int pos = slot(e, typeId) + (side == ConnectionType.SINK ? SINK_TRUST : SOURCE_TRUST);
+        synchronized (lock(e)) {
+            b.putDouble(pos, trust);
+            setFlags(e, typeId, sideFlag(side));
+        }
+    }
+
+    /**
+     * Get the trustworthiness of a connection of an edge.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @return The trustworthiness, or 0 if the edge does not have the connection.
+     */
+    public double getTrustworthiness(int e, int typeId, ConnectionType side)
+    {
+        return chunk(e).getDouble(slot(e, typeId) + (side == ConnectionType.SINK ? SINK_TRUSTWORTHINESS : SOURCE_TRUSTWORTHINESS));
+    }
+
+    /**
+     * Set the trustworthiness of a connection of an edge, adding the connection if it does not exist.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side ConnectionType.SOURCE for the connection of the source node; ConnectionType.SINK for the sink node.
+     * @param trustworthiness The trustworthiness.
+     */
+    public void setTrustworthiness(int e, int typeId, ConnectionType side, double trustworthiness)
+    {
+        ByteBuffer b = chunk(e);
+        int pos = slot(e, typeId) + (side == ConnectionType.SINK ? SINK_TRUSTWORTHINESS : SOURCE_TRUSTWORTHINESS);
+        synchronized (lock(e)) {
+            b.putDouble(pos, trustworthiness);
+            setFlags(e, typeId, sideFlag(side));
+        }
+    }
+
+    /**
+     * Get the number of interactions on an edge, across all connection types.
+     * @param e The index of the edge.
+     * @return The number of interactions.
+     */
+    public int getNumInteractions(int e)
+    {
+        check(e);
+        return chunk(e).getInt(offset(e) + NUM_INTERACTIONS_OFFSET);
+    }
+
+    /**
+     * Get the interaction strength of an edge, across all connection types.
+     * @param e The index of the edge.
+     * @return The interaction strength.
+     */
+    public int getInteractionStrength(int e)
+    {
+        check(e);
+        return chunk(e).getInt(offset(e) + STRENGTH_OFFSET);
+    }
+
+    /**
+     * Check if an edge has stats for a connection type.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @return True if the edge has stats for the type; false otherwise.
+     */
+    public boolean hasStats(int e, int typeId)
+    {
+        return (flags(e, typeId) & HAS_STATS) != 0;
+    }
+
+    /**
+     * Get the number of interactions of a connection type on an edge.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @return The number of interactions.
+     */
+    public int getNumInteractions(int e, int typeId)
+    {
+        return chunk(e).getInt(slot(e, typeId) + TYPE_NUM_INTERACTIONS);
+    }
+
+    /**
+     * Get the interaction strength of a connection type on an edge.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @return The interaction strength.
+     */
+    public int getInteractionStrength(int e, int typeId)
+    {
+        return chunk(e).getInt(slot(e, typeId) + TYPE_STRENGTH);
+    }
+
+    /**
+     * Add interactions of a connection type to an edge, which are also added to
+     * the aggregate stats of the edge.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param n The number of interactions.
+     */
+    public void addInteractions(int e, int typeId, int n)
+    {
+        ByteBuffer b = chunk(e);
+        int pos = slot(e, typeId) + TYPE_NUM_INTERACTIONS;
+        int agg = offset(e) + NUM_INTERACTIONS_OFFSET;
+        synchronized (lock(e)) {
+            b.putInt(pos, b.getInt(pos) + n);
+            b.putInt(agg, b.getInt(agg) + n);
+            setFlags(e, typeId, HAS_STATS);
+        }
+    }
+
+    /**
+     * Set the stats of a connection type on an edge, adjusting the aggregate stats
+     * of the edge by the differences.
+     * @param e The index of the edge.
+     * @param typeId The connection type ID.
+     * @param numInteractions The number of interactions.
+     * @param interactionStrength The interaction strength.
+     */
+    public void setTypeStats(int e, int typeId, int numInteractions, int interactionStrength)
+    {
+        ByteBuffer b = chunk(e);
+        int pos = slot(e, typeId);
+        int base = offset(e);
+        synchronized (lock(e)) {
+            int dn = numInteractions - b.getInt(pos + TYPE_NUM_INTERACTIONS);
+            int ds = interactionStrength - b.getInt(pos + TYPE_STRENGTH);
+            b.putInt(pos + TYPE_NUM_INTERACTIONS, numInteractions);
+            b.putInt(pos + TYPE_STRENGTH, interactionStrength);
+            b.putInt(base + NUM_INTERACTIONS_OFFSET, b.getInt(base + NUM_INTERACTIONS_OFFSET) + dn);
+            b.putInt(base + STRENGTH_OFFSET, b.getInt(base + STRENGTH_OFFSET) + ds);
+            setFlags(e, typeId, HAS_STATS);
+        }
+    }
+
+    /**
+     * Set the aggregate stats of an edge, without changing the stats of each connection type.
+     * @param e The index of the edge.
+     * @param numInteractions The number of interactions.
+     * @param interactionStrength The interaction strength.
+     */
+    public void setStats(int e, int numInteractions, int interactionStrength)
+    {
+        check(e);
+        ByteBuffer b = chunk(e);
+        synchronized (lock(e)) {
+            b.putInt(offset(e) + NUM_INTERACTIONS_OFFSET, numInteractions);
+            b.putInt(offset(e) + STRENGTH_OFFSET, interactionStrength);
+        }
+    }
+
+    /**
+     * Get a flyweight view of an edge, whose connections and stats read and write
+     * through to the store. Adding connections to the view adds them to the store,
+     * but only their trust and trustworthiness are kept. The view is only valid
+     * while the edge is at the same index.
+     * @param e The index of the edge.
+     * @return An Edge object.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public Edge getEdge(int e) throws IndexOutOfBoundsException
+    {
+        check(e);
+        return new StoredEdge(this, e);
+    }
+
+    private void copyConnections(int e, Map<String, Connection> connections, ConnectionType side)
+    {
+        if (connections == null) {
+            return;
+        }
+        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+            Connection c = entry.getValue();
+            if (c != null) {
+                setConnection(e, typeId(entry.getKey()), side, c.getTrust(), c.getTrustworthiness());
+            }
+        }
+    }
+
+    private int flags(int e, int typeId)
+    {
+        checkType(typeId);
+        check(e);
+        return (int) (chunk(e).getLong(offset(e) + FLAGS_OFFSET) >>> (3 * typeId)) & 7;
+    }
+
+    private void setFlags(int e, int typeId, int flags)
+    {
+        ByteBuffer b = chunk(e);
+        int pos = offset(e) + FLAGS_OFFSET;
+        b.putLong(pos, b.getLong(pos) | ((long) flags << (3 * typeId)));
+    }
+
+    private static int sideFlag(ConnectionType side)
+    {
+        return side == ConnectionType.SINK ? HAS_SINK : HAS_SOURCE;
+    }
+
+    private int slot(int e, int typeId)
+    {
+        checkType(typeId);
+        check(e);
+        return offset(e) + TYPES_OFFSET + TYPE_SIZE * typeId;
+    }
+
+    private ByteBuffer chunk(int e)
+    {
+        return chunks[e >>> chunkShift];
+    }
+
+    private int offset(int e)
+    {
+        return (e & chunkMask) * recordSize;
+    }
+
+    private Object lock(int e)
+    {
+        return locks[e & (NUM_LOCKS - 1)];
+    }
+
+    private void check(int e)
+    {
+        if (e < 0 || e >= size) {
+            throw new IndexOutOfBoundsException("Edge index out of range: " + e);
+        }
+    }
+
+    private void checkType(int typeId)
+    {
+        if (typeId < 0 || typeId >= maxTypes) {
+            throw new IndexOutOfBoundsException("Connection type ID out of range: " + typeId);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.offheap;
+
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+
+/**
+ * A flyweight view of a connection of an edge in an OffHeapEdgeStore, whose trust
+ * and trustworthiness read and write through to the store. The connection type of
+ * the view is the side of the edge (SOURCE or SINK). Bespoke properties set on the
+ * view are held by the view only.
+ * @see OffHeapEdgeStore
+ */
+class StoredConnection extends Connection
+{
+    private final OffHeapEdgeStore store;
+    private final int edge;
+    private final int typeId;
+
+    /**
+     * Constructor for a view of a connection in the store.
+     * @param store The store.
+     * @param edge The index of the edge.
+     * @param typeId The connection type ID.
+     * @param side The side of the edge.
+     */
+    StoredConnection(OffHeapEdgeStore store, int edge, int typeId, ConnectionType side)
+    {
+        super(null, side);
+        this.store = store;
+        this.edge = edge;
+        this.typeId = typeId;
+    }
+
+    @Override
+    public double getTrust()
+    {
+        return store.getTrust(edge, typeId, getConnectionType());
+    }
+
+    @Override
+    public void setTrust(double trust)
+    {
+        store.setTrust(edge, typeId, getConnectionType(), trust);
+    }
+
+    @Override
+    public double getTrustworthiness()
+    {
+        return store.getTrustworthiness(edge, typeId, getConnectionType());
+    }
+
+    @Override
+    public void setTrustworthiness(double trustworthiness)
+    {
+        store.setTrustworthiness(edge, typeId, getConnectionType(), trustworthiness);
+    }
+}
@@ -0,0 +1,296 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.offheap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.ConnectionTypeRegistry;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+/**
+ * A flyweight view of an edge in an OffHeapEdgeStore. The nodes, connections and
+ * stats of the view are read from the store when requested, and connections and
+ * stats added or set via the view are written to the store. The maps returned by
+ * the getters are unmodifiable snapshots of the connection types present, but the
+ * Connection and EdgeStats objects in them read and write through to the store.
+ * The ID of the view is the index of the edge, and cannot be changed, nor can the
+ * nodes of the edge.
+ * @see OffHeapEdgeStore
+ */
+class StoredEdge extends Edge
+{
+    private final OffHeapEdgeStore store;
+    private final int edge;
+
+    /**
+     * Constructor for a view of an edge in the store.
+     * @param store The store.
+     * @param edge The index of the edge.
+     */
+    StoredEdge(OffHeapEdgeStore store, int edge)
+    {
+        this.store = store;
+        this.edge = edge;
+    }
+
+    @Override
+    public String getEdgeID()
+    {
+        return Integer.toString(edge);
+    }
+
+    @Override
+    public void setEdgeID(String edgeID)
+    {
+        throw new UnsupportedOperationException("Cannot set the ID of an edge in an off-heap store");
+    }
+
+    @Override
+    public Node getSourceNode()
+    {
+        return store.getNode(store.getSource(edge));
+    }
+
+    @Override
+    public void setSourceNode(Node sourceNode)
+    {
+        throw new UnsupportedOperationException("Cannot set the source node of an edge in an off-heap store");
+    }
+
+    @Override
+    public Node getSinkNode()
+    {
+        return store.getNode(store.getSink(edge));
+    }
+
+    @Override
+    public void setSinkNode(Node sinkNode)
+    {
+        throw new UnsupportedOperationException("Cannot set the sink node of an edge in an off-heap store");
+    }
+
+    @Override
+    public Map<String, Connection> getSourceConnections()
+    {
+        return connections(ConnectionType.SOURCE);
+    }
+
+    @Override
+    public Connection getSourceConnection(int typeId)
+    {
+        return connection(typeId, ConnectionType.SOURCE);
+    }
+
+    @Override
+    public void setSourceConnections(Map<String, Connection> sourceConnections)
+    {
+        removeConnections(ConnectionType.SOURCE);
+        addSourceConnections(sourceConnections);
+    }
+
+    @Override
+    public void addSourceConnections(Map<String, Connection> sourceConnections)
+    {
+        if (sourceConnections != null) {
+            for (Map.Entry<String, Connection> entry : sourceConnections.entrySet()) {
+                addSourceConnection(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void addSourceConnection(String conType, Connection con)
+    {
+        addConnection(conType, con, ConnectionType.SOURCE);
+    }
+
+    @Override
+    public Map<String, Connection> getSinkConnections()
+    {
+        return connections(ConnectionType.SINK);
+    }
+
+    @Override
+    public Connection getSinkConnection(int typeId)
+    {
+        return connection(typeId, ConnectionType.SINK);
+    }
+
+    @Override
+    public void setSinkConnections(Map<String, Connection> sinkConnections)
+    {
+        removeConnections(ConnectionType.SINK);
+        addSinkConnections(sinkConnections);
+    }
+
+    @Override
+    public void addSinkConnections(Map<String, Connection> sinkConnections)
+    {
+        if (sinkConnections != null) {
+            for (Map.Entry<String, Connection> entry : sinkConnections.entrySet()) {
+                addSinkConnection(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void addSinkConnection(String conType, Connection con)
+    {
+        addConnection(conType, con, ConnectionType.SINK);
+    }
+
+    @Override
+    public Map<String, EdgeStats> getEdgeConnectionStats()
+    {
+        Map<String, EdgeStats> stats = new HashMap<>();
+        for (int t = 0; t < store.getNumTypes(); t++) {
+            if (store.hasStats(edge, t)) {
+                stats.put(store.typeName(t), new StoredEdgeStats(store, edge, t));
+            }
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    @Override
+    public EdgeStats getEdgeConnectionStats(int typeId)
+    {
+        int t = storeType(typeId);
+        return t >= 0 && store.hasStats(edge, t) ? new StoredEdgeStats(store, edge, t) : null;
+    }
+
+    @Override
+    public void setEdgeConnectionStats(Map<String, EdgeStats> edgeStats)
+    {
+        for (int t = 0; t < store.getNumTypes(); t++) {
+            if (store.hasStats(edge, t)) {
+                store.setTypeStats(edge, t, 0, 0);
+            }
+        }
+        addEdgeConnectionStats(edgeStats);
+    }
+
+    @Override
+    public void addEdgeConnectionStats(Map<String, EdgeStats> edgeStats)
+    {
+        if (edgeStats != null) {
+            for (Map.Entry<String, EdgeStats> entry : edgeStats.entrySet()) {
+                addEdgeConnectionStats(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void addEdgeConnectionStats(String conType, EdgeStats edgeStats)
+    {
+        if (edgeStats != null) {
+            store.setTypeStats(edge, store.typeId(conType), edgeStats.getNumInteractions(), edgeStats.getInteractionStrength());
+        }
+    }
+
+    @Override
+    public void recordInteractions(String conType, int n)
+    {
+        store.addInteractions(edge, store.typeId(conType), n);
+    }
+
+    @Override
+    public void recomputeEdgeStats()
+    {
+        int interactions = 0;
+        int strength = 0;
+        for (int t = 0; t < store.getNumTypes(); t++) {
+            interactions += store.getNumInteractions(edge, t);
+            strength += store.getInteractionStrength(edge, t);
+        }
+        store.setStats(edge, interactions, strength);
+    }
+
+    @Override
+    public EdgeStats getEdgeStats()
+    {
+        return new StoredEdgeStats(store, edge, -1);
+    }
+
+    @Override
+    public boolean hasEdgeStats()
+    {
+        return true; // the store holds the stats of every edge
+    }
+
+    @Override
+    public void setEdgeStats(EdgeStats edgeStats)
+    {
+        store.setStats(edge, edgeStats == null ? 0 : edgeStats.getNumInteractions(), edgeStats == null ? 0 : edgeStats.getInteractionStrength());
+    }
+
+    private Map<String, Connection> connections(ConnectionType side)
+    {
+        Map<String, Connection> connections = new HashMap<>();
+        for (int t = 0; t < store.getNumTypes(); t++) {
+            if (store.hasConnection(edge, t, side)) {
+                connections.put(store.typeName(t), new StoredConnection(store, edge, t, side));
+            }
+        }
+        return Collections.unmodifiableMap(connections);
+    }
+
+    private Connection connection(int typeId, ConnectionType side)
+    {
+        int t = storeType(typeId);
+        return t >= 0 && store.hasConnection(edge, t, side) ? new StoredConnection(store, edge, t, side) : null;
+    }
+
+    /**
+     * Get the store-local type ID of a connection type.
+     * @param typeId The ID of the connection type in the ConnectionTypeRegistry.
+     * @return The type ID in the store, or -1 if the store has no such type.
+     */
+    private int storeType(int typeId)
+    {
+        if (typeId < 0 || typeId >= ConnectionTypeRegistry.size()) {
+            return -1;
+        }
+        return store.findType(ConnectionTypeRegistry.name(typeId));
+    }
+
+    private void addConnection(String conType, Connection con, ConnectionType side)
+    {
+        if (con != null) {
+            store.setConnection(edge, store.typeId(conType), side, con.getTrust(), con.getTrustworthiness());
+        }
+    }
+
+    private void removeConnections(ConnectionType side)
+    {
+        for (int t = 0; t < store.getNumTypes(); t++) {
+            store.removeConnection(edge, t, side);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.offheap;
+
+import uk.ac.soton.itinnovation.hmncore.EdgeStats;
+
+/**
+ * A flyweight view of the stats of an edge in an OffHeapEdgeStore, either the
+ * aggregate stats or the stats of a connection type, which read and write through
+ * to the store. Interactions added to the stats of a connection type are also
+ * added to the aggregate by the store.
+ * @see OffHeapEdgeStore
+ */
+class StoredEdgeStats extends EdgeStats
+{
+    private final OffHeapEdgeStore store;
+    private final int edge;
+    private final int typeId; // -1 for the aggregate stats
+
+    /**
+     * Constructor for a view of stats in the store.
+     * @param store The store.
+     * @param edge The index of the edge.
+     * @param typeId The connection type ID, or -1 for the aggregate stats.
+     */
+    StoredEdgeStats(OffHeapEdgeStore store, int edge, int typeId)
+    {
+        this.store = store;
+        this.edge = edge;
+        this.typeId = typeId;
+    }
+
+    @Override
+    public int getInteractionStrength()
+    {
+        return typeId < 0 ? store.getInteractionStrength(edge) : store.getInteractionStrength(edge, typeId);
+    }
+
+    @Override
+    public void setInteractionStrength(int interactionStrength)
+    {
+        if (typeId < 0) {
+            store.setStats(edge, store.getNumInteractions(edge), interactionStrength);
+        } else {
+            store.setTypeStats(edge, typeId, store.getNumInteractions(edge, typeId), interactionStrength);
+        }
+    }
+
+    @Override
+    public int getNumInteractions()
+    {
+        return typeId < 0 ? store.getNumInteractions(edge) : store.getNumInteractions(edge, typeId);
+    }
+
+    @Override
+    public void setNumInteractions(int numInteractions)
+    {
+        if (typeId < 0) {
+            store.setStats(edge, numInteractions, store.getInteractionStrength(edge));
+        } else {
+            store.setTypeStats(edge, typeId, numInteractions, store.getInteractionStrength(edge, typeId));
+        }
+    }
+
+    @Override
+    public void addInteraction()
+    {
+        addInteractions(1);
+    }
+
+    @Override
+    public void addInteractions(int i)
+    {
+        if (typeId < 0) {
+            store.setStats(edge, store.getNumInteractions(edge) + i, store.getInteractionStrength(edge));
+        } else {
+            store.addInteractions(edge, typeId, i);
+        }
+    }
+}
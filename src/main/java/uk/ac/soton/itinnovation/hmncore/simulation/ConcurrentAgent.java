@@ -0,0 +1,42 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.simulation;
+
+/**
+ * A marker interface for agents whose commitAction() (or takeAction(), if the agent
+ * does not implement the two phases) is safe to invoke concurrently with that of
+ * other such agents, e.g., because each agent only changes its own edges and
+ * connections, and the HMN is a ConcurrentHMN. The TickEngine runs the commit phase
+ * of these agents in parallel, and of other agents one at a time.
+ *
+ * To run the agents of an existing class in parallel without changing it, use
+ * TickEngine.addConcurrentAgentClass(..) instead.
+ *
+ * @see TickEngine
+ */
+public interface ConcurrentAgent
+{
+
+}
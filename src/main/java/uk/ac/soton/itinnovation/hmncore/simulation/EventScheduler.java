@@ -0,0 +1,380 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.simulation;
+
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+
+/**
+ * A discrete-event scheduler for an HMN, in which agents act only at the times
+ * they are scheduled for, and the simulation date/time of the HMN jumps directly
+ * from one event to the next. This avoids invoking agents that have nothing to
+ * do, which a tick-based simulation would do on every step.
+ *
+ * Pending events are kept in a binary heap of primitive arrays, so millions of
+ * pending events can be held without allocating an object per event. Events
+ * scheduled for the same time are processed in the order they were scheduled.
+ *
+ * When an event fires, the HMN date/time is set to the event time and the agent's
+ * prepareAction() and commitAction() are invoked. Agents implementing Schedulable
+ * are then re-scheduled according to getNextActionDelay(); other agents can be
+ * re-scheduled by calling schedule(..) from their actions.
+ *
+ * @see Schedulable
+ * @see TickEngine
+ */
+public class EventScheduler
+{
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final HMN hmn;
+    private long[] times; // event times in milliseconds since the epoch
+    private long[] sequence; // order of scheduling, to break ties between events at the same time
+    private Agent[] agents;
+    private int size;
+    private long nextSequence;
+
+    /**
+     * Constructor with a default initial capacity.
+     * @param hmn The HMN to simulate, which must have its current date/time set.
+     */
+    public EventScheduler(HMN hmn)
+    {
+        this(hmn, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor setting the initial capacity of the event queue, which is grown as
+     * needed. Setting it to the expected number of pending events avoids re-sizing.
+     * @param hmn The HMN to simulate, which must have its current date/time set.
+     * @param initialCapacity The initial number of pending events that can be held.
+     */
+    public EventScheduler(HMN hmn, int initialCapacity)
+    {
+        if (hmn == null) {
+            throw new NullPointerException("Cannot create the event scheduler as the HMN provided was NULL");
+        }
+
+        int capacity = Math.max(1, initialCapacity);
+        this.hmn = hmn;
+        this.times = new long[capacity];
+        this.sequence = new long[capacity];
+        this.agents = new Agent[capacity];
+        this.size = 0;
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Get the HMN simulated by this scheduler.
+     * @return HMN object.
+     */
+    public HMN getHMN()
+    {
+        return hmn;
+    }
+
+    /**
+     * Get the number of pending events.
+     * @return The number of events.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Check if there are any pending events.
+     * @return True if there are no pending events.
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Get the time of the next event.
+     * @return The time in milliseconds since the epoch, or Long.MAX_VALUE if there are no pending events.
+     */
+    public long getNextEventTime()
+    {
+        return size == 0 ? Long.MAX_VALUE : times[0];
+    }
+
+    /**
+     * Schedule an agent to act after a delay, relative to the current simulation date/time.
+     * @param agent The agent.
+     * @param delaySeconds The delay in seconds (zero or more).
+     * @throws NullPointerException If the agent is NULL.
+     * @throws IllegalStateException If the current date/time of the HMN is not set.
+     * @throws IllegalArgumentException If the delay is negative.
+     * @throws ArithmeticException If the time of the event overflows.
+     */
+    public void schedule(Agent agent, long delaySeconds) throws NullPointerException, IllegalStateException, IllegalArgumentException, ArithmeticException
+    {
+        if (delaySeconds < 0) {
+            throw new IllegalArgumentException("Cannot schedule an agent with a negative delay: " + delaySeconds);
+        }
+
+        scheduleAt(agent, Math.addExact(currentTime(), Math.multiplyExact(delaySeconds, 1000L)));
+    }
+
+    /**
+     * Schedule an agent to act at the given time, which must not be before the
+     * current simulation date/time.
+     * @param agent The agent.
+     * @param dateTime The simulation date/time at which the agent should act.
+     * @throws NullPointerException If the agent or date/time is NULL.
+     * @throws IllegalArgumentException If the time is before the current simulation date/time.
+     */
+    public void scheduleAt(Agent agent, GregorianCalendar dateTime) throws NullPointerException, IllegalArgumentException
+    {
+        if (dateTime == null) {
+            throw new NullPointerException("Cannot schedule the agent as the date/time provided was NULL");
+        }
+
+        scheduleAt(agent, dateTime.getTimeInMillis());
+    }
+
+    /**
+     * Schedule an agent to act at the given time, which must not be before the
+     * current simulation date/time (so that the simulation date/time never goes
+     * backwards).
+     * @param agent The agent.
+     * @param timeMillis The time in milliseconds since the epoch.
+     * @throws NullPointerException If the agent is NULL.
+     * @throws IllegalArgumentException If the time is before the current simulation date/time.
+     */
+    public void scheduleAt(Agent agent, long timeMillis) throws NullPointerException, IllegalArgumentException
+    {
+        if (agent == null) {
+            throw new NullPointerException("Cannot schedule the agent as the object provided was NULL");
+        }
+        GregorianCalendar now = hmn.getCurrentDateTime();
+        if (now != null && timeMillis < now.getTimeInMillis()) {
+            throw new IllegalArgumentException("Cannot schedule an agent before the current simulation date/time: " + timeMillis);
+        }
+
+        if (size == times.length) {
+            grow();
+        }
+
+        // sift up from the end of the heap
+        long seq = nextSequence++;
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(timeMillis, seq, times[parent], sequence[parent])) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        times[i] = timeMillis;
+        sequence[i] = seq;
+        agents[i] = agent;
+    }
+
+    /**
+     * Process the next event: advance the simulation date/time to the time of the
+     * event and let the agent act.
+     * @return True if an event was processed; false if there were no pending events.
+     * @throws Exception Any exception thrown by the agent.
+     */
+    public boolean step() throws Exception
+    {
+        if (size == 0) {
+            return false;
+        }
+
+        long time = times[0];
+        Agent agent = agents[0];
+        removeFirst();
+
+        setCurrentTime(time);
+        agent.prepareAction();
+        agent.commitAction();
+
+        if (agent instanceof Schedulable) {
+            long delay = ((Schedulable) agent).getNextActionDelay();
+            if (delay >= 0) {
+                scheduleAt(agent, Math.addExact(time, Math.multiplyExact(delay, 1000L)));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Process all events up to and including the given time, and then advance the
+     * simulation date/time to that time.
+     * @param endTime The simulation date/time to run until.
+     * @return The number of events processed.
+     * @throws Exception Any exception thrown by an agent, which stops the simulation.
+     */
+    public long runUntil(GregorianCalendar endTime) throws Exception
+    {
+        if (endTime == null) {
+            throw new NullPointerException("Cannot run the simulation as the end date/time provided was NULL");
+        }
+
+        long end = endTime.getTimeInMillis();
+        long processed = 0;
+        while (size > 0 && times[0] <= end) {
+            step();
+            processed++;
+        }
+
+        if (currentTime() < end) {
+            setCurrentTime(end);
+        }
+        return processed;
+    }
+
+    /**
+     * Process all events until there are none pending.
+     * Note that this never returns if agents keep re-scheduling themselves.
+     * @return The number of events processed.
+     * @throws Exception Any exception thrown by an agent, which stops the simulation.
+     */
+    public long runAll() throws Exception
+    {
+        long processed = 0;
+        while (step()) {
+            processed++;
+        }
+        return processed;
+    }
+
+    /**
+     * Remove all pending events.
+     */
+    public void clear()
+    {
+        Arrays.fill(agents, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Get the current simulation date/time of the HMN.
+     * @return The time in milliseconds since the epoch.
+     * @throws IllegalStateException If the current date/time of the HMN is not set.
+     */
+    private long currentTime() throws IllegalStateException
+    {
+        if (hmn.getCurrentDateTime() == null) {
+            throw new IllegalStateException("The current date/time of the HMN must be set to use the event scheduler");
+        }
+        return hmn.getCurrentDateTime().getTimeInMillis();
+    }
+
+    /**
+     * Set the current simulation date/time of the HMN.
+     * @param timeMillis The time in milliseconds since the epoch.
+     * @throws IllegalStateException If the current date/time of the HMN is not set.
+     */
+    private void setCurrentTime(long timeMillis) throws IllegalStateException
+    {
+        if (hmn.getCurrentDateTime() == null) {
+            throw new IllegalStateException("The current date/time of the HMN must be set to use the event scheduler");
+        }
+        hmn.getCurrentDateTime().setTimeInMillis(timeMillis);
+    }
+
+    /**
+     * Remove the first event from the heap.
+     */
+    private void removeFirst()
+    {
+        int last = --size;
+        long time = times[last];
+        long seq = sequence[last];
+        Agent agent = agents[last];
+        agents[last] = null;
+
+        if (last == 0) {
+            return;
+        }
+
+        // sift the last event down from the root
+        int i = 0;
+        int half = last >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < last && before(times[right], sequence[right], times[child], sequence[child])) {
+                child = right;
+            }
+            if (!before(times[child], sequence[child], time, seq)) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        times[i] = time;
+        sequence[i] = seq;
+        agents[i] = agent;
+    }
+
+    /**
+     * Check if one event comes before another.
+     * @param time1 Time of the first event.
+     * @param seq1 Sequence number of the first event.
+     * @param time2 Time of the second event.
+     * @param seq2 Sequence number of the second event.
+     * @return True if the first event comes before the second.
+     */
+    private static boolean before(long time1, long seq1, long time2, long seq2)
+    {
+        return time1 < time2 || (time1 == time2 && seq1 < seq2);
+    }
+
+    /**
+     * Move an event from one position in the heap to another.
+     * @param from The position to move from.
+     * @param to The position to move to.
+     */
+    private void move(int from, int to)
+    {
+        times[to] = times[from];
+        sequence[to] = sequence[from];
+        agents[to] = agents[from];
+    }
+
+    /**
+     * Double the capacity of the heap.
+     */
+    private void grow()
+    {
+        int capacity = times.length < (Integer.MAX_VALUE >> 1) ? times.length << 1 : Integer.MAX_VALUE - 8;
+        if (capacity <= times.length) {
+            throw new IllegalStateException("Cannot schedule more than " + times.length + " pending events");
+        }
+        times = Arrays.copyOf(times, capacity);
+        sequence = Arrays.copyOf(sequence, capacity);
+        agents = Arrays.copyOf(agents, capacity);
+    }
+}
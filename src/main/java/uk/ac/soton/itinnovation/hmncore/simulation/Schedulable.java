@@ -0,0 +1,41 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.simulation;
+
+/**
+ * An interface for agents that decide when they next want to act, so that an
+ * EventScheduler can re-schedule them automatically after each action.
+ * @see EventScheduler
+ */
+public interface Schedulable
+{
+    /**
+     * Get the time until the agent next wants to act, relative to the current
+     * simulation date/time of the HMN. Invoked by the EventScheduler after each
+     * action of the agent.
+     * @return The delay in seconds, or a negative value if the agent should not be re-scheduled.
+     */
+    long getNextActionDelay();
+}
@@ -0,0 +1,418 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+
+/**
+ * A simulation engine that advances an HMN in discrete time steps (ticks), using
+ * a ForkJoinPool to spread the work of the agents across multiple cores.
+ *
+ * Each tick has two phases, with a barrier after each:
+ *   1. Prepare: Agent.prepareAction() is invoked for all agents in parallel. Agents
+ *      should only read the HMN in this phase.
+ *   2. Commit: Agent.commitAction() is invoked for all agents. Concurrent agents
+ *      (see below) commit first, in parallel; the other agents then commit one at
+ *      a time in the order of HMN.getAgents(), so that the result of a simulation
+ *      does not depend on thread scheduling.
+ * After the commit phase, the simulation date/time of the HMN is incremented by
+ * the tick length (if set).
+ *
+ * Agents that only implement takeAction() run in the commit phase. Agents whose
+ * commits are independent of each other, e.g., because each only changes its own
+ * edges of a ConcurrentHMN, can be marked as safe to commit concurrently, so that
+ * they run in parallel: either by implementing ConcurrentAgent, or, for existing
+ * agent classes that only implement takeAction(), without changing them, by
+ * registering their class with addConcurrentAgentClass(..). setParallelCommit(true)
+ * treats all agents as concurrent. Other agents get no parallelism at all in the
+ * commit phase.
+ *
+ * To scale with the number of cores while keeping the commit phase serial (and
+ * the results deterministic), agents should do the expensive part of their work,
+ * e.g., reading their neighbourhood and choosing an action, in prepareAction(),
+ * keeping the decision in their own fields, and only apply it in commitAction(),
+ * which should be cheap. For example:
+ * <pre>
+ * public class Reader extends Human
+ * {
+ *     private Node choice;
+ *
+ *     public void prepareAction()
+ *     {
+ *         choice = pickMostTrusted(getOutboundEdges()); // runs in parallel
+ *     }
+ *
+ *     public void commitAction()
+ *     {
+ *         if (choice != null) {
+ *             findOutboundEdge(choice).recordInteraction("read"); // runs serially
+ *         }
+ *     }
+ *
+ *     public void takeAction()
+ *     {
+ *         prepareAction();
+ *         commitAction();
+ *     }
+ * }
+ * </pre>
+ * The speed-up is then limited by the share of the work left in commitAction().
+ *
+ * @see Agent#prepareAction()
+ * @see Agent#commitAction()
+ */
+public class TickEngine
+{
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final HMN hmn;
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private int tickSeconds;
+    private int batchSize;
+    private boolean parallelCommit;
+    private final Set<Class<?>> concurrentClasses = new HashSet<>();
+    private final Map<Class<?>, Boolean> concurrentByClass = new HashMap<>(); // cache of isConcurrent(..)
+    private long tickCount;
+
+    /**
+     * Constructor using the common ForkJoinPool.
+     * @param hmn The HMN to simulate.
+     */
+    public TickEngine(HMN hmn)
+    {
+        this(hmn, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Constructor creating a ForkJoinPool with the given parallelism, which is
+     * shut down by calling shutdown().
+     * @param hmn The HMN to simulate.
+     * @param parallelism The number of worker threads.
+     */
+    public TickEngine(HMN hmn, int parallelism)
+    {
+        this(hmn, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Constructor using the ForkJoinPool provided, which is not shut down by this engine.
+     * @param hmn The HMN to simulate.
+     * @param pool The ForkJoinPool to run the agents on.
+     */
+    public TickEngine(HMN hmn, ForkJoinPool pool)
+    {
+        this(hmn, pool, false);
+    }
+
+    private TickEngine(HMN hmn, ForkJoinPool pool, boolean ownPool)
+    {
+        if (hmn == null || pool == null) {
+            throw new NullPointerException("Cannot create the tick engine as the HMN or pool provided was NULL");
+        }
+
+        this.hmn = hmn;
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.tickSeconds = 1;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.parallelCommit = false;
+        this.tickCount = 0;
+    }
+
+    /**
+     * Get the HMN simulated by this engine.
+     * @return HMN object.
+     */
+    public HMN getHMN()
+    {
+        return hmn;
+    }
+
+    /**
+     * Get the length of a tick in simulated time.
+     * @return The number of seconds the simulation date/time is incremented by per tick.
+     */
+    public int getTickSeconds()
+    {
+        return tickSeconds;
+    }
+
+    /**
+     * Set the length of a tick in simulated time.
+     * @param tickSeconds The number of seconds the simulation date/time is incremented by per tick.
+     */
+    public void setTickSeconds(int tickSeconds)
+    {
+        this.tickSeconds = tickSeconds;
+    }
+
+    /**
+     * Get the number of agents each parallel task processes before it stops splitting.
+     * @return The batch size.
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Set the number of agents each parallel task processes before it stops splitting.
+     * Larger batches reduce scheduling overhead; smaller batches balance load better
+     * if agents' actions vary a lot in cost.
+     * @param batchSize The batch size (at least 1).
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Check if the commit phase is run in parallel.
+     * @return True if commits are run in parallel; false if run in agent order.
+     */
+    public boolean isParallelCommit()
+    {
+        return parallelCommit;
+    }
+
+    /**
+     * Set whether the commit phase is run in parallel for all agents. This should
+     * only be enabled if the agents' commits are independent of each other and do
+     * not modify shared state (e.g., the HMN's lists), unless the HMN is a
+     * ConcurrentHMN.
+     * @param parallelCommit True to run all commits in parallel; false to run only
+     *                       those of concurrent agents in parallel (default).
+     */
+    public void setParallelCommit(boolean parallelCommit)
+    {
+        this.parallelCommit = parallelCommit;
+    }
+
+    /**
+     * Mark the agents of a class (and its sub-classes) as safe to commit concurrently,
+     * as if the class implemented ConcurrentAgent, so that their commitAction() (or
+     * takeAction()) runs in parallel.
+     * @param agentClass The agent class.
+     */
+    public void addConcurrentAgentClass(Class<? extends Agent> agentClass)
+    {
+        if (agentClass == null) {
+            throw new NullPointerException("Cannot add the concurrent agent class as the object provided was NULL");
+        }
+
+        concurrentClasses.add(agentClass);
+        concurrentByClass.clear();
+    }
+
+    /**
+     * Stop treating the agents of a class as safe to commit concurrently, unless the
+     * class implements ConcurrentAgent.
+     * @param agentClass The agent class.
+     */
+    public void removeConcurrentAgentClass(Class<? extends Agent> agentClass)
+    {
+        concurrentClasses.remove(agentClass);
+        concurrentByClass.clear();
+    }
+
+    /**
+     * Check if an agent commits concurrently with other concurrent agents.
+     * @param agent The agent.
+     * @return True if the agent implements ConcurrentAgent, its class has been added
+     *         with addConcurrentAgentClass(..), or the commit phase is parallel.
+     */
+    public boolean isConcurrent(Agent agent)
+    {
+        if (parallelCommit || agent instanceof ConcurrentAgent) {
+            return true;
+        }
+
+        Boolean concurrent = concurrentByClass.get(agent.getClass());
+        if (concurrent == null) {
+            concurrent = false;
+            for (Class<?> c : concurrentClasses) {
+                if (c.isInstance(agent)) {
+                    concurrent = true;
+                    break;
+                }
+            }
+            concurrentByClass.put(agent.getClass(), concurrent);
+        }
+        return concurrent;
+    }
+
+    /**
+     * Get the number of ticks completed.
+     * @return The tick count.
+     */
+    public long getTickCount()
+    {
+        return tickCount;
+    }
+
+    /**
+     * Run a single tick of the simulation. The agents acting in the tick are those
+     * in the HMN at the start of the tick; agents added during the tick first act in
+     * the next tick.
+     * @throws Exception The first exception thrown by an agent, in which case the tick
+     *                   is abandoned after the current phase and the date/time is not incremented.
+     */
+    public void step() throws Exception
+    {
+        List<Agent> agents = new ArrayList<>(hmn.getAgents());
+
+        runPhase(agents, true, true);
+
+        List<Agent> concurrent = new ArrayList<>();
+        List<Agent> serial = new ArrayList<>();
+        for (Agent a : agents) {
+            if (isConcurrent(a)) {
+                concurrent.add(a);
+            } else {
+                serial.add(a);
+            }
+        }
+        runPhase(concurrent, false, true);
+        runPhase(serial, false, false);
+
+        if (hmn.getCurrentDateTime() != null) {
+            hmn.incrementCurrentDateTime(tickSeconds);
+        }
+        tickCount++;
+    }
+
+    /**
+     * Run a number of ticks of the simulation.
+     * @param numTicks The number of ticks to run.
+     * @throws Exception The first exception thrown by an agent, which stops the simulation.
+     */
+    public void run(long numTicks) throws Exception
+    {
+        for (long i = 0; i < numTicks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Shut down the ForkJoinPool, if it was created by this engine.
+     */
+    public void shutdown()
+    {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Run one phase of a tick for all agents, returning when all agents have completed.
+     * @param agents The agents acting in the tick.
+     * @param prepare True for the prepare phase; false for the commit phase.
+     * @param parallel True to run the agents in parallel; false to run them in order.
+     * @throws Exception The first exception thrown by an agent.
+     */
+    private void runPhase(List<Agent> agents, boolean prepare, boolean parallel) throws Exception
+    {
+        if (!parallel) {
+            for (Agent a : agents) {
+                act(a, prepare);
+            }
+            return;
+        }
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        pool.invoke(new PhaseTask(agents, 0, agents.size(), prepare, failure));
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Invoke the phase method on an agent.
+     * @param a The agent.
+     * @param prepare True to call prepareAction(); false to call commitAction().
+     * @throws Exception Any exception thrown by the agent.
+     */
+    private static void act(Agent a, boolean prepare) throws Exception
+    {
+        if (prepare) {
+            a.prepareAction();
+        } else {
+            a.commitAction();
+        }
+    }
+
+    /**
+     * A task running one phase for a range of agents, splitting the range in two
+     * until it is no larger than the batch size.
+     */
+    private class PhaseTask extends RecursiveAction
+    {
+        private final List<Agent> agents;
+        private final int from;
+        private final int to;
+        private final boolean prepare;
+        private final AtomicReference<Exception> failure;
+
+        PhaseTask(List<Agent> agents, int from, int to, boolean prepare, AtomicReference<Exception> failure)
+        {
+            this.agents = agents;
+            this.from = from;
+            this.to = to;
+            this.prepare = prepare;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from > batchSize) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PhaseTask(agents, from, mid, prepare, failure),
+                          new PhaseTask(agents, mid, to, prepare, failure));
+                return;
+            }
+
+            for (int i = from; i < to && failure.get() == null; i++) {
+                try {
+                    act(agents.get(i), prepare);
+                } catch (Exception ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            }
+        }
+    }
+}
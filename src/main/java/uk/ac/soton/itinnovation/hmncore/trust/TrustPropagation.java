@@ -0,0 +1,1035 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.trust;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.FrozenHMN;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.HMNAdapter;
+import uk.ac.soton.itinnovation.hmncore.Human;
+import uk.ac.soton.itinnovation.hmncore.Node;
+import uk.ac.soton.itinnovation.hmncore.ParallelChunks;
+
+/**
+ * Propagates trust through an HMN, in the style of EigenTrust (or a weighted
+ * PageRank), to give each node a global trust score from the local trust the
+ * nodes have in each other.
+ *
+ * The local trust is read from the Connections of the edges: the trust of an
+ * edge's source Connection is the trust the source node has in the sink node, and
+ * the trust of its sink Connection is the trust the sink node has in the source
+ * node (see Connection). If an edge has Connections of several types, their trust
+ * is averaged, unless a single connection type is set (see setConnectionType).
+ * Negative trust is taken as zero. The local trust of each node in the others is
+ * normalised to sum to one.
+ *
+ * The global scores are the stationary distribution of a random walk that follows
+ * local trust with the probability given by the damping factor, and otherwise jumps
+ * to a pre-trusted node (by default, any node). Nodes that trust no one pass their
+ * score on to the pre-trusted nodes. The scores sum to one, and are computed by
+ * power iteration until the total change in the scores in an iteration is below
+ * the tolerance, or the maximum number of iterations is reached.
+ *
+ * Each iteration is computed in parallel on a ForkJoinPool, in fixed-size chunks
+ * of nodes, so the scores do not depend on the number of threads. The topology is
+ * taken from HMN.freeze() when the scores are computed, and the HMN should not be
+ * modified while computing.
+ *
+ * The scores can be written back to the Human nodes with apply(), as trust relative
+ * to the most trusted node (from 0 to 1), and as an integer reputation on a scale
+ * from 0 to the reputation scale.
+ *
+ * In incremental mode (see setIncremental), the edges added, removed or whose
+ * connections change are tracked via an HMNListener, and update() re-propagates
+ * trust only from the end points of those edges: each affected node's score is
+ * recomputed from its neighbours, and the nodes it trusts are only revisited if its
+ * score changed by more than the update tolerance (relative to the score). The cost
+ * of an update therefore depends on the number and reach of the changes, rather
+ * than the size of the HMN. The incremental update reads the nodes' edge lists,
+ * which must contain their edges in the HMN. Nodes first seen in an update are
+ * pre-trusted as if they had been in the last full computation, so the scores no
+ * longer sum exactly to one; update() falls back to a full computation if many
+ * edges have changed, or if the score of the nodes that trust no one drifts by
+ * more than the tolerance.
+ *
+ * @see Connection#getTrust()
+ * @see Human#setTrust(double)
+ * @see Human#setReputation(int)
+ */
+public class TrustPropagation
+{
+    private static final int CHUNK_SIZE = 4096;
+    private static final double FULL_UPDATE_FRACTION = 0.1; // of the edges changed, above which update() recomputes in full
+
+    private final HMN hmn;
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private double dampingFactor;
+    private double tolerance;
+    private int maxIterations;
+    private String connectionType;
+    private List<Node> preTrusted;
+    private int reputationScale;
+    private double updateTolerance;
+    private boolean incremental;
+    private final Set<Edge> changedEdges;
+    private final ChangeTracker tracker;
+
+    // results of the last computation, and nodes added by incremental updates
+    private FrozenHMN frozen;
+    private double[] scores;
+    private double[] totals;
+    private double[] preTrust;
+    private double[] residuals;
+    private BitSet queued;
+    private double dangling;
+    private double computedDangling;
+    private List<Node> addedNodes;
+    private Map<Node, Integer> addedIndices;
+    private int iterations;
+    private double residual;
+    private boolean applied;
+    private double appliedScale;
+
+    /**
+     * Constructor using the common ForkJoinPool.
+     * @param hmn The HMN to propagate trust through.
+     */
+    public TrustPropagation(HMN hmn)
+    {
+        this(hmn, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Constructor creating a ForkJoinPool with the given parallelism, which is
+     * shut down by calling shutdown().
+     * @param hmn The HMN to propagate trust through.
+     * @param parallelism The number of worker threads.
+     */
+    public TrustPropagation(HMN hmn, int parallelism)
+    {
+        this(hmn, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Constructor using the ForkJoinPool provided, which is not shut down by this object.
+     * @param hmn The HMN to propagate trust through.
+     * @param pool The ForkJoinPool to compute the scores on.
+     */
+    public TrustPropagation(HMN hmn, ForkJoinPool pool)
+    {
+        this(hmn, pool, false);
+    }
+
+    private TrustPropagation(HMN hmn, ForkJoinPool pool, boolean ownPool)
+    {
+        if (hmn == null || pool == null) {
+            throw new NullPointerException("Cannot create the trust propagation as the HMN or pool provided was NULL");
+        }
+
+        this.hmn = hmn;
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.dampingFactor = 0.85;
+        this.tolerance = 1e-6;
+        this.maxIterations = 100;
+        this.connectionType = null;
+        this.preTrusted = null;
+        this.reputationScale = 100;
+        this.updateTolerance = 1e-3;
+        this.incremental = false;
+        this.changedEdges = Collections.newSetFromMap(new ConcurrentHashMap<Edge, Boolean>());
+        this.tracker = new ChangeTracker();
+    }
+
+    /**
+     * Get the HMN that trust is propagated through.
+     * @return HMN object.
+     */
+    public HMN getHMN()
+    {
+        return hmn;
+    }
+
+    /**
+     * Get the probability of following local trust, rather than jumping to a pre-trusted node.
+     * @return The damping factor.
+     */
+    public double getDampingFactor()
+    {
+        return dampingFactor;
+    }
+
+    /**
+     * Set the probability of following local trust, rather than jumping to a
+     * pre-trusted node. Lower values converge faster, and weight the pre-trusted
+     * nodes more heavily.
+     * @param dampingFactor The damping factor, from 0 to 1 (default 0.85).
+     * @throws IllegalArgumentException If the damping factor is not between 0 and 1.
+     */
+    public void setDampingFactor(double dampingFactor) throws IllegalArgumentException
+    {
+        if (!(dampingFactor >= 0 && dampingFactor <= 1)) {
+            throw new IllegalArgumentException("The damping factor must be between 0 and 1: " + dampingFactor);
+        }
+        this.dampingFactor = dampingFactor;
+    }
+
+    /**
+     * Get the total change in the scores in an iteration below which the scores have converged.
+     * @return The tolerance.
+     */
+    public double getTolerance()
+    {
+        return tolerance;
+    }
+
+    /**
+     * Set the total change in the scores in an iteration below which the scores have converged.
+     * @param tolerance The tolerance (default 1e-6).
+     */
+    public void setTolerance(double tolerance)
+    {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Get the maximum number of iterations.
+     * @return The maximum number of iterations.
+     */
+    public int getMaxIterations()
+    {
+        return maxIterations;
+    }
+
+    /**
+     * Set the maximum number of iterations, after which computing stops even if the
+     * scores have not converged.
+     * @param maxIterations The maximum number of iterations (default 100).
+     */
+    public void setMaxIterations(int maxIterations)
+    {
+        this.maxIterations = Math.max(0, maxIterations);
+    }
+
+    /**
+     * Get the connection type that local trust is read from.
+     * @return The connection type, or null if the trust of all connection types is averaged.
+     */
+    public String getConnectionType()
+    {
+        return connectionType;
+    }
+
+    /**
+     * Set the connection type that local trust is read from.
+     * @param connectionType The connection type, or null to average the trust of all connection types (default).
+     */
+    public void setConnectionType(String connectionType)
+    {
+        this.connectionType = connectionType;
+    }
+
+    /**
+     * Get the pre-trusted nodes.
+     * @return List of nodes, or null if all nodes are pre-trusted.
+     */
+    public List<Node> getPreTrusted()
+    {
+        return preTrusted;
+    }
+
+    /**
+     * Set the pre-trusted nodes, which the random walk jumps to, and which receive the
+     * scores of nodes that trust no one. Pre-trusting a few known nodes makes the
+     * scores more resistant to groups of nodes trusting each other highly.
+     * @param preTrusted Collection of nodes, or null (or empty) to pre-trust all nodes (default).
+     */
+    public void setPreTrusted(Collection<? extends Node> preTrusted)
+    {
+        this.preTrusted = preTrusted == null || preTrusted.isEmpty() ? null : new ArrayList<Node>(preTrusted);
+    }
+
+    /**
+     * Get the reputation given to the most trusted node by apply().
+     * @return The reputation scale.
+     */
+    public int getReputationScale()
+    {
+        return reputationScale;
+    }
+
+    /**
+     * Set the reputation given to the most trusted node by apply(); other nodes are
+     * given a reputation in proportion to their score.
+     * @param reputationScale The reputation scale (default 100).
+     */
+    public void setReputationScale(int reputationScale)
+    {
+        this.reputationScale = reputationScale;
+    }
+
+    /**
+     * Get the relative change in a node's score in an incremental update below which
+     * the change is not propagated to the nodes it trusts.
+     * @return The update tolerance.
+     */
+    public double getUpdateTolerance()
+    {
+        return updateTolerance;
+    }
+
+    /**
+     * Set the relative change in a node's score in an incremental update below which
+     * the change is not propagated to the nodes it trusts. Larger values make updates
+     * cheaper, but less accurate.
+     * @param updateTolerance The update tolerance (default 1e-3).
+     */
+    public void setUpdateTolerance(double updateTolerance)
+    {
+        this.updateTolerance = updateTolerance;
+    }
+
+    /**
+     * Check if changes to the HMN are tracked, to update the scores incrementally.
+     * @return True if in incremental mode; false otherwise.
+     */
+    public boolean isIncremental()
+    {
+        return incremental;
+    }
+
+    /**
+     * Set whether changes to the HMN are tracked, to update the scores incrementally
+     * with update(). This adds a listener to the HMN (or removes it).
+     * @param incremental True to track changes; false to stop tracking changes (default).
+     */
+    public void setIncremental(boolean incremental)
+    {
+        if (incremental && !this.incremental) {
+            hmn.addListener(tracker);
+        } else if (!incremental && this.incremental) {
+            hmn.removeListener(tracker);
+            changedEdges.clear();
+        }
+        this.incremental = incremental;
+    }
+
+    /**
+     * Get the number of edges that have changed since the scores were last computed
+     * or updated, in incremental mode.
+     * @return The number of changed edges.
+     */
+    public int getNumChangedEdges()
+    {
+        return changedEdges.size();
+    }
+
+    /**
+     * Compute the global trust scores of the nodes of the HMN.
+     * @return True if the scores converged; false if the maximum number of iterations was reached.
+     */
+    public boolean compute()
+    {
+        changedEdges.clear(); // changes so far are included in the view
+        frozen = hmn.freeze();
+        final int numNodes = frozen.getNumNodes();
+        final int numEdges = frozen.getNumEdges();
+        final int numChunks = (numNodes + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        // local trust of the source in the sink (forward) and of the sink in the source (backward)
+        final double[] forward = new double[numEdges];
+        final double[] backward = new double[numEdges];
+        forEachChunk(numEdges, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int e = from; e < to; e++) {
+                    Edge edge = frozen.getEdge(e);
+                    forward[e] = localTrust(edge.getSourceConnections());
+                    backward[e] = localTrust(edge.getSinkConnections());
+                }
+            }
+        });
+
+        // total local trust of each node in the others
+        final double[] totals = new double[numNodes];
+        forEachChunk(numNodes, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int v = from; v < to; v++) {
+                    double total = 0;
+                    for (int k = frozen.outBegin(v); k < frozen.outEnd(v); k++) {
+                        total += forward[frozen.outEdge(k)];
+                    }
+                    for (int k = frozen.inBegin(v); k < frozen.inEnd(v); k++) {
+                        total += backward[frozen.inEdge(k)];
+                    }
+                    totals[v] = total;
+                }
+            }
+        });
+
+        forEachChunk(numEdges, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int e = from; e < to; e++) {
+                    forward[e] = normalise(forward[e], totals[frozen.getSource(e)]);
+                    backward[e] = normalise(backward[e], totals[frozen.getSink(e)]);
+                }
+            }
+        });
+
+        double[] preTrust = preTrust();
+        double[] current = preTrust.clone();
+        double[] next = new double[numNodes];
+        double[] danglingPartials = new double[numChunks];
+        double[] residualPartials = new double[numChunks];
+
+        double dangling = 0;
+        for (int v = 0; v < numNodes; v++) {
+            if (totals[v] == 0) {
+                dangling += current[v];
+            }
+        }
+
+        iterations = 0;
+        residual = Double.POSITIVE_INFINITY;
+        while (iterations < maxIterations && !(residual < tolerance)) {
+            iterate(forward, backward, totals, preTrust, dangling, current, next, danglingPartials, residualPartials);
+            dangling = sum(danglingPartials);
+            residual = sum(residualPartials);
+            double[] swap = current;
+            current = next;
+            next = swap;
+            iterations++;
+        }
+
+        scores = current;
+        this.totals = totals;
+        this.preTrust = preTrust;
+        this.dangling = dangling;
+        computedDangling = dangling;
+        addedNodes = new ArrayList<>();
+        addedIndices = new IdentityHashMap<>();
+        residuals = null;
+        queued = new BitSet();
+        applied = false;
+        return residual < tolerance;
+    }
+
+    /**
+     * Update the scores after changes to the HMN since they were last computed or
+     * updated, re-propagating trust only from the edges that have changed. If the
+     * scores have been applied to the Human nodes, the nodes whose scores change are
+     * updated too, relative to the most trusted node when last applied.
+     * If the scores have not been computed, or too many edges have changed, the
+     * scores are computed (and applied) in full.
+     * @return True if the scores converged; false if a full computation reached the maximum number of iterations.
+     * @throws IllegalStateException If not in incremental mode.
+     */
+    public boolean update() throws IllegalStateException
+    {
+        if (!incremental) {
+            throw new IllegalStateException("Cannot update the trust scores as incremental mode is not enabled");
+        }
+        if (scores == null || changedEdges.size() > FULL_UPDATE_FRACTION * Math.max(1, frozen.getNumEdges())) {
+            return recompute();
+        }
+
+        List<Edge> changed = new ArrayList<>(changedEdges.size());
+        for (Iterator<Edge> it = changedEdges.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+
+        for (Edge e : changed) {
+            addNode(e.getSourceNode());
+            addNode(e.getSinkNode());
+        }
+        int numNodes = numNodes();
+        if (residuals == null) {
+            residuals = new double[scores.length];
+        }
+        if (scores.length < numNodes) {
+            growArrays(numNodes);
+        }
+
+        // the residual of each node whose score depends on the changed edges is the
+        // change in its score, given the current scores of its neighbours
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Edge e : changed) {
+            retotal(indexOf(e.getSourceNode()), queue);
+            retotal(indexOf(e.getSinkNode()), queue);
+        }
+        for (int v : queue) {
+            residuals[v] = evaluate(v) - scores[v];
+        }
+        for (int i = queue.size(); i > 0; i--) {
+            int v = queue.poll();
+            queued.clear(v);
+            enqueueIfSignificant(v, queue);
+        }
+
+        // push the residuals to the nodes trusted, until below the update tolerance
+        double d = dampingFactor;
+        int visits = 0;
+        while (!queue.isEmpty()) {
+            if (++visits > numNodes) {
+                // the changes reach so many nodes that a full computation is cheaper
+                return recompute();
+            }
+
+            int v = queue.poll();
+            queued.clear(v);
+            double r = residuals[v];
+            residuals[v] = 0;
+            scores[v] += r;
+            if (applied) {
+                applyTo(v, appliedScale);
+            }
+            if (totals[v] == 0) {
+                dangling += r;
+                continue;
+            }
+
+            Node n = nodeAt(v);
+            double share = d * r / totals[v];
+            for (Edge e : edgesOf(n.getOutboundEdges())) {
+                if (inHMN(e)) {
+                    push(indexOf(e.getSinkNode()), share * localTrust(e.getSourceConnections()), queue);
+                }
+            }
+            for (Edge e : edgesOf(n.getInboundEdges())) {
+                if (inHMN(e)) {
+                    push(indexOf(e.getSourceNode()), share * localTrust(e.getSinkConnections()), queue);
+                }
+            }
+        }
+
+        if (d * Math.abs(dangling - computedDangling) > tolerance) {
+            // all nodes receive a share of the score of the nodes that trust no one
+            return recompute();
+        }
+        return true;
+    }
+
+    /**
+     * Write the scores from the last computation to the Human nodes, as their trust
+     * (relative to the most trusted node) and reputation. Nodes that are not Human
+     * are not changed.
+     * @throws IllegalStateException If the scores have not been computed.
+     */
+    public void apply() throws IllegalStateException
+    {
+        if (scores == null) {
+            throw new IllegalStateException("Cannot apply the trust scores as they have not been computed");
+        }
+
+        double max = 0;
+        for (double score : scores) {
+            max = Math.max(max, score);
+        }
+
+        final double scale = max > 0 ? 1 / max : 0;
+        forEachChunk(numNodes(), new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                for (int v = from; v < to; v++) {
+                    applyTo(v, scale);
+                }
+            }
+        });
+        applied = true;
+        appliedScale = scale;
+    }
+
+    /**
+     * Compute the scores and write them to the Human nodes.
+     * @return True if the scores converged; false if the maximum number of iterations was reached.
+     */
+    public boolean propagate()
+    {
+        boolean converged = compute();
+        apply();
+        return converged;
+    }
+
+    /**
+     * Get the view of the HMN the last computation was done on, which gives the
+     * node of each index of the scores (except nodes first seen in incremental updates).
+     * @return FrozenHMN object, or null if the scores have not been computed.
+     */
+    public FrozenHMN getFrozenHMN()
+    {
+        return frozen;
+    }
+
+    /**
+     * Get the scores from the last computation, indexed by the node indices of
+     * getFrozenHMN(), followed by any nodes first seen in incremental updates.
+     * @return Array of scores (summing to one), or null if the scores have not been computed.
+     */
+    public double[] getScores()
+    {
+        return scores;
+    }
+
+    /**
+     * Get the score of a node from the last computation.
+     * @param n The node.
+     * @return The score of the node, or 0 if the node was not in the HMN or the scores have not been computed.
+     */
+    public double getScore(Node n)
+    {
+        int v = frozen == null ? -1 : indexOf(n);
+        return v < 0 ? 0 : scores[v];
+    }
+
+    /**
+     * Get the number of iterations of the last computation.
+     * @return The number of iterations.
+     */
+    public int getIterations()
+    {
+        return iterations;
+    }
+
+    /**
+     * Get the total change in the scores in the last iteration of the last computation.
+     * @return The residual.
+     */
+    public double getResidual()
+    {
+        return residual;
+    }
+
+    /**
+     * Stop tracking changes to the HMN, and shut down the ForkJoinPool, if it was
+     * created by this object.
+     */
+    public void shutdown()
+    {
+        setIncremental(false);
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Compute one iteration of the scores, in parallel, recording the score of the
+     * nodes that trust no one and the change in the scores for each chunk of nodes.
+     * @param forward The normalised local trust of the source of each edge in the sink.
+     * @param backward The normalised local trust of the sink of each edge in the source.
+     * @param totals The total local trust of each node, before normalising.
+     * @param preTrust The pre-trust of each node.
+     * @param dangling The total score of the nodes that trust no one.
+     * @param current The scores from the previous iteration.
+     * @param next The array to write the new scores to.
+     * @param danglingPartials The array to write the score of the nodes that trust no one to, per chunk.
+     * @param residualPartials The array to write the change in the scores to, per chunk.
+     */
+    private void iterate(final double[] forward, final double[] backward, final double[] totals, final double[] preTrust,
+                         final double dangling, final double[] current, final double[] next,
+                         final double[] danglingPartials, final double[] residualPartials)
+    {
+        final FrozenHMN view = frozen;
+        final double d = dampingFactor;
+        forEachChunk(current.length, new ParallelChunks.Body()
+        {
+            @Override
+            public void run(int chunk, int from, int to)
+            {
+                double danglingSum = 0;
+                double residualSum = 0;
+                for (int v = from; v < to; v++) {
+                    double received = 0;
+                    for (int k = view.inBegin(v); k < view.inEnd(v); k++) {
+                        received += forward[view.inEdge(k)] * current[view.inNeighbour(k)];
+                    }
+                    for (int k = view.outBegin(v); k < view.outEnd(v); k++) {
+                        received += backward[view.outEdge(k)] * current[view.outNeighbour(k)];
+                    }
+
+                    double score = d * (received + dangling * preTrust[v]) + (1 - d) * preTrust[v];
+                    next[v] = score;
+                    residualSum += Math.abs(score - current[v]);
+                    if (totals[v] == 0) {
+                        danglingSum += score;
+                    }
+                }
+                danglingPartials[chunk] = danglingSum;
+                residualPartials[chunk] = residualSum;
+            }
+        });
+    }
+
+    /**
+     * Compute the scores in full, applying them if they had been applied.
+     * @return True if the scores converged; false if the maximum number of iterations was reached.
+     */
+    private boolean recompute()
+    {
+        boolean reapply = applied;
+        boolean converged = compute();
+        if (reapply) {
+            apply();
+        }
+        return converged;
+    }
+
+    /**
+     * Write the score of a node to the node, if it is Human.
+     * @param v Index of the node.
+     * @param scale The factor to multiply the score by to give the node's trust.
+     */
+    private void applyTo(int v, double scale)
+    {
+        Node n = nodeAt(v);
+        if (n instanceof Human) {
+            double trust = scores[v] * scale;
+            ((Human) n).setTrust(trust);
+            ((Human) n).setReputation((int) Math.round(trust * reputationScale));
+        }
+    }
+
+    private int numNodes()
+    {
+        return frozen.getNumNodes() + addedNodes.size();
+    }
+
+    private Node nodeAt(int v)
+    {
+        int numFrozen = frozen.getNumNodes();
+        return v < numFrozen ? frozen.getNode(v) : addedNodes.get(v - numFrozen);
+    }
+
+    private int indexOf(Node n)
+    {
+        int v = frozen.indexOf(n);
+        if (v < 0) {
+            Integer added = addedIndices.get(n);
+            v = added == null ? -1 : added;
+        }
+        return v;
+    }
+
+    /**
+     * Number a node first seen in an incremental update, if not already numbered.
+     * @param n The node, which may be null.
+     */
+    private void addNode(Node n)
+    {
+        if (n != null && indexOf(n) < 0) {
+            addedIndices.put(n, numNodes());
+            addedNodes.add(n);
+        }
+    }
+
+    /**
+     * Grow the per-node arrays for the nodes first seen in an incremental update,
+     * which start with no score, and are pre-trusted as if they had been in the last
+     * full computation.
+     * @param numNodes The new number of nodes.
+     */
+    private void growArrays(int numNodes)
+    {
+        int oldNumNodes = scores.length;
+        scores = Arrays.copyOf(scores, numNodes);
+        totals = Arrays.copyOf(totals, numNodes);
+        preTrust = Arrays.copyOf(preTrust, numNodes);
+        residuals = Arrays.copyOf(residuals, numNodes);
+        for (int v = oldNumNodes; v < numNodes; v++) {
+            if (preTrusted == null) {
+                preTrust[v] = 1.0 / Math.max(1, frozen.getNumNodes());
+            } else {
+                for (Node n : preTrusted) {
+                    if (n == nodeAt(v)) {
+                        preTrust[v] = 1.0 / preTrusted.size();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recompute the total local trust of a node in the others, from its edges in
+     * the HMN, queueing the node and, if the total changed, the nodes it trusts.
+     * @param v Index of the node, or -1 if the node is null.
+     * @param queue The queue of nodes whose scores may have changed.
+     */
+    private void retotal(int v, ArrayDeque<Integer> queue)
+    {
+        if (v < 0) {
+            return;
+        }
+
+        Node n = nodeAt(v);
+        double total = 0;
+        for (Edge e : edgesOf(n.getOutboundEdges())) {
+            if (inHMN(e)) {
+                total += localTrust(e.getSourceConnections());
+            }
+        }
+        for (Edge e : edgesOf(n.getInboundEdges())) {
+            if (inHMN(e)) {
+                total += localTrust(e.getSinkConnections());
+            }
+        }
+
+        if (total != totals[v]) {
+            if ((totals[v] == 0) != (total == 0)) {
+                dangling += total == 0 ? scores[v] : -scores[v];
+            }
+            totals[v] = total;
+            for (Edge e : edgesOf(n.getOutboundEdges())) {
+                if (inHMN(e)) {
+                    enqueue(indexOf(e.getSinkNode()), queue);
+                }
+            }
+            for (Edge e : edgesOf(n.getInboundEdges())) {
+                if (inHMN(e)) {
+                    enqueue(indexOf(e.getSourceNode()), queue);
+                }
+            }
+        }
+        enqueue(v, queue);
+    }
+
+    /**
+     * Compute the score of a node from the current scores of the nodes trusting it,
+     * via its edges in the HMN.
+     * @param v Index of the node.
+     * @return The score.
+     */
+    private double evaluate(int v)
+    {
+        Node n = nodeAt(v);
+        double received = 0;
+        for (Edge e : edgesOf(n.getInboundEdges())) {
+            int u = inHMN(e) ? indexOf(e.getSourceNode()) : -1;
+            if (u >= 0 && totals[u] > 0) {
+                received += localTrust(e.getSourceConnections()) / totals[u] * scores[u];
+            }
+        }
+        for (Edge e : edgesOf(n.getOutboundEdges())) {
+            int u = inHMN(e) ? indexOf(e.getSinkNode()) : -1;
+            if (u >= 0 && totals[u] > 0) {
+                received += localTrust(e.getSinkConnections()) / totals[u] * scores[u];
+            }
+        }
+        return dampingFactor * (received + dangling * preTrust[v]) + (1 - dampingFactor) * preTrust[v];
+    }
+
+    /**
+     * Add to the residual of a node, queueing the node if the residual is significant.
+     * @param v Index of the node, or -1 if the node is null.
+     * @param amount The amount to add.
+     * @param queue The queue of nodes with significant residuals.
+     */
+    private void push(int v, double amount, ArrayDeque<Integer> queue)
+    {
+        if (v >= 0) {
+            residuals[v] += amount;
+            enqueueIfSignificant(v, queue);
+        }
+    }
+
+    private void enqueueIfSignificant(int v, ArrayDeque<Integer> queue)
+    {
+        if (Math.abs(residuals[v]) > updateTolerance * scores[v]) {
+            enqueue(v, queue);
+        }
+    }
+
+    private void enqueue(int v, ArrayDeque<Integer> queue)
+    {
+        if (v >= 0 && !queued.get(v)) {
+            queued.set(v);
+            queue.add(v);
+        }
+    }
+
+    /**
+     * Get the edges of a node, which may be null.
+     * @param edges List of edges, or null.
+     * @return The list, or an empty list if null.
+     */
+    private static List<Edge> edgesOf(List<Edge> edges)
+    {
+        return edges == null ? Collections.<Edge>emptyList() : edges;
+    }
+
+    /**
+     * Check if an edge is in the HMN (as notified to the listeners).
+     * @param e The edge, which may be null.
+     * @return True if the edge has been added to the HMN; false otherwise.
+     */
+    private boolean inHMN(Edge e)
+    {
+        return e != null && e.getHMN() == hmn;
+    }
+
+    /**
+     * Get the pre-trust of each node of the view, which sums to one over the
+     * pre-trusted nodes.
+     * @return Array of pre-trust values.
+     */
+    private double[] preTrust()
+    {
+        int numNodes = frozen.getNumNodes();
+        double[] preTrust = new double[numNodes];
+        int count = 0;
+        if (preTrusted != null) {
+            for (Node n : preTrusted) {
+                int v = frozen.indexOf(n);
+                if (v >= 0 && preTrust[v] == 0) {
+                    preTrust[v] = 1;
+                    count++;
+                }
+            }
+        }
+
+        if (count == 0) {
+            // all nodes pre-trusted
+            for (int v = 0; v < numNodes; v++) {
+                preTrust[v] = 1;
+            }
+            count = numNodes;
+        }
+
+        for (int v = 0; v < numNodes; v++) {
+            preTrust[v] /= count;
+        }
+        return preTrust;
+    }
+
+    /**
+     * Get the local trust from a node's connections of an edge.
+     * @param connections Map of connections, keyed on the connection type.
+     * @return The trust of the connection of the configured type, or the average
+     *         trust of all connections if no type is set; zero if there are no connections.
+     */
+    private double localTrust(Map<String, Connection> connections)
+    {
+        if (connections == null || connections.isEmpty()) {
+            return 0;
+        }
+
+        if (connectionType != null) {
+            Connection con = connections.get(connectionType);
+            return con == null ? 0 : clamp(con.getTrust());
+        }
+
+        double total = 0;
+        int count = 0;
+        for (Connection con : connections.values()) {
+            if (con != null) {
+                total += clamp(con.getTrust());
+                count++;
+            }
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Take negative (and undefined) trust as zero.
+     * @param trust The trust value.
+     * @return The trust value, or zero if not positive.
+     */
+    private static double clamp(double trust)
+    {
+        return trust > 0 ? trust : 0;
+    }
+
+    private static double normalise(double value, double total)
+    {
+        return total > 0 ? value / total : 0;
+    }
+
+    private static double sum(double[] values)
+    {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Run a task over the items 0..n-1 in fixed-size chunks, in parallel.
+     * @param n The number of items.
+     * @param body The task to run for each chunk.
+     */
+    private void forEachChunk(int n, ParallelChunks.Body body)
+    {
+        ParallelChunks.forEach(pool, n, CHUNK_SIZE, body);
+    }
+
+    /**
+     * Tracks the edges that have changed, for incremental updates.
+     */
+    private class ChangeTracker extends HMNAdapter
+    {
+        @Override
+        public void edgeAdded(Edge edge)
+        {
+            changedEdges.add(edge);
+        }
+
+        @Override
+        public void edgeRemoved(Edge edge)
+        {
+            changedEdges.add(edge);
+        }
+
+        @Override
+        public void connectionChanged(Edge edge, Connection connection)
+        {
+            changedEdges.add(edge);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the ConcurrentHMN, adding and removing nodes and edges from several
+ * threads at once while other threads read the HMN.
+ */
+public class ConcurrentHMNTest
+{
+    private static final int THREADS = 8;
+    private static final int NODES = 500;
+
+    private final SyntheticNodeFactory factory = new SyntheticNodeFactory();
+
+    @Test(timeout = 60000)
+    public void testConcurrentAddAndRemove() throws Exception
+    {
+        final ConcurrentHMN hmn = new ConcurrentHMN();
+        final Agent[] agents = new Agent[NODES];
+        for (int i = 0; i < NODES; i++) {
+            agents[i] = factory.createHuman("a" + i);
+            agents[i].setHMN(hmn);
+            hmn.addAgent(agents[i]);
+        }
+        HMNView view = hmn.snapshot();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean done = new AtomicBoolean();
+        try {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                workers.add(pool.submit(new Callable<Void>()
+                {
+                    @Override
+                    public Void call() throws Exception
+                    {
+                        start.await();
+                        for (int i = 0; i < NODES; i++) {
+                            // every thread adds edges from every node, and removes half of them again
+                            agents[i].createOutboundEdge(edgeID(thread, i), agents[(i + thread + 1) % NODES], true);
+                            if (i % 2 == 1) {
+                                assertTrue(hmn.removeEdge(edgeID(thread, i - 1)));
+                            }
+                            hmn.addAgent(factory.createHuman("x" + thread + "-" + i));
+                            if (i % 3 == 0) {
+                                assertTrue(hmn.removeAgent("x" + thread + "-" + i));
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            Future<Integer> reader = pool.submit(new Callable<Integer>()
+            {
+                @Override
+                public Integer call() throws Exception
+                {
+                    start.await();
+                    int reads = 0;
+                    while (!done.get()) {
+                        for (Edge e : hmn.getEdges()) {
+                            assertNotNull(e);
+                            reads++;
+                        }
+                        Edge first = hmn.getEdge(edgeID(0, 1));
+                        if (first != null) {
+                            assertEquals(edgeID(0, 1), first.getEdgeID());
+                        }
+                    }
+                    return reads;
+                }
+            });
+
+            start.countDown();
+            for (Future<Void> f : workers) {
+                f.get();
+            }
+            done.set(true);
+            reader.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 1; i < NODES; i += 2) {
+                expected.add(edgeID(t, i));
+                assertNull(hmn.getEdge(edgeID(t, i - 1)));
+            }
+        }
+        Set<String> ids = new HashSet<>();
+        for (Edge e : hmn.getEdges()) {
+            assertTrue(ids.add(e.getEdgeID()));
+            assertSame(e, hmn.getEdge(e.getEdgeID()));
+        }
+        assertEquals(expected, ids);
+        assertEquals(expected.size(), hmn.getEdges().size());
+        assertEquals(NODES + THREADS * (NODES - (NODES + 2) / 3), hmn.getAgents().size());
+        for (Agent a : hmn.getAgents()) {
+            assertSame(a, hmn.getAgent(a.getNodeID()));
+            assertEquals(hmn.getAgents().indexOf(a), hmn.getAgents().lastIndexOf(a));
+        }
+
+        // the view taken before the threads started is not affected
+        assertEquals(NODES, view.getAgents().size());
+        assertEquals(0, view.getEdges().size());
+        view.close();
+    }
+
+    @Test
+    public void testSingleThreadOrder()
+    {
+        ConcurrentHMN hmn = new ConcurrentHMN();
+        List<Agent> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Agent a = factory.createHuman("a" + i);
+            expected.add(a);
+            hmn.addAgent(a);
+        }
+        assertEquals(expected, hmn.getAgents());
+
+        // removal moves the last element into the freed position, as in the HMN
+        assertTrue(hmn.removeAgent("a10"));
+        assertSame(expected.get(999), hmn.getAgents().get(10));
+        assertEquals(999, hmn.getAgents().size());
+    }
+
+    @Test
+    public void testPositionsAcrossSegments() throws Exception
+    {
+        final ConcurrentHMN hmn = new ConcurrentHMN();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads[t] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for (int i = 0; i < 100; i++) {
+                        hmn.addAgent(factory.createHuman(String.format("a%d-%03d", thread, i)));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        List<Agent> agents = hmn.getAgents();
+        Comparator<Agent> byID = new Comparator<Agent>()
+        {
+            @Override
+            public int compare(Agent a, Agent b)
+            {
+                return a.getNodeID().compareTo(b.getNodeID());
+            }
+        };
+        agents.sort(byID);
+        List<Agent> sorted = new ArrayList<>(agents);
+        Collections.sort(sorted, byID);
+        assertEquals(sorted, agents);
+        for (int i = 0; i < agents.size(); i++) {
+            assertEquals(i, agents.indexOf(agents.get(i)));
+            assertSame(agents.get(i), hmn.getAgent(agents.get(i).getNodeID()));
+        }
+
+        Agent inserted = factory.createHuman("inserted");
+        agents.add(150, inserted);
+        assertSame(inserted, agents.get(150));
+        assertSame(inserted, hmn.getAgent("inserted"));
+        agents.subList(150, 151).clear();
+        assertNull(hmn.getAgent("inserted"));
+        assertEquals(sorted, agents);
+
+        agents.subList(100, 300).clear();
+        assertEquals(sorted.subList(0, 100), agents.subList(0, 100));
+        assertEquals(sorted.subList(300, sorted.size()), agents.subList(100, agents.size()));
+        assertNull(hmn.getAgent(sorted.get(200).getNodeID()));
+        assertEquals(THREADS * 100 - 200, agents.size());
+    }
+
+    private static String edgeID(int thread, int i)
+    {
+        return "e" + thread + "-" + i;
+    }
+}
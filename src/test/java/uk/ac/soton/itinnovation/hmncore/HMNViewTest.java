@@ -0,0 +1,145 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of views of the HMN (see HMN.snapshot()), which read the lists as they
+ * were when the view was taken while the HMN is modified.
+ */
+public class HMNViewTest
+{
+    private final SyntheticNodeFactory factory = new SyntheticNodeFactory();
+
+    @Test
+    public void testViewKeepsVersion()
+    {
+        HMN hmn = new HMN();
+        for (int i = 0; i < 1000; i++) {
+            hmn.addAgent(factory.createHuman("a" + i));
+        }
+        List<Agent> expected = new ArrayList<>(hmn.getAgents());
+        List<Agent> current = new ArrayList<>(expected);
+
+        // modifications spanning several chunks of the list
+        Random random = new Random(3);
+        try (HMNView view = hmn.snapshot()) {
+            for (int i = 0; i < 200; i++) {
+                int index = random.nextInt(current.size());
+                Agent a = factory.createHuman("b" + i);
+                hmn.getAgents().add(index, a);
+                current.add(index, a);
+
+                // removal moves the last element into the freed position
+                index = random.nextInt(current.size());
+                Agent removed = current.get(index);
+                Agent last = current.remove(current.size() - 1);
+                if (index < current.size()) {
+                    current.set(index, last);
+                }
+                assertSame(removed, hmn.getAgents().remove(index));
+            }
+            hmn.getAgents().subList(100, 400).clear();
+            current.subList(100, 400).clear();
+            Comparator<Agent> byID = new Comparator<Agent>()
+            {
+                @Override
+                public int compare(Agent a, Agent b)
+                {
+                    return a.getNodeID().compareTo(b.getNodeID());
+                }
+            };
+            hmn.getAgents().sort(byID);
+            Collections.sort(current, byID);
+
+            assertEquals(expected, view.getAgents());
+            assertEquals(current, hmn.getAgents());
+            for (Agent a : current) {
+                assertSame(a, hmn.getAgent(a.getNodeID()));
+            }
+        }
+    }
+
+    @Test
+    public void testNodeEdgesInView()
+    {
+        HMN hmn = new HMN();
+        Agent a = factory.createHuman("a");
+        Agent b = factory.createHuman("b");
+        a.setHMN(hmn);
+        b.setHMN(hmn);
+        hmn.addAgent(a);
+        hmn.addAgent(b);
+        Edge first = a.createOutboundEdge("first", b, true);
+
+        try (HMNView view = hmn.snapshot()) {
+            a.createOutboundEdge("second", b, true);
+
+            assertEquals(Collections.singletonList(first), view.getOutboundEdges(a));
+            assertEquals(Collections.singletonList(first), view.getInboundEdges(b));
+            assertEquals(Collections.singletonList(first), view.getEdges());
+            assertEquals(2, a.getOutboundEdges().size());
+            assertEquals(2, hmn.getEdges().size());
+        }
+    }
+
+    @Test
+    public void testViewsOfOtherHMNs()
+    {
+        HMN viewed = new HMN();
+        HMN other = new HMN();
+        viewed.addAgent(factory.createHuman("a"));
+        other.addAgent(factory.createHuman("b"));
+
+        try (HMNView view = viewed.snapshot()) {
+            // a view of one HMN does not make the lists of another keep versions
+            ChunkedList<Agent> elements = ((IndexedList<Agent>) other.getAgents()).elements;
+            other.addAgent(factory.createHuman("c"));
+            assertSame(elements, ((IndexedList<Agent>) other.getAgents()).elements);
+
+            elements = ((IndexedList<Agent>) viewed.getAgents()).elements;
+            viewed.addAgent(factory.createHuman("d"));
+            assertNotSame(elements, ((IndexedList<Agent>) viewed.getAgents()).elements);
+            assertEquals(1, view.getAgents().size());
+        }
+
+        // once the view is closed, the list is modified in place
+        ChunkedList<Agent> elements = ((IndexedList<Agent>) viewed.getAgents()).elements;
+        viewed.addAgent(factory.createHuman("e"));
+        viewed.addAgent(factory.createHuman("f"));
+        assertSame(elements, ((IndexedList<Agent>) viewed.getAgents()).elements);
+    }
+}
@@ -0,0 +1,139 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the indexed lists of the HMN, removing elements via the List API.
+ */
+public class IndexedListTest
+{
+    private HMN hmn;
+    private Agent[] agents;
+
+    @Before
+    public void setUp()
+    {
+        hmn = new HMN();
+        SyntheticNodeFactory factory = new SyntheticNodeFactory();
+        agents = new Agent[5];
+        for (int i = 0; i < agents.length; i++) {
+            agents[i] = factory.createHuman("a" + i);
+            hmn.addAgent(agents[i]);
+        }
+    }
+
+    @Test
+    public void testSubListClear()
+    {
+        hmn.getAgents().subList(0, 2).clear();
+
+        assertEquals(Arrays.asList(agents[2], agents[3], agents[4]), hmn.getAgents());
+        assertNull(hmn.getAgent("a0"));
+        assertNull(hmn.getAgent("a1"));
+        assertIndexed();
+    }
+
+    @Test
+    public void testSubListRemove()
+    {
+        List<Agent> view = hmn.getAgents().subList(1, 4);
+        assertSame(agents[2], view.remove(1));
+
+        assertEquals(Arrays.asList(agents[1], agents[3]), view);
+        assertEquals(Arrays.asList(agents[0], agents[1], agents[3], agents[4]), hmn.getAgents());
+        assertNull(hmn.getAgent("a2"));
+        assertIndexed();
+    }
+
+    @Test
+    public void testSubListIteratorRemove()
+    {
+        Iterator<Agent> it = hmn.getAgents().subList(1, 4).iterator();
+        while (it.hasNext()) {
+            if (it.next() != agents[2]) {
+                it.remove();
+            }
+        }
+
+        assertEquals(Arrays.asList(agents[0], agents[2], agents[4]), hmn.getAgents());
+        assertIndexed();
+    }
+
+    @Test
+    public void testIteratorRemove()
+    {
+        Iterator<Agent> it = hmn.getAgents().iterator();
+        int visited = 0;
+        while (it.hasNext()) {
+            Agent a = it.next();
+            visited++;
+            if (a == agents[0] || a == agents[3]) {
+                it.remove();
+            }
+        }
+
+        assertEquals(agents.length, visited);
+        assertEquals(3, hmn.getAgents().size());
+        assertFalse(hmn.getAgents().contains(agents[0]));
+        assertFalse(hmn.getAgents().contains(agents[3]));
+        assertIndexed();
+    }
+
+    @Test
+    public void testRemoveAbsent()
+    {
+        Agent other = new SyntheticNodeFactory().createHuman("other");
+        assertFalse(hmn.getAgents().remove(other));
+        assertEquals(-1, hmn.getAgents().indexOf(other));
+        assertEquals(agents.length, hmn.getAgents().size());
+    }
+
+    /**
+     * Check that every agent in the list is found by its ID and position.
+     */
+    private void assertIndexed()
+    {
+        List<Agent> list = hmn.getAgents();
+        for (int i = 0; i < list.size(); i++) {
+            Agent a = list.get(i);
+            assertSame(a, hmn.getAgent(a.getNodeID()));
+            assertEquals(i, list.indexOf(a));
+            assertTrue(list.contains(a));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of creating and removing edges between nodes, including code that also
+ * updates the edge lists of the other node itself.
+ */
+public class NodeTest
+{
+    private HMN hmn;
+    private Agent a;
+    private Agent b;
+
+    @Before
+    public void setUp()
+    {
+        hmn = new HMN();
+        SyntheticNodeFactory factory = new SyntheticNodeFactory();
+        a = factory.createHuman("a");
+        b = factory.createHuman("b");
+        a.setHMN(hmn);
+        b.setHMN(hmn);
+        hmn.addAgent(a);
+        hmn.addAgent(b);
+    }
+
+    @Test
+    public void testCreateAttachesBothEnds()
+    {
+        Edge out = a.createOutboundEdge("out", b, true);
+        Edge in = a.createInboundEdge("in", b, false);
+
+        assertEquals("out", out.getEdgeID());
+        assertEquals("in", in.getEdgeID());
+        assertSame(out, a.findOutboundEdge(b));
+        assertSame(out, b.findInboundEdge(a));
+        assertSame(in, a.findInboundEdge(b));
+        assertSame(in, b.findOutboundEdge(a));
+        assertSame(out, hmn.getEdge("out"));
+        assertNull(hmn.getEdge("in"));
+    }
+
+    @Test
+    public void testAddingCreatedEdgeAgain()
+    {
+        Edge e = a.createOutboundEdge("e", b, true);
+        a.addOutboundEdge(e);
+        b.addInboundEdge(e);
+
+        assertEquals(1, a.getOutboundEdges().size());
+        assertEquals(1, b.getInboundEdges().size());
+    }
+
+    @Test
+    public void testRemoveFromBothEnds()
+    {
+        Edge e = a.createOutboundEdge("e", b, true);
+        assertTrue(a.removeOutboundEdge(e, false));
+        assertTrue(b.getInboundEdges().isEmpty());
+        assertSame(e, hmn.getEdge("e"));
+
+        // already detached from b, but still removed from the HMN
+        assertTrue(b.removeInboundEdge(e, true));
+        assertNull(hmn.getEdge("e"));
+        assertFalse(b.removeInboundEdge(e, false));
+    }
+}
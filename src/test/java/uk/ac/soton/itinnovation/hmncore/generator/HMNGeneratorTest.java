@@ -0,0 +1,112 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.generator;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the HMNGenerator: that the same seed gives the same network regardless
+ * of the number of threads, and of the limiting cases of the models.
+ */
+public class HMNGeneratorTest
+{
+    private static final long SEED = 42;
+
+    @Test
+    public void testSameNetworkForAnyParallelism()
+    {
+        HMNGenerator serial = generator(1);
+        HMNGenerator parallel = generator(4);
+        try {
+            assertEquals(describe(serial.barabasiAlbert(10000, 3)), describe(parallel.barabasiAlbert(10000, 3)));
+            assertEquals(describe(serial.wattsStrogatz(10000, 4, 0.2)), describe(parallel.wattsStrogatz(10000, 4, 0.2)));
+            assertEquals(describe(serial.bipartite(5000, 10000, 3)), describe(parallel.bipartite(5000, 10000, 3)));
+            assertNotEquals(describe(serial.wattsStrogatz(10000, 4, 0.2)), describe(new HMNGenerator(SEED + 1).wattsStrogatz(10000, 4, 0.2)));
+        } finally {
+            serial.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testWattsStrogatzComplete()
+    {
+        // every agent already has an edge to every other, so rewired edges stay in place
+        HMN hmn = new HMNGenerator(SEED).wattsStrogatz(5, 4, 0.5);
+        assertEquals(20, hmn.getEdges().size());
+        for (Agent a : hmn.getAgents()) {
+            Set<Node> sinks = new HashSet<>();
+            for (Edge e : a.getOutboundEdges()) {
+                assertTrue(e.getSinkNode() != a);
+                assertTrue(sinks.add(e.getSinkNode()));
+            }
+            assertEquals(4, sinks.size());
+        }
+    }
+
+    private static HMNGenerator generator(int parallelism)
+    {
+        HMNGenerator generator = new HMNGenerator(SEED, parallelism);
+        generator.setMachineFraction(0.3);
+        return generator;
+    }
+
+    /**
+     * Describe the nodes and edges of a network, with the trust of their connections.
+     */
+    private static String describe(HMN hmn)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (Agent a : hmn.getAgents()) {
+            sb.append(a.getNodeID()).append(' ').append(a.getClass().getSimpleName()).append('\n');
+        }
+        for (Artefact a : hmn.getArtefacts()) {
+            sb.append(a.getNodeID()).append(" created by ").append(a.getCreator().getNodeID()).append('\n');
+        }
+        for (Edge e : hmn.getEdges()) {
+            sb.append(e.getEdgeID()).append(' ').append(e.getSourceNode().getNodeID()).append(" -> ").append(e.getSinkNode().getNodeID());
+            for (Connection c : e.getSourceConnections().values()) {
+                sb.append(' ').append(c.getTrust()).append(' ').append(c.getTrustworthiness());
+            }
+            for (Connection c : e.getSinkConnections().values()) {
+                sb.append(' ').append(c.getTrust()).append(' ').append(c.getTrustworthiness());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,115 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of reading CSV edge lists on multiple threads, compared with the
+ * sequential reader.
+ */
+public class HMNParallelCsvReaderTest
+{
+    private static final int NUM_AGENTS = 100;
+    private static final int NUM_EDGES = 20000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp()
+    {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testQuotedLineBreaks() throws IOException
+    {
+        // IDs with line breaks (and quotes) in most of each record, so the file is split
+        // into several ranges, at points that are mostly within quoted fields
+        HMN hmn = new HMN();
+        SyntheticNodeFactory factory = new SyntheticNodeFactory();
+        for (int i = 0; i < NUM_AGENTS; i++) {
+            Agent a = factory.createHuman("agent-" + i);
+            a.setHMN(hmn);
+            hmn.addAgent(a);
+        }
+        for (int i = 0; i < NUM_EDGES; i++) {
+            String id = "edge-" + i + "\nwith a \"quoted\"\nline break\r\nin the ID of the edge\n";
+            Edge e = hmn.getAgents().get(i % NUM_AGENTS).createOutboundEdge(id, hmn.getAgents().get((i * 7 + 1) % NUM_AGENTS), true);
+            e.addConnectionSet("chat\ntype", new Connection("c" + i, ConnectionType.SOURCE, 0.5, 0.25),
+                               new Connection("d" + i, ConnectionType.SINK));
+        }
+        Path file = folder.getRoot().toPath().resolve("edges.csv");
+        new HMNCsvWriter().write(hmn, file);
+
+        HMNCsvReader sequential = new HMNCsvReader();
+        sequential.setCreateMissingNodes(true);
+        HMNParallelCsvReader parallel = new HMNParallelCsvReader(pool);
+        parallel.setCreateMissingNodes(true);
+
+        List<Edge> expected = sequential.read(file, new HMN()).getEdges();
+        List<Edge> actual = parallel.read(file, new HMN()).getEdges();
+
+        assertEquals(NUM_EDGES, actual.size());
+        assertEquals(ids(expected), ids(actual));
+        assertEquals(ids(hmn.getEdges()), ids(actual));
+        assertEquals("d7", actual.get(7).getSinkConnections().get("chat\ntype").getConnectionID());
+    }
+
+    private static List<String> ids(List<Edge> edges)
+    {
+        List<String> ids = new ArrayList<>(edges.size());
+        for (Edge e : edges) {
+            ids.add(e.getEdgeID() + " " + e.getSourceNode().getNodeID() + " " + e.getSinkNode().getNodeID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,232 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Connection;
+import uk.ac.soton.itinnovation.hmncore.ConnectionType;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of recovering an HMN from a snapshot and the write-ahead log, including
+ * after the process has failed while writing the log or checkpointing.
+ */
+public class HMNWriteAheadLogTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SyntheticNodeFactory factory = new SyntheticNodeFactory();
+    private Path snapshot;
+    private Path log;
+    private HMN hmn;
+    private HMNWriteAheadLog wal;
+    private int numChanges;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        snapshot = folder.getRoot().toPath().resolve("hmn.snapshot");
+        log = folder.getRoot().toPath().resolve("hmn.log");
+        hmn = new HMN();
+        wal = new HMNWriteAheadLog(log);
+        hmn.addListener(wal);
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        hmn.removeListener(wal);
+        wal.close();
+    }
+
+    @Test
+    public void testReplay() throws IOException
+    {
+        change();
+        change();
+        wal.commit();
+
+        assertArrayEquals(snapshotOf(hmn), snapshotOf(HMNWriteAheadLog.recover(snapshot, log)));
+    }
+
+    @Test
+    public void testTornTail() throws IOException
+    {
+        change();
+        wal.commit();
+        byte[] committed = snapshotOf(hmn);
+        long end = Files.size(log);
+        change();
+        wal.commit();
+        wal.close();
+
+        // the process failed while writing the second group
+        truncate(log, Files.size(log) - 3);
+        assertArrayEquals(committed, snapshotOf(HMNWriteAheadLog.recover(snapshot, log)));
+
+        // the partial group is discarded when the log is reopened, so new groups are replayed
+        HMN recovered = HMNWriteAheadLog.recover(snapshot, log);
+        try (HMNWriteAheadLog reopened = new HMNWriteAheadLog(log)) {
+            assertEquals(end, Files.size(log));
+            recovered.addListener(reopened);
+            hmn = recovered;
+            change();
+            reopened.commit();
+            recovered.removeListener(reopened);
+        }
+        assertArrayEquals(snapshotOf(recovered), snapshotOf(HMNWriteAheadLog.recover(snapshot, log)));
+    }
+
+    @Test
+    public void testCheckpoint() throws IOException
+    {
+        change();
+        wal.checkpoint(hmn, snapshot);
+        assertEquals(1, wal.getGeneration());
+        assertEquals(HMNWriteAheadLog.HEADER_SIZE, Files.size(log));
+        change();
+        wal.checkpoint(hmn, snapshot);
+        change();
+        wal.commit();
+
+        assertEquals(2, wal.getGeneration());
+        assertArrayEquals(snapshotOf(hmn), snapshotOf(HMNWriteAheadLog.recover(snapshot, log)));
+    }
+
+    @Test
+    public void testCheckpointInterrupted() throws IOException
+    {
+        change();
+        wal.checkpoint(hmn, snapshot);
+        change();
+        wal.commit();
+        byte[] staleLog = Files.readAllBytes(log);
+        change();
+        wal.checkpoint(hmn, snapshot);
+        byte[] checkpointed = snapshotOf(hmn);
+        wal.close();
+
+        // the process failed after the snapshot was moved, but before the log was truncated
+        Files.write(log, staleLog);
+        HMN recovered = HMNWriteAheadLog.recover(snapshot, log);
+        assertArrayEquals(checkpointed, snapshotOf(recovered));
+
+        // the stale records are discarded when the log is reopened, so new groups are replayed
+        try (HMNWriteAheadLog reopened = new HMNWriteAheadLog(log, snapshot)) {
+            assertEquals(2, reopened.getGeneration());
+            assertEquals(HMNWriteAheadLog.HEADER_SIZE, Files.size(log));
+            recovered.addListener(reopened);
+            hmn = recovered;
+            change();
+            reopened.commit();
+            recovered.removeListener(reopened);
+        }
+        assertArrayEquals(snapshotOf(recovered), snapshotOf(HMNWriteAheadLog.recover(snapshot, log)));
+    }
+
+    @Test
+    public void testDetachedNodes() throws IOException
+    {
+        change();
+        wal.checkpoint(hmn, snapshot);
+
+        // edges to and from nodes that are not in the HMN's lists
+        Agent outside = factory.createHuman("outside");
+        outside.setHMN(hmn);
+        Agent first = hmn.getAgents().get(0);
+        first.createOutboundEdge("to-outside", outside, true);
+        outside.createOutboundEdge("from-outside", first, true);
+        wal.commit();
+
+        HMN recovered = HMNWriteAheadLog.recover(snapshot, log);
+        assertArrayEquals(snapshotOf(hmn), snapshotOf(recovered));
+        Edge to = recovered.getEdge("to-outside");
+        assertSame(to.getSinkNode(), recovered.getEdge("from-outside").getSourceNode());
+        assertNull(recovered.getAgent("outside"));
+
+        // the detached node is found in the recovered snapshot by later records
+        try (HMNWriteAheadLog reopened = new HMNWriteAheadLog(log, snapshot)) {
+            reopened.checkpoint(recovered, snapshot);
+            recovered.addListener(reopened);
+            to.getSinkNode().setHMN(recovered);
+            to.getSinkNode().createOutboundEdge("from-outside-again", to.getSourceNode(), true);
+            reopened.commit();
+            recovered.removeListener(reopened);
+        }
+        HMN again = HMNWriteAheadLog.recover(snapshot, log);
+        assertArrayEquals(snapshotOf(recovered), snapshotOf(again));
+        assertSame(again.getEdge("to-outside").getSinkNode(), again.getEdge("from-outside-again").getSourceNode());
+    }
+
+    /**
+     * Add an agent and an edge to the HMN, and change the edge.
+     */
+    private void change()
+    {
+        Agent agent = factory.createHuman("agent-" + numChanges);
+        agent.setHMN(hmn);
+        hmn.addAgent(agent);
+        Agent other = hmn.getAgents().get(0);
+        Edge e = other.createOutboundEdge("edge-" + numChanges, agent, true);
+        Connection src = new Connection("c" + numChanges, ConnectionType.SOURCE);
+        e.addConnectionSet("friend", src, new Connection("d" + numChanges, ConnectionType.SINK));
+        src.setTrust(0.5);
+        e.recordInteractions("friend", 3);
+        numChanges++;
+    }
+
+    private static byte[] snapshotOf(HMN hmn) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new HMNSnapshotWriter().write(hmn, out);
+        return out.toByteArray();
+    }
+
+    private static void truncate(Path file, long size) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(size);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.Artefact;
+import uk.ac.soton.itinnovation.hmncore.Edge;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.generator.SyntheticNodeFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of looking up agents, artefacts and edges by ID in a memory-mapped snapshot.
+ */
+public class MappedHMNTest
+{
+    private static final int AGENTS = 50;
+    private static final int ARTEFACTS = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SyntheticNodeFactory factory = new SyntheticNodeFactory();
+    private Path snapshot;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        HMN hmn = new HMN();
+        for (int i = 0; i < AGENTS; i++) {
+            Agent a = factory.createHuman("agent-" + i);
+            a.setHMN(hmn);
+            hmn.addAgent(a);
+        }
+        for (int i = 0; i < ARTEFACTS; i++) {
+            Artefact a = factory.createArtefact("artefact-" + i);
+            a.setHMN(hmn);
+            hmn.addArtefact(a);
+        }
+        for (int i = 0; i < AGENTS; i++) {
+            hmn.getAgent("agent-" + i).createOutboundEdge("edge-" + i, hmn.getAgent("agent-" + (i + 1) % AGENTS), true);
+        }
+
+        snapshot = folder.getRoot().toPath().resolve("hmn.snapshot");
+        new HMNSnapshotWriter().write(hmn, snapshot);
+    }
+
+    @Test
+    public void testLookupByID() throws IOException
+    {
+        assertLookups(new HMNSnapshotReader().map(snapshot));
+    }
+
+    @Test
+    public void testLookupReadsOnlyMatchingRecord() throws IOException
+    {
+        // make the ID of one agent unreadable, which a scan of the IDs would fail on
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long nodeOffsets = indexOffset(buf) + SnapshotFormat.INDEX_HEADER_SIZE;
+        int record = (int) buf.getLong((int) nodeOffsets + 8 * 7);
+        buf.putShort(record + 5, (short) 0xFFFF); // length of the UTF string after the class and NULL flag
+        Files.write(snapshot, bytes);
+
+        MappedHMN mapped = new HMNSnapshotReader().map(snapshot);
+        assertEquals("agent-3", mapped.getAgent("agent-3").getNodeID());
+        assertNull(mapped.getAgent("missing"));
+        try {
+            mapped.getAgent("agent-7");
+            fail("Expected the unreadable record to be read");
+        } catch (UncheckedIOException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLookupWithoutIDIndex() throws IOException
+    {
+        // rewrite the snapshot as version 3, which has no ID index after the offsets
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long indexOffset = indexOffset(buf);
+        int numNodes = buf.getInt((int) indexOffset);
+        int numEdges = buf.getInt((int) indexOffset + 12);
+        int end = (int) indexOffset + SnapshotFormat.INDEX_HEADER_SIZE + 8 * (2 * (numNodes + 1) + numEdges + 1);
+        ByteBuffer v3 = ByteBuffer.allocate(end + SnapshotFormat.TRAILER_SIZE);
+        v3.put(Arrays.copyOf(bytes, end));
+        v3.putShort(4, (short) 3);
+        v3.putLong(indexOffset);
+        v3.putInt(SnapshotFormat.INDEX_MAGIC);
+        Files.write(snapshot, v3.array());
+
+        assertLookups(new HMNSnapshotReader().map(snapshot));
+    }
+
+    private static void assertLookups(MappedHMN mapped)
+    {
+        for (int i = 0; i < AGENTS; i++) {
+            Agent a = mapped.getAgent("agent-" + i);
+            assertEquals("agent-" + i, a.getNodeID());
+            assertSame(a, mapped.getAgent("agent-" + i));
+            Edge e = mapped.getEdge("edge-" + i);
+            assertEquals("edge-" + i, e.getEdgeID());
+            assertSame(a, e.getSourceNode());
+        }
+        for (int i = 0; i < ARTEFACTS; i++) {
+            assertEquals("artefact-" + i, mapped.getArtefact("artefact-" + i).getNodeID());
+        }
+        assertNull(mapped.getAgent("artefact-0"));
+        assertNull(mapped.getArtefact("agent-0"));
+        assertNull(mapped.getAgent("missing"));
+        assertNull(mapped.getAgent(null));
+        assertNull(mapped.getEdge("missing"));
+        assertEquals(AGENTS, mapped.getAgents().size());
+    }
+
+    private static long indexOffset(ByteBuffer buf)
+    {
+        return buf.getLong(buf.capacity() - SnapshotFormat.TRAILER_SIZE);
+    }
+}
@@ -0,0 +1,133 @@
+/////////////////////////////////////////////////////////////////////////
+//
+// © University of Southampton IT Innovation Centre, 2017
+//
+// Copyright in this software belongs to University of Southampton
+// IT Innovation Centre of Gamma House, Enterprise Road,
+// Chilworth Science Park, Southampton, SO16 7NS, UK.
+//
+// This software may not be used, sold, licensed, transferred, copied
+// or reproduced in whole or in part in any manner or form or in or
+// on any media by any person other than in accordance with the terms
+// of the Licence Agreement supplied with the software, or otherwise
+// without the prior written consent of the copyright owners.
+//
+// This software is distributed WITHOUT ANY WARRANTY, without even the
+// implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+// PURPOSE, except where stated in the Licence Agreement supplied with
+// the software.
+//
+//      Created By :            IT Innovation Centre
+//      Created Date :          2026-10-18
+//      Created for Project :   HUMANE
+//
+/////////////////////////////////////////////////////////////////////////
+package uk.ac.soton.itinnovation.hmncore.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.ac.soton.itinnovation.hmncore.Agent;
+import uk.ac.soton.itinnovation.hmncore.HMN;
+import uk.ac.soton.itinnovation.hmncore.Human;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the commit phase of the TickEngine: agents that only implement
+ * takeAction() run in parallel if marked as concurrent, and in agent order otherwise.
+ */
+public class TickEngineTest
+{
+    private static final int NUM_AGENTS = 64;
+
+    private final List<Agent> committed = Collections.synchronizedList(new ArrayList<Agent>());
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private HMN hmn;
+    private TickEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        hmn = new HMN();
+        for (int i = 0; i < NUM_AGENTS; i++) {
+            Agent a = new Worker();
+            a.setNodeID("worker-" + i);
+            hmn.addAgent(a);
+        }
+        engine = new TickEngine(hmn, 4);
+        engine.setBatchSize(1);
+    }
+
+    @After
+    public void tearDown()
+    {
+        engine.shutdown();
+    }
+
+    @Test
+    public void testSerialCommit() throws Exception
+    {
+        engine.step();
+
+        assertEquals(hmn.getAgents(), committed);
+        assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    public void testConcurrentAgentClass() throws Exception
+    {
+        engine.addConcurrentAgentClass(Worker.class);
+        assertTrue(engine.isConcurrent(hmn.getAgents().get(0)));
+        engine.step();
+
+        assertEquals(NUM_AGENTS, committed.size());
+        assertTrue(maxActive.get() > 1);
+    }
+
+    @Test
+    public void testConcurrentAgentsCommitFirst() throws Exception
+    {
+        Agent marked = new MarkedWorker();
+        marked.setNodeID("marked");
+        hmn.addAgent(marked);
+        assertFalse(engine.isConcurrent(hmn.getAgents().get(0)));
+        assertTrue(engine.isConcurrent(marked));
+        engine.step();
+
+        assertEquals(marked, committed.get(0));
+        assertEquals(hmn.getAgents().subList(0, NUM_AGENTS), committed.subList(1, NUM_AGENTS + 1));
+    }
+
+    /**
+     * An agent that only implements takeAction(), and records how many agents are
+     * acting at once.
+     */
+    private class Worker extends Human
+    {
+        @Override
+        public void takeAction() throws Exception
+        {
+            int n = active.incrementAndGet();
+            int max;
+            while (n > (max = maxActive.get()) && !maxActive.compareAndSet(max, n)) {
+                // retry
+            }
+            Thread.sleep(2);
+            committed.add(this);
+            active.decrementAndGet();
+        }
+    }
+
+    private class MarkedWorker extends Worker implements ConcurrentAgent
+    {
+
+    }
+}